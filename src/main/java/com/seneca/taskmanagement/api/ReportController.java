@@ -0,0 +1,76 @@
+package com.seneca.taskmanagement.api;
+
+import com.seneca.taskmanagement.domain.TaskStatus;
+import com.seneca.taskmanagement.dto.CycleTimeDto;
+import com.seneca.taskmanagement.dto.TaskThroughputDto;
+import com.seneca.taskmanagement.service.CycleTimeService;
+import com.seneca.taskmanagement.service.TaskReportService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+@RestController
+@RequestMapping("/reports")
+@RequiredArgsConstructor
+@Tag(name = "Reports", description = "APIs for task reporting")
+public class ReportController {
+
+    private static final int DEFAULT_DAYS = 30;
+
+    private final TaskReportService taskReportService;
+    private final CycleTimeService cycleTimeService;
+
+    @GetMapping("/throughput")
+    @Operation(summary = "Get daily task throughput",
+            description = "Returns the tasks created, completed and deleted per UTC day, task type and assignee, from pre-aggregated rollups")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Throughput retrieved successfully"),
+            @ApiResponse(responseCode = "400", description = "Invalid date range")
+    })
+    public ResponseEntity<List<TaskThroughputDto>> getThroughput(
+            @Parameter(description = "First day, inclusive; defaults to 29 days before to", example = "2025-05-01")
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) Optional<LocalDate> from,
+            @Parameter(description = "Last day, inclusive; defaults to today (UTC)", example = "2025-05-30")
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) Optional<LocalDate> to,
+            @Parameter(description = "Only tasks assigned to this user")
+            @RequestParam(required = false) Optional<UUID> userId,
+            @Parameter(description = "Only tasks of this type", example = "BUG")
+            @RequestParam(required = false) Optional<String> taskType) {
+        LocalDate lastDay = to.orElseGet(() -> LocalDate.now(ZoneOffset.UTC));
+        LocalDate firstDay = from.orElseGet(() -> lastDay.minusDays(DEFAULT_DAYS - 1));
+        return ResponseEntity.ok(taskReportService.getThroughput(firstDay, lastDay, userId, taskType));
+    }
+
+    @GetMapping("/cycle-times")
+    @Operation(summary = "Get cycle time quantiles",
+            description = "Returns p50, p90 and p99 of the time tasks of one type, or of one assignee, spent in a status before moving on, "
+                    + "read from a pre-aggregated sketch")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Quantiles retrieved successfully"),
+            @ApiResponse(responseCode = "400", description = "Neither or both of taskType and userId given")
+    })
+    public ResponseEntity<CycleTimeDto> getCycleTimes(
+            @Parameter(description = "Status the time was spent in", example = "IN_PROGRESS")
+            @RequestParam TaskStatus status,
+            @Parameter(description = "Task type to report on", example = "BUG")
+            @RequestParam(required = false) Optional<String> taskType,
+            @Parameter(description = "Assignee to report on")
+            @RequestParam(required = false) Optional<UUID> userId) {
+        return ResponseEntity.ok(cycleTimeService.getCycleTimes(status, taskType, userId));
+    }
+}
@@ -2,11 +2,34 @@ package com.seneca.taskmanagement.api;
 
 import com.seneca.taskmanagement.domain.TaskStatus;
 import com.seneca.taskmanagement.dto.BugDto;
+import com.seneca.taskmanagement.dto.CountMode;
 import com.seneca.taskmanagement.dto.CreateTaskDto;
+import com.seneca.taskmanagement.dto.ExportFormat;
 import com.seneca.taskmanagement.dto.FeatureDto;
+import com.seneca.taskmanagement.dto.NewTaskChecks;
 import com.seneca.taskmanagement.dto.PaginatedResponse;
+import com.seneca.taskmanagement.dto.TaskBatchResponse;
+import com.seneca.taskmanagement.dto.TaskBulkResult;
+import com.seneca.taskmanagement.dto.TaskBulkUpdateRequest;
+import com.seneca.taskmanagement.dto.TaskChangeCursor;
+import com.seneca.taskmanagement.dto.TaskChangeFeedDto;
+import com.seneca.taskmanagement.dto.TaskCursor;
 import com.seneca.taskmanagement.dto.TaskDto;
+import com.seneca.taskmanagement.dto.TaskFacet;
+import com.seneca.taskmanagement.dto.TaskHistoryCursor;
+import com.seneca.taskmanagement.dto.TaskHistoryEntryDto;
+import com.seneca.taskmanagement.dto.TaskImportResult;
+import com.seneca.taskmanagement.dto.TaskSearchResultDto;
+import com.seneca.taskmanagement.dto.TaskSelection;
+import com.seneca.taskmanagement.dto.TaskSummaryDto;
+import com.seneca.taskmanagement.dto.TaskView;
 import com.seneca.taskmanagement.dto.UpdateTaskRequest;
+import com.seneca.taskmanagement.exception.PreconditionFailedException;
+import com.seneca.taskmanagement.service.TaskAuditService;
+import com.seneca.taskmanagement.service.TaskBulkService;
+import com.seneca.taskmanagement.service.TaskChangeFeedNotifier;
+import com.seneca.taskmanagement.service.TaskExportService;
+import com.seneca.taskmanagement.service.TaskImportService;
 import com.seneca.taskmanagement.service.TaskService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
@@ -15,18 +38,28 @@ import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
+import jakarta.validation.groups.Default;
 import lombok.RequiredArgsConstructor;
-import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.web.PageableDefault;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.async.DeferredResult;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.Duration;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.function.Function;
 
 @RestController
 @RequestMapping("/tasks")
@@ -35,6 +68,11 @@ import java.util.UUID;
 public class TaskController {
 
     private final TaskService taskService;
+    private final TaskBulkService taskBulkService;
+    private final TaskExportService taskExportService;
+    private final TaskImportService taskImportService;
+    private final TaskAuditService taskAuditService;
+    private final TaskChangeFeedNotifier taskChangeFeedNotifier;
 
     @PostMapping
     @Operation(summary = "Create a new task", description = "Creates a new task (bug or feature) with the provided information")
@@ -43,33 +81,222 @@ public class TaskController {
             @ApiResponse(responseCode = "400", description = "Invalid input"),
             @ApiResponse(responseCode = "404", description = "Assigned user not found")
     })
-    public ResponseEntity<TaskDto> createTask(@Valid @RequestBody CreateTaskDto createTaskDto) {
+    public ResponseEntity<TaskDto> createTask(
+            @Validated({Default.class, NewTaskChecks.class}) @RequestBody CreateTaskDto createTaskDto) {
         TaskDto createdTask = taskService.createTask(createTaskDto);
         return new ResponseEntity<>(createdTask, HttpStatus.CREATED);
     }
 
+    @PostMapping("/batch")
+    @Operation(summary = "Create tasks in bulk", description = "Creates up to task-management.batch.max-size tasks (bugs and features may be mixed) "
+            + "with one assignee lookup and batched inserts. Each item is reported separately; invalid items do not prevent the others from being created")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "201", description = "All tasks created"),
+            @ApiResponse(responseCode = "207", description = "Some or all items were rejected, see the per-item results"),
+            @ApiResponse(responseCode = "400", description = "Batch is empty or too large")
+    })
+    public ResponseEntity<TaskBatchResponse> createTasks(@RequestBody List<CreateTaskDto> createTaskDtos) {
+        TaskBatchResponse response = taskBulkService.createTasks(createTaskDtos);
+        HttpStatus status = response.getFailed() == 0 ? HttpStatus.CREATED : HttpStatus.MULTI_STATUS;
+        return new ResponseEntity<>(response, status);
+    }
+
+    @PatchMapping("/bulk")
+    @Operation(summary = "Update tasks in bulk", description = "Applies status, assignee or description changes to the tasks selected "
+            + "by an ID list or a filter, with one UPDATE per chunk of task-management.batch.chunk-size tasks")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Tasks updated, see the affected count"),
+            @ApiResponse(responseCode = "400", description = "Invalid selection or no changes"),
+            @ApiResponse(responseCode = "404", description = "Assigned user not found")
+    })
+    public ResponseEntity<TaskBulkResult> updateTasks(@Valid @RequestBody TaskBulkUpdateRequest request) {
+        return ResponseEntity.ok(taskBulkService.updateTasks(request));
+    }
+
+    @PostMapping("/bulk/delete")
+    @Operation(summary = "Delete tasks in bulk", description = "Soft deletes the tasks selected by an ID list or a filter, "
+            + "with one UPDATE per chunk of task-management.batch.chunk-size tasks")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Tasks deleted, see the affected count"),
+            @ApiResponse(responseCode = "400", description = "Invalid selection")
+    })
+    public ResponseEntity<TaskBulkResult> deleteTasks(@Valid @RequestBody TaskSelection selection) {
+        return ResponseEntity.ok(taskBulkService.deleteTasks(selection));
+    }
+
+    @PostMapping("/bulk/restore")
+    @Operation(summary = "Restore tasks in bulk", description = "Restores soft-deleted tasks selected by an ID list or a filter; "
+            + "the filter is matched against deleted tasks")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Tasks restored, see the affected count"),
+            @ApiResponse(responseCode = "400", description = "Invalid selection")
+    })
+    public ResponseEntity<TaskBulkResult> restoreTasks(@Valid @RequestBody TaskSelection selection) {
+        return ResponseEntity.ok(taskBulkService.restoreTasks(selection));
+    }
+
     @GetMapping("/{id}")
     @Operation(summary = "Get task by ID", description = "Returns a task based on the provided ID")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Task found"),
+            @ApiResponse(responseCode = "304", description = "Task unchanged since the ETag given in If-None-Match"),
             @ApiResponse(responseCode = "404", description = "Task not found")
     })
     public ResponseEntity<TaskDto> getTaskById(
-            @Parameter(description = "ID of the task to retrieve") @PathVariable UUID id) {
+            @Parameter(description = "ID of the task to retrieve") @PathVariable UUID id,
+            @Parameter(description = "ETags of cached copies of the task")
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        // Revalidate against the version column alone so an unchanged task never loads its TEXT columns
+        if (ifNoneMatch != null) {
+            String currentETag = eTag(taskService.getTaskVersion(id));
+            if (matchesAny(ifNoneMatch, currentETag)) {
+                return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(currentETag).build();
+            }
+        }
         TaskDto task = taskService.getTaskById(id);
-        return ResponseEntity.ok(task);
+        return ResponseEntity.ok().eTag(eTag(task.getVersion())).body(task);
+    }
+
+    @GetMapping("/{id}/history")
+    @Operation(summary = "Get task history", description = "Returns the field-level changes of a task, newest first, deleted tasks included. "
+            + "Single, batch and bulk writes and imports are all recorded; bulk restores appear as updates of the deleted field. "
+            + "Single writes and batch creates are recorded behind the write, so their latest change can take up to "
+            + "task-management.audit.flush-interval to appear; bulk writes and imports have their entries as soon as their chunk commits")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "History retrieved successfully"),
+            @ApiResponse(responseCode = "400", description = "Invalid cursor"),
+            @ApiResponse(responseCode = "404", description = "Task not found")
+    })
+    public ResponseEntity<PaginatedResponse<TaskHistoryEntryDto>> getTaskHistory(
+            @Parameter(description = "ID of the task") @PathVariable UUID id,
+            @Parameter(description = "Cursor returned as nextCursor by a previous call")
+            @RequestParam(required = false) Optional<String> cursor,
+            @PageableDefault() Pageable pageable) {
+        Slice<TaskHistoryEntryDto> history = taskAuditService.getTaskHistory(
+                id, cursor.map(TaskHistoryCursor::decode), pageable.getPageSize());
+        PaginatedResponse<TaskHistoryEntryDto> response =
+                PaginatedResponse.from(history, CountMode.NONE, nextHistoryCursor(history));
+        response.setHasPrevious(cursor.isPresent());
+        return ResponseEntity.ok(response);
+    }
+
+    @GetMapping("/changes")
+    @Operation(summary = "Get task changes", description = "Returns the tasks created, updated or deleted after the cursor in change order, "
+            + "each with its current state; deleted tasks come as tombstones. Start without a cursor for a full sync and keep the "
+            + "returned nextCursor. With wait, a call that finds no changes is held open until some arrive or the wait is over, "
+            + "at most task-management.change-feed.max-wait")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Changes retrieved, possibly none"),
+            @ApiResponse(responseCode = "400", description = "Invalid cursor or negative wait")
+    })
+    public DeferredResult<TaskChangeFeedDto> getTaskChanges(
+            @Parameter(description = "Cursor returned as nextCursor by a previous call")
+            @RequestParam(required = false) Optional<String> since,
+            @Parameter(description = "Seconds to wait for changes when there are none")
+            @RequestParam(defaultValue = "0") long wait,
+            @PageableDefault() Pageable pageable) {
+        TaskChangeCursor cursor = since.map(TaskChangeCursor::decode).orElseGet(TaskChangeCursor::initial);
+        return taskChangeFeedNotifier.awaitChanges(cursor, pageable.getPageSize(), Duration.ofSeconds(wait));
     }
 
     @GetMapping
-    @Operation(summary = "Get all tasks", description = "Returns a paginated list of all tasks with optional filtering")
-    @ApiResponse(responseCode = "200", description = "List of tasks retrieved successfully")
-    public ResponseEntity<PaginatedResponse<TaskDto>> getTasks(
+    @Operation(summary = "Get all tasks", description = "Returns a paginated list of all tasks with optional filtering. "
+            + "Items are TaskSummaryDto unless view=FULL is requested, in which case they are full bug/feature payloads. "
+            + "With facets, the counts of all matching tasks per facet value are returned as well. "
+            + "Tasks are always listed newest first, by createdAt then id descending; the sort parameter is ignored")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "List of tasks retrieved successfully"),
+            @ApiResponse(responseCode = "400", description = "Invalid cursor, count mode, view or filter value")
+    })
+    public ResponseEntity<PaginatedResponse<?>> getTasks(
             @Parameter(description = "Filter tasks by user ID") @RequestParam(required = false) Optional<UUID> userId,
             @Parameter(description = "Filter tasks by status") @RequestParam(required = false) Optional<TaskStatus> status,
             @Parameter(description = "Search tasks by name") @RequestParam(required = false) Optional<String> searchTerm,
+            @Parameter(description = "Cursor returned as nextCursor by a previous call; switches to keyset pagination and ignores page")
+            @RequestParam(required = false) Optional<String> cursor,
+            @Parameter(description = "How totalElements is computed, case-insensitive; defaults to the server setting. "
+                    + "Cursor pagination never counts", schema = @Schema(implementation = CountMode.class))
+            @RequestParam(required = false) Optional<String> count,
+            @Parameter(description = "Level of detail per task, case-insensitive; SUMMARY skips the text fields",
+                    schema = @Schema(implementation = TaskView.class))
+            @RequestParam(defaultValue = "SUMMARY") String view,
+            @Parameter(description = "Facets to count the matching tasks by, any of status, taskType and assignee")
+            @RequestParam(required = false) Optional<List<String>> facets,
             @PageableDefault() Pageable pageable) {
-        Page<TaskDto> tasks = taskService.findTasksWithFilters(userId, status, searchTerm, pageable);
-        return ResponseEntity.ok(PaginatedResponse.from(tasks));
+        List<TaskFacet> requestedFacets = facets.orElse(List.of()).stream()
+                .filter(name -> !name.isBlank())
+                .map(TaskFacet::fromParameterName)
+                .toList();
+        Optional<TaskCursor> position = cursor.map(TaskCursor::decode);
+        CountMode countMode = cursor.isPresent() ? CountMode.NONE : taskService.resolveCountMode(count.map(CountMode::fromParameter));
+
+        PaginatedResponse<?> response;
+        if (TaskView.fromParameter(view) == TaskView.FULL) {
+            Slice<TaskDto> tasks = cursor.isPresent()
+                    ? taskService.findTasksWithFiltersAfter(userId, status, searchTerm, position, pageable.getPageSize())
+                    : taskService.findTasksWithFilters(userId, status, searchTerm, pageable, Optional.of(countMode));
+            response = PaginatedResponse.from(tasks, countMode, nextCursor(tasks, TaskCursor::of));
+        } else {
+            Slice<TaskSummaryDto> tasks = cursor.isPresent()
+                    ? taskService.findTaskSummariesWithFiltersAfter(userId, status, searchTerm, position, pageable.getPageSize())
+                    : taskService.findTaskSummariesWithFilters(userId, status, searchTerm, pageable, Optional.of(countMode));
+            response = PaginatedResponse.from(tasks, countMode, nextCursor(tasks, TaskCursor::of));
+        }
+        if (cursor.isPresent()) {
+            response.setHasPrevious(true);
+        }
+        if (!requestedFacets.isEmpty()) {
+            response.setFacets(taskService.findTaskFacets(userId, status, searchTerm, requestedFacets));
+        }
+        return ResponseEntity.ok(response);
+    }
+
+    @GetMapping("/export")
+    @Operation(summary = "Export tasks", description = "Streams every task matching the filters as NDJSON or CSV, "
+            + "straight from a database cursor; the body is written while rows are read and flushed periodically")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Export streamed", content = {
+                    @Content(mediaType = "application/x-ndjson"), @Content(mediaType = "text/csv")}),
+            @ApiResponse(responseCode = "400", description = "Search term too short"),
+            @ApiResponse(responseCode = "404", description = "User not found")
+    })
+    public void exportTasks(
+            @Parameter(description = "Filter tasks by user ID") @RequestParam(required = false) Optional<UUID> userId,
+            @Parameter(description = "Filter tasks by status") @RequestParam(required = false) Optional<TaskStatus> status,
+            @Parameter(description = "Search tasks by name") @RequestParam(required = false) Optional<String> searchTerm,
+            @Parameter(description = "Output format") @RequestParam(defaultValue = "NDJSON") ExportFormat format,
+            HttpServletResponse response) throws IOException {
+        // Validate before the first byte is written, errors cannot be reported once the body has started
+        Optional<String> term = taskExportService.validateFilters(userId, searchTerm);
+        response.setContentType(format.getMediaType().toString());
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION,
+                ContentDisposition.attachment().filename("tasks." + format.getFileExtension()).build().toString());
+        taskExportService.exportTasks(userId, status, term, format, response.getOutputStream());
+    }
+
+    @PostMapping(value = "/import", consumes = "application/x-ndjson")
+    @Operation(summary = "Import tasks", description = "Loads tasks from NDJSON in the format of the NDJSON export. The body is parsed while "
+            + "it is read and loaded with COPY in chunks of task-management.import.chunk-size, each committed on its own. "
+            + "Invalid lines, unknown assignees and existing IDs are rejected per line")
+    @ApiResponse(responseCode = "200", description = "Import finished, see the imported and rejected counts")
+    public ResponseEntity<TaskImportResult> importTasks(InputStream body) throws IOException {
+        return ResponseEntity.ok(taskImportService.importTasks(body));
+    }
+
+    @GetMapping("/search")
+    @Operation(summary = "Search tasks", description = "Returns tasks ranked by relevance to the query across name, description and bug/feature text, with highlighted snippets")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Search results retrieved successfully"),
+            @ApiResponse(responseCode = "400", description = "Blank query"),
+            @ApiResponse(responseCode = "404", description = "User not found")
+    })
+    public ResponseEntity<PaginatedResponse<TaskSearchResultDto>> searchTasks(
+            @Parameter(description = "Web-search style query, supports quoted phrases, OR and -exclusions") @RequestParam String q,
+            @Parameter(description = "Filter tasks by user ID") @RequestParam(required = false) Optional<UUID> userId,
+            @Parameter(description = "Filter tasks by status") @RequestParam(required = false) Optional<TaskStatus> status,
+            @PageableDefault() Pageable pageable) {
+        Slice<TaskSearchResultDto> results = taskService.searchTasks(q, userId, status, pageable);
+        return ResponseEntity.ok(PaginatedResponse.from(results, CountMode.NONE, null));
     }
 
     @PutMapping("/{id}")
@@ -77,13 +304,17 @@ public class TaskController {
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Task updated successfully"),
             @ApiResponse(responseCode = "400", description = "Invalid input"),
-            @ApiResponse(responseCode = "404", description = "Task not found")
+            @ApiResponse(responseCode = "404", description = "Task not found"),
+            @ApiResponse(responseCode = "409", description = "Task was modified concurrently"),
+            @ApiResponse(responseCode = "412", description = "Task no longer matches the ETag given in If-Match")
     })
     public ResponseEntity<TaskDto> updateTask(
             @Parameter(description = "ID of the task to update") @PathVariable UUID id,
+            @Parameter(description = "ETag the update is based on, as returned by GET or a previous PUT; * or absent updates unconditionally")
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
             @RequestBody UpdateTaskRequest updateRequest) {
-        TaskDto updatedTask = taskService.updateTask(id, updateRequest);
-        return ResponseEntity.ok(updatedTask);
+        TaskDto updatedTask = taskService.updateTask(id, updateRequest, expectedVersion(ifMatch));
+        return ResponseEntity.ok().eTag(eTag(updatedTask.getVersion())).body(updatedTask);
     }
 
     @DeleteMapping("/{id}")
@@ -97,4 +328,65 @@ public class TaskController {
         taskService.deleteTask(id);
         return ResponseEntity.noContent().build();
     }
+
+    /**
+     * Strong entity tag of a task version
+     */
+    private static String eTag(long version) {
+        return "\"" + version + "\"";
+    }
+
+    /**
+     * Check an If-None-Match list against an entity tag using weak comparison
+     */
+    private static boolean matchesAny(String ifNoneMatch, String eTag) {
+        for (String candidate : ifNoneMatch.split(",")) {
+            String tag = candidate.trim();
+            if (tag.equals("*") || (tag.startsWith("W/") ? tag.substring(2) : tag).equals(eTag)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Extract the task version an If-Match header requires, empty when the update is unconditional.
+     * Versions are exchanged as single strong ETags, so lists and weak tags can never match.
+     */
+    private static Optional<Long> expectedVersion(String ifMatch) {
+        if (ifMatch == null || ifMatch.isBlank() || ifMatch.trim().equals("*")) {
+            return Optional.empty();
+        }
+        String tag = ifMatch.trim();
+        if (tag.length() > 2 && tag.startsWith("\"") && tag.endsWith("\"")) {
+            try {
+                return Optional.of(Long.parseLong(tag.substring(1, tag.length() - 1)));
+            } catch (NumberFormatException e) {
+                // Not an ETag issued by this API, falls through to the precondition failure
+            }
+        }
+        throw new PreconditionFailedException("If-Match does not match the current task version: " + ifMatch);
+    }
+
+    /**
+     * Build the cursor pointing after the last task of a page, or null on the last page
+     */
+    private static <T> String nextCursor(Slice<T> tasks, Function<T, TaskCursor> position) {
+        if (!tasks.hasNext() || tasks.getContent().isEmpty()) {
+            return null;
+        }
+        List<T> content = tasks.getContent();
+        return position.apply(content.get(content.size() - 1)).encode();
+    }
+
+    /**
+     * Build the cursor pointing after the last entry of a history page, or null on the last page
+     */
+    private static String nextHistoryCursor(Slice<TaskHistoryEntryDto> history) {
+        if (!history.hasNext() || history.getContent().isEmpty()) {
+            return null;
+        }
+        List<TaskHistoryEntryDto> content = history.getContent();
+        return TaskHistoryCursor.of(content.get(content.size() - 1)).encode();
+    }
 }
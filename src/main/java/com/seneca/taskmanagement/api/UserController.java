@@ -1,6 +1,7 @@
 package com.seneca.taskmanagement.api;
 
 import com.seneca.taskmanagement.dto.UserDto;
+import com.seneca.taskmanagement.dto.UserTaskStatsDto;
 import com.seneca.taskmanagement.dto.UserUpdateDto;
 import com.seneca.taskmanagement.dto.PaginatedResponse;
 import com.seneca.taskmanagement.service.UserService;
@@ -53,6 +54,17 @@ public class UserController {
         return ResponseEntity.ok(user);
     }
 
+    @GetMapping("/{id}/stats")
+    @Operation(summary = "Get task stats of a user", description = "Returns the number of active tasks assigned to the user per status")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Stats retrieved successfully"),
+            @ApiResponse(responseCode = "404", description = "User not found")
+    })
+    public ResponseEntity<UserTaskStatsDto> getUserStats(
+            @Parameter(description = "ID of the user") @PathVariable UUID id) {
+        return ResponseEntity.ok(userService.getUserStats(id));
+    }
+
     @GetMapping
     @Operation(summary = "Get all users", description = "Returns a paginated list of users")
     @ApiResponses(value = {
@@ -63,8 +75,10 @@ public class UserController {
             @Parameter(description = "Page number (0-based)", example = "0")
             @RequestParam(defaultValue = "0") int page,
             @Parameter(description = "Number of items per page", example = "10")
-            @RequestParam(defaultValue = "10") int size) {
-        Page<UserDto> userPage = userService.getAllUsers(PageRequest.of(page, size));
+            @RequestParam(defaultValue = "10") int size,
+            @Parameter(description = "Include each user's active task counts per status as taskStats", example = "false")
+            @RequestParam(defaultValue = "false") boolean withStats) {
+        Page<UserDto> userPage = userService.getAllUsers(PageRequest.of(page, size), withStats);
         return ResponseEntity.ok(PaginatedResponse.from(userPage));
     }
 
@@ -0,0 +1,58 @@
+package com.seneca.taskmanagement.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Read replica settings. With no replicas configured every query goes to the primary
+ * datasource defined by {@code spring.datasource}.
+ */
+@Data
+@ConfigurationProperties(prefix = "task-management.datasource")
+public class ReplicaDataSourceProperties {
+
+    /**
+     * Replicas that serve read-only transactions, in round-robin order
+     */
+    private List<Replica> replicas = new ArrayList<>();
+
+    /**
+     * Maximum connections per replica pool
+     */
+    private int replicaPoolSize = 10;
+
+    /**
+     * How often replicas are probed for availability and replication lag
+     */
+    private Duration healthCheckInterval = Duration.ofSeconds(5);
+
+    /**
+     * Replicas lagging further behind the primary are taken out of rotation
+     */
+    private Duration maxReplicationLag = Duration.ofSeconds(10);
+
+    /**
+     * How long a client's reads stay on the primary after it sent a write
+     */
+    private Duration readYourWritesWindow = Duration.ofSeconds(5);
+
+    @Data
+    public static class Replica {
+
+        private String url;
+
+        /**
+         * Defaults to spring.datasource.username
+         */
+        private String username;
+
+        /**
+         * Defaults to spring.datasource.password
+         */
+        private String password;
+    }
+}
@@ -43,6 +43,10 @@ public abstract class Task {
     @Column(nullable = false)
     private TaskStatus status;
 
+    // Discriminator exposed read-only so list queries can project it; Hibernate writes it from @DiscriminatorValue
+    @Column(name = "task_type", insertable = false, updatable = false)
+    private String taskType;
+
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "user_id")
     private User assignedUser;
@@ -52,6 +56,10 @@ public abstract class Task {
 
     @Column(name = "deleted_at")
     private OffsetDateTime deletedAt;
+
+    @Version
+    @Column(nullable = false)
+    private Long version;
     
     @PrePersist
     protected void onCreate() {
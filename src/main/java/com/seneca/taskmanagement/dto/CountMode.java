@@ -0,0 +1,35 @@
+package com.seneca.taskmanagement.dto;
+
+import com.seneca.taskmanagement.exception.BadRequestException;
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.util.Arrays;
+import java.util.stream.Collectors;
+
+/**
+ * How the total number of matching items is computed for a paginated list
+ */
+@Schema(description = "Strategy used to compute totalElements")
+public enum CountMode {
+    /** Run a COUNT query for every request */
+    EXACT,
+    /** Reuse a recently computed count for the same filters; may lag behind recent writes */
+    ESTIMATED,
+    /** Skip counting and only report whether a next page exists */
+    NONE;
+
+    /**
+     * Parse a count mode from the count request parameter, ignoring case
+     *
+     * @param value e.g. {@code none}
+     * @return the count mode
+     * @throws BadRequestException if no count mode has that name
+     */
+    public static CountMode fromParameter(String value) {
+        return Arrays.stream(values())
+                .filter(mode -> mode.name().equalsIgnoreCase(value.trim()))
+                .findFirst()
+                .orElseThrow(() -> new BadRequestException("Unknown count mode '" + value + "', expected one of "
+                        + Arrays.stream(values()).map(Enum::name).collect(Collectors.joining(", "))));
+    }
+}
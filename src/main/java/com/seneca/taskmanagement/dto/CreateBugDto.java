@@ -4,6 +4,7 @@ import com.seneca.taskmanagement.domain.Bug.BugSeverity;
 import com.seneca.taskmanagement.domain.Bug.BugPriority;
 import io.swagger.v3.oas.annotations.media.Schema;
 import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.EqualsAndHashCode;
@@ -29,6 +30,7 @@ public class CreateBugDto extends CreateTaskDto {
     @Schema(description = "Priority level of the bug", example = "HIGH")
     private BugPriority priority;
 
+    @Size(max = 100)
     @Schema(description = "Environment where the bug was found", example = "Production")
     private String environment;
 
@@ -25,7 +25,7 @@ public class CreateFeatureDto extends CreateTaskDto {
     private String businessValue;
 
     @NotNull(message = "Deadline is required")
-    @Future(message = "Deadline must be in the future")
+    @Future(message = "Deadline must be in the future", groups = NewTaskChecks.class)
     @Schema(description = "Deadline for the feature implementation", example = "2024-01-15")
     private LocalDate deadline;
 
@@ -0,0 +1,39 @@
+package com.seneca.taskmanagement.dto;
+
+import com.seneca.taskmanagement.domain.TaskStatus;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.UUID;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Quantiles of the time tasks spent in a status before moving on, for one task type or one assignee")
+public class CycleTimeDto {
+
+    @Schema(description = "Status the time was spent in", example = "IN_PROGRESS")
+    private TaskStatus status;
+
+    @Schema(description = "Task type the quantiles cover, when requested by type", example = "BUG")
+    private String taskType;
+
+    @Schema(description = "Assignee the quantiles cover, when requested by assignee", example = "123e4567-e89b-12d3-a456-426614174000")
+    private UUID userId;
+
+    @Schema(description = "Number of times tasks left the status", example = "240")
+    private long count;
+
+    @Schema(description = "Median time in the status, in seconds; absent without samples", example = "86400")
+    private Long p50Seconds;
+
+    @Schema(description = "90th percentile of the time in the status, in seconds; absent without samples", example = "432000")
+    private Long p90Seconds;
+
+    @Schema(description = "99th percentile of the time in the status, in seconds; absent without samples", example = "1728000")
+    private Long p99Seconds;
+}
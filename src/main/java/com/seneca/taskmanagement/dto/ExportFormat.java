@@ -0,0 +1,31 @@
+package com.seneca.taskmanagement.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import org.springframework.http.MediaType;
+
+/**
+ * Line-oriented formats a task export can be streamed in
+ */
+@Schema(description = "Format of a task export")
+public enum ExportFormat {
+    /** One JSON object per line */
+    NDJSON(MediaType.parseMediaType("application/x-ndjson"), "ndjson"),
+    /** RFC 4180 CSV with a header line */
+    CSV(MediaType.parseMediaType("text/csv;charset=UTF-8"), "csv");
+
+    private final MediaType mediaType;
+    private final String fileExtension;
+
+    ExportFormat(MediaType mediaType, String fileExtension) {
+        this.mediaType = mediaType;
+        this.fileExtension = fileExtension;
+    }
+
+    public MediaType getMediaType() {
+        return mediaType;
+    }
+
+    public String getFileExtension() {
+        return fileExtension;
+    }
+}
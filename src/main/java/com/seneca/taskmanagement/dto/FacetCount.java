@@ -0,0 +1,21 @@
+package com.seneca.taskmanagement.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Number of matching tasks sharing one value of a facet")
+public class FacetCount {
+
+    @Schema(description = "Facet value, e.g. a status, a task type or an assignee ID; null for unassigned tasks", example = "OPEN")
+    private String value;
+
+    @Schema(description = "Number of tasks matching the list filters with this value", example = "17")
+    private long count;
+}
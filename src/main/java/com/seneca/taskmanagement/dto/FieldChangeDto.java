@@ -0,0 +1,22 @@
+package com.seneca.taskmanagement.dto;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Old and new value of one task field")
+public class FieldChangeDto {
+
+    @Schema(description = "Value before the change; absent if the field was empty", example = "OPEN")
+    private JsonNode from;
+
+    @Schema(description = "Value after the change; absent if the field was cleared", example = "IN_PROGRESS")
+    private JsonNode to;
+}
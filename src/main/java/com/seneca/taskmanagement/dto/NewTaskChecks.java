@@ -0,0 +1,9 @@
+package com.seneca.taskmanagement.dto;
+
+/**
+ * Validation group of the task rules that only hold for tasks entered now, such as deadlines
+ * lying in the future. Create requests are validated against it on top of the default group;
+ * imported tasks, which keep their original dates, against the default group alone.
+ */
+public interface NewTaskChecks {
+}
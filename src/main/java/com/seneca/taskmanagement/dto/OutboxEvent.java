@@ -0,0 +1,25 @@
+package com.seneca.taskmanagement.dto;
+
+import com.fasterxml.jackson.annotation.JsonRawValue;
+
+import java.time.OffsetDateTime;
+import java.util.UUID;
+
+/**
+ * One change event as handed to an outbox sink, serialized as a single JSON object
+ *
+ * @param id            event ID, increasing in commit order per aggregate; consumers deduplicate on it
+ * @param aggregateType TASK or USER
+ * @param aggregateId   ID of the changed task or user
+ * @param type          kind of change
+ * @param createdAt     when the change was made
+ * @param payload       JSON state of the aggregate after the change
+ */
+public record OutboxEvent(
+        long id,
+        String aggregateType,
+        UUID aggregateId,
+        OutboxEventType type,
+        OffsetDateTime createdAt,
+        @JsonRawValue String payload) {
+}
@@ -0,0 +1,26 @@
+package com.seneca.taskmanagement.dto;
+
+/**
+ * Kind of change published through the outbox, with the type of aggregate it changes
+ */
+public enum OutboxEventType {
+    TASK_CREATED("TASK"),
+    TASK_UPDATED("TASK"),
+    TASK_DELETED("TASK"),
+    USER_CREATED("USER"),
+    USER_UPDATED("USER"),
+    USER_DELETED("USER");
+
+    private final String aggregateType;
+
+    OutboxEventType(String aggregateType) {
+        this.aggregateType = aggregateType;
+    }
+
+    /**
+     * @return TASK or USER
+     */
+    public String getAggregateType() {
+        return aggregateType;
+    }
+}
@@ -7,6 +7,7 @@ import lombok.Data;
 import lombok.NoArgsConstructor;
 
 import java.util.List;
+import java.util.Map;
 
 @Data
 @Builder
@@ -24,11 +25,14 @@ public class PaginatedResponse<T> {
     @Schema(description = "Number of items per page", example = "10")
     private int size;
 
-    @Schema(description = "Total number of items across all pages", example = "42")
-    private long totalElements;
+    @Schema(description = "Total number of items across all pages, omitted when countMode is NONE", example = "42")
+    private Long totalElements;
 
-    @Schema(description = "Total number of pages", example = "5")
-    private int totalPages;
+    @Schema(description = "Total number of pages, omitted when countMode is NONE", example = "5")
+    private Integer totalPages;
+
+    @Schema(description = "Strategy that produced totalElements", example = "EXACT")
+    private CountMode countMode;
 
     @Schema(description = "Whether there is a next page", example = "true")
     private boolean hasNext;
@@ -36,6 +40,12 @@ public class PaginatedResponse<T> {
     @Schema(description = "Whether there is a previous page", example = "false")
     private boolean hasPrevious;
 
+    @Schema(description = "Opaque cursor to pass as the cursor parameter to fetch the next page", example = "MjAyMy0xMi0wMVQxMDoxNTozMCswNzowMHw...")
+    private String nextCursor;
+
+    @Schema(description = "Match counts per facet value, keyed by facet name; present only when facets were requested")
+    private Map<String, List<FacetCount>> facets;
+
     public static <T> PaginatedResponse<T> from(org.springframework.data.domain.Page<T> page) {
         return PaginatedResponse.<T>builder()
                 .items(page.getContent())
@@ -45,6 +55,23 @@ public class PaginatedResponse<T> {
                 .totalPages(page.getTotalPages())
                 .hasNext(page.hasNext())
                 .hasPrevious(page.hasPrevious())
+                .countMode(CountMode.EXACT)
                 .build();
     }
+
+    public static <T> PaginatedResponse<T> from(org.springframework.data.domain.Slice<T> slice, CountMode countMode, String nextCursor) {
+        PaginatedResponseBuilder<T> builder = PaginatedResponse.<T>builder()
+                .items(slice.getContent())
+                .page(slice.getNumber())
+                .size(slice.getSize())
+                .hasNext(slice.hasNext())
+                .hasPrevious(slice.hasPrevious())
+                .countMode(countMode)
+                .nextCursor(nextCursor);
+        if (slice instanceof org.springframework.data.domain.Page<T> page) {
+            builder.totalElements(page.getTotalElements())
+                    .totalPages(page.getTotalPages());
+        }
+        return builder.build();
+    }
 }
@@ -0,0 +1,10 @@
+package com.seneca.taskmanagement.dto;
+
+/**
+ * Kind of task write recorded in the audit history
+ */
+public enum TaskAuditAction {
+    CREATED,
+    UPDATED,
+    DELETED
+}
@@ -0,0 +1,53 @@
+package com.seneca.taskmanagement.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Outcome of a single item of a batch request")
+public class TaskBatchItemResult {
+
+    public enum Outcome {
+        CREATED,
+        FAILED
+    }
+
+    @Schema(description = "Position of the item in the request (0-based)", example = "0")
+    private int index;
+
+    @Schema(description = "Whether the item was created", example = "CREATED")
+    private Outcome outcome;
+
+    @Schema(description = "HTTP status the item would have produced as a single request", example = "201")
+    private int status;
+
+    @Schema(description = "Created task, present when outcome is CREATED")
+    private TaskDto task;
+
+    @Schema(description = "Reason the item was rejected, present when outcome is FAILED", example = "User not found with ID: 3f0c...")
+    private String error;
+
+    public static TaskBatchItemResult created(int index, TaskDto task) {
+        return TaskBatchItemResult.builder()
+                .index(index)
+                .outcome(Outcome.CREATED)
+                .status(201)
+                .task(task)
+                .build();
+    }
+
+    public static TaskBatchItemResult failed(int index, int status, String error) {
+        return TaskBatchItemResult.builder()
+                .index(index)
+                .outcome(Outcome.FAILED)
+                .status(status)
+                .error(error)
+                .build();
+    }
+}
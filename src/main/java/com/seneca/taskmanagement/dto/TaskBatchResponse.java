@@ -0,0 +1,37 @@
+package com.seneca.taskmanagement.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Per-item results of a batch task creation")
+public class TaskBatchResponse {
+
+    @Schema(description = "Number of tasks created", example = "48")
+    private int created;
+
+    @Schema(description = "Number of items rejected", example = "2")
+    private int failed;
+
+    @Schema(description = "One result per request item, in request order")
+    private List<TaskBatchItemResult> results;
+
+    public static TaskBatchResponse of(List<TaskBatchItemResult> results) {
+        int created = (int) results.stream()
+                .filter(result -> result.getOutcome() == TaskBatchItemResult.Outcome.CREATED)
+                .count();
+        return TaskBatchResponse.builder()
+                .created(created)
+                .failed(results.size() - created)
+                .results(results)
+                .build();
+    }
+}
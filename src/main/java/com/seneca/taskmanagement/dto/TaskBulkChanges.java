@@ -0,0 +1,31 @@
+package com.seneca.taskmanagement.dto;
+
+import com.seneca.taskmanagement.domain.TaskStatus;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.UUID;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Field values applied to every selected task; null fields are left unchanged")
+public class TaskBulkChanges {
+
+    @Schema(description = "New status", example = "DONE")
+    private TaskStatus status;
+
+    @Schema(description = "ID of the user to assign the tasks to")
+    private UUID assignedUserId;
+
+    @Schema(description = "New description")
+    private String description;
+
+    public boolean isEmpty() {
+        return status == null && assignedUserId == null && description == null;
+    }
+}
@@ -0,0 +1,28 @@
+package com.seneca.taskmanagement.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.UUID;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Outcome of a bulk operation")
+public class TaskBulkResult {
+
+    @Schema(description = "Number of tasks changed by the operation", example = "250")
+    private long affected;
+
+    @Schema(description = "Number of statements the operation was split into", example = "1")
+    private int chunks;
+
+    @Schema(description = "Requested IDs left untouched because they do not exist, are not eligible or already had the requested values; "
+            + "only reported for ID list selections")
+    private List<UUID> unaffectedIds;
+}
@@ -0,0 +1,24 @@
+package com.seneca.taskmanagement.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.NoArgsConstructor;
+import lombok.experimental.SuperBuilder;
+
+@Data
+@EqualsAndHashCode(callSuper = true)
+@SuperBuilder
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Bulk update request: the selected tasks and the changes to apply to them")
+public class TaskBulkUpdateRequest extends TaskSelection {
+
+    @Valid
+    @NotNull(message = "Changes are required")
+    @Schema(description = "Changes to apply")
+    private TaskBulkChanges changes;
+}
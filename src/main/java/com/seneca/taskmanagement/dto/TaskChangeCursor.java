@@ -0,0 +1,74 @@
+package com.seneca.taskmanagement.dto;
+
+import com.seneca.taskmanagement.exception.BadRequestException;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.UUID;
+
+/**
+ * Position in the task change feed (sequence asc, id asc), exchanged with clients as an opaque
+ * token. A cursor at the start of a sequence, with the nil UUID, precedes every task of it.
+ */
+public record TaskChangeCursor(long sequence, UUID id) {
+
+    private static final String SEPARATOR = "|";
+    private static final UUID NIL = new UUID(0, 0);
+
+    /**
+     * @return cursor before every change, for an initial sync
+     */
+    public static TaskChangeCursor initial() {
+        return before(0);
+    }
+
+    /**
+     * @param sequence change sequence
+     * @return cursor before every change of the given sequence and after all earlier ones
+     */
+    public static TaskChangeCursor before(long sequence) {
+        return new TaskChangeCursor(sequence, NIL);
+    }
+
+    /**
+     * Build a cursor pointing at the given change
+     *
+     * @param change last change of the current page
+     * @return cursor positioned after that change
+     */
+    public static TaskChangeCursor of(TaskChangeDto change) {
+        return new TaskChangeCursor(change.getSequence(), change.getId());
+    }
+
+    /**
+     * Encode the cursor into an opaque URL-safe token
+     *
+     * @return encoded cursor
+     */
+    public String encode() {
+        String raw = sequence + SEPARATOR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Decode a token previously produced by {@link #encode()}
+     *
+     * @param token encoded cursor
+     * @return decoded cursor
+     * @throws BadRequestException if the token is malformed
+     */
+    public static TaskChangeCursor decode(String token) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            int separatorIndex = raw.indexOf(SEPARATOR);
+            if (separatorIndex < 0) {
+                throw new BadRequestException("Invalid cursor: " + token);
+            }
+            return new TaskChangeCursor(
+                    Long.parseLong(raw.substring(0, separatorIndex)),
+                    UUID.fromString(raw.substring(separatorIndex + 1)));
+        } catch (IllegalArgumentException e) {
+            throw new BadRequestException("Invalid cursor: " + token, e);
+        }
+    }
+}
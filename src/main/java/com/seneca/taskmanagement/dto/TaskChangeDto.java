@@ -0,0 +1,29 @@
+package com.seneca.taskmanagement.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.UUID;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Current state of a task that changed, or a tombstone if it was deleted")
+public class TaskChangeDto {
+
+    @Schema(description = "Change sequence of the task's latest write; orders the feed", example = "734211")
+    private long sequence;
+
+    @Schema(description = "ID of the task", example = "123e4567-e89b-12d3-a456-426614174000")
+    private UUID id;
+
+    @Schema(description = "Whether the task was deleted; tombstones carry no task", example = "false")
+    private boolean deleted;
+
+    @Schema(description = "Task as of now, absent for tombstones")
+    private TaskDto task;
+}
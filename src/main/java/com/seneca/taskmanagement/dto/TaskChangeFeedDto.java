@@ -0,0 +1,26 @@
+package com.seneca.taskmanagement.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Task changes following a cursor, in change sequence order")
+public class TaskChangeFeedDto {
+
+    @Schema(description = "Changed tasks and tombstones; a task changed several times appears once, with its latest state")
+    private List<TaskChangeDto> changes;
+
+    @Schema(description = "Cursor to pass as since on the next call; always present")
+    private String nextCursor;
+
+    @Schema(description = "Whether more changes are ready; if not, the next call may long-poll", example = "false")
+    private boolean hasMore;
+}
@@ -0,0 +1,70 @@
+package com.seneca.taskmanagement.dto;
+
+import com.seneca.taskmanagement.exception.BadRequestException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.OffsetDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+import java.util.UUID;
+
+/**
+ * Position of a task in the default list ordering (created_at desc, id desc),
+ * exchanged with clients as an opaque keyset pagination token.
+ */
+public record TaskCursor(OffsetDateTime createdAt, UUID id) {
+
+    private static final String SEPARATOR = "|";
+
+    /**
+     * Build a cursor pointing at the given task
+     *
+     * @param task last task of the current page
+     * @return cursor positioned after that task
+     */
+    public static TaskCursor of(TaskDto task) {
+        return new TaskCursor(task.getCreatedAt(), task.getId());
+    }
+
+    /**
+     * Build a cursor pointing at the given task summary
+     *
+     * @param task last task of the current page
+     * @return cursor positioned after that task
+     */
+    public static TaskCursor of(TaskSummaryDto task) {
+        return new TaskCursor(task.getCreatedAt(), task.getId());
+    }
+
+    /**
+     * Encode the cursor into an opaque URL-safe token
+     *
+     * @return encoded cursor
+     */
+    public String encode() {
+        String raw = createdAt + SEPARATOR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Decode a token previously produced by {@link #encode()}
+     *
+     * @param token encoded cursor
+     * @return decoded cursor
+     * @throws BadRequestException if the token is malformed
+     */
+    public static TaskCursor decode(String token) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            int separatorIndex = raw.indexOf(SEPARATOR);
+            if (separatorIndex < 0) {
+                throw new BadRequestException("Invalid cursor: " + token);
+            }
+            return new TaskCursor(
+                    OffsetDateTime.parse(raw.substring(0, separatorIndex)),
+                    UUID.fromString(raw.substring(separatorIndex + 1)));
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            throw new BadRequestException("Invalid cursor: " + token, e);
+        }
+    }
+}
@@ -47,6 +47,9 @@ public abstract class TaskDto {
     @Schema(description = "ID of the user assigned to this task")
     private UUID assignedUserId;
 
+    @Schema(description = "Version of the task, incremented on every update and returned as the ETag", example = "3")
+    private Long version;
+
     @Schema(description = "Type discriminator for the task")
     public abstract String getTaskType();
 }
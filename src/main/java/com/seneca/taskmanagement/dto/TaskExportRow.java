@@ -0,0 +1,49 @@
+package com.seneca.taskmanagement.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.seneca.taskmanagement.domain.TaskStatus;
+
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * One exported task, bug and feature columns flattened side by side; the columns that do
+ * not apply to the task type are null and left out of NDJSON lines
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record TaskExportRow(
+        UUID id,
+        String taskType,
+        String name,
+        String description,
+        TaskStatus status,
+        UUID assignedUserId,
+        OffsetDateTime createdAt,
+        OffsetDateTime updatedAt,
+        long version,
+        String severity,
+        String priority,
+        String stepsToReproduce,
+        String environment,
+        String businessValue,
+        LocalDate deadline,
+        String acceptanceCriteria,
+        Integer estimatedEffort) {
+
+    /** CSV header, in the order of {@link #values()} */
+    public static final List<String> COLUMNS = List.of(
+            "id", "taskType", "name", "description", "status", "assignedUserId", "createdAt", "updatedAt", "version",
+            "severity", "priority", "stepsToReproduce", "environment", "businessValue", "deadline",
+            "acceptanceCriteria", "estimatedEffort");
+
+    /**
+     * @return column values in the order of {@link #COLUMNS}, nulls for absent values
+     */
+    public Object[] values() {
+        return new Object[]{id, taskType, name, description, status, assignedUserId, createdAt, updatedAt, version,
+                severity, priority, stepsToReproduce, environment, businessValue, deadline,
+                acceptanceCriteria, estimatedEffort};
+    }
+}
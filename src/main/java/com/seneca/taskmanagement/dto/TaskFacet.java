@@ -0,0 +1,48 @@
+package com.seneca.taskmanagement.dto;
+
+import com.seneca.taskmanagement.exception.BadRequestException;
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.util.Arrays;
+import java.util.stream.Collectors;
+
+/**
+ * Dimensions the task list can report match counts for, next to the page of results
+ */
+@Schema(description = "Task list facet")
+public enum TaskFacet {
+    /** Counts per task status */
+    STATUS("status"),
+    /** Counts per task type, BUG or FEATURE */
+    TASK_TYPE("taskType"),
+    /** Counts per assigned user, unassigned tasks under a null value */
+    ASSIGNEE("assignee");
+
+    private final String parameterName;
+
+    TaskFacet(String parameterName) {
+        this.parameterName = parameterName;
+    }
+
+    /**
+     * @return name of the facet in the facets request parameter and in responses
+     */
+    public String getParameterName() {
+        return parameterName;
+    }
+
+    /**
+     * Parse a facet from its request parameter name
+     *
+     * @param name e.g. {@code taskType}
+     * @return the facet
+     * @throws BadRequestException if no facet has that name
+     */
+    public static TaskFacet fromParameterName(String name) {
+        return Arrays.stream(values())
+                .filter(facet -> facet.parameterName.equals(name.trim()))
+                .findFirst()
+                .orElseThrow(() -> new BadRequestException("Unknown facet '" + name + "', expected one of "
+                        + Arrays.stream(values()).map(TaskFacet::getParameterName).collect(Collectors.joining(", "))));
+    }
+}
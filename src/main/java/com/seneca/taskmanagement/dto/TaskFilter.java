@@ -0,0 +1,31 @@
+package com.seneca.taskmanagement.dto;
+
+import com.seneca.taskmanagement.domain.TaskStatus;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.UUID;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Task filter with the same semantics as the GET /tasks query parameters")
+public class TaskFilter {
+
+    @Schema(description = "Only tasks assigned to this user")
+    private UUID userId;
+
+    @Schema(description = "Only tasks in this status", example = "IN_PROGRESS")
+    private TaskStatus status;
+
+    @Schema(description = "Only tasks whose name contains this term (case-insensitive)", example = "login")
+    private String searchTerm;
+
+    public boolean isEmpty() {
+        return userId == null && status == null && (searchTerm == null || searchTerm.isBlank());
+    }
+}
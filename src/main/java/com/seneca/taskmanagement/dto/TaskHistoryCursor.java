@@ -0,0 +1,47 @@
+package com.seneca.taskmanagement.dto;
+
+import com.seneca.taskmanagement.exception.BadRequestException;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Position of an entry in a task history (id desc), exchanged with clients as an opaque
+ * pagination token.
+ */
+public record TaskHistoryCursor(long id) {
+
+    /**
+     * Build a cursor pointing at the given entry
+     *
+     * @param entry last entry of the current page
+     * @return cursor positioned after that entry
+     */
+    public static TaskHistoryCursor of(TaskHistoryEntryDto entry) {
+        return new TaskHistoryCursor(entry.getId());
+    }
+
+    /**
+     * Encode the cursor into an opaque URL-safe token
+     *
+     * @return encoded cursor
+     */
+    public String encode() {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(Long.toString(id).getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Decode a token previously produced by {@link #encode()}
+     *
+     * @param token encoded cursor
+     * @return decoded cursor
+     * @throws BadRequestException if the token is malformed
+     */
+    public static TaskHistoryCursor decode(String token) {
+        try {
+            return new TaskHistoryCursor(Long.parseLong(new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8)));
+        } catch (IllegalArgumentException e) {
+            throw new BadRequestException("Invalid cursor: " + token, e);
+        }
+    }
+}
@@ -0,0 +1,43 @@
+package com.seneca.taskmanagement.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.OffsetDateTime;
+import java.util.Map;
+import java.util.UUID;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "One recorded change of a task")
+public class TaskHistoryEntryDto {
+
+    @Schema(description = "Position of the entry in the history", example = "1042")
+    private long id;
+
+    @Schema(description = "ID of the task", example = "123e4567-e89b-12d3-a456-426614174000")
+    private UUID taskId;
+
+    @Schema(description = "Kind of write", example = "UPDATED")
+    private TaskAuditAction action;
+
+    @Schema(description = "Changed fields with their old and new values")
+    private Map<String, FieldChangeDto> changes;
+
+    @Schema(description = "Client address the change came from", example = "10.0.0.12")
+    private String actor;
+
+    @Schema(description = "X-Request-ID of the request that made the change", example = "0b7c6a1e-3f5d-4c2b-9a8e-1d2f3e4a5b6c")
+    private String requestId;
+
+    @Schema(description = "When the change was committed", example = "2025-05-08T10:15:30+07:00")
+    private OffsetDateTime changedAt;
+
+    @Schema(description = "Task version after the change; orders the changes of one task", example = "3")
+    private Long version;
+}
@@ -0,0 +1,21 @@
+package com.seneca.taskmanagement.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "A line of an import that was not loaded")
+public class TaskImportRejection {
+
+    @Schema(description = "Line number in the uploaded file (1-based)", example = "1042")
+    private long line;
+
+    @Schema(description = "Reason the line was rejected", example = "User not found with ID: 3f0c...")
+    private String reason;
+}
@@ -0,0 +1,38 @@
+package com.seneca.taskmanagement.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Outcome of an NDJSON task import")
+public class TaskImportResult {
+
+    @Schema(description = "Number of non-blank lines read", example = "1000000")
+    private long lines;
+
+    @Schema(description = "Number of tasks inserted", example = "999998")
+    private long imported;
+
+    @Schema(description = "Number of lines rejected", example = "2")
+    private long rejected;
+
+    @Schema(description = "Number of chunks, each loaded and committed on its own", example = "100")
+    private int chunks;
+
+    @Schema(description = "Wall-clock duration of the import in milliseconds", example = "18500")
+    private long elapsedMillis;
+
+    @Schema(description = "Rejected lines, in line order; capped at task-management.import.max-reported-rejections")
+    private List<TaskImportRejection> rejections;
+
+    @Schema(description = "Whether more lines were rejected than are listed in rejections", example = "false")
+    private boolean rejectionsTruncated;
+}
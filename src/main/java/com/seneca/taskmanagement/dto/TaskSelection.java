@@ -0,0 +1,26 @@
+package com.seneca.taskmanagement.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.Valid;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.experimental.SuperBuilder;
+
+import java.util.List;
+import java.util.UUID;
+
+@Data
+@SuperBuilder
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Tasks targeted by a bulk operation: either an explicit ID list or a filter, not both")
+public class TaskSelection {
+
+    @Schema(description = "IDs of the tasks to act on")
+    private List<UUID> ids;
+
+    @Valid
+    @Schema(description = "Filter selecting the tasks to act on; must set at least one criterion")
+    private TaskFilter filter;
+}
@@ -0,0 +1,40 @@
+package com.seneca.taskmanagement.dto;
+
+import com.seneca.taskmanagement.domain.TaskStatus;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.OffsetDateTime;
+import java.util.UUID;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Slim task representation used by list views")
+public class TaskSummaryDto {
+
+    @Schema(description = "Unique identifier of the task")
+    private UUID id;
+
+    @Schema(description = "Name of the task", example = "Implement login functionality")
+    private String name;
+
+    @Schema(description = "Type discriminator for the task", example = "BUG")
+    private String taskType;
+
+    @Schema(description = "Status of the task", example = "OPEN")
+    private TaskStatus status;
+
+    @Schema(description = "ID of the user assigned to this task")
+    private UUID assignedUserId;
+
+    @Schema(description = "Creation timestamp", example = "2023-12-01T10:15:30+07:00")
+    private OffsetDateTime createdAt;
+
+    @Schema(description = "Last update timestamp", example = "2023-12-01T10:15:30+07:00")
+    private OffsetDateTime updatedAt;
+}
@@ -0,0 +1,36 @@
+package com.seneca.taskmanagement.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.util.UUID;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Tasks of one type and assignee created, completed and deleted on one day")
+public class TaskThroughputDto {
+
+    @Schema(description = "Day, in UTC", example = "2025-05-08")
+    private LocalDate day;
+
+    @Schema(description = "Task type", example = "BUG")
+    private String taskType;
+
+    @Schema(description = "Assignee at the time of the event; absent for unassigned tasks", example = "123e4567-e89b-12d3-a456-426614174000")
+    private UUID userId;
+
+    @Schema(description = "Number of tasks created", example = "12")
+    private long created;
+
+    @Schema(description = "Number of tasks moved to DONE", example = "9")
+    private long completed;
+
+    @Schema(description = "Number of tasks deleted", example = "1")
+    private long deleted;
+}
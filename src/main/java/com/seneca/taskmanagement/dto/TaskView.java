@@ -0,0 +1,33 @@
+package com.seneca.taskmanagement.dto;
+
+import com.seneca.taskmanagement.exception.BadRequestException;
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.util.Arrays;
+import java.util.stream.Collectors;
+
+/**
+ * Level of detail returned for each task in list responses
+ */
+@Schema(description = "Level of detail for listed tasks")
+public enum TaskView {
+    /** Identity, status, type, assignee and timestamps only, projected straight from the query */
+    SUMMARY,
+    /** Complete bug or feature payload, including text fields */
+    FULL;
+
+    /**
+     * Parse a view from the view request parameter, ignoring case
+     *
+     * @param value e.g. {@code full}
+     * @return the view
+     * @throws BadRequestException if no view has that name
+     */
+    public static TaskView fromParameter(String value) {
+        return Arrays.stream(values())
+                .filter(view -> view.name().equalsIgnoreCase(value.trim()))
+                .findFirst()
+                .orElseThrow(() -> new BadRequestException("Unknown view '" + value + "', expected one of "
+                        + Arrays.stream(values()).map(Enum::name).collect(Collectors.joining(", "))));
+    }
+}
@@ -30,4 +30,7 @@ public class UserDto {
 
     @Schema(description = "Timestamp when the user was created", example = "2025-05-08T10:15:30+07:00")
     private OffsetDateTime createdAt;
+
+    @Schema(description = "Active tasks assigned to the user per status; only present when listing users with withStats=true")
+    private UserTaskStatsDto taskStats;
 }
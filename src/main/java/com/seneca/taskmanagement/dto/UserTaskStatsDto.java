@@ -0,0 +1,39 @@
+package com.seneca.taskmanagement.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.UUID;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Active tasks assigned to a user, per status")
+public class UserTaskStatsDto {
+
+    @Schema(description = "ID of the user", example = "123e4567-e89b-12d3-a456-426614174000")
+    private UUID userId;
+
+    @Schema(description = "Number of open tasks", example = "4")
+    private long open;
+
+    @Schema(description = "Number of tasks in progress", example = "2")
+    private long inProgress;
+
+    @Schema(description = "Number of done tasks", example = "11")
+    private long done;
+
+    @Schema(description = "Number of active tasks in any status", example = "17")
+    private long total;
+
+    /**
+     * Stats of a user without active tasks
+     */
+    public static UserTaskStatsDto empty(UUID userId) {
+        return new UserTaskStatsDto(userId, 0, 0, 0, 0);
+    }
+}
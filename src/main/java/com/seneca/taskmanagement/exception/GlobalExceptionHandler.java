@@ -7,10 +7,12 @@ import lombok.extern.slf4j.Slf4j;
 import org.slf4j.MDC;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.validation.FieldError;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.springframework.web.method.annotation.MethodArgumentTypeMismatchException;
 import org.springframework.web.context.request.WebRequest;
 
 import java.time.LocalDateTime;
@@ -54,6 +56,28 @@ public class GlobalExceptionHandler {
         return new ResponseEntity<>(errorResponse, HttpStatus.CONFLICT);
     }
 
+    @ExceptionHandler(PreconditionFailedException.class)
+    public ResponseEntity<ErrorResponse> handlePreconditionFailedException(PreconditionFailedException ex, HttpServletRequest request) {
+        log.warn("Precondition failed: {}", ex.getMessage());
+        ErrorResponse errorResponse = new ErrorResponse(
+                "Precondition failed",
+                ex.getMessage(),
+                request.getRequestURI(),
+                LocalDateTime.now());
+        return new ResponseEntity<>(errorResponse, HttpStatus.PRECONDITION_FAILED);
+    }
+
+    @ExceptionHandler(ObjectOptimisticLockingFailureException.class)
+    public ResponseEntity<ErrorResponse> handleOptimisticLockingFailureException(ObjectOptimisticLockingFailureException ex, HttpServletRequest request) {
+        log.warn("Concurrent modification: {}", ex.getMessage());
+        ErrorResponse errorResponse = new ErrorResponse(
+                "Concurrent modification",
+                "The resource was modified concurrently, reload it and retry",
+                request.getRequestURI(),
+                LocalDateTime.now());
+        return new ResponseEntity<>(errorResponse, HttpStatus.CONFLICT);
+    }
+
     @ExceptionHandler(BadRequestException.class)
     public ResponseEntity<ErrorResponse> handleBadRequestException(
             BadRequestException ex, 
@@ -76,6 +100,30 @@ public class GlobalExceptionHandler {
         return new ResponseEntity<>(errorResponse, HttpStatus.BAD_REQUEST);
     }
 
+    @ExceptionHandler(MethodArgumentTypeMismatchException.class)
+    public ResponseEntity<ErrorResponse> handleMethodArgumentTypeMismatchException(
+            MethodArgumentTypeMismatchException ex,
+            HttpServletRequest request) {
+
+        String details = "Invalid value '" + ex.getValue() + "' for parameter '" + ex.getName() + "'";
+
+        // Create structured log entry
+        Map<String, Object> metadata = new HashMap<>();
+        metadata.put("statusCode", HttpStatus.BAD_REQUEST.value());
+        metadata.put("exceptionType", ex.getClass().getSimpleName());
+        metadata.put("path", request.getRequestURI());
+
+        LoggingUtils.logOperation(log, "Bad request: " + details, metadata);
+
+        ErrorResponse errorResponse = new ErrorResponse(
+                "Bad request",
+                details,
+                request.getRequestURI(),
+                LocalDateTime.now());
+
+        return new ResponseEntity<>(errorResponse, HttpStatus.BAD_REQUEST);
+    }
+
     @ExceptionHandler(MethodArgumentNotValidException.class)
     public ResponseEntity<ErrorResponse> handleValidationExceptions(
             MethodArgumentNotValidException ex, 
@@ -5,7 +5,6 @@ import com.seneca.taskmanagement.domain.Feature;
 import com.seneca.taskmanagement.domain.Task;
 import com.seneca.taskmanagement.domain.User;
 import com.seneca.taskmanagement.dto.*;
-import com.seneca.taskmanagement.exception.ResourceNotFoundException;
 import com.seneca.taskmanagement.repository.UserRepository;
 import org.mapstruct.*;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -42,6 +41,7 @@ public abstract class TaskMapper {
     @Mapping(target = "updatedAt", ignore = true)
     @Mapping(target = "deleted", ignore = true)
     @Mapping(target = "deletedAt", ignore = true)
+    @Mapping(target = "version", ignore = true)
     @Mapping(target = "assignedUser", source = "assignedUserId", qualifiedByName = "mapAssignedUser")
     @Mapping(target = "status", source = "status")
     public abstract Bug toBugEntity(CreateBugDto createBugDto);
@@ -51,6 +51,7 @@ public abstract class TaskMapper {
     @Mapping(target = "updatedAt", ignore = true)
     @Mapping(target = "deleted", ignore = true)
     @Mapping(target = "deletedAt", ignore = true)
+    @Mapping(target = "version", ignore = true)
     @Mapping(target = "status", source = "status")
     @Mapping(target = "assignedUser", source = "assignedUserId", qualifiedByName = "mapAssignedUser")
     public abstract Feature toFeatureEntity(CreateFeatureDto createFeatureDto);
@@ -73,6 +74,16 @@ public abstract class TaskMapper {
         return null;
     }
 
+    // Convert creation request to the appropriate entity based on its type
+    public Task toEntityByType(CreateTaskDto createTaskDto) {
+        if (createTaskDto instanceof CreateBugDto) {
+            return toBugEntity((CreateBugDto) createTaskDto);
+        } else if (createTaskDto instanceof CreateFeatureDto) {
+            return toFeatureEntity((CreateFeatureDto) createTaskDto);
+        }
+        return null;
+    }
+
     // Convert list of tasks to appropriate DTOs based on their types
     public List<TaskDto> toDtoListByType(List<Task> tasks) {
         return tasks.stream()
@@ -88,7 +99,7 @@ public abstract class TaskMapper {
         if (userId == null) {
             return null;
         }
-        return userRepository.findById(userId)
-                .orElseThrow(() -> new ResourceNotFoundException("User not found with ID: " + userId));
+        // Lazy reference: no SELECT, a missing or deleted user is rejected by the INSERT itself
+        return userRepository.getReferenceById(userId);
     }
 }
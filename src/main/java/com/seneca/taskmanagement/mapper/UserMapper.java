@@ -12,6 +12,7 @@ import java.util.List;
 @Mapper(componentModel = "spring")
 public interface UserMapper {
 
+    @Mapping(target = "taskStats", ignore = true)
     UserDto toDto(User user);
 
     List<UserDto> toDtoList(List<User> users);
@@ -0,0 +1,155 @@
+package com.seneca.taskmanagement.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.core.namedparam.SqlParameterSource;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Cycle time samples queued by the V14 transition trigger, and the persisted quantile sketches
+ * they are folded into
+ */
+@Repository
+@RequiredArgsConstructor
+public class CycleTimeRepository {
+
+    private static final Comparator<SketchKey> KEY_ORDER = Comparator.comparing(SketchKey::dimension)
+            .thenComparing(SketchKey::value)
+            .thenComparing(SketchKey::status);
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    /**
+     * Remove up to {@code limit} queued samples and return them. Rows claimed by a concurrent
+     * fold are skipped rather than waited for, and the removal only sticks if the surrounding
+     * transaction commits, so every sample is folded exactly once.
+     *
+     * @param limit most samples to claim
+     * @return claimed samples, oldest first
+     */
+    public List<Sample> claimSamples(int limit) {
+        String sql = """
+                DELETE FROM cycle_time_samples
+                WHERE id IN (SELECT id FROM cycle_time_samples ORDER BY id LIMIT :limit FOR UPDATE SKIP LOCKED)
+                RETURNING task_type, user_id, status, seconds
+                """;
+        return jdbcTemplate.query(sql, new MapSqlParameterSource("limit", limit), (rs, rowNum) -> new Sample(
+                rs.getString("task_type"),
+                rs.getObject("user_id", UUID.class),
+                rs.getString("status"),
+                rs.getLong("seconds")));
+    }
+
+    /**
+     * Lock the sketches of the given keys for update, creating empty ones for new keys. Keys
+     * are locked in a fixed order so concurrent folds cannot deadlock.
+     *
+     * @param keys sketch keys
+     * @return stored sketch per key; new keys have no sketch yet
+     */
+    public Map<SketchKey, StoredSketch> lockSketches(Collection<SketchKey> keys) {
+        List<SketchKey> ordered = keys.stream().sorted(KEY_ORDER).toList();
+        jdbcTemplate.batchUpdate("""
+                        INSERT INTO cycle_time_sketches (dimension, dimension_value, status)
+                        VALUES (:dimension, :value, :status)
+                        ON CONFLICT DO NOTHING
+                        """,
+                ordered.stream().map(CycleTimeRepository::keyParams).toArray(SqlParameterSource[]::new));
+
+        List<Object[]> tuples = ordered.stream()
+                .map(key -> new Object[]{key.dimension(), key.value(), key.status()})
+                .toList();
+        Map<SketchKey, StoredSketch> sketches = new HashMap<>();
+        jdbcTemplate.query("""
+                        SELECT dimension, dimension_value, status, sample_count, sketch
+                        FROM cycle_time_sketches
+                        WHERE (dimension, dimension_value, status) IN (:keys)
+                        ORDER BY dimension, dimension_value, status
+                        FOR UPDATE
+                        """,
+                new MapSqlParameterSource("keys", tuples),
+                rs -> {
+                    SketchKey key = new SketchKey(rs.getString("dimension"), rs.getString("dimension_value"), rs.getString("status"));
+                    sketches.put(key, new StoredSketch(rs.getLong("sample_count"), rs.getBytes("sketch")));
+                });
+        return sketches;
+    }
+
+    /**
+     * Store sketches locked by {@link #lockSketches}
+     *
+     * @param sketches merged sketch per key
+     */
+    public void saveSketches(Map<SketchKey, StoredSketch> sketches) {
+        jdbcTemplate.batchUpdate("""
+                        UPDATE cycle_time_sketches
+                        SET sample_count = :sampleCount, sketch = :sketch, updated_at = now()
+                        WHERE dimension = :dimension AND dimension_value = :value AND status = :status
+                        """,
+                sketches.entrySet().stream()
+                        .sorted(Map.Entry.comparingByKey(KEY_ORDER))
+                        .map(entry -> keyParams(entry.getKey())
+                                .addValue("sampleCount", entry.getValue().sampleCount())
+                                .addValue("sketch", entry.getValue().sketch()))
+                        .toArray(SqlParameterSource[]::new));
+    }
+
+    /**
+     * @param key sketch key
+     * @return the stored sketch, empty if no sample was ever folded for the key
+     */
+    public Optional<StoredSketch> findSketch(SketchKey key) {
+        List<StoredSketch> sketches = jdbcTemplate.query("""
+                        SELECT sample_count, sketch
+                        FROM cycle_time_sketches
+                        WHERE dimension = :dimension AND dimension_value = :value AND status = :status AND sketch IS NOT NULL
+                        """,
+                keyParams(key),
+                (rs, rowNum) -> new StoredSketch(rs.getLong("sample_count"), rs.getBytes("sketch")));
+        return sketches.stream().findFirst();
+    }
+
+    private static MapSqlParameterSource keyParams(SketchKey key) {
+        return new MapSqlParameterSource()
+                .addValue("dimension", key.dimension())
+                .addValue("value", key.value())
+                .addValue("status", key.status());
+    }
+
+    /**
+     * Time a task spent in a status
+     *
+     * @param taskType task type
+     * @param userId   assignee during that time, null if unassigned
+     * @param status   status left
+     * @param seconds  time spent in it
+     */
+    public record Sample(String taskType, UUID userId, String status, long seconds) {
+    }
+
+    /**
+     * Identifies one sketch
+     *
+     * @param dimension what the sketch is kept per, TASK_TYPE or ASSIGNEE
+     * @param value     task type or assignee ID
+     * @param status    status whose time the sketch measures
+     */
+    public record SketchKey(String dimension, String value, String status) {
+    }
+
+    /**
+     * @param sampleCount samples folded into the sketch
+     * @param sketch      compressed histogram, null before the first fold
+     */
+    public record StoredSketch(long sampleCount, byte[] sketch) {
+    }
+}
@@ -0,0 +1,115 @@
+package com.seneca.taskmanagement.repository;
+
+import com.seneca.taskmanagement.dto.OutboxEvent;
+import com.seneca.taskmanagement.dto.OutboxEventType;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.time.OffsetDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Change events waiting in the V16 outbox table for the relay to deliver them
+ */
+@Repository
+@RequiredArgsConstructor
+public class OutboxRepository {
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    /**
+     * Add an event in the current transaction. Called after the changed row was written, so
+     * concurrent changes of the same aggregate wait for each other before numbering their events.
+     *
+     * @param type        kind of change
+     * @param aggregateId ID of the changed task or user
+     * @param payload     JSON state of the aggregate after the change
+     */
+    public void append(OutboxEventType type, UUID aggregateId, String payload) {
+        jdbcTemplate.update("""
+                        INSERT INTO outbox (aggregate_type, aggregate_id, event_type, payload)
+                        VALUES (:aggregateType, :aggregateId, :eventType, CAST(:payload AS jsonb))
+                        """,
+                new MapSqlParameterSource()
+                        .addValue("aggregateType", type.getAggregateType())
+                        .addValue("aggregateId", aggregateId)
+                        .addValue("eventType", type.name())
+                        .addValue("payload", payload));
+    }
+
+    /**
+     * Add events of one kind in the current transaction as a single JDBC batch, under the same
+     * ordering contract as {@link #append}
+     *
+     * @param type     kind of change
+     * @param payloads JSON state after the change by aggregate ID, in the order to number them
+     */
+    public void appendAll(OutboxEventType type, Map<UUID, String> payloads) {
+        if (payloads.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.batchUpdate("""
+                        INSERT INTO outbox (aggregate_type, aggregate_id, event_type, payload)
+                        VALUES (:aggregateType, :aggregateId, :eventType, CAST(:payload AS jsonb))
+                        """,
+                payloads.entrySet().stream()
+                        .map(payload -> new MapSqlParameterSource()
+                                .addValue("aggregateType", type.getAggregateType())
+                                .addValue("aggregateId", payload.getKey())
+                                .addValue("eventType", type.name())
+                                .addValue("payload", payload.getValue()))
+                        .toArray(MapSqlParameterSource[]::new));
+    }
+
+    /**
+     * Lock up to {@code limit} of the oldest events and return those that can be delivered now.
+     * Events locked by a concurrent relay are skipped rather than waited for; events of an
+     * aggregate whose older event that relay holds are left for a later run, so the events of
+     * one aggregate are always delivered in order.
+     *
+     * @param limit most events to claim
+     * @return deliverable events in id order; the locks last until the transaction ends
+     */
+    public List<OutboxEvent> claim(int limit) {
+        String sql = """
+                WITH claimed AS (
+                    SELECT id, aggregate_type, aggregate_id, event_type, payload, created_at
+                    FROM outbox
+                    ORDER BY id
+                    LIMIT :limit
+                    FOR UPDATE SKIP LOCKED
+                )
+                SELECT c.id, c.aggregate_type, c.aggregate_id, c.event_type, c.payload::text AS payload, c.created_at
+                FROM claimed c
+                WHERE NOT EXISTS (
+                    SELECT 1 FROM outbox o
+                    WHERE o.aggregate_type = c.aggregate_type AND o.aggregate_id = c.aggregate_id AND o.id < c.id
+                      AND o.id NOT IN (SELECT id FROM claimed))
+                ORDER BY c.id
+                """;
+        return jdbcTemplate.query(sql, new MapSqlParameterSource("limit", limit), (rs, rowNum) -> new OutboxEvent(
+                rs.getLong("id"),
+                rs.getString("aggregate_type"),
+                rs.getObject("aggregate_id", UUID.class),
+                OutboxEventType.valueOf(rs.getString("event_type")),
+                rs.getObject("created_at", OffsetDateTime.class),
+                rs.getString("payload")));
+    }
+
+    /**
+     * Remove delivered events
+     *
+     * @param ids IDs of events claimed in the current transaction
+     */
+    public void delete(Collection<Long> ids) {
+        if (ids.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.update("DELETE FROM outbox WHERE id IN (:ids)", new MapSqlParameterSource("ids", ids));
+    }
+}
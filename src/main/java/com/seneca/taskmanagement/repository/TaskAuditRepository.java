@@ -0,0 +1,117 @@
+package com.seneca.taskmanagement.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.core.namedparam.SqlParameterSource;
+import org.springframework.stereotype.Repository;
+
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Batched writes and cursor reads of the task audit history
+ */
+@Repository
+@RequiredArgsConstructor
+public class TaskAuditRepository {
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    /**
+     * Insert entries as one JDBC batch, which the driver rewrites into multi-row INSERTs
+     *
+     * @param entries entries to insert, in the order they should be numbered
+     */
+    public void insertBatch(List<AuditEntry> entries) {
+        SqlParameterSource[] params = entries.stream()
+                .map(entry -> new MapSqlParameterSource()
+                        .addValue("taskId", entry.taskId())
+                        .addValue("action", entry.action())
+                        .addValue("changes", entry.changes())
+                        .addValue("actor", entry.actor())
+                        .addValue("requestId", entry.requestId())
+                        .addValue("changedAt", entry.changedAt())
+                        .addValue("taskVersion", entry.taskVersion()))
+                .toArray(SqlParameterSource[]::new);
+        jdbcTemplate.batchUpdate("""
+                INSERT INTO task_audit_log (task_id, action, changes, actor, request_id, changed_at, task_version)
+                VALUES (:taskId, :action, CAST(:changes AS jsonb), :actor, :requestId, :changedAt, :taskVersion)
+                """, params);
+    }
+
+    /**
+     * Read a page of a task's history, newest first
+     *
+     * @param taskId   task ID
+     * @param beforeId only entries older than this one, empty for the newest
+     * @param limit    most entries to return
+     * @return entries ordered by descending id
+     */
+    public List<StoredEntry> findByTaskId(UUID taskId, Optional<Long> beforeId, int limit) {
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("taskId", taskId)
+                .addValue("limit", limit);
+        String position = "";
+        if (beforeId.isPresent()) {
+            position = " AND id < :beforeId";
+            params.addValue("beforeId", beforeId.get());
+        }
+        String sql = """
+                SELECT id, task_id, action, changes, actor, request_id, changed_at, task_version
+                FROM task_audit_log
+                WHERE task_id = :taskId%s
+                ORDER BY id DESC
+                LIMIT :limit
+                """.formatted(position);
+        return jdbcTemplate.query(sql, params, (rs, rowNum) -> new StoredEntry(
+                rs.getLong("id"),
+                new AuditEntry(
+                        rs.getObject("task_id", UUID.class),
+                        rs.getString("action"),
+                        rs.getString("changes"),
+                        rs.getString("actor"),
+                        rs.getString("request_id"),
+                        rs.getObject("changed_at", OffsetDateTime.class),
+                        rs.getObject("task_version", Long.class))));
+    }
+
+    /**
+     * One task write to record
+     *
+     * @param taskId      task ID
+     * @param action      CREATED, UPDATED or DELETED
+     * @param changes     JSON object of changed fields with their old and new values
+     * @param actor       client address, null outside requests
+     * @param requestId   request ID, null outside requests
+     * @param changedAt   commit time
+     * @param taskVersion task version after the write
+     */
+    public record AuditEntry(
+            UUID taskId,
+            String action,
+            String changes,
+            String actor,
+            String requestId,
+            OffsetDateTime changedAt,
+            Long taskVersion) {
+    }
+
+    /**
+     * @param id    position in the history
+     * @param entry recorded entry
+     */
+    public record StoredEntry(long id, AuditEntry entry) {
+    }
+
+    /**
+     * Who made a change, for writes that record their entries in SQL
+     *
+     * @param actor     client address, null outside requests
+     * @param requestId request ID, null outside requests
+     */
+    public record Origin(String actor, String requestId) {
+    }
+}
@@ -0,0 +1,312 @@
+package com.seneca.taskmanagement.repository;
+
+import com.seneca.taskmanagement.domain.TaskStatus;
+import com.seneca.taskmanagement.dto.OutboxEventType;
+import com.seneca.taskmanagement.dto.TaskBulkChanges;
+import com.seneca.taskmanagement.repository.TaskAuditRepository.Origin;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.support.SqlArrayValue;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Set-based writes over many tasks. Every method is a single {@code UPDATE ... RETURNING}
+ * statement, so nothing is loaded into the persistence context; callers split large
+ * selections into chunks to keep each statement's locks short. The same statement inserts an
+ * outbox event and an audit entry for every task it changed, so both commit or roll back with
+ * the change, however many tasks it covers.
+ */
+@Repository
+@RequiredArgsConstructor
+public class TaskBulkRepository {
+
+    // Old values are read from the rows as locked by the chunk, so a concurrent write that
+    // committed in between is what the change is diffed against
+    private static final String RETURNED_VALUES = """
+            t.*, chunk.status AS old_status, chunk.user_id AS old_user_id,
+            chunk.description AS old_description, chunk.deleted AS old_deleted""";
+
+    private static final String CHUNK_VALUES = "t.id, t.status, t.user_id, t.description, t.deleted";
+
+    // Same entries as TaskAuditService records for single writes: the fields that changed, keyed
+    // like the TaskDto properties, with null sides left out. Soft deletes are DELETED, anything
+    // else, restores included, UPDATED
+    private static final String INSERT_AUDIT = """
+            INSERT INTO task_audit_log (task_id, action, changes, actor, request_id, changed_at, task_version)
+            SELECT r.id, CASE WHEN r.deleted AND NOT r.old_deleted THEN 'DELETED' ELSE 'UPDATED' END,
+                   d.changes, :actor, :requestId, now(), r.version
+            FROM updated r
+            CROSS JOIN LATERAL (
+                SELECT jsonb_object_agg(f.field, jsonb_strip_nulls(jsonb_build_object('from', f.old_value, 'to', f.new_value))) AS changes
+                FROM (VALUES ('status', to_jsonb(r.old_status), to_jsonb(r.status)),
+                             ('assignedUserId', to_jsonb(r.old_user_id), to_jsonb(r.user_id)),
+                             ('description', to_jsonb(r.old_description), to_jsonb(r.description)),
+                             ('deleted', to_jsonb(r.old_deleted), to_jsonb(r.deleted))) f (field, old_value, new_value)
+                WHERE f.old_value IS DISTINCT FROM f.new_value
+            ) d
+            WHERE d.changes IS NOT NULL
+            ORDER BY r.id""";
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    /**
+     * One chunk of a filter walk
+     *
+     * @param changedIds IDs of the tasks whose values actually changed
+     * @param scanned    number of tasks the keyset picked, including those a concurrent write
+     *                   made stop matching before they were locked
+     * @param lastId     id of the last task picked, where the next chunk starts; null if none was
+     */
+    public record FilterChunk(List<UUID> changedIds, int scanned, UUID lastId) {
+    }
+
+    /**
+     * Apply field changes to the given active tasks
+     *
+     * @param ids     IDs of the tasks to update
+     * @param changes field values to set, null fields are left unchanged
+     * @param origin  who is making the change, recorded with the audit entries
+     * @return IDs of the tasks whose values actually changed
+     */
+    public List<UUID> updateByIds(Collection<UUID> ids, TaskBulkChanges changes, Origin origin) {
+        MapSqlParameterSource params = new MapSqlParameterSource();
+        Assignments assignments = Assignments.of(changes, params);
+        return updateByIds(ids, assignments, false, OutboxEventType.TASK_UPDATED, origin, params);
+    }
+
+    /**
+     * Apply field changes to the next chunk of active tasks matching the filters, in id order
+     *
+     * @param userId     optional user ID to filter tasks by assignee
+     * @param status     optional status to filter tasks by status
+     * @param searchTerm optional search term to filter tasks by name
+     * @param changes    field values to set, null fields are left unchanged
+     * @param afterId    optional id of the last task of the previous chunk
+     * @param limit      maximum number of tasks to update
+     * @param origin     who is making the change, recorded with the audit entries
+     * @return the tasks changed and how far the keyset got
+     */
+    public FilterChunk updateByFilter(
+            Optional<UUID> userId,
+            Optional<TaskStatus> status,
+            Optional<String> searchTerm,
+            TaskBulkChanges changes,
+            Optional<UUID> afterId,
+            int limit,
+            Origin origin) {
+        MapSqlParameterSource params = new MapSqlParameterSource();
+        Assignments assignments = Assignments.of(changes, params);
+        return updateByFilter(userId, status, searchTerm, assignments, false, OutboxEventType.TASK_UPDATED,
+                afterId, limit, origin, params);
+    }
+
+    /**
+     * Soft-delete or restore the given tasks. Restores are published as TASK_UPDATED events,
+     * whose payload carries the whole task again.
+     *
+     * @param ids     IDs of the tasks
+     * @param deleted true to soft-delete active tasks, false to restore deleted ones
+     * @param origin  who is making the change, recorded with the audit entries
+     * @return IDs of the tasks whose state changed
+     */
+    public List<UUID> setDeletedByIds(Collection<UUID> ids, boolean deleted, Origin origin) {
+        return updateByIds(ids, Assignments.deleted(deleted), !deleted, eventType(deleted), origin, new MapSqlParameterSource());
+    }
+
+    /**
+     * Soft-delete or restore the next chunk of tasks matching the filters, in id order
+     *
+     * @param userId     optional user ID to filter tasks by assignee
+     * @param status     optional status to filter tasks by status
+     * @param searchTerm optional search term to filter tasks by name
+     * @param deleted    true to soft-delete active tasks, false to restore deleted ones
+     * @param afterId    optional id of the last task of the previous chunk
+     * @param limit      maximum number of tasks to change
+     * @param origin     who is making the change, recorded with the audit entries
+     * @return the tasks changed and how far the keyset got
+     */
+    public FilterChunk setDeletedByFilter(
+            Optional<UUID> userId,
+            Optional<TaskStatus> status,
+            Optional<String> searchTerm,
+            boolean deleted,
+            Optional<UUID> afterId,
+            int limit,
+            Origin origin) {
+        return updateByFilter(userId, status, searchTerm, Assignments.deleted(deleted), !deleted, eventType(deleted),
+                afterId, limit, origin, new MapSqlParameterSource());
+    }
+
+    private static OutboxEventType eventType(boolean deleted) {
+        return deleted ? OutboxEventType.TASK_DELETED : OutboxEventType.TASK_UPDATED;
+    }
+
+    private List<UUID> updateByIds(
+            Collection<UUID> ids,
+            Assignments assignments,
+            boolean deleted,
+            OutboxEventType eventType,
+            Origin origin,
+            MapSqlParameterSource params) {
+
+        params.addValue("ids", new SqlArrayValue("uuid", ids.toArray()))
+                .addValue("deleted", deleted);
+        addOrigin(origin, params);
+
+        String sql = """
+                WITH chunk AS (
+                    SELECT %s
+                    FROM tasks t
+                    WHERE t.id = ANY(:ids)
+                      AND t.deleted = :deleted
+                      AND (%s)
+                    FOR UPDATE
+                ),
+                updated AS (
+                    UPDATE tasks t
+                    SET %s
+                    FROM chunk
+                    WHERE t.id = chunk.id
+                    RETURNING %s
+                ),
+                events AS (
+                %s
+                ),
+                audit AS (
+                %s
+                )
+                SELECT id FROM updated
+                """.formatted(CHUNK_VALUES, assignments.changed(), assignments.set(), RETURNED_VALUES,
+                TaskOutboxSql.insertEvents("updated", eventType), INSERT_AUDIT);
+
+        return jdbcTemplate.queryForList(sql, params, UUID.class);
+    }
+
+    private FilterChunk updateByFilter(
+            Optional<UUID> userId,
+            Optional<TaskStatus> status,
+            Optional<String> searchTerm,
+            Assignments assignments,
+            boolean deleted,
+            OutboxEventType eventType,
+            Optional<UUID> afterId,
+            int limit,
+            Origin origin,
+            MapSqlParameterSource params) {
+
+        params.addValue("deleted", deleted).addValue("limit", limit);
+        addOrigin(origin, params);
+
+        StringBuilder filters = new StringBuilder(TaskFilterSql.conditions(userId, status, searchTerm, params));
+        afterId.ifPresent(id -> {
+            filters.append(" AND t.id > :afterId");
+            params.addValue("afterId", id);
+        });
+
+        // Rows that would not change are skipped by the scan, so every chunk makes progress. The
+        // scan takes no locks; rows a concurrent write made stop matching are dropped when the
+        // chunk locks them, without shortening the scan, so the walk goes on past them and only
+        // ends when the keyset runs out. Rows written behind the keyset are missed
+        String sql = """
+                WITH scan AS (
+                    SELECT t.id
+                    FROM tasks t
+                    WHERE t.deleted = :deleted%1$s
+                      AND (%2$s)
+                    ORDER BY t.id
+                    LIMIT :limit
+                ),
+                chunk AS (
+                    SELECT %3$s
+                    FROM tasks t
+                    WHERE t.id IN (SELECT id FROM scan)
+                      AND t.deleted = :deleted%1$s
+                      AND (%2$s)
+                    FOR UPDATE
+                ),
+                updated AS (
+                    UPDATE tasks t
+                    SET %4$s
+                    FROM chunk
+                    WHERE t.id = chunk.id
+                    RETURNING %5$s
+                ),
+                events AS (
+                %6$s
+                ),
+                audit AS (
+                %7$s
+                )
+                SELECT scan.id, updated.id IS NOT NULL AS changed
+                FROM scan
+                LEFT JOIN updated ON updated.id = scan.id
+                ORDER BY scan.id
+                """.formatted(filters, assignments.changed(), CHUNK_VALUES, assignments.set(), RETURNED_VALUES,
+                TaskOutboxSql.insertEvents("updated", eventType), INSERT_AUDIT);
+
+        return jdbcTemplate.query(sql, params, rs -> {
+            List<UUID> changedIds = new ArrayList<>();
+            int scanned = 0;
+            UUID lastId = null;
+            while (rs.next()) {
+                lastId = rs.getObject("id", UUID.class);
+                scanned++;
+                if (rs.getBoolean("changed")) {
+                    changedIds.add(lastId);
+                }
+            }
+            return new FilterChunk(changedIds, scanned, lastId);
+        });
+    }
+
+    private static void addOrigin(Origin origin, MapSqlParameterSource params) {
+        params.addValue("actor", origin.actor(), Types.VARCHAR)
+                .addValue("requestId", origin.requestId(), Types.VARCHAR);
+    }
+
+    /**
+     * SET clause of a bulk update together with the predicate telling whether a row
+     * would change at all
+     */
+    private record Assignments(String set, String changed) {
+
+        static Assignments of(TaskBulkChanges changes, MapSqlParameterSource params) {
+            List<String> set = new ArrayList<>();
+            List<String> changed = new ArrayList<>();
+            if (changes.getStatus() != null) {
+                // Not :status, which TaskFilterSql binds to the status filter
+                set.add("status = :newStatus");
+                changed.add("t.status IS DISTINCT FROM :newStatus");
+                params.addValue("newStatus", changes.getStatus().name());
+            }
+            if (changes.getAssignedUserId() != null) {
+                set.add("user_id = :assignedUserId");
+                changed.add("t.user_id IS DISTINCT FROM :assignedUserId");
+                params.addValue("assignedUserId", changes.getAssignedUserId());
+            }
+            if (changes.getDescription() != null) {
+                set.add("description = :description");
+                changed.add("t.description IS DISTINCT FROM :description");
+                params.addValue("description", changes.getDescription());
+            }
+            set.add("updated_at = now()");
+            set.add("version = version + 1");
+            return new Assignments(String.join(", ", set), String.join(" OR ", changed));
+        }
+
+        // Rows are picked by their current deleted flag, so every selected row changes
+        static Assignments deleted(boolean deleted) {
+            return deleted
+                    ? new Assignments("deleted = TRUE, deleted_at = now(), updated_at = now(), version = version + 1", "TRUE")
+                    : new Assignments("deleted = FALSE, deleted_at = NULL, updated_at = now(), version = version + 1", "TRUE");
+        }
+    }
+}
@@ -0,0 +1,96 @@
+package com.seneca.taskmanagement.repository;
+
+import com.seneca.taskmanagement.dto.TaskChangeCursor;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Reads the task change sequence that the V17 trigger stamps on every write, soft-deleted
+ * tasks included
+ */
+@Repository
+@RequiredArgsConstructor
+public class TaskChangeFeedRepository {
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    /**
+     * Find the tasks changed after a cursor by transactions that have finished. The boundary
+     * comes from the same snapshot as the rows: every transaction below it has committed or
+     * aborted, so no change below it can still appear.
+     *
+     * @param after position of the last change already returned
+     * @param limit most changes to return
+     * @return changes in sequence order, with the boundary the next read may resume from
+     */
+    public ChangeWindow findChanges(TaskChangeCursor after, int limit) {
+        String sql = """
+                WITH boundary AS (SELECT pg_snapshot_xmin(pg_current_snapshot()) AS xmin)
+                SELECT b.xmin::text AS boundary, c.id, c.deleted, c.change_xid::text AS change_xid
+                FROM boundary b
+                LEFT JOIN LATERAL (
+                    SELECT t.id, t.deleted, t.change_xid
+                    FROM tasks t
+                    WHERE (t.change_xid, t.id) > (CAST(CAST(:afterSequence AS text) AS xid8), :afterId)
+                      AND t.change_xid < b.xmin
+                    ORDER BY t.change_xid, t.id
+                    LIMIT :limit
+                ) c ON true
+                ORDER BY c.change_xid, c.id
+                """;
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("afterSequence", after.sequence())
+                .addValue("afterId", after.id())
+                .addValue("limit", limit);
+        List<Change> changes = new ArrayList<>();
+        long[] boundary = new long[1];
+        jdbcTemplate.query(sql, params, rs -> {
+            boundary[0] = Long.parseLong(rs.getString("boundary"));
+            UUID id = rs.getObject("id", UUID.class);
+            if (id != null) {
+                changes.add(new Change(Long.parseLong(rs.getString("change_xid")), id, rs.getBoolean("deleted")));
+            }
+        });
+        return new ChangeWindow(changes, boundary[0]);
+    }
+
+    /**
+     * Find the sequence of the latest change a read may return now, i.e. of the latest write
+     * below the boundary, with a single probe of the change sequence index
+     *
+     * @return latest readable change sequence, zero if there is none
+     */
+    public long findLatestSequence() {
+        String sql = """
+                SELECT t.change_xid::text
+                FROM tasks t
+                WHERE t.change_xid < pg_snapshot_xmin(pg_current_snapshot())
+                ORDER BY t.change_xid DESC
+                LIMIT 1
+                """;
+        List<String> latest = jdbcTemplate.getJdbcOperations().queryForList(sql, String.class);
+        return latest.isEmpty() ? 0 : Long.parseLong(latest.get(0));
+    }
+
+    /**
+     * @param sequence change sequence of the task's latest write
+     * @param id       task ID
+     * @param deleted  whether the task is soft-deleted
+     */
+    public record Change(long sequence, UUID id, boolean deleted) {
+    }
+
+    /**
+     * @param changes  changes in sequence order
+     * @param boundary lowest sequence that may still be written; everything below it was read
+     *                 once the changes are exhausted
+     */
+    public record ChangeWindow(List<Change> changes, long boundary) {
+    }
+}
@@ -0,0 +1,95 @@
+package com.seneca.taskmanagement.repository;
+
+import com.seneca.taskmanagement.domain.TaskStatus;
+import com.seneca.taskmanagement.dto.TaskExportRow;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import javax.sql.DataSource;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.function.Consumer;
+
+/**
+ * Reads every task matching the list filters, one row at a time. Rows are pulled from a
+ * forward-only server-side cursor in batches of {@code task-management.export.fetch-size},
+ * so memory use does not grow with the number of rows.
+ * <p>
+ * The PostgreSQL driver only uses a cursor when auto-commit is off, so callers must run
+ * inside a transaction; otherwise the whole result would be buffered in memory.
+ */
+@Repository
+public class TaskExportRepository {
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    public TaskExportRepository(DataSource dataSource, @Value("${task-management.export.fetch-size:1000}") int fetchSize) {
+        JdbcTemplate template = new JdbcTemplate(dataSource);
+        template.setFetchSize(fetchSize);
+        this.jdbcTemplate = new NamedParameterJdbcTemplate(template);
+    }
+
+    /**
+     * Stream the active tasks matching the filters in id order
+     *
+     * @param userId     optional user ID to filter tasks by assignee
+     * @param status     optional status to filter tasks by status
+     * @param searchTerm optional search term to filter tasks by name
+     * @param consumer   receives each row; must not keep references to them
+     * @return number of rows streamed
+     */
+    public long streamWithFilters(
+            Optional<UUID> userId,
+            Optional<TaskStatus> status,
+            Optional<String> searchTerm,
+            Consumer<TaskExportRow> consumer) {
+
+        MapSqlParameterSource params = new MapSqlParameterSource();
+        String filters = TaskFilterSql.conditions(userId, status, searchTerm, params);
+
+        // Primary key order gives a stable export without a sort step delaying the first row
+        String sql = """
+                SELECT t.id, t.task_type, t.name, t.description, t.status, t.user_id, t.created_at, t.updated_at,
+                       t.version, t.severity, t.priority, t.steps_to_reproduce, t.environment, t.business_value,
+                       t.deadline, t.acceptance_criteria, t.estimated_effort
+                FROM tasks t
+                WHERE t.deleted = FALSE%s
+                ORDER BY t.id
+                """.formatted(filters);
+
+        long[] count = {0};
+        jdbcTemplate.query(sql, params, rs -> {
+            consumer.accept(toRow(rs));
+            count[0]++;
+        });
+        return count[0];
+    }
+
+    private static TaskExportRow toRow(ResultSet rs) throws SQLException {
+        return new TaskExportRow(
+                rs.getObject("id", UUID.class),
+                rs.getString("task_type"),
+                rs.getString("name"),
+                rs.getString("description"),
+                TaskStatus.valueOf(rs.getString("status")),
+                rs.getObject("user_id", UUID.class),
+                rs.getObject("created_at", OffsetDateTime.class),
+                rs.getObject("updated_at", OffsetDateTime.class),
+                rs.getLong("version"),
+                rs.getString("severity"),
+                rs.getString("priority"),
+                rs.getString("steps_to_reproduce"),
+                rs.getString("environment"),
+                rs.getString("business_value"),
+                rs.getObject("deadline", LocalDate.class),
+                rs.getString("acceptance_criteria"),
+                rs.getObject("estimated_effort", Integer.class));
+    }
+}
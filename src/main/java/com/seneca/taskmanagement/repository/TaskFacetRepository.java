@@ -0,0 +1,129 @@
+package com.seneca.taskmanagement.repository;
+
+import com.seneca.taskmanagement.domain.TaskStatus;
+import com.seneca.taskmanagement.dto.FacetCount;
+import com.seneca.taskmanagement.dto.TaskFacet;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+/**
+ * Facet counts for the task list. All requested facets are counted in one GROUPING SETS
+ * query over the list filters, so the matching rows are read once however many facets are
+ * asked for. Grouping sets are not expressible in HQL, hence plain SQL.
+ */
+@Repository
+@RequiredArgsConstructor
+public class TaskFacetRepository {
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    /**
+     * Count the active tasks matching the filters per value of each facet
+     *
+     * @param userId     optional user ID to filter tasks by assignee
+     * @param status     optional status to filter tasks by status
+     * @param searchTerm optional search term to filter tasks by name
+     * @param facets     facets to count, at least one
+     * @param maxValues  most frequent values to return per facet
+     * @return counts per facet, each ordered by descending count
+     */
+    public Map<TaskFacet, List<FacetCount>> countFacets(
+            Optional<UUID> userId,
+            Optional<TaskStatus> status,
+            Optional<String> searchTerm,
+            Collection<TaskFacet> facets,
+            int maxValues) {
+
+        MapSqlParameterSource params = new MapSqlParameterSource("maxValues", maxValues);
+        String filters = TaskFilterSql.conditions(userId, status, searchTerm, params);
+        String groupingSets = facets.stream()
+                .map(facet -> "(" + column(facet) + ")")
+                .collect(Collectors.joining(", "));
+
+        // GROUPING() tells the sets apart, also for the NULL group of unassigned tasks. It only
+        // accepts grouped columns, so unrequested facets are selected as constants instead.
+        String facetColumns = Arrays.stream(TaskFacet.values())
+                .map(facet -> facets.contains(facet)
+                        ? "GROUPING(%1$s) = 0 AS %2$s, CAST(%1$s AS text) AS %3$s"
+                                .formatted(column(facet), flag(facet), alias(facet))
+                        : "FALSE AS %s, CAST(NULL AS text) AS %s".formatted(flag(facet), alias(facet)))
+                .collect(Collectors.joining(",\n                           "));
+
+        // The window ranks values within each set so high-cardinality facets stay bounded
+        String sql = """
+                WITH counted AS (
+                    SELECT %s,
+                           count(*) AS task_count
+                    FROM tasks t
+                    WHERE t.deleted = FALSE%s
+                    GROUP BY GROUPING SETS (%s)
+                ),
+                ranked AS (
+                    SELECT counted.*,
+                           row_number() OVER (
+                               PARTITION BY facet_status, facet_type, facet_user
+                               ORDER BY task_count DESC, status, task_type, user_id) AS value_rank
+                    FROM counted
+                )
+                SELECT facet_status, facet_type, facet_user, status, task_type, user_id, task_count
+                FROM ranked
+                WHERE value_rank <= :maxValues
+                ORDER BY task_count DESC, status, task_type, user_id
+                """.formatted(facetColumns, filters, groupingSets);
+
+        Map<TaskFacet, List<FacetCount>> counts = new EnumMap<>(TaskFacet.class);
+        facets.forEach(facet -> counts.put(facet, new ArrayList<>()));
+        jdbcTemplate.query(sql, params, rs -> {
+            TaskFacet facet;
+            String value;
+            if (rs.getBoolean("facet_status")) {
+                facet = TaskFacet.STATUS;
+                value = rs.getString("status");
+            } else if (rs.getBoolean("facet_type")) {
+                facet = TaskFacet.TASK_TYPE;
+                value = rs.getString("task_type");
+            } else {
+                facet = TaskFacet.ASSIGNEE;
+                value = rs.getString("user_id");
+            }
+            counts.get(facet).add(new FacetCount(value, rs.getLong("task_count")));
+        });
+        return counts;
+    }
+
+    private static String column(TaskFacet facet) {
+        return switch (facet) {
+            case STATUS -> "t.status";
+            case TASK_TYPE -> "t.task_type";
+            case ASSIGNEE -> "t.user_id";
+        };
+    }
+
+    private static String alias(TaskFacet facet) {
+        return switch (facet) {
+            case STATUS -> "status";
+            case TASK_TYPE -> "task_type";
+            case ASSIGNEE -> "user_id";
+        };
+    }
+
+    private static String flag(TaskFacet facet) {
+        return switch (facet) {
+            case STATUS -> "facet_status";
+            case TASK_TYPE -> "facet_type";
+            case ASSIGNEE -> "facet_user";
+        };
+    }
+}
@@ -0,0 +1,50 @@
+package com.seneca.taskmanagement.repository;
+
+import com.seneca.taskmanagement.domain.TaskStatus;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * The task list filters as plain SQL conditions, for the JDBC repositories that need the same
+ * rows as the QueryDSL predicate of {@link TaskRepositoryCustomImpl}
+ */
+final class TaskFilterSql {
+
+    private TaskFilterSql() {
+    }
+
+    /**
+     * Build the conditions on table alias {@code t}, binding their values as the userId, status
+     * and pattern parameters. Soft-deleted rows are not excluded here.
+     *
+     * @param userId     optional user ID to filter tasks by assignee
+     * @param status     optional status to filter tasks by status
+     * @param searchTerm optional search term to filter tasks by name
+     * @param params     receives the parameter values
+     * @return {@code " AND ..."} conditions, empty if no filter is set
+     */
+    static String conditions(
+            Optional<UUID> userId,
+            Optional<TaskStatus> status,
+            Optional<String> searchTerm,
+            MapSqlParameterSource params) {
+
+        StringBuilder conditions = new StringBuilder();
+        userId.ifPresent(id -> {
+            conditions.append(" AND t.user_id = :userId");
+            params.addValue("userId", id);
+        });
+        status.ifPresent(s -> {
+            conditions.append(" AND t.status = :status");
+            params.addValue("status", s.name());
+        });
+        searchTerm.ifPresent(term -> {
+            // Same predicate as the list query, served by idx_task_name_trgm
+            conditions.append(" AND lower(t.name) LIKE :pattern ESCAPE '\\'");
+            params.addValue("pattern", "%" + TaskRepositoryCustomImpl.escapeLikePattern(term.toLowerCase()) + "%");
+        });
+        return conditions.toString();
+    }
+}
@@ -0,0 +1,200 @@
+package com.seneca.taskmanagement.repository;
+
+import com.seneca.taskmanagement.dto.OutboxEventType;
+import com.seneca.taskmanagement.dto.TaskExportRow;
+import com.seneca.taskmanagement.dto.TaskImportRejection;
+import com.seneca.taskmanagement.repository.TaskAuditRepository.Origin;
+import lombok.RequiredArgsConstructor;
+import org.postgresql.PGConnection;
+import org.postgresql.copy.PGCopyOutputStream;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceUtils;
+import org.springframework.stereotype.Repository;
+
+import javax.sql.DataSource;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.List;
+
+/**
+ * Loads tasks in bulk: each chunk is streamed with {@code COPY ... FROM STDIN} into a session
+ * temporary staging table and merged into tasks with a single INSERT ... SELECT, which skips
+ * rows whose assignee is missing or deleted and rows whose ID is already taken, and adds an
+ * outbox event and an audit entry for every task it inserted. The audit entries are written by
+ * the merge itself rather than queued to the audit writer, whose queue a large import would fill.
+ * <p>
+ * Must run inside a transaction, so that the COPY and the merge share a connection and the
+ * staging rows are discarded when it ends.
+ */
+@Repository
+@RequiredArgsConstructor
+public class TaskImportRepository {
+
+    private static final int COPY_BUFFER_BYTES = 64 * 1024;
+
+    // Created once per pooled connection and emptied by every commit or rollback
+    private static final String CREATE_STAGING_TABLE = """
+            CREATE TEMP TABLE IF NOT EXISTS task_import (
+                line_number BIGINT NOT NULL,
+                id UUID NOT NULL,
+                task_type VARCHAR(20) NOT NULL,
+                name VARCHAR(100) NOT NULL,
+                description TEXT,
+                status VARCHAR(20) NOT NULL,
+                user_id UUID,
+                created_at TIMESTAMP WITH TIME ZONE NOT NULL,
+                updated_at TIMESTAMP WITH TIME ZONE NOT NULL,
+                severity VARCHAR(20),
+                priority VARCHAR(20),
+                steps_to_reproduce TEXT,
+                environment VARCHAR(100),
+                business_value TEXT,
+                deadline DATE,
+                acceptance_criteria TEXT,
+                estimated_effort INTEGER
+            ) ON COMMIT DELETE ROWS
+            """;
+
+    private static final String COPY_INTO_STAGING = """
+            COPY task_import (line_number, id, task_type, name, description, status, user_id, created_at, updated_at,
+                              severity, priority, steps_to_reproduce, environment, business_value, deadline,
+                              acceptance_criteria, estimated_effort)
+            FROM STDIN (FORMAT csv)
+            """;
+
+    // Anything staged but not returned by the INSERT was skipped by the assignee check or the
+    // ID conflict; the outer query tells which, in the same statement and snapshot. Every
+    // inserted row gets its TASK_CREATED outbox event and its CREATED audit entry from the same
+    // statement. The entry lists the fields set, leaving out those TaskAuditService ignores.
+    private static final String MERGE_STAGING = """
+            WITH inserted AS (
+                INSERT INTO tasks (id, task_type, name, description, status, user_id, created_at, updated_at,
+                                   severity, priority, steps_to_reproduce, environment, business_value, deadline,
+                                   acceptance_criteria, estimated_effort)
+                SELECT s.id, s.task_type, s.name, s.description, s.status, s.user_id, s.created_at, s.updated_at,
+                       s.severity, s.priority, s.steps_to_reproduce, s.environment, s.business_value, s.deadline,
+                       s.acceptance_criteria, s.estimated_effort
+                FROM task_import s
+                WHERE s.user_id IS NULL
+                   OR EXISTS (SELECT 1 FROM users u WHERE u.id = s.user_id AND NOT u.deleted)
+                ON CONFLICT (id) DO NOTHING
+                RETURNING *
+            ),
+            events AS (
+            %s
+            ),
+            audit AS (
+                INSERT INTO task_audit_log (task_id, action, changes, actor, request_id, changed_at, task_version)
+                SELECT r.id, 'CREATED',
+                       (SELECT jsonb_object_agg(f.key, jsonb_build_object('to', f.value))
+                        FROM jsonb_each(%s - ARRAY['id', 'taskType', 'createdAt', 'updatedAt', 'version']) f),
+                       ?, ?, now(), r.version
+                FROM inserted r
+            )
+            SELECT s.line_number,
+                   CASE WHEN s.user_id IS NOT NULL
+                             AND NOT EXISTS (SELECT 1 FROM users u WHERE u.id = s.user_id AND NOT u.deleted)
+                        THEN 'User not found with ID: ' || s.user_id
+                        ELSE 'Task already exists with ID: ' || s.id
+                   END AS reason
+            FROM task_import s
+            WHERE NOT EXISTS (SELECT 1 FROM inserted i WHERE i.id = s.id)
+            ORDER BY s.line_number
+            """.formatted(TaskOutboxSql.insertEvents("inserted", OutboxEventType.TASK_CREATED), TaskOutboxSql.payload());
+
+    private final DataSource dataSource;
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * A parsed and validated line waiting to be loaded
+     *
+     * @param line line number in the uploaded file
+     * @param task task values; id, status and timestamps must be set
+     */
+    public record StagedTask(long line, TaskExportRow task) {
+    }
+
+    /**
+     * Copy a chunk of tasks into staging and merge it into tasks
+     *
+     * @param tasks  tasks with distinct IDs
+     * @param origin who is importing, recorded with the audit entries
+     * @return the staged lines that were not inserted, in line order
+     */
+    public List<TaskImportRejection> copyAndMerge(List<StagedTask> tasks, Origin origin) {
+        jdbcTemplate.execute(CREATE_STAGING_TABLE);
+        copyIntoStaging(tasks);
+        return jdbcTemplate.query(MERGE_STAGING, (rs, rowNum) ->
+                new TaskImportRejection(rs.getLong("line_number"), rs.getString("reason")),
+                origin.actor(), origin.requestId());
+    }
+
+    private void copyIntoStaging(List<StagedTask> tasks) {
+        // The transaction's connection, which the JdbcTemplate statements use as well
+        Connection connection = DataSourceUtils.getConnection(dataSource);
+        try {
+            PGConnection pgConnection = connection.unwrap(PGConnection.class);
+            try (Writer writer = new BufferedWriter(new OutputStreamWriter(
+                    new PGCopyOutputStream(pgConnection, COPY_INTO_STAGING, COPY_BUFFER_BYTES), StandardCharsets.UTF_8))) {
+                for (StagedTask staged : tasks) {
+                    writeCsvLine(writer, staged);
+                }
+            }
+        } catch (SQLException e) {
+            throw jdbcTemplate.getExceptionTranslator().translate("COPY task_import", COPY_INTO_STAGING, e);
+        } catch (IOException e) {
+            // PGCopyOutputStream reports server-side COPY errors as IOExceptions wrapping the SQLException
+            if (e.getCause() instanceof SQLException sqlException) {
+                throw jdbcTemplate.getExceptionTranslator().translate("COPY task_import", COPY_INTO_STAGING, sqlException);
+            }
+            throw new UncheckedIOException(e);
+        } finally {
+            DataSourceUtils.releaseConnection(connection, dataSource);
+        }
+    }
+
+    private static void writeCsvLine(Writer writer, StagedTask staged) throws IOException {
+        TaskExportRow task = staged.task();
+        writer.write(Long.toString(staged.line()));
+        writeValue(writer, task.id());
+        writeText(writer, task.taskType());
+        writeText(writer, task.name());
+        writeText(writer, task.description());
+        writeValue(writer, task.status());
+        writeValue(writer, task.assignedUserId());
+        writeValue(writer, task.createdAt());
+        writeValue(writer, task.updatedAt());
+        writeText(writer, task.severity());
+        writeText(writer, task.priority());
+        writeText(writer, task.stepsToReproduce());
+        writeText(writer, task.environment());
+        writeText(writer, task.businessValue());
+        writeValue(writer, task.deadline());
+        writeText(writer, task.acceptanceCriteria());
+        writeValue(writer, task.estimatedEffort());
+        writer.write('\n');
+    }
+
+    // In COPY's CSV format an unquoted empty field is NULL, so every non-null text is quoted
+    private static void writeText(Writer writer, String value) throws IOException {
+        writer.write(',');
+        if (value != null) {
+            writer.write('"');
+            writer.write(value.replace("\"", "\"\""));
+            writer.write('"');
+        }
+    }
+
+    private static void writeValue(Writer writer, Object value) throws IOException {
+        writer.write(',');
+        if (value != null) {
+            writer.write(value.toString());
+        }
+    }
+}
@@ -0,0 +1,47 @@
+package com.seneca.taskmanagement.repository;
+
+import com.seneca.taskmanagement.dto.OutboxEventType;
+
+/**
+ * Outbox events of set-based task writes as plain SQL, for statements that write many tasks
+ * without loading them. Used as a data-modifying CTE over the RETURNING rows of the write, so
+ * each event is inserted by the same statement, after its row was written and locked.
+ */
+final class TaskOutboxSql {
+
+    // Same JSON as the TaskDto events of single writes: bug and feature fields side by side,
+    // the ones that do not apply are null and stripped like Jackson's non_null inclusion does
+    private static final String PAYLOAD = """
+            jsonb_strip_nulls(jsonb_build_object(
+                'taskType', r.task_type, 'id', r.id, 'name', r.name, 'description', r.description,
+                'createdAt', r.created_at, 'updatedAt', r.updated_at, 'status', r.status,
+                'assignedUserId', r.user_id, 'version', r.version,
+                'severity', r.severity, 'stepsToReproduce', r.steps_to_reproduce, 'priority', r.priority,
+                'environment', r.environment, 'businessValue', r.business_value, 'deadline', r.deadline,
+                'acceptanceCriteria', r.acceptance_criteria, 'estimatedEffort', r.estimated_effort))""";
+
+    private TaskOutboxSql() {
+    }
+
+    /**
+     * @return the JSON state of the task row aliased {@code r}, as the events carry it
+     */
+    static String payload() {
+        return PAYLOAD;
+    }
+
+    /**
+     * Build an INSERT of one event per row of a CTE
+     *
+     * @param source name of a CTE returning full task rows ({@code RETURNING t.*})
+     * @param type   kind of change, a task event
+     * @return the INSERT ... SELECT, to be placed in a {@code WITH} clause
+     */
+    static String insertEvents(String source, OutboxEventType type) {
+        return """
+                INSERT INTO outbox (aggregate_type, aggregate_id, event_type, payload)
+                SELECT '%s', r.id, '%s', %s
+                FROM %s r
+                ORDER BY r.id""".formatted(type.getAggregateType(), type.name(), PAYLOAD, source);
+    }
+}
@@ -2,8 +2,11 @@ package com.seneca.taskmanagement.repository;
 
 import com.seneca.taskmanagement.domain.Task;
 import com.seneca.taskmanagement.domain.TaskStatus;
+import com.seneca.taskmanagement.dto.TaskCursor;
+import com.seneca.taskmanagement.dto.TaskSummaryDto;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 
 import java.util.Optional;
 import java.util.UUID;
@@ -25,4 +28,105 @@ public interface TaskRepositoryCustom {
             Optional<String> searchTerm,
             Pageable pageable
     );
+
+    /**
+     * Find a page of tasks with filters applied without counting the total.
+     * One extra row is fetched to find out whether a next page exists.
+     *
+     * @param userId Optional user ID to filter tasks by assignee
+     * @param status Optional status to filter tasks by status
+     * @param searchTerm Optional search term to filter tasks by name
+     * @param pageable Pagination information
+     * @return Slice of filtered tasks
+     */
+    Slice<Task> findTaskSliceWithFilters(
+            Optional<UUID> userId,
+            Optional<TaskStatus> status,
+            Optional<String> searchTerm,
+            Pageable pageable
+    );
+
+    /**
+     * Count tasks matching the filters
+     *
+     * @param userId Optional user ID to filter tasks by assignee
+     * @param status Optional status to filter tasks by status
+     * @param searchTerm Optional search term to filter tasks by name
+     * @return Number of matching tasks
+     */
+    long countTasksWithFilters(
+            Optional<UUID> userId,
+            Optional<TaskStatus> status,
+            Optional<String> searchTerm
+    );
+
+    /**
+     * Find tasks with filters applied using keyset pagination.
+     * Seeks directly past the cursor instead of skipping rows, so every page costs the same.
+     *
+     * @param userId Optional user ID to filter tasks by assignee
+     * @param status Optional status to filter tasks by status
+     * @param searchTerm Optional search term to filter tasks by name
+     * @param cursor Optional position of the last task already returned; empty for the first page
+     * @param size Maximum number of tasks to return
+     * @return Slice of filtered tasks ordered by creation time, newest first
+     */
+    Slice<Task> findTasksWithFiltersAfter(
+            Optional<UUID> userId,
+            Optional<TaskStatus> status,
+            Optional<String> searchTerm,
+            Optional<TaskCursor> cursor,
+            int size
+    );
+
+    /**
+     * Same as {@link #findTasksWithFilters} but selects only the summary columns into DTOs,
+     * leaving the TEXT columns unread and nothing in the persistence context
+     *
+     * @param userId Optional user ID to filter tasks by assignee
+     * @param status Optional status to filter tasks by status
+     * @param searchTerm Optional search term to filter tasks by name
+     * @param pageable Pagination information
+     * @return Page of filtered task summaries
+     */
+    Page<TaskSummaryDto> findTaskSummariesWithFilters(
+            Optional<UUID> userId,
+            Optional<TaskStatus> status,
+            Optional<String> searchTerm,
+            Pageable pageable
+    );
+
+    /**
+     * Same as {@link #findTaskSliceWithFilters} but projected into summary DTOs
+     *
+     * @param userId Optional user ID to filter tasks by assignee
+     * @param status Optional status to filter tasks by status
+     * @param searchTerm Optional search term to filter tasks by name
+     * @param pageable Pagination information
+     * @return Slice of filtered task summaries
+     */
+    Slice<TaskSummaryDto> findTaskSummarySliceWithFilters(
+            Optional<UUID> userId,
+            Optional<TaskStatus> status,
+            Optional<String> searchTerm,
+            Pageable pageable
+    );
+
+    /**
+     * Same as {@link #findTasksWithFiltersAfter} but projected into summary DTOs
+     *
+     * @param userId Optional user ID to filter tasks by assignee
+     * @param status Optional status to filter tasks by status
+     * @param searchTerm Optional search term to filter tasks by name
+     * @param cursor Optional position of the last task already returned; empty for the first page
+     * @param size Maximum number of tasks to return
+     * @return Slice of filtered task summaries ordered by creation time, newest first
+     */
+    Slice<TaskSummaryDto> findTaskSummariesWithFiltersAfter(
+            Optional<UUID> userId,
+            Optional<TaskStatus> status,
+            Optional<String> searchTerm,
+            Optional<TaskCursor> cursor,
+            int size
+    );
 }
@@ -1,15 +1,22 @@
 package com.seneca.taskmanagement.repository;
 
 import com.querydsl.core.BooleanBuilder;
+import com.querydsl.core.types.Expression;
+import com.querydsl.core.types.Projections;
 import com.querydsl.jpa.impl.JPAQuery;
 import com.seneca.taskmanagement.domain.QTask;
 import com.seneca.taskmanagement.domain.Task;
 import com.seneca.taskmanagement.domain.TaskStatus;
+import com.seneca.taskmanagement.dto.TaskCursor;
+import com.seneca.taskmanagement.dto.TaskSummaryDto;
 import jakarta.persistence.EntityManager;
 import jakarta.persistence.PersistenceContext;
 import org.springframework.data.domain.Page;
-import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.support.PageableExecutionUtils;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
@@ -19,6 +26,21 @@ import java.util.UUID;
 @Repository
 public class TaskRepositoryCustomImpl implements TaskRepositoryCustom {
 
+    private static final char LIKE_ESCAPE = '\\';
+
+    private static final QTask TASK = QTask.task;
+
+    // Columns shown by list views; the TEXT columns are deliberately left out
+    private static final Expression<TaskSummaryDto> SUMMARY_PROJECTION = Projections.fields(
+            TaskSummaryDto.class,
+            TASK.id,
+            TASK.name,
+            TASK.taskType,
+            TASK.status,
+            TASK.assignedUser.id.as("assignedUserId"),
+            TASK.createdAt,
+            TASK.updatedAt);
+
     @PersistenceContext
     private EntityManager entityManager;
 
@@ -28,33 +50,143 @@ public class TaskRepositoryCustomImpl implements TaskRepositoryCustom {
             Optional<TaskStatus> status,
             Optional<String> searchTerm,
             Pageable pageable) {
+        return findPage(TASK, buildPredicate(userId, status, searchTerm), pageable);
+    }
 
-        QTask task = QTask.task;
-        BooleanBuilder predicate = new BooleanBuilder();
+    @Override
+    public Slice<Task> findTaskSliceWithFilters(
+            Optional<UUID> userId,
+            Optional<TaskStatus> status,
+            Optional<String> searchTerm,
+            Pageable pageable) {
+        return findSlice(TASK, buildPredicate(userId, status, searchTerm), pageable);
+    }
 
-        // Apply filters if present
-        userId.ifPresent(id -> predicate.and(task.assignedUser.id.eq(id)));
-//        userId.ifPresent(id -> predicate.and(task.assignedUserId.eq(id)));
-        status.ifPresent(s -> predicate.and(task.status.eq(s)));
-        searchTerm.ifPresent(term -> {
-            String pattern = "%" + term.toLowerCase() + "%";
-            predicate.and(task.name.toLowerCase().like(pattern));
-        });
+    @Override
+    public long countTasksWithFilters(
+            Optional<UUID> userId,
+            Optional<TaskStatus> status,
+            Optional<String> searchTerm) {
 
-        // Create the query
-        JPAQuery<Task> query = new JPAQuery<>(entityManager);
-        query.select(task).from(task).where(predicate);
+        Long total = new JPAQuery<Long>(entityManager)
+                .select(TASK.count())
+                .from(TASK)
+                .where(buildPredicate(userId, status, searchTerm))
+                .fetchOne();
+        return total != null ? total : 0L;
+    }
 
-        // Count total results
-        long total = query.fetchCount();
+    @Override
+    public Slice<Task> findTasksWithFiltersAfter(
+            Optional<UUID> userId,
+            Optional<TaskStatus> status,
+            Optional<String> searchTerm,
+            Optional<TaskCursor> cursor,
+            int size) {
+        return findSliceAfter(TASK, buildPredicate(userId, status, searchTerm), cursor, size);
+    }
+
+    @Override
+    public Page<TaskSummaryDto> findTaskSummariesWithFilters(
+            Optional<UUID> userId,
+            Optional<TaskStatus> status,
+            Optional<String> searchTerm,
+            Pageable pageable) {
+        return findPage(SUMMARY_PROJECTION, buildPredicate(userId, status, searchTerm), pageable);
+    }
+
+    @Override
+    public Slice<TaskSummaryDto> findTaskSummarySliceWithFilters(
+            Optional<UUID> userId,
+            Optional<TaskStatus> status,
+            Optional<String> searchTerm,
+            Pageable pageable) {
+        return findSlice(SUMMARY_PROJECTION, buildPredicate(userId, status, searchTerm), pageable);
+    }
+
+    @Override
+    public Slice<TaskSummaryDto> findTaskSummariesWithFiltersAfter(
+            Optional<UUID> userId,
+            Optional<TaskStatus> status,
+            Optional<String> searchTerm,
+            Optional<TaskCursor> cursor,
+            int size) {
+        return findSliceAfter(SUMMARY_PROJECTION, buildPredicate(userId, status, searchTerm), cursor, size);
+    }
+
+    private <T> Page<T> findPage(Expression<T> projection, BooleanBuilder predicate, Pageable pageable) {
+        // Create the query
+        JPAQuery<T> query = new JPAQuery<>(entityManager).select(projection).from(TASK).where(predicate);
 
         // Apply pagination
-        List<Task> tasks = query
+        List<T> content = query.clone()
                 .offset(pageable.getOffset())
                 .limit(pageable.getPageSize())
-                .orderBy(task.createdAt.desc())
+                .orderBy(TASK.createdAt.desc(), TASK.id.desc())
+                .fetch();
+
+        // Count total results, skipped when the page itself reveals the total
+        return PageableExecutionUtils.getPage(content, pageable, query::fetchCount);
+    }
+
+    private <T> Slice<T> findSlice(Expression<T> projection, BooleanBuilder predicate, Pageable pageable) {
+        // Fetch one extra row to find out whether another page exists
+        List<T> content = new JPAQuery<>(entityManager)
+                .select(projection)
+                .from(TASK)
+                .where(predicate)
+                .orderBy(TASK.createdAt.desc(), TASK.id.desc())
+                .offset(pageable.getOffset())
+                .limit(pageable.getPageSize() + 1L)
                 .fetch();
 
-        return new PageImpl<>(tasks, pageable, total);
+        return toSlice(content, pageable);
+    }
+
+    private <T> Slice<T> findSliceAfter(
+            Expression<T> projection,
+            BooleanBuilder predicate,
+            Optional<TaskCursor> cursor,
+            int size) {
+
+        // Seek past the cursor: created_at <= c bounds the index range scan,
+        // the OR breaks ties between tasks created at the same instant
+        cursor.ifPresent(c -> predicate.and(TASK.createdAt.loe(c.createdAt())
+                .and(TASK.createdAt.lt(c.createdAt()).or(TASK.id.lt(c.id())))));
+
+        return findSlice(projection, predicate, PageRequest.of(0, size));
+    }
+
+    private <T> Slice<T> toSlice(List<T> content, Pageable pageable) {
+        boolean hasNext = content.size() > pageable.getPageSize();
+        List<T> page = hasNext ? content.subList(0, pageable.getPageSize()) : content;
+        return new SliceImpl<>(page, pageable, hasNext);
+    }
+
+    private BooleanBuilder buildPredicate(
+            Optional<UUID> userId,
+            Optional<TaskStatus> status,
+            Optional<String> searchTerm) {
+
+        BooleanBuilder predicate = new BooleanBuilder();
+
+        // Apply filters if present
+        userId.ifPresent(id -> predicate.and(TASK.assignedUser.id.eq(id)));
+        status.ifPresent(s -> predicate.and(TASK.status.eq(s)));
+        searchTerm.ifPresent(term -> {
+            // lower(name) LIKE '%term%' matches the expression of the idx_task_name_trgm GIN index
+            String pattern = "%" + escapeLikePattern(term.toLowerCase()) + "%";
+            predicate.and(TASK.name.toLowerCase().like(pattern, LIKE_ESCAPE));
+        });
+        return predicate;
+    }
+
+    /**
+     * Escape LIKE wildcards so user input is matched literally
+     */
+    static String escapeLikePattern(String term) {
+        return term.replace("\\", "\\\\")
+                .replace("%", "\\%")
+                .replace("_", "\\_");
     }
 }
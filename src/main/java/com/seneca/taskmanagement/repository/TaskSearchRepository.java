@@ -0,0 +1,113 @@
+package com.seneca.taskmanagement.repository;
+
+import com.seneca.taskmanagement.domain.TaskStatus;
+import com.seneca.taskmanagement.dto.TaskSearchResultDto;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Ranked full-text search over the weighted document indexed by idx_task_search_vector.
+ * Runs plain SQL and reads only the columns it returns, so no entities are hydrated.
+ */
+@Repository
+@RequiredArgsConstructor
+public class TaskSearchRepository {
+
+    // Must match the expression of idx_task_search_vector (V6) for the index to be used
+    static final String SEARCH_DOCUMENT = """
+            (setweight(to_tsvector('english', coalesce(t.name, '')), 'A') ||
+             setweight(to_tsvector('english', coalesce(t.description, '')), 'B') ||
+             setweight(to_tsvector('english', coalesce(t.steps_to_reproduce, '') || ' ' || coalesce(t.acceptance_criteria, '')), 'C') ||
+             setweight(to_tsvector('english', coalesce(t.business_value, '')), 'D'))""";
+
+    private static final String HEADLINE_OPTIONS =
+            "StartSel=<mark>, StopSel=</mark>, MaxWords=35, MinWords=15, MaxFragments=2";
+
+    private static final RowMapper<TaskSearchResultDto> ROW_MAPPER = (rs, rowNum) -> {
+        String snippet = rs.getString("snippet");
+        return TaskSearchResultDto.builder()
+                .id(rs.getObject("id", UUID.class))
+                .name(rs.getString("name"))
+                .taskType(rs.getString("task_type"))
+                .status(TaskStatus.valueOf(rs.getString("status")))
+                .assignedUserId(rs.getObject("user_id", UUID.class))
+                .createdAt(rs.getObject("created_at", OffsetDateTime.class))
+                .updatedAt(rs.getObject("updated_at", OffsetDateTime.class))
+                .rank(rs.getDouble("rank"))
+                .snippet(snippet == null || snippet.isBlank() ? null : snippet)
+                .build();
+    };
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    /**
+     * Search tasks by relevance to a web-search style query
+     *
+     * @param query    search query, e.g. {@code login -oauth "error page"}
+     * @param userId   optional user ID to filter tasks by assignee
+     * @param status   optional status to filter tasks by status
+     * @param pageable pagination information
+     * @return slice of matching tasks ordered by descending relevance
+     */
+    public Slice<TaskSearchResultDto> search(
+            String query,
+            Optional<UUID> userId,
+            Optional<TaskStatus> status,
+            Pageable pageable) {
+
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("query", query)
+                .addValue("limit", pageable.getPageSize() + 1)
+                .addValue("offset", pageable.getOffset())
+                .addValue("headlineOptions", HEADLINE_OPTIONS);
+
+        StringBuilder filters = new StringBuilder();
+        userId.ifPresent(id -> {
+            filters.append(" AND t.user_id = :userId");
+            params.addValue("userId", id);
+        });
+        status.ifPresent(s -> {
+            filters.append(" AND t.status = :status");
+            params.addValue("status", s.name());
+        });
+
+        // Rank ids only, then fetch text columns and build headlines for the page rows alone
+        String sql = """
+                WITH q AS (
+                    SELECT websearch_to_tsquery('english', :query) AS query
+                ),
+                ranked AS (
+                    SELECT t.id, ts_rank_cd(%1$s, q.query) AS rank
+                    FROM tasks t, q
+                    WHERE t.deleted = FALSE
+                      AND %1$s @@ q.query%2$s
+                    ORDER BY rank DESC, t.id
+                    LIMIT :limit OFFSET :offset
+                )
+                SELECT t.id, t.name, t.task_type, t.status, t.user_id, t.created_at, t.updated_at, r.rank,
+                       ts_headline('english',
+                                   concat_ws(' ', t.description, t.steps_to_reproduce, t.acceptance_criteria, t.business_value),
+                                   q.query, :headlineOptions) AS snippet
+                FROM ranked r
+                JOIN tasks t ON t.id = r.id
+                CROSS JOIN q
+                ORDER BY r.rank DESC, t.id
+                """.formatted(SEARCH_DOCUMENT, filters);
+
+        List<TaskSearchResultDto> results = jdbcTemplate.query(sql, params, ROW_MAPPER);
+        boolean hasNext = results.size() > pageable.getPageSize();
+        List<TaskSearchResultDto> content = hasNext ? results.subList(0, pageable.getPageSize()) : results;
+        return new SliceImpl<>(content, pageable, hasNext);
+    }
+}
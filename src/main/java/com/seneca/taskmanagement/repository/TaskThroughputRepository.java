@@ -0,0 +1,124 @@
+package com.seneca.taskmanagement.repository;
+
+import com.seneca.taskmanagement.dto.TaskThroughputDto;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Reads the daily throughput rollup that the V13 triggers maintain on every write to tasks,
+ * and backfills it for the days before the triggers existed.
+ */
+@Repository
+@RequiredArgsConstructor
+public class TaskThroughputRepository {
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    /**
+     * Get the rollup rows of a day range. Reads only the rollup, through its key, so the cost
+     * depends on the range and the number of assignees but not on the number of tasks.
+     *
+     * @param from     first day, inclusive
+     * @param to       last day, inclusive
+     * @param userId   optional assignee to restrict the rows to
+     * @param taskType optional task type to restrict the rows to
+     * @return rows ordered by day, task type and assignee
+     */
+    public List<TaskThroughputDto> findDaily(LocalDate from, LocalDate to, Optional<UUID> userId, Optional<String> taskType) {
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("from", from)
+                .addValue("to", to);
+        StringBuilder sql = new StringBuilder("""
+                SELECT day, task_type, user_id, created_count, completed_count, deleted_count
+                FROM task_daily_throughput
+                WHERE day BETWEEN :from AND :to""");
+        userId.ifPresent(id -> {
+            sql.append(" AND user_id = :userId");
+            params.addValue("userId", id);
+        });
+        taskType.ifPresent(type -> {
+            sql.append(" AND task_type = :taskType");
+            params.addValue("taskType", type);
+        });
+        sql.append(" ORDER BY day, task_type, user_id");
+
+        return jdbcTemplate.query(sql.toString(), params, (rs, rowNum) -> new TaskThroughputDto(
+                rs.getObject("day", LocalDate.class),
+                rs.getString("task_type"),
+                rs.getObject("user_id", UUID.class),
+                rs.getLong("created_count"),
+                rs.getLong("completed_count"),
+                rs.getLong("deleted_count")));
+    }
+
+    /**
+     * Take the transaction-scoped lock that serializes backfills across nodes, without waiting
+     *
+     * @return true if this transaction holds the lock, false if another one is backfilling
+     */
+    public boolean tryLockBackfill() {
+        return Boolean.TRUE.equals(jdbcTemplate.getJdbcOperations().queryForObject(
+                "SELECT pg_try_advisory_xact_lock(hashtext('task_daily_throughput_backfill'))", Boolean.class));
+    }
+
+    /**
+     * @param before first day left untouched by the backfill
+     * @return whether a backfill up to that day has completed
+     */
+    public boolean isBackfilled(LocalDate before) {
+        return Boolean.TRUE.equals(jdbcTemplate.queryForObject(
+                "SELECT EXISTS (SELECT 1 FROM task_throughput_backfills WHERE backfill_before = :before)",
+                new MapSqlParameterSource("before", before), Boolean.class));
+    }
+
+    /**
+     * Record a completed backfill, in the transaction that ran it
+     *
+     * @param before first day left untouched by the backfill
+     * @param rows   number of rollup rows written
+     */
+    public void markBackfilled(LocalDate before, int rows) {
+        jdbcTemplate.update("INSERT INTO task_throughput_backfills (backfill_before, row_count) VALUES (:before, :rows)",
+                new MapSqlParameterSource("before", before).addValue("rows", rows));
+    }
+
+    /**
+     * Rebuild the rollup of every day before the given one from the current tasks, replacing
+     * what is there. Tasks carry no history, so a task counts as completed on its last update
+     * if it is DONE now, and every event is attributed to the current assignee. Task writes wait
+     * at their rollup trigger while this runs, so it must be called in a transaction.
+     *
+     * @param before first day to leave untouched, normally the day the triggers were installed
+     * @return number of rollup rows written
+     */
+    public int backfill(LocalDate before) {
+        // Same lock as the counter reconciliation: writers that already touched the rollup have
+        // committed before the scan takes its snapshot, later ones add on top of the rebuild
+        jdbcTemplate.getJdbcOperations().execute("LOCK TABLE task_daily_throughput IN SHARE ROW EXCLUSIVE MODE");
+
+        MapSqlParameterSource params = new MapSqlParameterSource("before", before);
+        jdbcTemplate.update("DELETE FROM task_daily_throughput WHERE day < :before", params);
+
+        // One pass over tasks, each row contributing up to three events
+        String sql = """
+                INSERT INTO task_daily_throughput (day, task_type, user_id, created_count, completed_count, deleted_count)
+                SELECT e.day, t.task_type, t.user_id, sum(e.created), sum(e.completed), sum(e.deleted)
+                FROM tasks t
+                CROSS JOIN LATERAL (VALUES
+                    ((t.created_at AT TIME ZONE 'UTC')::date, 1, 0, 0),
+                    (CASE WHEN t.status = 'DONE' THEN (t.updated_at AT TIME ZONE 'UTC')::date END, 0, 1, 0),
+                    (CASE WHEN t.deleted THEN (coalesce(t.deleted_at, t.updated_at) AT TIME ZONE 'UTC')::date END, 0, 0, 1)
+                ) AS e(day, created, completed, deleted)
+                WHERE e.day < :before
+                GROUP BY e.day, t.task_type, t.user_id
+                """;
+        return jdbcTemplate.update(sql, params);
+    }
+}
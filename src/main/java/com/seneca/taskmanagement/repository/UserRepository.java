@@ -6,17 +6,19 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.Set;
 import java.util.UUID;
 
 @Repository
 public interface UserRepository extends JpaRepository<User, UUID> {
     
     boolean existsByUsername(String username);
-    
+
     /**
-     * Check if a username exists among both active and deleted users
-     * This query ignores the @Where clause to check all users
+     * Find which of the given IDs belong to active users, in a single IN query
+     * that reads only the primary key
      */
-    @Query("SELECT CASE WHEN COUNT(u) > 0 THEN true ELSE false END FROM User u WHERE u.username = :username")
-    boolean existsByUsernameIncludingDeleted(@Param("username") String username);
+    @Query("SELECT u.id FROM User u WHERE u.id IN :ids")
+    Set<UUID> findActiveIds(@Param("ids") Collection<UUID> ids);
 }
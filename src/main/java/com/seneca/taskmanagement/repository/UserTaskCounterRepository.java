@@ -0,0 +1,125 @@
+package com.seneca.taskmanagement.repository;
+
+import com.seneca.taskmanagement.dto.UserTaskStatsDto;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Reads the per-user task counters that the V12 triggers maintain on every write to tasks,
+ * and reconciles them with the tasks they count.
+ */
+@Repository
+@RequiredArgsConstructor
+public class UserTaskCounterRepository {
+
+    private static final RowMapper<UserTaskStatsDto> STATS_MAPPER = (rs, rowNum) -> {
+        long open = rs.getLong("open_count");
+        long inProgress = rs.getLong("in_progress_count");
+        long done = rs.getLong("done_count");
+        return new UserTaskStatsDto(rs.getObject("user_id", UUID.class), open, inProgress, done, open + inProgress + done);
+    };
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    /**
+     * Get the counters of one user
+     *
+     * @param userId user ID
+     * @return the user's counters, all zero if the user never had active tasks
+     */
+    public UserTaskStatsDto findByUserId(UUID userId) {
+        List<UserTaskStatsDto> stats = jdbcTemplate.query(
+                "SELECT user_id, open_count, in_progress_count, done_count FROM user_task_counters WHERE user_id = :userId",
+                new MapSqlParameterSource("userId", userId), STATS_MAPPER);
+        return stats.isEmpty() ? UserTaskStatsDto.empty(userId) : stats.get(0);
+    }
+
+    /**
+     * Get the counters of several users in one query
+     *
+     * @param userIds user IDs
+     * @return counters by user ID, all zero for users that never had active tasks
+     */
+    public Map<UUID, UserTaskStatsDto> findByUserIds(Collection<UUID> userIds) {
+        Map<UUID, UserTaskStatsDto> statsByUser = new HashMap<>();
+        userIds.forEach(userId -> statsByUser.put(userId, UserTaskStatsDto.empty(userId)));
+        if (userIds.isEmpty()) {
+            return statsByUser;
+        }
+        jdbcTemplate.query(
+                "SELECT user_id, open_count, in_progress_count, done_count FROM user_task_counters WHERE user_id = ANY(:userIds)",
+                new MapSqlParameterSource("userIds", userIds.toArray(UUID[]::new)),
+                rs -> {
+                    UserTaskStatsDto stats = STATS_MAPPER.mapRow(rs, 0);
+                    statsByUser.put(stats.getUserId(), stats);
+                });
+        return statsByUser;
+    }
+
+    /**
+     * Take the transaction-scoped lock that serializes reconciles across nodes, without waiting
+     *
+     * @return true if this transaction holds the lock, false if another one is reconciling
+     */
+    public boolean tryLockReconcile() {
+        return Boolean.TRUE.equals(jdbcTemplate.getJdbcOperations().queryForObject(
+                "SELECT pg_try_advisory_xact_lock(hashtext('user_task_counters_reconcile'))", Boolean.class));
+    }
+
+    /**
+     * Recount every user's active tasks and correct the counters that differ. Task writes wait
+     * at their counter trigger while this runs, so it must be called in a transaction.
+     *
+     * @return number of users whose counters were corrected
+     */
+    public int reconcile() {
+        // SHARE ROW EXCLUSIVE conflicts with the row locks the triggers take, and is only granted
+        // once every writer that already changed counters has finished. The recount below takes
+        // its snapshot after that, so every committed task is in it, and writes still in flight
+        // add their changes on top of the corrected counters after this transaction commits.
+        jdbcTemplate.getJdbcOperations().execute("LOCK TABLE user_task_counters IN SHARE ROW EXCLUSIVE MODE");
+
+        // The upsert and the update touch disjoint rows: users with active tasks and users without
+        String sql = """
+                WITH actual AS (
+                    SELECT user_id,
+                           count(*) FILTER (WHERE status = 'OPEN') AS open_count,
+                           count(*) FILTER (WHERE status = 'IN_PROGRESS') AS in_progress_count,
+                           count(*) FILTER (WHERE status = 'DONE') AS done_count
+                    FROM tasks
+                    WHERE user_id IS NOT NULL AND deleted = FALSE
+                    GROUP BY user_id
+                ),
+                corrected AS (
+                    INSERT INTO user_task_counters AS c (user_id, open_count, in_progress_count, done_count)
+                    SELECT user_id, open_count, in_progress_count, done_count FROM actual
+                    ON CONFLICT (user_id) DO UPDATE
+                        SET open_count = EXCLUDED.open_count,
+                            in_progress_count = EXCLUDED.in_progress_count,
+                            done_count = EXCLUDED.done_count
+                        WHERE (c.open_count, c.in_progress_count, c.done_count)
+                              <> (EXCLUDED.open_count, EXCLUDED.in_progress_count, EXCLUDED.done_count)
+                    RETURNING c.user_id
+                ),
+                cleared AS (
+                    UPDATE user_task_counters c
+                    SET open_count = 0, in_progress_count = 0, done_count = 0
+                    WHERE (c.open_count, c.in_progress_count, c.done_count) <> (0, 0, 0)
+                      AND NOT EXISTS (SELECT 1 FROM actual a WHERE a.user_id = c.user_id)
+                    RETURNING c.user_id
+                )
+                SELECT (SELECT count(*) FROM corrected) + (SELECT count(*) FROM cleared)
+                """;
+        Long corrected = jdbcTemplate.queryForObject(sql, new MapSqlParameterSource(), Long.class);
+        return corrected != null ? corrected.intValue() : 0;
+    }
+}
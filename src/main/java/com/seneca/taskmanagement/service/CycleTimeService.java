@@ -0,0 +1,150 @@
+package com.seneca.taskmanagement.service;
+
+import com.seneca.taskmanagement.domain.TaskStatus;
+import com.seneca.taskmanagement.dto.CycleTimeDto;
+import com.seneca.taskmanagement.exception.BadRequestException;
+import com.seneca.taskmanagement.repository.CycleTimeRepository;
+import com.seneca.taskmanagement.repository.CycleTimeRepository.Sample;
+import com.seneca.taskmanagement.repository.CycleTimeRepository.SketchKey;
+import com.seneca.taskmanagement.repository.CycleTimeRepository.StoredSketch;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.HdrHistogram.Histogram;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.nio.ByteBuffer;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.zip.DataFormatException;
+
+/**
+ * Cycle time quantiles from mergeable HdrHistogram sketches, one per task type or assignee and
+ * status. The transition trigger measures each time spent in a status as the task leaves it;
+ * {@link #foldSamples} merges those samples into the persisted sketches, and quantiles are read
+ * from a single sketch, so their cost does not depend on how much history there is.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+@Transactional(readOnly = true)
+public class CycleTimeService {
+
+    static final String TASK_TYPE_DIMENSION = "TASK_TYPE";
+    static final String ASSIGNEE_DIMENSION = "ASSIGNEE";
+
+    // Longer times are recorded as this; two significant digits keep a sketch within a few KB
+    private static final long MAX_TRACKED_SECONDS = Duration.ofDays(3650).toSeconds();
+    private static final int SIGNIFICANT_DIGITS = 2;
+
+    private final CycleTimeRepository cycleTimeRepository;
+
+    @Value("${task-management.cycle-times.fold-batch-size:10000}")
+    private int foldBatchSize = 10000;
+
+    /**
+     * Get the p50, p90 and p99 of the time tasks spent in a status, for one task type or one
+     * assignee. Covers samples folded so far, i.e. up to one fold interval behind.
+     *
+     * @param status   status the time was spent in
+     * @param taskType task type, case-insensitive
+     * @param userId   assignee during that time
+     * @return quantiles in seconds, absent if no task has left the status yet
+     * @throws BadRequestException unless exactly one of task type and assignee is given
+     */
+    public CycleTimeDto getCycleTimes(TaskStatus status, Optional<String> taskType, Optional<UUID> userId) {
+        if (taskType.isPresent() == userId.isPresent()) {
+            throw new BadRequestException("Exactly one of taskType and userId is required");
+        }
+        Optional<String> normalizedType = taskType.map(type -> type.toUpperCase(Locale.ROOT));
+        SketchKey key = normalizedType
+                .map(type -> new SketchKey(TASK_TYPE_DIMENSION, type, status.name()))
+                .orElseGet(() -> new SketchKey(ASSIGNEE_DIMENSION, userId.get().toString(), status.name()));
+
+        CycleTimeDto.CycleTimeDtoBuilder result = CycleTimeDto.builder()
+                .status(status)
+                .taskType(normalizedType.orElse(null))
+                .userId(userId.orElse(null));
+        Optional<StoredSketch> stored = cycleTimeRepository.findSketch(key);
+        if (stored.isEmpty()) {
+            return result.count(0).build();
+        }
+        Histogram histogram = decode(stored.get().sketch());
+        return result
+                .count(stored.get().sampleCount())
+                .p50Seconds(histogram.getValueAtPercentile(50.0))
+                .p90Seconds(histogram.getValueAtPercentile(90.0))
+                .p99Seconds(histogram.getValueAtPercentile(99.0))
+                .build();
+    }
+
+    /**
+     * Merge one batch of queued samples into the persisted sketches. Concurrent folds on other
+     * nodes claim other samples and wait for each other only on the sketches they share.
+     *
+     * @return number of samples folded; less than the batch size once the queue is drained
+     */
+    @Transactional
+    public int foldSamples() {
+        List<Sample> samples = cycleTimeRepository.claimSamples(foldBatchSize);
+        if (samples.isEmpty()) {
+            return 0;
+        }
+
+        Map<SketchKey, Histogram> deltas = new HashMap<>();
+        for (Sample sample : samples) {
+            record(deltas, new SketchKey(TASK_TYPE_DIMENSION, sample.taskType(), sample.status()), sample.seconds());
+            if (sample.userId() != null) {
+                record(deltas, new SketchKey(ASSIGNEE_DIMENSION, sample.userId().toString(), sample.status()), sample.seconds());
+            }
+        }
+
+        Map<SketchKey, StoredSketch> stored = cycleTimeRepository.lockSketches(deltas.keySet());
+        Map<SketchKey, StoredSketch> merged = new HashMap<>();
+        deltas.forEach((key, delta) -> {
+            StoredSketch current = stored.get(key);
+            Histogram histogram = current != null && current.sketch() != null ? decode(current.sketch()) : newHistogram();
+            histogram.add(delta);
+            merged.put(key, new StoredSketch(histogram.getTotalCount(), encode(histogram)));
+        });
+        cycleTimeRepository.saveSketches(merged);
+        log.debug("Folded {} cycle time samples into {} sketches", samples.size(), merged.size());
+        return samples.size();
+    }
+
+    /**
+     * @return the configured number of samples claimed per fold
+     */
+    public int getFoldBatchSize() {
+        return foldBatchSize;
+    }
+
+    private static void record(Map<SketchKey, Histogram> deltas, SketchKey key, long seconds) {
+        deltas.computeIfAbsent(key, k -> newHistogram()).recordValue(Math.min(Math.max(seconds, 0), MAX_TRACKED_SECONDS));
+    }
+
+    private static Histogram newHistogram() {
+        return new Histogram(MAX_TRACKED_SECONDS, SIGNIFICANT_DIGITS);
+    }
+
+    static byte[] encode(Histogram histogram) {
+        ByteBuffer buffer = ByteBuffer.allocate(histogram.getNeededByteBufferCapacity());
+        int length = histogram.encodeIntoCompressedByteBuffer(buffer);
+        return Arrays.copyOf(buffer.array(), length);
+    }
+
+    static Histogram decode(byte[] sketch) {
+        try {
+            return Histogram.decodeFromCompressedByteBuffer(ByteBuffer.wrap(sketch), MAX_TRACKED_SECONDS);
+        } catch (DataFormatException e) {
+            throw new IllegalStateException("Unreadable cycle time sketch", e);
+        }
+    }
+}
@@ -0,0 +1,23 @@
+package com.seneca.taskmanagement.service;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Periodically drains the queued cycle time samples into the persisted sketches, one batch
+ * per transaction. Every node runs it; concurrent runs claim disjoint samples.
+ */
+@Component
+@RequiredArgsConstructor
+public class CycleTimeSketchFolder {
+
+    private final CycleTimeService cycleTimeService;
+
+    @Scheduled(fixedDelayString = "${task-management.cycle-times.fold-interval:PT30S}")
+    public void fold() {
+        while (cycleTimeService.foldSamples() >= cycleTimeService.getFoldBatchSize()) {
+            // Keep going while full batches show more samples are waiting
+        }
+    }
+}
@@ -0,0 +1,63 @@
+package com.seneca.taskmanagement.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.seneca.taskmanagement.dto.OutboxEvent;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * POSTs each batch of outbox events to an HTTP endpoint as an {@code application/x-ndjson}
+ * body. Any 2xx response acknowledges the whole batch; anything else, or no response within
+ * the timeout, fails it and the batch is sent again on the next relay run.
+ */
+@Component
+@ConditionalOnProperty(name = "task-management.outbox.sink", havingValue = "http")
+public class HttpOutboxSink implements OutboxSink {
+
+    private final URI url;
+    private final Duration timeout;
+    private final ObjectMapper objectMapper;
+    private final HttpClient httpClient;
+
+    public HttpOutboxSink(
+            @Value("${task-management.outbox.http.url}") URI url,
+            @Value("${task-management.outbox.http.timeout:10s}") Duration timeout,
+            ObjectMapper objectMapper) {
+        this.url = url;
+        this.timeout = timeout;
+        this.objectMapper = objectMapper;
+        this.httpClient = HttpClient.newBuilder().connectTimeout(timeout).build();
+    }
+
+    @Override
+    public void publish(List<OutboxEvent> events) throws IOException {
+        StringBuilder body = new StringBuilder();
+        for (OutboxEvent event : events) {
+            body.append(objectMapper.writeValueAsString(event)).append('\n');
+        }
+        HttpRequest request = HttpRequest.newBuilder(url)
+                .timeout(timeout)
+                .header("Content-Type", "application/x-ndjson")
+                .POST(HttpRequest.BodyPublishers.ofString(body.toString()))
+                .build();
+        HttpResponse<Void> response;
+        try {
+            response = httpClient.send(request, HttpResponse.BodyHandlers.discarding());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while publishing outbox events", e);
+        }
+        if (response.statusCode() / 100 != 2) {
+            throw new IOException("Outbox endpoint " + url + " answered " + response.statusCode());
+        }
+    }
+}
@@ -0,0 +1,44 @@
+package com.seneca.taskmanagement.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.UncheckedIOException;
+import java.util.Optional;
+
+/**
+ * Periodically delivers pending outbox events to the configured sink, one batch per
+ * transaction. Every node runs it; concurrent runs claim disjoint events. Without a sink
+ * (task-management.outbox.sink unset) events are kept until one is configured.
+ */
+@Component
+@Slf4j
+public class OutboxRelay {
+
+    private final OutboxService outboxService;
+    private final Optional<OutboxSink> sink;
+
+    public OutboxRelay(OutboxService outboxService, Optional<OutboxSink> sink) {
+        this.outboxService = outboxService;
+        this.sink = sink;
+        if (sink.isEmpty()) {
+            log.warn("No outbox sink configured, change events are kept in the outbox table");
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${task-management.outbox.relay-interval:PT1S}")
+    public void relay() {
+        if (sink.isEmpty()) {
+            return;
+        }
+        try {
+            while (outboxService.relayBatch(sink.get()) >= outboxService.getBatchSize()) {
+                // Keep going while full batches show more events are waiting
+            }
+        } catch (UncheckedIOException e) {
+            // The batch stays in the outbox and is retried on the next run
+            log.warn("Outbox relay paused: {}", e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,120 @@
+package com.seneca.taskmanagement.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.seneca.taskmanagement.dto.OutboxEvent;
+import com.seneca.taskmanagement.dto.OutboxEventType;
+import com.seneca.taskmanagement.dto.TaskDto;
+import com.seneca.taskmanagement.dto.UserDto;
+import com.seneca.taskmanagement.repository.OutboxRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Transactional outbox of task and user changes. Events are inserted by the transaction that
+ * makes the change, so an event exists exactly when its change committed, and are delivered
+ * to the configured {@link OutboxSink} by {@link #relayBatch}.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+@Transactional(readOnly = true)
+public class OutboxService {
+
+    private final OutboxRepository outboxRepository;
+    private final ObjectMapper objectMapper;
+
+    @Value("${task-management.outbox.batch-size:500}")
+    private int batchSize = 500;
+
+    /**
+     * Record a task change in the transaction that made it
+     *
+     * @param type kind of change
+     * @param task task after the change, flushed
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void taskChanged(OutboxEventType type, TaskDto task) {
+        append(type, task.getId(), task);
+    }
+
+    /**
+     * Record changes of many tasks in the transaction that made them, as one batch
+     *
+     * @param type  kind of change
+     * @param tasks tasks after the change, flushed
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void tasksChanged(OutboxEventType type, List<? extends TaskDto> tasks) {
+        Map<UUID, String> payloads = new LinkedHashMap<>();
+        for (TaskDto task : tasks) {
+            payloads.put(task.getId(), serialize(type, task));
+        }
+        outboxRepository.appendAll(type, payloads);
+    }
+
+    /**
+     * Record a user change in the transaction that made it
+     *
+     * @param type kind of change
+     * @param user user after the change, flushed
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void userChanged(OutboxEventType type, UserDto user) {
+        append(type, user.getId(), user);
+    }
+
+    /**
+     * Deliver one batch of pending events and remove them. If the sink fails, the transaction
+     * rolls back and the batch stays pending, to be delivered again in the same order.
+     *
+     * @param sink destination of the events
+     * @return number of events delivered
+     * @throws UncheckedIOException if the sink could not accept the batch
+     */
+    @Transactional
+    public int relayBatch(OutboxSink sink) {
+        List<OutboxEvent> events = outboxRepository.claim(batchSize);
+        if (events.isEmpty()) {
+            return 0;
+        }
+        try {
+            sink.publish(events);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to publish " + events.size() + " outbox events", e);
+        }
+        outboxRepository.delete(events.stream().map(OutboxEvent::id).toList());
+        log.debug("Published {} outbox events", events.size());
+        return events.size();
+    }
+
+    /**
+     * @return the configured number of events claimed per batch
+     */
+    public int getBatchSize() {
+        return batchSize;
+    }
+
+    private void append(OutboxEventType type, UUID aggregateId, Object payload) {
+        outboxRepository.append(type, aggregateId, serialize(type, payload));
+    }
+
+    private String serialize(OutboxEventType type, Object payload) {
+        try {
+            return objectMapper.writeValueAsString(payload);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Unserializable " + type + " payload", e);
+        }
+    }
+}
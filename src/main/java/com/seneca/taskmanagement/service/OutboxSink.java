@@ -0,0 +1,23 @@
+package com.seneca.taskmanagement.service;
+
+import com.seneca.taskmanagement.dto.OutboxEvent;
+
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * Destination the outbox relay delivers change events to. Delivery is at least once: a batch
+ * is removed from the outbox only after {@link #publish} returns, so a batch that fails, or
+ * whose removal fails, is delivered again with the same event IDs. Consumers deduplicate on
+ * {@link OutboxEvent#id()}.
+ */
+public interface OutboxSink {
+
+    /**
+     * Deliver a batch of events; must not return before they are durably accepted
+     *
+     * @param events events in delivery order, which preserves the order of each aggregate's events
+     * @throws IOException if the batch could not be delivered
+     */
+    void publish(List<OutboxEvent> events) throws IOException;
+}
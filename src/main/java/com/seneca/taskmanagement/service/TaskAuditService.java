@@ -0,0 +1,202 @@
+package com.seneca.taskmanagement.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.seneca.taskmanagement.dto.FieldChangeDto;
+import com.seneca.taskmanagement.dto.TaskAuditAction;
+import com.seneca.taskmanagement.dto.TaskDto;
+import com.seneca.taskmanagement.dto.TaskHistoryCursor;
+import com.seneca.taskmanagement.dto.TaskHistoryEntryDto;
+import com.seneca.taskmanagement.exception.ResourceNotFoundException;
+import com.seneca.taskmanagement.repository.TaskAuditRepository;
+import com.seneca.taskmanagement.repository.TaskAuditRepository.AuditEntry;
+import com.seneca.taskmanagement.repository.TaskAuditRepository.Origin;
+import com.seneca.taskmanagement.repository.TaskAuditRepository.StoredEntry;
+import com.seneca.taskmanagement.repository.TaskRepository;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.MDC;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.UUID;
+
+/**
+ * Field-level history of task writes. Changes are diffed from the task before and after the
+ * write and handed to the {@link TaskAuditWriter} once the write commits, so recording adds no
+ * statement to the write transaction and a rolled back write leaves no entry. Set-based writes
+ * are the exception, as queueing thousands of entries at once would overrun the writer:
+ * {@link com.seneca.taskmanagement.repository.TaskBulkRepository} and
+ * {@link com.seneca.taskmanagement.repository.TaskImportRepository} insert their entries in
+ * the statement that writes the tasks.
+ */
+@Service
+@RequiredArgsConstructor
+@Transactional(readOnly = true)
+public class TaskAuditService {
+
+    // Maintained by the database or implied by the entry itself, never worth an entry of their own
+    private static final Set<String> IGNORED_FIELDS = Set.of("id", "taskType", "createdAt", "updatedAt", "version");
+
+    private static final TypeReference<TreeMap<String, FieldChangeDto>> CHANGES_TYPE = new TypeReference<>() {
+    };
+
+    private final TaskAuditRepository taskAuditRepository;
+    private final TaskAuditWriter taskAuditWriter;
+    private final TaskRepository taskRepository;
+    private final ObjectMapper objectMapper;
+
+    /**
+     * Record the creation of a task, with every field it was created with
+     *
+     * @param task created task
+     */
+    public void recordCreated(TaskDto task) {
+        record(task.getId(), TaskAuditAction.CREATED, diff(objectMapper.createObjectNode(), objectMapper.valueToTree(task)), task.getVersion());
+    }
+
+    /**
+     * Record the fields an update changed; updates that changed nothing are not recorded
+     *
+     * @param before task as loaded before the update
+     * @param after  task as flushed by the update
+     */
+    public void recordUpdated(TaskDto before, TaskDto after) {
+        ObjectNode changes = diff(objectMapper.valueToTree(before), objectMapper.valueToTree(after));
+        if (!changes.isEmpty()) {
+            record(after.getId(), TaskAuditAction.UPDATED, changes, after.getVersion());
+        }
+    }
+
+    /**
+     * Record the soft deletion of a task
+     *
+     * @param taskId  task ID
+     * @param version task version after the deletion
+     */
+    public void recordDeleted(UUID taskId, Long version) {
+        ObjectNode changes = objectMapper.createObjectNode();
+        changes.putObject("deleted").put("from", false).put("to", true);
+        record(taskId, TaskAuditAction.DELETED, changes, version);
+    }
+
+    /**
+     * @return who is making the changes of the current thread, as recorded with its entries
+     */
+    public Origin currentOrigin() {
+        return new Origin(MDC.get("clientIp"), MDC.get("requestId"));
+    }
+
+    /**
+     * Get a page of a task's history, newest first. Entries are written behind the task
+     * writes, so the latest change may take up to the writer's flush interval to appear.
+     *
+     * @param taskId task ID, deleted tasks included
+     * @param cursor optional position of the last entry already returned
+     * @param size   page size
+     * @return slice of entries following the cursor
+     * @throws ResourceNotFoundException if the task has neither history nor a live row
+     */
+    public Slice<TaskHistoryEntryDto> getTaskHistory(UUID taskId, Optional<TaskHistoryCursor> cursor, int size) {
+        // One row of look-ahead tells whether there is a next page
+        List<StoredEntry> rows = taskAuditRepository.findByTaskId(taskId, cursor.map(TaskHistoryCursor::id), size + 1);
+        if (rows.isEmpty() && cursor.isEmpty() && taskRepository.findVersionById(taskId).isEmpty()) {
+            throw new ResourceNotFoundException("Task not found with ID: " + taskId);
+        }
+        boolean hasNext = rows.size() > size;
+        List<TaskHistoryEntryDto> entries = rows.stream()
+                .limit(size)
+                .map(this::toDto)
+                .toList();
+        return new SliceImpl<>(entries, PageRequest.ofSize(size), hasNext);
+    }
+
+    /**
+     * Compare two task trees field by field. A field missing from a tree, as null fields are
+     * when they are not serialized, counts as null, and null sides are left out of the change.
+     */
+    private ObjectNode diff(JsonNode before, JsonNode after) {
+        Set<String> fields = new TreeSet<>();
+        before.fieldNames().forEachRemaining(fields::add);
+        after.fieldNames().forEachRemaining(fields::add);
+
+        ObjectNode changes = objectMapper.createObjectNode();
+        for (String field : fields) {
+            JsonNode from = before.path(field);
+            JsonNode to = after.path(field);
+            if (IGNORED_FIELDS.contains(field) || isEmpty(from) && isEmpty(to) || from.equals(to)) {
+                continue;
+            }
+            ObjectNode change = changes.putObject(field);
+            if (!isEmpty(from)) {
+                change.set("from", from);
+            }
+            if (!isEmpty(to)) {
+                change.set("to", to);
+            }
+        }
+        return changes;
+    }
+
+    private static boolean isEmpty(JsonNode value) {
+        return value.isMissingNode() || value.isNull();
+    }
+
+    /**
+     * Queue an entry once the surrounding transaction has committed. Who made the change is
+     * taken from the request context while still on the request thread.
+     */
+    private void record(UUID taskId, TaskAuditAction action, ObjectNode changes, Long version) {
+        String serialized = changes.toString();
+        Origin origin = currentOrigin();
+        afterCommit(() -> taskAuditWriter.submit(new AuditEntry(
+                taskId, action.name(), serialized, origin.actor(), origin.requestId(), OffsetDateTime.now(), version)));
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+
+    private TaskHistoryEntryDto toDto(StoredEntry stored) {
+        AuditEntry entry = stored.entry();
+        Map<String, FieldChangeDto> changes;
+        try {
+            changes = objectMapper.readValue(entry.changes(), CHANGES_TYPE);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Unreadable audit entry " + stored.id(), e);
+        }
+        return TaskHistoryEntryDto.builder()
+                .id(stored.id())
+                .taskId(entry.taskId())
+                .action(TaskAuditAction.valueOf(entry.action()))
+                .changes(changes)
+                .actor(entry.actor())
+                .requestId(entry.requestId())
+                .changedAt(entry.changedAt())
+                .version(entry.taskVersion())
+                .build();
+    }
+}
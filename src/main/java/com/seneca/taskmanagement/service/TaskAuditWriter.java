@@ -0,0 +1,200 @@
+package com.seneca.taskmanagement.service;
+
+import com.seneca.taskmanagement.repository.TaskAuditRepository;
+import com.seneca.taskmanagement.repository.TaskAuditRepository.AuditEntry;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.TimeGauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Writes audit entries behind the task writes that produced them. Entries go into a bounded
+ * queue and a single background thread inserts whatever has accumulated as one JDBC batch, so
+ * batches grow with the write rate while an idle queue is flushed within the flush interval.
+ * <p>
+ * When the queue is full, submitters wait up to {@code task-management.audit.enqueue-timeout}
+ * for room, which slows writers down to the rate the database absorbs; entries that still do
+ * not fit are dropped and counted. On shutdown the writer stops after the web server, so the
+ * last requests' entries are still queued, and it drains the queue before the connection pool
+ * closes. Queue size, lag and written, dropped and failed counts are published as
+ * {@code task.audit.*} metrics.
+ */
+@Component
+@Slf4j
+public class TaskAuditWriter implements SmartLifecycle, MeterBinder {
+
+    // Stop after the web server (DEFAULT_PHASE - 2048) has finished its requests
+    private static final int PHASE = SmartLifecycle.DEFAULT_PHASE - 4096;
+
+    private static final int MAX_WRITE_ATTEMPTS = 3;
+
+    private final TaskAuditRepository taskAuditRepository;
+    private final BlockingQueue<Pending> queue;
+    private final int batchSize;
+    private final Duration flushInterval;
+    private final Duration enqueueTimeout;
+    private final Duration shutdownTimeout;
+
+    private final AtomicLong written = new AtomicLong();
+    private final AtomicLong dropped = new AtomicLong();
+    private final AtomicLong failed = new AtomicLong();
+
+    private volatile boolean running;
+    private Thread writerThread;
+
+    public TaskAuditWriter(
+            TaskAuditRepository taskAuditRepository,
+            @Value("${task-management.audit.queue-capacity:10000}") int queueCapacity,
+            @Value("${task-management.audit.batch-size:500}") int batchSize,
+            @Value("${task-management.audit.flush-interval:200ms}") Duration flushInterval,
+            @Value("${task-management.audit.enqueue-timeout:50ms}") Duration enqueueTimeout,
+            @Value("${task-management.audit.shutdown-timeout:10s}") Duration shutdownTimeout) {
+        this.taskAuditRepository = taskAuditRepository;
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        this.batchSize = batchSize;
+        this.flushInterval = flushInterval;
+        this.enqueueTimeout = enqueueTimeout;
+        this.shutdownTimeout = shutdownTimeout;
+    }
+
+    /**
+     * Queue an entry for writing, waiting up to the enqueue timeout while the queue is full
+     *
+     * @param entry entry to write
+     * @return whether the entry was queued; false if it was dropped
+     */
+    public boolean submit(AuditEntry entry) {
+        try {
+            if (queue.offer(new Pending(entry, System.nanoTime()), enqueueTimeout.toNanos(), TimeUnit.NANOSECONDS)) {
+                return true;
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        // Only the first drop is logged, the counter tells the rest
+        if (dropped.getAndIncrement() == 0) {
+            log.warn("Audit queue full, dropping entries; see the task.audit.entries metric");
+        }
+        return false;
+    }
+
+    @Override
+    public void start() {
+        running = true;
+        writerThread = new Thread(this::run, "task-audit-writer");
+        writerThread.setDaemon(true);
+        writerThread.start();
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        if (writerThread == null) {
+            return;
+        }
+        try {
+            writerThread.join(shutdownTimeout.toMillis());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        if (!queue.isEmpty()) {
+            log.warn("Audit writer did not drain within {}, {} entries lost", shutdownTimeout, queue.size());
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    @Override
+    public int getPhase() {
+        return PHASE;
+    }
+
+    private void run() {
+        List<Pending> batch = new ArrayList<>(batchSize);
+        // After stop() the loop keeps going until the queue is empty
+        while (running || !queue.isEmpty()) {
+            try {
+                Pending first = queue.poll(flushInterval.toMillis(), TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                queue.drainTo(batch, batchSize - 1);
+                write(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    private void write(List<Pending> batch) throws InterruptedException {
+        List<AuditEntry> entries = batch.stream().map(Pending::entry).toList();
+        for (int attempt = 1; ; attempt++) {
+            try {
+                taskAuditRepository.insertBatch(entries);
+                written.addAndGet(entries.size());
+                return;
+            } catch (RuntimeException e) {
+                if (attempt == MAX_WRITE_ATTEMPTS) {
+                    failed.addAndGet(entries.size());
+                    log.error("Failed to write {} audit entries after {} attempts", entries.size(), attempt, e);
+                    return;
+                }
+                log.warn("Failed to write {} audit entries, retrying: {}", entries.size(), e.getMessage());
+                Thread.sleep(flushInterval.toMillis() * attempt);
+            }
+        }
+    }
+
+    /**
+     * @return seconds the oldest queued entry has been waiting, 0 when the queue is empty
+     */
+    double lagSeconds() {
+        Pending oldest = queue.peek();
+        return oldest == null ? 0 : (System.nanoTime() - oldest.enqueuedNanos()) / 1e9;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("task.audit.queue.size", queue, BlockingQueue::size)
+                .description("Audit entries waiting to be written")
+                .register(registry);
+        TimeGauge.builder("task.audit.lag", this, TimeUnit.SECONDS, TaskAuditWriter::lagSeconds)
+                .description("Time the oldest queued audit entry has been waiting")
+                .register(registry);
+        FunctionCounter.builder("task.audit.entries", written, AtomicLong::get)
+                .tag("outcome", "written")
+                .description("Audit entries by outcome: written, dropped on a full queue or failed to insert")
+                .register(registry);
+        FunctionCounter.builder("task.audit.entries", dropped, AtomicLong::get)
+                .tag("outcome", "dropped")
+                .description("Audit entries by outcome: written, dropped on a full queue or failed to insert")
+                .register(registry);
+        FunctionCounter.builder("task.audit.entries", failed, AtomicLong::get)
+                .tag("outcome", "failed")
+                .description("Audit entries by outcome: written, dropped on a full queue or failed to insert")
+                .register(registry);
+    }
+
+    private record Pending(AuditEntry entry, long enqueuedNanos) {
+    }
+}
@@ -0,0 +1,347 @@
+package com.seneca.taskmanagement.service;
+
+import com.seneca.taskmanagement.domain.Task;
+import com.seneca.taskmanagement.domain.TaskStatus;
+import com.seneca.taskmanagement.dto.CreateTaskDto;
+import com.seneca.taskmanagement.dto.NewTaskChecks;
+import com.seneca.taskmanagement.dto.OutboxEventType;
+import com.seneca.taskmanagement.dto.TaskBatchItemResult;
+import com.seneca.taskmanagement.dto.TaskBatchResponse;
+import com.seneca.taskmanagement.dto.TaskBulkChanges;
+import com.seneca.taskmanagement.dto.TaskBulkResult;
+import com.seneca.taskmanagement.dto.TaskBulkUpdateRequest;
+import com.seneca.taskmanagement.dto.TaskDto;
+import com.seneca.taskmanagement.dto.TaskFilter;
+import com.seneca.taskmanagement.dto.TaskSelection;
+import com.seneca.taskmanagement.exception.BadRequestException;
+import com.seneca.taskmanagement.exception.ResourceNotFoundException;
+import com.seneca.taskmanagement.mapper.TaskMapper;
+import com.seneca.taskmanagement.repository.TaskAuditRepository.Origin;
+import com.seneca.taskmanagement.repository.TaskBulkRepository;
+import com.seneca.taskmanagement.repository.TaskBulkRepository.FilterChunk;
+import com.seneca.taskmanagement.repository.TaskRepository;
+import com.seneca.taskmanagement.repository.UserRepository;
+import com.seneca.taskmanagement.util.DatabaseErrors;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import jakarta.validation.groups.Default;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+/**
+ * Operations that act on many tasks per request. Batch creation validates items up front
+ * and writes them in JDBC batches, reporting a result per item; bulk updates run as
+ * chunked set-based statements that never load entities, as do bulk delete and restore.
+ * Every path records an outbox event per changed task in the transaction of the change. Bulk
+ * statements insert the audit entries of their chunk themselves, batch creates queue theirs
+ * once they have committed.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class TaskBulkService {
+
+    // A user deleted between the assignee check and the INSERT fails the whole JDBC batch;
+    // the batch is re-checked and retried this many times before giving up
+    private static final int MAX_INSERT_ATTEMPTS = 2;
+
+    private final TaskRepository taskRepository;
+    private final TaskBulkRepository taskBulkRepository;
+    private final UserRepository userRepository;
+    private final TaskMapper taskMapper;
+    private final Validator validator;
+    private final TaskCache taskCache;
+    private final TaskListCache taskListCache;
+    private final TaskAuditService taskAuditService;
+    private final OutboxService outboxService;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${task-management.batch.max-size:500}")
+    private int maxBatchSize = 500;
+
+    @Value("${task-management.batch.max-ids:10000}")
+    private int maxSelectionIds = 10000;
+
+    @Value("${task-management.batch.chunk-size:1000}")
+    private int chunkSize = 1000;
+
+    @Value("${task-management.search.min-term-length:3}")
+    private int minSearchTermLength = 3;
+
+    /**
+     * Create many tasks at once
+     *
+     * @param createTaskDtos task creation data, bugs and features may be mixed
+     * @return one result per item, in request order
+     * @throws BadRequestException if the batch is empty or larger than the configured maximum
+     */
+    public TaskBatchResponse createTasks(List<CreateTaskDto> createTaskDtos) {
+        if (createTaskDtos == null || createTaskDtos.isEmpty()) {
+            throw new BadRequestException("At least one task is required");
+        }
+        if (createTaskDtos.size() > maxBatchSize) {
+            throw new BadRequestException("At most " + maxBatchSize + " tasks can be created per batch");
+        }
+
+        TaskBatchItemResult[] results = new TaskBatchItemResult[createTaskDtos.size()];
+        List<Integer> pending = new ArrayList<>();
+        for (int i = 0; i < createTaskDtos.size(); i++) {
+            String error = validate(createTaskDtos.get(i));
+            if (error != null) {
+                results[i] = TaskBatchItemResult.failed(i, 400, error);
+            } else {
+                pending.add(i);
+            }
+        }
+
+        for (int attempt = 1; !pending.isEmpty(); attempt++) {
+            pending = rejectMissingAssignees(createTaskDtos, pending, results);
+            if (pending.isEmpty()) {
+                break;
+            }
+
+            List<Task> tasks = pending.stream()
+                    .map(i -> taskMapper.toEntityByType(createTaskDtos.get(i)))
+                    .toList();
+            try {
+                // One transaction; Hibernate groups the INSERTs into JDBC batches of hibernate.jdbc.batch_size,
+                // flushed before the outbox events so they follow the rows they describe
+                List<TaskDto> created = transactionTemplate.execute(status -> {
+                    List<Task> saved = taskRepository.saveAll(tasks);
+                    taskRepository.flush();
+                    List<TaskDto> savedTasks = saved.stream().map(taskMapper::toDtoByType).toList();
+                    outboxService.tasksChanged(OutboxEventType.TASK_CREATED, savedTasks);
+                    savedTasks.forEach(taskAuditService::recordCreated);
+                    return savedTasks;
+                });
+                taskListCache.invalidate(created.stream().map(TaskDto::getAssignedUserId).toArray(UUID[]::new));
+                for (int j = 0; j < pending.size(); j++) {
+                    int index = pending.get(j);
+                    results[index] = TaskBatchItemResult.created(index, created.get(j));
+                }
+                break;
+            } catch (DataIntegrityViolationException e) {
+                if (!DatabaseErrors.isForeignKeyViolation(e) || attempt >= MAX_INSERT_ATTEMPTS) {
+                    throw e;
+                }
+                log.warn("Assignee removed while creating a batch of {} tasks, re-checking assignees", pending.size());
+            }
+        }
+
+        List<TaskBatchItemResult> resultList = Arrays.asList(results);
+        TaskBatchResponse response = TaskBatchResponse.of(resultList);
+        log.info("Batch created {} tasks, rejected {}", response.getCreated(), response.getFailed());
+        return response;
+    }
+
+    /**
+     * Apply the same field changes to many tasks with one UPDATE ... RETURNING per chunk.
+     * Each chunk commits on its own, so a failure part-way leaves earlier chunks applied.
+     *
+     * @param request selected tasks and the changes to apply
+     * @return number of tasks changed; tasks that already had the requested values are not counted
+     * @throws BadRequestException if the selection or the changes are invalid
+     * @throws ResourceNotFoundException if the new assignee does not exist or is deleted
+     */
+    public TaskBulkResult updateTasks(TaskBulkUpdateRequest request) {
+        TaskBulkChanges changes = request.getChanges();
+        if (changes == null || changes.isEmpty()) {
+            throw new BadRequestException("At least one field to change is required");
+        }
+
+        Origin origin = taskAuditService.currentOrigin();
+        TaskBulkResult result;
+        try {
+            result = applyInChunks(request,
+                    ids -> taskBulkRepository.updateByIds(ids, changes, origin),
+                    (userId, status, searchTerm, afterId, limit) ->
+                            taskBulkRepository.updateByFilter(userId, status, searchTerm, changes, afterId, limit, origin));
+        } catch (DataIntegrityViolationException e) {
+            // fk_task_user and the assignee trigger reject the chunk in the UPDATE itself
+            if (changes.getAssignedUserId() != null && DatabaseErrors.isForeignKeyViolation(e)) {
+                throw new ResourceNotFoundException("User not found with ID: " + changes.getAssignedUserId(), e);
+            }
+            throw e;
+        }
+        log.info("Bulk updated {} tasks in {} chunks", result.getAffected(), result.getChunks());
+        return result;
+    }
+
+    /**
+     * Soft-delete the selected tasks with one UPDATE per chunk, without loading them
+     *
+     * @param selection tasks to delete
+     * @return number of tasks deleted; tasks that were already deleted are not counted
+     * @throws BadRequestException if the selection is invalid
+     */
+    public TaskBulkResult deleteTasks(TaskSelection selection) {
+        TaskBulkResult result = setDeleted(selection, true);
+        log.info("Bulk soft deleted {} tasks in {} chunks", result.getAffected(), result.getChunks());
+        return result;
+    }
+
+    /**
+     * Restore soft-deleted tasks with one UPDATE per chunk, without loading them.
+     * The filter and ID list are matched against deleted tasks only.
+     *
+     * @param selection tasks to restore
+     * @return number of tasks restored
+     * @throws BadRequestException if the selection is invalid
+     */
+    public TaskBulkResult restoreTasks(TaskSelection selection) {
+        TaskBulkResult result = setDeleted(selection, false);
+        log.info("Bulk restored {} tasks in {} chunks", result.getAffected(), result.getChunks());
+        return result;
+    }
+
+    private TaskBulkResult setDeleted(TaskSelection selection, boolean deleted) {
+        Origin origin = taskAuditService.currentOrigin();
+        return applyInChunks(selection,
+                ids -> taskBulkRepository.setDeletedByIds(ids, deleted, origin),
+                (userId, status, searchTerm, afterId, limit) ->
+                        taskBulkRepository.setDeletedByFilter(userId, status, searchTerm, deleted, afterId, limit, origin));
+    }
+
+    /**
+     * Run a set-based operation over the selected tasks, splitting it into statements of at most
+     * chunkSize rows: ID lists are cut into slices, filters are walked in id order with a keyset
+     */
+    private TaskBulkResult applyInChunks(TaskSelection selection, IdChunkOperation byIds, FilterChunkOperation byFilter) {
+        boolean hasIds = selection.getIds() != null && !selection.getIds().isEmpty();
+        boolean hasFilter = selection.getFilter() != null && !selection.getFilter().isEmpty();
+        if (hasIds == hasFilter) {
+            throw new BadRequestException("Exactly one of ids or a non-empty filter is required");
+        }
+
+        if (hasIds) {
+            List<UUID> ids = new ArrayList<>(new LinkedHashSet<>(selection.getIds()));
+            if (ids.size() > maxSelectionIds) {
+                throw new BadRequestException("At most " + maxSelectionIds + " IDs can be selected per request");
+            }
+            Set<UUID> affectedIds = new HashSet<>();
+            int chunks = 0;
+            for (int from = 0; from < ids.size(); from += chunkSize) {
+                List<UUID> chunkIds = byIds.apply(ids.subList(from, Math.min(from + chunkSize, ids.size())));
+                // Each chunk has committed; evict here so this node does not wait for the notification.
+                // The previous assignees are unknown, so every list result is outdated
+                taskCache.invalidate(chunkIds);
+                taskListCache.invalidateAll();
+                affectedIds.addAll(chunkIds);
+                chunks++;
+            }
+            return TaskBulkResult.builder()
+                    .affected(affectedIds.size())
+                    .chunks(chunks)
+                    .unaffectedIds(ids.stream().filter(id -> !affectedIds.contains(id)).toList())
+                    .build();
+        }
+
+        TaskFilter filter = selection.getFilter();
+        Optional<UUID> userId = Optional.ofNullable(filter.getUserId());
+        Optional<TaskStatus> status = Optional.ofNullable(filter.getStatus());
+        Optional<String> searchTerm = normalizeSearchTerm(filter.getSearchTerm());
+
+        long affected = 0;
+        int chunks = 0;
+        Optional<UUID> afterId = Optional.empty();
+        while (true) {
+            FilterChunk chunk = byFilter.apply(userId, status, searchTerm, afterId, chunkSize);
+            taskCache.invalidate(chunk.changedIds());
+            taskListCache.invalidateAll();
+            affected += chunk.changedIds().size();
+            chunks++;
+            // Only a short scan means the filter is exhausted; fewer changed rows than scanned
+            // ones just means concurrent writes got to some of them first
+            if (chunk.scanned() < chunkSize) {
+                break;
+            }
+            afterId = Optional.of(chunk.lastId());
+        }
+        return TaskBulkResult.builder()
+                .affected(affected)
+                .chunks(chunks)
+                .build();
+    }
+
+    private Optional<String> normalizeSearchTerm(String searchTerm) {
+        Optional<String> term = Optional.ofNullable(searchTerm).map(String::trim).filter(t -> !t.isEmpty());
+        if (term.isPresent() && term.get().length() < minSearchTermLength) {
+            throw new BadRequestException("Search term must be at least " + minSearchTermLength + " characters long");
+        }
+        return term;
+    }
+
+    private String validate(CreateTaskDto createTaskDto) {
+        if (createTaskDto == null) {
+            return "Task is required";
+        }
+        Set<ConstraintViolation<CreateTaskDto>> violations = validator.validate(createTaskDto, Default.class, NewTaskChecks.class);
+        if (violations.isEmpty()) {
+            return null;
+        }
+        return violations.stream()
+                .map(violation -> violation.getPropertyPath() + ": " + violation.getMessage())
+                .sorted()
+                .collect(Collectors.joining("; "));
+    }
+
+    /**
+     * Checks every distinct assignee of the pending items with a single IN query,
+     * records a 404 for items whose assignee is missing or deleted and returns the rest
+     */
+    private List<Integer> rejectMissingAssignees(
+            List<CreateTaskDto> createTaskDtos,
+            List<Integer> pending,
+            TaskBatchItemResult[] results) {
+
+        Set<UUID> assigneeIds = pending.stream()
+                .map(i -> createTaskDtos.get(i).getAssignedUserId())
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet());
+        if (assigneeIds.isEmpty()) {
+            return pending;
+        }
+
+        Set<UUID> activeIds = userRepository.findActiveIds(assigneeIds);
+        List<Integer> remaining = new ArrayList<>();
+        for (int i : pending) {
+            UUID assigneeId = createTaskDtos.get(i).getAssignedUserId();
+            if (assigneeId != null && !activeIds.contains(assigneeId)) {
+                results[i] = TaskBatchItemResult.failed(i, 404, "User not found with ID: " + assigneeId);
+            } else {
+                remaining.add(i);
+            }
+        }
+        return remaining;
+    }
+
+    @FunctionalInterface
+    private interface IdChunkOperation {
+        List<UUID> apply(List<UUID> ids);
+    }
+
+    @FunctionalInterface
+    private interface FilterChunkOperation {
+        FilterChunk apply(
+                Optional<UUID> userId,
+                Optional<TaskStatus> status,
+                Optional<String> searchTerm,
+                Optional<UUID> afterId,
+                int limit);
+    }
+}
@@ -0,0 +1,141 @@
+package com.seneca.taskmanagement.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.seneca.taskmanagement.dto.TaskDto;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+/**
+ * Per-node near-cache of tasks by ID, kept coherent across nodes by {@link TaskChangeListener}.
+ * The cache is only used while the listener holds a LISTEN connection: before the first
+ * connection and after a lost one every lookup goes to the database, and each (re)connect
+ * starts from an empty cache, so notifications missed during a gap can never leave stale
+ * entries behind. The TTL is a backstop only.
+ * <p>
+ * Hit, miss and eviction counts are published as the {@code cache.*} metrics tagged
+ * {@code cache=tasks}.
+ */
+@Component
+public class TaskCache implements MeterBinder {
+
+    private static final String CACHE_NAME = "tasks";
+
+    private final Cache<UUID, TaskDto> tasks;
+
+    // Bumped by every invalidation, lets a load detect that it raced with one
+    private final AtomicLong invalidations = new AtomicLong();
+
+    private volatile boolean listening;
+
+    public TaskCache(
+            @Value("${task-management.task-cache.ttl:10m}") Duration ttl,
+            @Value("${task-management.task-cache.max-entries:10000}") long maxEntries) {
+        this.tasks = Caffeine.newBuilder()
+                .expireAfterWrite(ttl)
+                .maximumSize(maxEntries)
+                .recordStats()
+                .build();
+    }
+
+    /**
+     * Get a task, loading it on a miss. Missing tasks are not cached.
+     *
+     * @param id     task ID
+     * @param loader reads the task from the database
+     * @return the task, empty if it does not exist
+     */
+    public Optional<TaskDto> get(UUID id, Function<UUID, Optional<TaskDto>> loader) {
+        if (!listening) {
+            return loader.apply(id);
+        }
+        TaskDto cached = tasks.getIfPresent(id);
+        if (cached != null) {
+            return Optional.of(cached);
+        }
+
+        long generation = invalidations.get();
+        Optional<TaskDto> loaded = loader.apply(id);
+        loaded.ifPresent(task -> {
+            tasks.put(id, task);
+            // Invalidations bump the counter before removing entries, so either the removal
+            // saw this entry or the counter shows the row read may predate a change
+            if (invalidations.get() != generation || !listening) {
+                tasks.asMap().remove(id, task);
+            }
+        });
+        return loaded;
+    }
+
+    /**
+     * Drop tasks from the cache now and again once the surrounding transaction completes,
+     * so this node reads its own writes before their notification arrives
+     *
+     * @param ids task IDs
+     */
+    public void invalidate(Collection<UUID> ids) {
+        evict(ids);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    evict(ids);
+                }
+            });
+        }
+    }
+
+    /**
+     * Drop every task from the cache
+     */
+    public void invalidateAll() {
+        invalidations.incrementAndGet();
+        tasks.invalidateAll();
+    }
+
+    /**
+     * Start serving from the cache; called once the LISTEN connection is established
+     */
+    void startListening() {
+        // Changes committed before the LISTEN took effect were never notified
+        invalidateAll();
+        listening = true;
+    }
+
+    /**
+     * Stop serving from the cache; called when the LISTEN connection is lost
+     */
+    void stopListening() {
+        listening = false;
+        invalidateAll();
+    }
+
+    /**
+     * @return whether lookups are currently served from the cache
+     */
+    public boolean isListening() {
+        return listening;
+    }
+
+    private void evict(Collection<UUID> ids) {
+        invalidations.incrementAndGet();
+        tasks.invalidateAll(ids);
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        CaffeineCacheMetrics.monitor(registry, tasks, CACHE_NAME);
+    }
+}
@@ -0,0 +1,209 @@
+package com.seneca.taskmanagement.service;
+
+import com.seneca.taskmanagement.dto.TaskChangeCursor;
+import com.seneca.taskmanagement.dto.TaskChangeFeedDto;
+import com.seneca.taskmanagement.exception.BadRequestException;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.async.DeferredResult;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Long-poll support for the task change feed. A request that finds no changes is parked
+ * without holding a servlet thread or a connection, and answered once its changes are
+ * visible or its wait runs out. Parked requests are rechecked when {@link TaskChangeListener}
+ * reports a task write on any node, and every recheck interval in case the listener is down
+ * or the write's transaction was not yet below the feed boundary. Rechecks run one after
+ * another on a single thread, and a burst of writes coalesces into one round. A round probes
+ * the latest readable change once and only reads the feed for requests positioned before it,
+ * once per distinct position, so idle requests cost nothing however many are parked.
+ */
+@Component
+@Slf4j
+public class TaskChangeFeedNotifier implements SmartLifecycle, MeterBinder {
+
+    private final TaskChangeFeedService taskChangeFeedService;
+    private final Duration maxWait;
+    private final Duration recheckInterval;
+    private final Set<Waiter> waiters = ConcurrentHashMap.newKeySet();
+    private final AtomicBoolean recheckPending = new AtomicBoolean();
+    private final AtomicLong notifications = new AtomicLong();
+
+    private volatile ScheduledExecutorService executor;
+
+    public TaskChangeFeedNotifier(
+            TaskChangeFeedService taskChangeFeedService,
+            @Value("${task-management.change-feed.max-wait:30s}") Duration maxWait,
+            @Value("${task-management.change-feed.recheck-interval:5s}") Duration recheckInterval) {
+        this.taskChangeFeedService = taskChangeFeedService;
+        this.maxWait = maxWait;
+        this.recheckInterval = recheckInterval;
+    }
+
+    /**
+     * Answer with the changes following a cursor, waiting for some if there are none yet
+     *
+     * @param since position of the last change the client has
+     * @param size  most changes to return
+     * @param wait  longest time to wait for changes, capped at the max wait; zero to answer at once
+     * @return result set with the first non-empty read, or the last empty one once the wait is over
+     */
+    public DeferredResult<TaskChangeFeedDto> awaitChanges(TaskChangeCursor since, int size, Duration wait) {
+        if (wait.isNegative()) {
+            throw new BadRequestException("wait must not be negative");
+        }
+        long seen = notifications.get();
+        TaskChangeFeedDto feed = taskChangeFeedService.getChanges(since, size);
+        if (!feed.getChanges().isEmpty() || wait.isZero() || executor == null) {
+            DeferredResult<TaskChangeFeedDto> result = new DeferredResult<>();
+            result.setResult(feed);
+            return result;
+        }
+
+        Waiter waiter = new Waiter(size, feed);
+        DeferredResult<TaskChangeFeedDto> result = new DeferredResult<>(
+                (wait.compareTo(maxWait) > 0 ? maxWait : wait).toMillis(), waiter::latest);
+        waiter.result = result;
+        result.onCompletion(() -> waiters.remove(waiter));
+        waiters.add(waiter);
+        if (notifications.get() != seen) {
+            // A write was reported while the first read ran, before the request was parked
+            tasksChanged();
+        }
+        return result;
+    }
+
+    /**
+     * Recheck the parked requests soon; called for every task write notification
+     */
+    public void tasksChanged() {
+        notifications.incrementAndGet();
+        ScheduledExecutorService current = executor;
+        if (current != null && !waiters.isEmpty() && recheckPending.compareAndSet(false, true)) {
+            current.execute(this::recheck);
+        }
+    }
+
+    private void recheck() {
+        recheckPending.set(false);
+        waiters.removeIf(waiter -> waiter.result.isSetOrExpired());
+        if (waiters.isEmpty()) {
+            return;
+        }
+        long latestSequence;
+        try {
+            latestSequence = taskChangeFeedService.getLatestSequence();
+        } catch (RuntimeException e) {
+            log.warn("Failed to recheck change feed requests: {}", e.getMessage());
+            waiters.forEach(waiter -> waiter.result.setErrorResult(e));
+            return;
+        }
+
+        // A cursor at the latest sequence may still precede changes of it, one past it has none
+        Map<Position, List<Waiter>> behind = new HashMap<>();
+        for (Waiter waiter : waiters) {
+            TaskChangeCursor cursor = waiter.cursor();
+            if (cursor.sequence() <= latestSequence) {
+                behind.computeIfAbsent(new Position(cursor, waiter.size), position -> new ArrayList<>()).add(waiter);
+            }
+        }
+        behind.forEach(this::recheck);
+    }
+
+    private void recheck(Position position, List<Waiter> group) {
+        try {
+            TaskChangeFeedDto feed = taskChangeFeedService.getChanges(position.cursor(), position.size());
+            for (Waiter waiter : group) {
+                if (feed.getChanges().isEmpty()) {
+                    // Resume from the advanced boundary next time, and answer the timeout with it
+                    waiter.latest = feed;
+                } else {
+                    waiter.result.setResult(feed);
+                }
+            }
+        } catch (RuntimeException e) {
+            log.warn("Failed to recheck change feed requests: {}", e.getMessage());
+            group.forEach(waiter -> waiter.result.setErrorResult(e));
+        }
+    }
+
+    @Override
+    public void start() {
+        executor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "task-change-feed");
+            thread.setDaemon(true);
+            return thread;
+        });
+        executor.scheduleWithFixedDelay(this::tasksChanged,
+                recheckInterval.toMillis(), recheckInterval.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public void stop() {
+        ScheduledExecutorService current = executor;
+        executor = null;
+        if (current != null) {
+            current.shutdownNow();
+        }
+        // Answer parked requests with what they have so shutdown does not wait for their timeouts
+        for (Waiter waiter : waiters) {
+            waiter.result.setResult(waiter.latest);
+        }
+        waiters.clear();
+    }
+
+    @Override
+    public boolean isRunning() {
+        return executor != null;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("task.change-feed.waiting", waiters, Set::size)
+                .description("Change feed requests parked until changes arrive")
+                .register(registry);
+    }
+
+    /**
+     * Where parked requests read from; requests at the same position share one read
+     */
+    private record Position(TaskChangeCursor cursor, int size) {
+    }
+
+    private static final class Waiter {
+
+        private final int size;
+        private volatile TaskChangeFeedDto latest;
+        private DeferredResult<TaskChangeFeedDto> result;
+
+        private Waiter(int size, TaskChangeFeedDto latest) {
+            this.size = size;
+            this.latest = latest;
+        }
+
+        private TaskChangeFeedDto latest() {
+            return latest;
+        }
+
+        private TaskChangeCursor cursor() {
+            return TaskChangeCursor.decode(latest.getNextCursor());
+        }
+    }
+}
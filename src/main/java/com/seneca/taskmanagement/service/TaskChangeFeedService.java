@@ -0,0 +1,91 @@
+package com.seneca.taskmanagement.service;
+
+import com.seneca.taskmanagement.domain.Task;
+import com.seneca.taskmanagement.dto.TaskChangeCursor;
+import com.seneca.taskmanagement.dto.TaskChangeDto;
+import com.seneca.taskmanagement.dto.TaskChangeFeedDto;
+import com.seneca.taskmanagement.dto.TaskDto;
+import com.seneca.taskmanagement.mapper.TaskMapper;
+import com.seneca.taskmanagement.repository.TaskChangeFeedRepository;
+import com.seneca.taskmanagement.repository.TaskChangeFeedRepository.Change;
+import com.seneca.taskmanagement.repository.TaskChangeFeedRepository.ChangeWindow;
+import com.seneca.taskmanagement.repository.TaskRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Incremental sync of tasks: the tasks created, updated or deleted since a client's cursor, in
+ * change sequence order, from a range scan of the change sequence index
+ */
+@Service
+@RequiredArgsConstructor
+@Transactional(readOnly = true)
+public class TaskChangeFeedService {
+
+    private final TaskChangeFeedRepository taskChangeFeedRepository;
+    private final TaskRepository taskRepository;
+    private final TaskMapper taskMapper;
+
+    /**
+     * Get the changes following a cursor. Each task comes with its current state; deleted
+     * tasks come as tombstones. Changes of transactions still running when the read starts,
+     * and of any later ones, are left for the next call.
+     *
+     * @param since position of the last change the client has, the initial cursor for a full sync
+     * @param size  most changes to return
+     * @return changes with the cursor to continue from
+     */
+    public TaskChangeFeedDto getChanges(TaskChangeCursor since, int size) {
+        // One row of look-ahead tells whether more changes are ready
+        ChangeWindow window = taskChangeFeedRepository.findChanges(since, size + 1);
+        boolean hasMore = window.changes().size() > size;
+        List<Change> changes = window.changes().stream().limit(size).toList();
+
+        List<UUID> liveIds = changes.stream().filter(change -> !change.deleted()).map(Change::id).toList();
+        Map<UUID, Task> tasks = taskRepository.findAllById(liveIds).stream()
+                .collect(Collectors.toMap(Task::getId, Function.identity()));
+        List<TaskChangeDto> result = changes.stream()
+                .map(change -> {
+                    // A task deleted since the window was read is a tombstone too
+                    Task task = tasks.get(change.id());
+                    TaskDto dto = task != null ? taskMapper.toDtoByType(task) : null;
+                    return TaskChangeDto.builder()
+                            .sequence(change.sequence())
+                            .id(change.id())
+                            .deleted(dto == null)
+                            .task(dto)
+                            .build();
+                })
+                .toList();
+
+        TaskChangeCursor next;
+        if (hasMore) {
+            next = TaskChangeCursor.of(result.get(result.size() - 1));
+        } else {
+            // Everything below the boundary has been read; never move a cursor backwards
+            next = window.boundary() > since.sequence() ? TaskChangeCursor.before(window.boundary()) : since;
+        }
+        return TaskChangeFeedDto.builder()
+                .changes(result)
+                .nextCursor(next.encode())
+                .hasMore(hasMore)
+                .build();
+    }
+
+    /**
+     * Get the sequence of the latest change a read may return now. A cursor past it has
+     * nothing to read yet.
+     *
+     * @return latest readable change sequence, zero if there is none
+     */
+    public long getLatestSequence() {
+        return taskChangeFeedRepository.findLatestSequence();
+    }
+}
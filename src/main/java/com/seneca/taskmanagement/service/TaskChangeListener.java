@@ -0,0 +1,200 @@
+package com.seneca.taskmanagement.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.jdbc.datasource.SimpleDriverDataSource;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Keeps {@link TaskCache} and {@link TaskListCache} coherent across nodes. Holds a dedicated,
+ * unpooled connection to the primary that LISTENs on the channels the V10 and V11 triggers
+ * notify: changed task IDs are evicted from the task cache, changed assignees outdate their
+ * cached list results. Every notification also wakes the change feed requests parked in
+ * {@link TaskChangeFeedNotifier}.
+ * <p>
+ * The connection is probed whenever a poll brings no notifications, so a silently dropped
+ * connection is noticed within the poll interval plus the heartbeat timeout. While it is
+ * down the cache is bypassed; it is flushed and re-enabled once LISTEN is re-established.
+ */
+@Component
+@Slf4j
+public class TaskChangeListener implements SmartLifecycle {
+
+    static final String TASKS_CHANNEL = "task_changes";
+    static final String ASSIGNEES_CHANNEL = "task_assignees";
+
+    // Sent by the triggers instead of IDs when a statement changed too many rows
+    private static final String FLUSH_ALL = "*";
+
+    private final TaskCache taskCache;
+    private final TaskListCache taskListCache;
+    private final TaskChangeFeedNotifier taskChangeFeedNotifier;
+    private final DataSource dataSource;
+    private final boolean enabled;
+    private final Duration pollInterval;
+    private final Duration heartbeatTimeout;
+    private final Duration reconnectDelay;
+
+    private volatile boolean running;
+    private Thread listenerThread;
+
+    public TaskChangeListener(
+            TaskCache taskCache,
+            TaskListCache taskListCache,
+            TaskChangeFeedNotifier taskChangeFeedNotifier,
+            DataSourceProperties properties,
+            @Value("${task-management.task-cache.enabled:true}") boolean enabled,
+            @Value("${task-management.task-cache.poll-interval:500ms}") Duration pollInterval,
+            @Value("${task-management.task-cache.heartbeat-timeout:2s}") Duration heartbeatTimeout,
+            @Value("${task-management.task-cache.reconnect-delay:1s}") Duration reconnectDelay) {
+        this.taskCache = taskCache;
+        this.taskListCache = taskListCache;
+        this.taskChangeFeedNotifier = taskChangeFeedNotifier;
+        // Always the primary: notifications are not delivered to sessions on a standby
+        this.dataSource = properties.initializeDataSourceBuilder().type(SimpleDriverDataSource.class).build();
+        this.enabled = enabled;
+        this.pollInterval = pollInterval;
+        this.heartbeatTimeout = heartbeatTimeout;
+        this.reconnectDelay = reconnectDelay;
+    }
+
+    @Override
+    public void start() {
+        if (!enabled) {
+            log.info("Task caches disabled, task lookups and lists always read the database");
+            return;
+        }
+        running = true;
+        listenerThread = new Thread(this::run, "task-change-listener");
+        listenerThread.setDaemon(true);
+        listenerThread.start();
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        if (listenerThread != null) {
+            listenerThread.interrupt();
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    private void run() {
+        while (running) {
+            try {
+                listen();
+            } catch (SQLException e) {
+                if (running) {
+                    log.warn("Lost the task change connection, bypassing the task caches until reconnected: {}", e.getMessage());
+                }
+            } finally {
+                taskCache.stopListening();
+                taskListCache.stopListening();
+            }
+            if (running) {
+                try {
+                    Thread.sleep(reconnectDelay.toMillis());
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            }
+        }
+    }
+
+    private void listen() throws SQLException {
+        try (Connection connection = dataSource.getConnection();
+             Statement statement = connection.createStatement()) {
+            connection.setNetworkTimeout(Runnable::run, (int) heartbeatTimeout.toMillis());
+            statement.execute("LISTEN " + TASKS_CHANNEL);
+            statement.execute("LISTEN " + ASSIGNEES_CHANNEL);
+            PGConnection pgConnection = connection.unwrap(PGConnection.class);
+            taskCache.startListening();
+            taskListCache.startListening();
+            log.info("Listening for task changes on channels {} and {}", TASKS_CHANNEL, ASSIGNEES_CHANNEL);
+
+            while (running) {
+                PGNotification[] notifications = pgConnection.getNotifications((int) pollInterval.toMillis());
+                if (notifications == null || notifications.length == 0) {
+                    statement.execute("SELECT 1");
+                    continue;
+                }
+                for (PGNotification notification : notifications) {
+                    if (ASSIGNEES_CHANNEL.equals(notification.getName())) {
+                        applyAssignees(notification.getParameter());
+                    } else {
+                        applyTasks(notification.getParameter());
+                    }
+                }
+                taskChangeFeedNotifier.tasksChanged();
+            }
+        }
+    }
+
+    /**
+     * Evict the tasks named by a task_changes payload
+     *
+     * @param payload comma separated task IDs, or {@value #FLUSH_ALL}
+     */
+    void applyTasks(String payload) {
+        Optional<List<UUID>> ids = parseIds(payload);
+        if (ids.isPresent()) {
+            taskCache.invalidate(ids.get());
+        } else {
+            taskCache.invalidateAll();
+        }
+    }
+
+    /**
+     * Outdate the list results of the assignees named by a task_assignees payload
+     *
+     * @param payload comma separated user IDs, empty for unassigned tasks only, or {@value #FLUSH_ALL}
+     */
+    void applyAssignees(String payload) {
+        Optional<List<UUID>> ids = parseIds(payload);
+        if (ids.isPresent()) {
+            taskListCache.invalidate(ids.get().toArray(UUID[]::new));
+        } else {
+            taskListCache.invalidateAll();
+        }
+    }
+
+    /**
+     * @return the IDs of a payload, empty if listeners should flush everything
+     */
+    private Optional<List<UUID>> parseIds(String payload) {
+        if (FLUSH_ALL.equals(payload)) {
+            return Optional.empty();
+        }
+        List<UUID> ids = new ArrayList<>();
+        try {
+            for (String id : payload.split(",")) {
+                if (!id.isBlank()) {
+                    ids.add(UUID.fromString(id.trim()));
+                }
+            }
+        } catch (IllegalArgumentException e) {
+            log.warn("Unreadable task change notification, flushing: {}", payload);
+            return Optional.empty();
+        }
+        return Optional.of(ids);
+    }
+}
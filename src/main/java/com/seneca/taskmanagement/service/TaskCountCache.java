@@ -0,0 +1,52 @@
+package com.seneca.taskmanagement.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.seneca.taskmanagement.domain.TaskStatus;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.function.Supplier;
+
+/**
+ * Short-lived cache of task counts per filter shape, backing {@code CountMode.ESTIMATED}.
+ * Counts may lag behind writes by at most the configured TTL.
+ */
+@Component
+public class TaskCountCache {
+
+    private final Cache<FilterKey, Long> counts;
+
+    public TaskCountCache(
+            @Value("${task-management.pagination.estimated-count-ttl:30s}") Duration ttl,
+            @Value("${task-management.pagination.estimated-count-max-entries:10000}") long maxEntries) {
+        this.counts = Caffeine.newBuilder()
+                .expireAfterWrite(ttl)
+                .maximumSize(maxEntries)
+                .build();
+    }
+
+    /**
+     * Get the cached count for the filters, computing it when absent or expired
+     *
+     * @param userId     optional user ID filter
+     * @param status     optional status filter
+     * @param searchTerm optional search term filter
+     * @param counter    computes the exact count on a miss
+     * @return cached or freshly computed count
+     */
+    public long get(Optional<UUID> userId, Optional<TaskStatus> status, Optional<String> searchTerm,
+                    Supplier<Long> counter) {
+        FilterKey key = new FilterKey(
+                userId.orElse(null),
+                status.orElse(null),
+                searchTerm.map(String::toLowerCase).orElse(null));
+        return counts.get(key, k -> counter.get());
+    }
+
+    private record FilterKey(UUID userId, TaskStatus status, String searchTerm) {
+    }
+}
@@ -0,0 +1,215 @@
+package com.seneca.taskmanagement.service;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.seneca.taskmanagement.domain.TaskStatus;
+import com.seneca.taskmanagement.dto.ExportFormat;
+import com.seneca.taskmanagement.dto.TaskExportRow;
+import com.seneca.taskmanagement.exception.BadRequestException;
+import com.seneca.taskmanagement.exception.ResourceNotFoundException;
+import com.seneca.taskmanagement.repository.TaskExportRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.OffsetDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Streams every task matching the list filters to an output stream as NDJSON or CSV.
+ * Each row is written as soon as it is read from the database cursor and the output is
+ * flushed every {@code task-management.export.flush-rows} rows, so neither the rows nor
+ * the response body are ever held in memory as a whole.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+@Transactional(readOnly = true)
+public class TaskExportService {
+
+    private static final int WRITE_BUFFER_CHARS = 64 * 1024;
+
+    private final TaskExportRepository taskExportRepository;
+    private final UserLookupCache userLookupCache;
+    private final ObjectMapper objectMapper;
+
+    @Value("${task-management.export.flush-rows:1000}")
+    private int flushRows = 1000;
+
+    @Value("${task-management.search.min-term-length:3}")
+    private int minSearchTermLength = 3;
+
+    /**
+     * Validate export filters before any output is written, so invalid requests still get
+     * an error status rather than a truncated body
+     *
+     * @param userId     optional user ID filter
+     * @param searchTerm optional search term for task name
+     * @return the normalized search term, empty if absent or blank
+     * @throws ResourceNotFoundException if the user does not exist
+     * @throws BadRequestException       if the search term is too short
+     */
+    public Optional<String> validateFilters(Optional<UUID> userId, Optional<String> searchTerm) {
+        userId.ifPresent(id -> {
+            if (!userLookupCache.exists(id)) {
+                throw new ResourceNotFoundException("User not found with ID: " + id);
+            }
+        });
+        Optional<String> term = searchTerm.map(String::trim).filter(t -> !t.isEmpty());
+        if (term.isPresent() && term.get().length() < minSearchTermLength) {
+            throw new BadRequestException("Search term must be at least " + minSearchTermLength + " characters long");
+        }
+        return term;
+    }
+
+    /**
+     * Write all active tasks matching the filters. Runs in one read-only transaction, which
+     * the database cursor requires and which gives the export a consistent snapshot.
+     *
+     * @param userId     optional user ID filter
+     * @param status     optional status filter
+     * @param searchTerm optional search term, as returned by {@link #validateFilters}
+     * @param format     output format
+     * @param out        destination, left open
+     * @return number of tasks written
+     * @throws IOException if writing fails, e.g. because the client went away
+     */
+    public long exportTasks(
+            Optional<UUID> userId,
+            Optional<TaskStatus> status,
+            Optional<String> searchTerm,
+            ExportFormat format,
+            OutputStream out) throws IOException {
+
+        long start = System.nanoTime();
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), WRITE_BUFFER_CHARS);
+        RowWriter rowWriter = format == ExportFormat.CSV ? new CsvRowWriter(writer) : new NdjsonRowWriter(writer, objectMapper);
+
+        long[] written = {0};
+        long count;
+        try {
+            rowWriter.writeHeader();
+            count = taskExportRepository.streamWithFilters(userId, status, searchTerm, row -> {
+                try {
+                    rowWriter.write(row);
+                    if (++written[0] % flushRows == 0) {
+                        rowWriter.flush();
+                    }
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+            rowWriter.flush();
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+
+        log.info("Exported {} tasks as {} in {} ms", count, format, (System.nanoTime() - start) / 1_000_000);
+        return count;
+    }
+
+    /**
+     * Serializes rows in one export format
+     */
+    private interface RowWriter {
+
+        void writeHeader() throws IOException;
+
+        void write(TaskExportRow row) throws IOException;
+
+        void flush() throws IOException;
+    }
+
+    private static final class NdjsonRowWriter implements RowWriter {
+
+        private final JsonGenerator generator;
+        private final ObjectWriter rowWriter;
+
+        NdjsonRowWriter(Writer writer, ObjectMapper objectMapper) throws IOException {
+            this.generator = objectMapper.getFactory().createGenerator(writer);
+            // Lines are terminated explicitly, so the last one ends with a newline too
+            this.generator.setRootValueSeparator(null);
+            // Flushing after every row would push each line to the client separately
+            this.rowWriter = objectMapper.writerFor(TaskExportRow.class)
+                    .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        }
+
+        @Override
+        public void writeHeader() {
+        }
+
+        @Override
+        public void write(TaskExportRow row) throws IOException {
+            rowWriter.writeValue(generator, row);
+            generator.writeRaw('\n');
+        }
+
+        @Override
+        public void flush() throws IOException {
+            generator.flush();
+        }
+    }
+
+    private static final class CsvRowWriter implements RowWriter {
+
+        private final Writer writer;
+
+        CsvRowWriter(Writer writer) {
+            this.writer = writer;
+        }
+
+        @Override
+        public void writeHeader() throws IOException {
+            writeLine(TaskExportRow.COLUMNS.toArray());
+        }
+
+        @Override
+        public void write(TaskExportRow row) throws IOException {
+            writeLine(row.values());
+        }
+
+        @Override
+        public void flush() throws IOException {
+            writer.flush();
+        }
+
+        private void writeLine(Object[] values) throws IOException {
+            for (int i = 0; i < values.length; i++) {
+                if (i > 0) {
+                    writer.write(',');
+                }
+                if (values[i] instanceof OffsetDateTime timestamp) {
+                    // Same form as in NDJSON; toString() drops zero seconds
+                    writer.write(DateTimeFormatter.ISO_OFFSET_DATE_TIME.format(timestamp));
+                } else if (values[i] != null) {
+                    writeField(values[i].toString());
+                }
+            }
+            writer.write("\r\n");
+        }
+
+        // RFC 4180: fields with separators, quotes or line breaks are quoted, quotes doubled
+        private void writeField(String value) throws IOException {
+            if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+                writer.write(value);
+                return;
+            }
+            writer.write('"');
+            writer.write(value.replace("\"", "\"\""));
+            writer.write('"');
+        }
+    }
+}
@@ -0,0 +1,305 @@
+package com.seneca.taskmanagement.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.seneca.taskmanagement.domain.Bug;
+import com.seneca.taskmanagement.domain.TaskStatus;
+import com.seneca.taskmanagement.dto.CreateBugDto;
+import com.seneca.taskmanagement.dto.CreateFeatureDto;
+import com.seneca.taskmanagement.dto.CreateTaskDto;
+import com.seneca.taskmanagement.dto.TaskExportRow;
+import com.seneca.taskmanagement.dto.TaskImportRejection;
+import com.seneca.taskmanagement.dto.TaskImportResult;
+import com.seneca.taskmanagement.repository.TaskAuditRepository.Origin;
+import com.seneca.taskmanagement.repository.TaskImportRepository;
+import com.seneca.taskmanagement.repository.TaskImportRepository.StagedTask;
+import com.seneca.taskmanagement.util.DatabaseErrors;
+import jakarta.validation.Validator;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Imports tasks from NDJSON, one task per line in the shape of a {@link TaskExportService}
+ * NDJSON line, so an export can be loaded back as is. Lines are parsed and validated one at
+ * a time while the body is read; valid ones are collected into chunks of
+ * {@code task-management.import.chunk-size}, each copied into staging and merged into tasks
+ * in its own transaction by {@link TaskImportRepository}, together with the tasks' outbox
+ * events and CREATED audit entries.
+ * <p>
+ * Invalid lines, missing or deleted assignees and IDs that already exist are rejected per
+ * line without affecting the others. Because chunks commit as they go and taken IDs are
+ * skipped, an import that failed part-way can be re-run with the same file.
+ */
+@Service
+@Slf4j
+public class TaskImportService {
+
+    // A user deleted between the merge's assignee check and the assignee trigger fails the chunk
+    private static final int MAX_CHUNK_ATTEMPTS = 2;
+
+    private static final long PROGRESS_LOG_INTERVAL_NANOS = TimeUnit.SECONDS.toNanos(10);
+
+    private final TaskImportRepository taskImportRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final TaskAuditService taskAuditService;
+    private final TaskListCache taskListCache;
+    private final Validator validator;
+    private final ObjectReader lineReader;
+
+    @Value("${task-management.import.chunk-size:10000}")
+    private int chunkSize = 10000;
+
+    @Value("${task-management.import.max-reported-rejections:1000}")
+    private int maxReportedRejections = 1000;
+
+    public TaskImportService(
+            TaskImportRepository taskImportRepository,
+            TransactionTemplate transactionTemplate,
+            TaskAuditService taskAuditService,
+            TaskListCache taskListCache,
+            Validator validator,
+            ObjectMapper objectMapper) {
+        this.taskImportRepository = taskImportRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.taskAuditService = taskAuditService;
+        this.taskListCache = taskListCache;
+        this.validator = validator;
+        this.lineReader = objectMapper.readerFor(TaskExportRow.class);
+    }
+
+    /**
+     * Import the tasks of an NDJSON stream. Tasks without an ID get a new one, a missing status
+     * defaults to OPEN and missing timestamps to the import time; versions start at 0.
+     *
+     * @param in NDJSON, UTF-8; blank lines are skipped
+     * @return counts and the rejected lines
+     * @throws IOException if reading the stream fails; chunks loaded until then stay committed
+     */
+    public TaskImportResult importTasks(InputStream in) throws IOException {
+        Progress progress = new Progress();
+        List<StagedTask> chunk = new ArrayList<>(chunkSize);
+        Set<UUID> chunkIds = new HashSet<>();
+
+        BufferedReader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8));
+        long lineNumber = 0;
+        String line;
+        while ((line = reader.readLine()) != null) {
+            lineNumber++;
+            if (line.isBlank()) {
+                continue;
+            }
+            progress.lines++;
+
+            TaskExportRow task;
+            try {
+                task = withDefaults(lineReader.readValue(line));
+            } catch (JsonProcessingException e) {
+                progress.reject(lineNumber, "Malformed JSON: " + e.getOriginalMessage());
+                continue;
+            }
+            String error = validate(task);
+            if (error == null && !chunkIds.add(task.id())) {
+                // ON CONFLICT cannot tell two rows of one statement apart
+                error = "Duplicate task ID in the same chunk: " + task.id();
+            }
+            if (error != null) {
+                progress.reject(lineNumber, error);
+                continue;
+            }
+
+            chunk.add(new StagedTask(lineNumber, task));
+            if (chunk.size() >= chunkSize) {
+                loadChunk(chunk, progress);
+                chunk.clear();
+                chunkIds.clear();
+            }
+        }
+        if (!chunk.isEmpty()) {
+            loadChunk(chunk, progress);
+        }
+
+        TaskImportResult result = progress.result();
+        log.info("Imported {} tasks from {} lines in {} chunks, rejected {}, {} ms",
+                result.getImported(), result.getLines(), result.getChunks(), result.getRejected(), result.getElapsedMillis());
+        return result;
+    }
+
+    private void loadChunk(List<StagedTask> chunk, Progress progress) {
+        Origin origin = taskAuditService.currentOrigin();
+        List<TaskImportRejection> rejections;
+        for (int attempt = 1; ; attempt++) {
+            try {
+                rejections = transactionTemplate.execute(status -> {
+                    List<TaskImportRejection> rejected = taskImportRepository.copyAndMerge(chunk, origin);
+                    if (rejected.size() < chunk.size()) {
+                        taskListCache.invalidateAll();
+                    }
+                    return rejected;
+                });
+                break;
+            } catch (DataIntegrityViolationException e) {
+                if (!DatabaseErrors.isForeignKeyViolation(e) || attempt >= MAX_CHUNK_ATTEMPTS) {
+                    throw e;
+                }
+                log.warn("Assignee removed while importing a chunk of {} tasks, retrying the chunk", chunk.size());
+            }
+        }
+
+        progress.chunks++;
+        progress.imported += chunk.size() - rejections.size();
+        rejections.forEach(rejection -> progress.reject(rejection.getLine(), rejection.getReason()));
+        progress.logIfDue();
+    }
+
+    private static TaskExportRow withDefaults(TaskExportRow task) {
+        if (task.id() != null && task.status() != null && task.createdAt() != null && task.updatedAt() != null) {
+            return task;
+        }
+        OffsetDateTime now = OffsetDateTime.now();
+        OffsetDateTime createdAt = task.createdAt() != null ? task.createdAt() : now;
+        return new TaskExportRow(
+                task.id() != null ? task.id() : UUID.randomUUID(),
+                task.taskType(),
+                task.name(),
+                task.description(),
+                task.status() != null ? task.status() : TaskStatus.OPEN,
+                task.assignedUserId(),
+                createdAt,
+                task.updatedAt() != null ? task.updatedAt() : createdAt,
+                task.version(),
+                task.severity(),
+                task.priority(),
+                task.stepsToReproduce(),
+                task.environment(),
+                task.businessValue(),
+                task.deadline(),
+                task.acceptanceCriteria(),
+                task.estimatedEffort());
+    }
+
+    /**
+     * Apply the constraints of the create requests, without {@link NewTaskChecks}: imported
+     * history keeps its original dates, so deadlines may lie in the past
+     *
+     * @return the reason the task is invalid, null if it is valid
+     */
+    private String validate(TaskExportRow task) {
+        List<String> errors = new ArrayList<>();
+        CreateTaskDto createTaskDto;
+        if ("BUG".equals(task.taskType())) {
+            createTaskDto = CreateBugDto.builder()
+                    .name(task.name())
+                    .description(task.description())
+                    .assignedUserId(task.assignedUserId())
+                    .status(task.status())
+                    .severity(enumValue(errors, "severity", Bug.BugSeverity.class, task.severity()))
+                    .priority(enumValue(errors, "priority", Bug.BugPriority.class, task.priority()))
+                    .stepsToReproduce(task.stepsToReproduce())
+                    .environment(task.environment())
+                    .build();
+        } else if ("FEATURE".equals(task.taskType())) {
+            createTaskDto = CreateFeatureDto.builder()
+                    .name(task.name())
+                    .description(task.description())
+                    .assignedUserId(task.assignedUserId())
+                    .status(task.status())
+                    .businessValue(task.businessValue())
+                    .deadline(task.deadline())
+                    .acceptanceCriteria(task.acceptanceCriteria())
+                    .estimatedEffort(task.estimatedEffort())
+                    .build();
+        } else {
+            return "taskType: Task type is required and must be BUG or FEATURE";
+        }
+
+        // Unknown enum values are reported above, not again as missing
+        Set<String> reported = errors.stream().map(error -> error.substring(0, error.indexOf(':'))).collect(Collectors.toSet());
+        validator.validate(createTaskDto).stream()
+                .filter(violation -> !reported.contains(violation.getPropertyPath().toString()))
+                .map(violation -> violation.getPropertyPath() + ": " + violation.getMessage())
+                .forEach(errors::add);
+        return errors.isEmpty() ? null : errors.stream().sorted().collect(Collectors.joining("; "));
+    }
+
+    /**
+     * @return the constant named by the value, null if the value is missing or names none,
+     * in which case the error is recorded
+     */
+    private static <E extends Enum<E>> E enumValue(List<String> errors, String field, Class<E> type, String value) {
+        if (value == null) {
+            return null;
+        }
+        E[] constants = type.getEnumConstants();
+        return Arrays.stream(constants)
+                .filter(constant -> constant.name().equals(value))
+                .findFirst()
+                .orElseGet(() -> {
+                    errors.add(field + ": must be one of " + Arrays.toString(constants));
+                    return null;
+                });
+    }
+
+    /**
+     * Running counts of one import
+     */
+    private final class Progress {
+
+        private final long start = System.nanoTime();
+        private final List<TaskImportRejection> rejections = new ArrayList<>();
+        private long lastLog = start;
+        private long lines;
+        private long imported;
+        private long rejected;
+        private int chunks;
+
+        void reject(long line, String reason) {
+            rejected++;
+            if (rejections.size() < maxReportedRejections) {
+                rejections.add(new TaskImportRejection(line, reason));
+            }
+        }
+
+        void logIfDue() {
+            long now = System.nanoTime();
+            if (now - lastLog >= PROGRESS_LOG_INTERVAL_NANOS) {
+                lastLog = now;
+                long elapsedMillis = Math.max(1, TimeUnit.NANOSECONDS.toMillis(now - start));
+                log.info("Task import in progress: {} lines read, {} imported, {} rejected, {} rows/s",
+                        lines, imported, rejected, imported * 1000 / elapsedMillis);
+            }
+        }
+
+        TaskImportResult result() {
+            // Rejections from validation and from the merge arrive interleaved
+            rejections.sort((a, b) -> Long.compare(a.getLine(), b.getLine()));
+            return TaskImportResult.builder()
+                    .lines(lines)
+                    .imported(imported)
+                    .rejected(rejected)
+                    .chunks(chunks)
+                    .elapsedMillis(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start))
+                    .rejections(rejections)
+                    .rejectionsTruncated(rejected > rejections.size())
+                    .build();
+        }
+    }
+}
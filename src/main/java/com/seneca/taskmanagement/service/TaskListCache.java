@@ -0,0 +1,237 @@
+package com.seneca.taskmanagement.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.seneca.taskmanagement.domain.TaskStatus;
+import com.seneca.taskmanagement.dto.BugDto;
+import com.seneca.taskmanagement.dto.CountMode;
+import com.seneca.taskmanagement.dto.FeatureDto;
+import com.seneca.taskmanagement.dto.TaskDto;
+import com.seneca.taskmanagement.dto.TaskSummaryDto;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Slice;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Cache of task list results, keyed by the normalized query and versioned by generation
+ * counters instead of being evicted. Queries filtered by assignee are versioned by that
+ * assignee's generation, all other queries by the global one. A task write bumps the global
+ * generation and those of its old and new assignee once it has committed, after which
+ * lookups use new keys and outdated results are never found again; they age out by size.
+ * <p>
+ * Writes on other nodes arrive through {@link TaskChangeListener}. As with {@link TaskCache},
+ * results are only cached while it is listening, and every (re)connect starts a new epoch.
+ * Entries are weighed by their estimated heap size, bounded by
+ * {@code task-management.list-cache.max-size}.
+ */
+@Component
+public class TaskListCache implements MeterBinder {
+
+    private static final String CACHE_NAME = "task-lists";
+
+    // Object headers, IDs, enums and timestamps of one item, and of the slice around them
+    private static final int ITEM_OVERHEAD_BYTES = 256;
+    private static final int SLICE_OVERHEAD_BYTES = 256;
+
+    private final Cache<VersionedQuery, Cached> results;
+
+    private final AtomicLong epoch = new AtomicLong();
+    private final AtomicLong globalGeneration = new AtomicLong();
+
+    // One counter per assignee ever listed or written, i.e. bounded by the number of users;
+    // counters are never reset, so an outdated key can never become current again
+    private final Map<UUID, AtomicLong> assigneeGenerations = new ConcurrentHashMap<>();
+
+    private volatile boolean listening;
+
+    public TaskListCache(
+            @Value("${task-management.list-cache.ttl:5m}") Duration ttl,
+            @Value("${task-management.list-cache.max-size:64MB}") DataSize maxSize) {
+        this.results = Caffeine.newBuilder()
+                .expireAfterWrite(ttl)
+                .maximumWeight(maxSize.toBytes())
+                .weigher((VersionedQuery query, Cached cached) -> cached.bytes())
+                .recordStats()
+                .build();
+    }
+
+    /**
+     * Get a list result, running the query on a miss
+     *
+     * @param query  normalized query
+     * @param loader runs the query against the database
+     * @return cached or freshly loaded result
+     */
+    @SuppressWarnings("unchecked")
+    public <T> Slice<T> get(Query query, Supplier<Slice<T>> loader) {
+        if (!listening) {
+            return loader.get();
+        }
+        // The key is taken before loading: a write committed meanwhile moves readers to a
+        // newer key, so a result that may predate it is stored where nobody looks
+        VersionedQuery key = new VersionedQuery(query, epoch.get(), generationOf(query.userId()));
+        return (Slice<T>) results.get(key, k -> {
+            Slice<T> result = loader.get();
+            return new Cached(result, estimateBytes(result));
+        }).result();
+    }
+
+    /**
+     * Outdate the results that tasks of the given assignees may appear in, once the surrounding
+     * transaction has committed. Null assignees stand for unassigned tasks.
+     *
+     * @param assigneeIds old and new assignees of the written tasks
+     */
+    public void invalidate(UUID... assigneeIds) {
+        afterCommit(() -> {
+            globalGeneration.incrementAndGet();
+            for (UUID assigneeId : assigneeIds) {
+                if (assigneeId != null) {
+                    generationCounter(assigneeId).incrementAndGet();
+                }
+            }
+        });
+    }
+
+    /**
+     * Outdate every cached result, once the surrounding transaction has committed
+     */
+    public void invalidateAll() {
+        afterCommit(this::newEpoch);
+    }
+
+    /**
+     * Start serving from the cache; called once the LISTEN connection is established
+     */
+    void startListening() {
+        newEpoch();
+        listening = true;
+    }
+
+    /**
+     * Stop serving from the cache; called when the LISTEN connection is lost
+     */
+    void stopListening() {
+        listening = false;
+        newEpoch();
+    }
+
+    private void newEpoch() {
+        epoch.incrementAndGet();
+        globalGeneration.incrementAndGet();
+    }
+
+    private long generationOf(UUID assigneeId) {
+        return assigneeId == null ? globalGeneration.get() : generationCounter(assigneeId).get();
+    }
+
+    private AtomicLong generationCounter(UUID assigneeId) {
+        return assigneeGenerations.computeIfAbsent(assigneeId, id -> new AtomicLong());
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            // A rolled back write changed nothing, so the results it would outdate stay current
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+
+    private static int estimateBytes(Slice<?> slice) {
+        long bytes = SLICE_OVERHEAD_BYTES;
+        for (Object item : slice.getContent()) {
+            bytes += ITEM_OVERHEAD_BYTES + 2L * textLength(item);
+        }
+        return (int) Math.min(bytes, Integer.MAX_VALUE);
+    }
+
+    private static int textLength(Object item) {
+        if (item instanceof TaskSummaryDto summary) {
+            return length(summary.getName());
+        }
+        if (!(item instanceof TaskDto task)) {
+            return 0;
+        }
+        int length = length(task.getName()) + length(task.getDescription());
+        if (task instanceof BugDto bug) {
+            length += length(bug.getStepsToReproduce()) + length(bug.getEnvironment());
+        } else if (task instanceof FeatureDto feature) {
+            length += length(feature.getBusinessValue()) + length(feature.getAcceptanceCriteria());
+        }
+        return length;
+    }
+
+    private static int length(String text) {
+        return text != null ? text.length() : 0;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        CaffeineCacheMetrics.monitor(registry, results, CACHE_NAME);
+        Gauge.builder("cache.hit.ratio", results, cache -> cache.stats().hitRate())
+                .tag("cache", CACHE_NAME)
+                .description("Share of lookups answered from the cache")
+                .register(registry);
+        Gauge.builder("cache.weight", results,
+                        cache -> cache.policy().eviction().map(eviction -> eviction.weightedSize().orElse(0)).orElse(0L))
+                .tag("cache", CACHE_NAME)
+                .baseUnit("bytes")
+                .description("Estimated heap size of the cached results")
+                .register(registry);
+    }
+
+    /**
+     * A task list query with its inputs normalized, so equivalent requests share an entry.
+     * There is no sort, lists always come in createdAt then id descending order.
+     *
+     * @param view       which list method produced the result
+     * @param userId     assignee filter, null for none
+     * @param status     status filter, null for none
+     * @param searchTerm lower-cased search term, null for none
+     * @param position   page offset or keyset cursor, null for the first keyset page
+     * @param size       page size
+     * @param countMode  count strategy, null for keyset pages
+     */
+    public record Query(
+            String view,
+            UUID userId,
+            TaskStatus status,
+            String searchTerm,
+            Object position,
+            int size,
+            CountMode countMode) {
+
+        public static Query of(String view, Optional<UUID> userId, Optional<TaskStatus> status, Optional<String> searchTerm,
+                               Object position, int size, CountMode countMode) {
+            return new Query(view, userId.orElse(null), status.orElse(null),
+                    searchTerm.map(String::toLowerCase).orElse(null), position, size, countMode);
+        }
+    }
+
+    private record VersionedQuery(Query query, long epoch, long generation) {
+    }
+
+    private record Cached(Slice<?> result, int bytes) {
+    }
+}
@@ -0,0 +1,79 @@
+package com.seneca.taskmanagement.service;
+
+import com.seneca.taskmanagement.dto.TaskThroughputDto;
+import com.seneca.taskmanagement.exception.BadRequestException;
+import com.seneca.taskmanagement.repository.TaskThroughputRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.Locale;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Task reports served from the rollup tables, never from a scan of tasks
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+@Transactional(readOnly = true)
+public class TaskReportService {
+
+    private final TaskThroughputRepository taskThroughputRepository;
+
+    @Value("${task-management.reports.max-days:366}")
+    private int maxDays = 366;
+
+    /**
+     * Get the tasks created, completed and deleted per day, task type and assignee
+     *
+     * @param from     first day, inclusive
+     * @param to       last day, inclusive
+     * @param userId   optional assignee filter
+     * @param taskType optional task type filter, case-insensitive
+     * @return daily rows ordered by day, task type and assignee; days without events are absent
+     * @throws BadRequestException if the range is reversed or longer than the configured maximum
+     */
+    public List<TaskThroughputDto> getThroughput(LocalDate from, LocalDate to, Optional<UUID> userId, Optional<String> taskType) {
+        if (from.isAfter(to)) {
+            throw new BadRequestException("from must not be after to");
+        }
+        if (ChronoUnit.DAYS.between(from, to) >= maxDays) {
+            throw new BadRequestException("Reports cover at most " + maxDays + " days");
+        }
+        return taskThroughputRepository.findDaily(from, to, userId, taskType.map(type -> type.toUpperCase(Locale.ROOT)));
+    }
+
+    /**
+     * Rebuild the throughput rollup of the days before the given one from the current tasks,
+     * once per deployment. Nodes starting together skip the rebuild while another one runs it,
+     * and every later start skips it once it has committed, so task writes wait at the rollup
+     * lock for a single scan of tasks.
+     *
+     * @param before first day to leave untouched
+     * @return number of rollup rows written, empty if the backfill ran already or is running elsewhere
+     */
+    @Transactional
+    public Optional<Integer> backfillThroughput(LocalDate before) {
+        if (!taskThroughputRepository.tryLockBackfill()) {
+            log.info("Throughput backfill before {} is running on another node, skipping", before);
+            return Optional.empty();
+        }
+        if (taskThroughputRepository.isBackfilled(before)) {
+            log.debug("Throughput rollup already backfilled before {}", before);
+            return Optional.empty();
+        }
+        long start = System.nanoTime();
+        int rows = taskThroughputRepository.backfill(before);
+        taskThroughputRepository.markBackfilled(before, rows);
+        log.info("Backfilled {} throughput rollup rows before {} in {} ms",
+                rows, before, (System.nanoTime() - start) / 1_000_000);
+        return Optional.of(rows);
+    }
+}
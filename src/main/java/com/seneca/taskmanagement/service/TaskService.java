@@ -1,31 +1,67 @@
 package com.seneca.taskmanagement.service;
 
+import com.seneca.taskmanagement.config.ReplicaRoutingDataSource;
 import com.seneca.taskmanagement.domain.*;
 import com.seneca.taskmanagement.dto.*;
 import com.seneca.taskmanagement.exception.BadRequestException;
+import com.seneca.taskmanagement.exception.PreconditionFailedException;
 import com.seneca.taskmanagement.exception.ResourceNotFoundException;
 import com.seneca.taskmanagement.mapper.TaskMapper;
+import com.seneca.taskmanagement.repository.TaskFacetRepository;
 import com.seneca.taskmanagement.repository.TaskRepository;
+import com.seneca.taskmanagement.repository.TaskSearchRepository;
 import com.seneca.taskmanagement.repository.UserRepository;
+import com.seneca.taskmanagement.util.DatabaseErrors;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.OffsetDateTime;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
+import java.util.function.Supplier;
 
 @Service
 @RequiredArgsConstructor
 @Slf4j
+// Reads default to read-only transactions, for which Hibernate marks loaded entities read-only
+// (no dirty-checking snapshots) and sets FlushMode.MANUAL; writes override with @Transactional
+@Transactional(readOnly = true)
 public class TaskService {
 
     private final TaskRepository taskRepository;
     private final UserRepository userRepository;
     private final TaskMapper taskMapper;
+    private final TaskCountCache taskCountCache;
+    private final UserLookupCache userLookupCache;
+    private final TaskCache taskCache;
+    private final TaskListCache taskListCache;
+    private final TaskSearchRepository taskSearchRepository;
+    private final TaskFacetRepository taskFacetRepository;
+    private final TaskAuditService taskAuditService;
+    private final OutboxService outboxService;
+
+    @Value("${task-management.pagination.default-count-mode:EXACT}")
+    private CountMode defaultCountMode = CountMode.EXACT;
+
+    @Value("${task-management.search.min-term-length:3}")
+    private int minSearchTermLength = 3;
+
+    @Value("${task-management.facets.max-values:20}")
+    private int maxFacetValues = 20;
 
     /**
      * Create a new task
@@ -35,8 +71,8 @@ public class TaskService {
      * @throws ResourceNotFoundException if assigned user not found
      * @throws BadRequestException if task type is invalid
      */
+    @Transactional
     public TaskDto createTask(CreateTaskDto createTaskDto) {
-        validateUserExists(createTaskDto.getAssignedUserId());
         Task task;
         if (createTaskDto instanceof CreateBugDto) {
             task = taskMapper.toBugEntity((CreateBugDto) createTaskDto);
@@ -45,30 +81,60 @@ public class TaskService {
         } else {
             throw new BadRequestException("Invalid task type. Must be either BUG or FEATURE");
         }
-        
-        Task savedTask = taskRepository.save(task);
+
+        // fk_task_user and the V8 assignee trigger reject missing and deleted users within
+        // the INSERT itself; flush so the violation surfaces here rather than at commit
+        Task savedTask;
+        try {
+            savedTask = taskRepository.saveAndFlush(task);
+            taskListCache.invalidate(createTaskDto.getAssignedUserId());
+        } catch (DataIntegrityViolationException e) {
+            if (DatabaseErrors.isForeignKeyViolation(e)) {
+                throw new ResourceNotFoundException("User not found with ID: " + createTaskDto.getAssignedUserId(), e);
+            }
+            throw e;
+        }
         log.info("Created {} task with ID: {}", savedTask.getClass().getSimpleName(), savedTask.getId());
-        return taskMapper.toDtoByType(savedTask);
+        TaskDto created = taskMapper.toDtoByType(savedTask);
+        taskAuditService.recordCreated(created);
+        outboxService.taskChanged(OutboxEventType.TASK_CREATED, created);
+        return created;
     }
 
     /**
-     * Get a task by ID
+     * Get a task by ID, served from the task cache when possible
      *
      * @param id task ID
      * @return task data
      * @throws ResourceNotFoundException if task not found
      */
     public TaskDto getTaskById(UUID id) {
-        Task task = taskRepository.findById(id)
+        // Misses read the primary: a lagging replica could return a row older than the
+        // change notification that just evicted it, and the cache would keep it
+        return taskCache.get(id, key -> ReplicaRoutingDataSource.onPrimary(
+                        () -> taskRepository.findById(key).map(taskMapper::toDtoByType)))
+                .orElseThrow(() -> new ResourceNotFoundException("Task not found with ID: " + id));
+    }
+
+    /**
+     * Get the current version of a task without loading it
+     *
+     * @param id task ID
+     * @return task version
+     * @throws ResourceNotFoundException if task not found
+     */
+    public long getTaskVersion(UUID id) {
+        return taskRepository.findVersionById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Task not found with ID: " + id));
-        return taskMapper.toDtoByType(task);
     }
 
     /**
      * Get all tasks
      *
      * @return list of all tasks
+     * @deprecated loads every task into memory at once; use {@link TaskExportService} to stream them
      */
+    @Deprecated
     public List<TaskDto> getAllTasks() {
         List<Task> tasks = taskRepository.findAll();
         return taskMapper.toDtoListByType(tasks);
@@ -91,11 +157,234 @@ public class TaskService {
 
         // Validate user ID if provided
         userId.ifPresent(this::validateUserExists);
+        Optional<String> term = normalizeSearchTerm(searchTerm);
 
-        Page<Task> taskPage = taskRepository.findTasksWithFilters(userId, status, searchTerm, pageable);
+        Page<Task> taskPage = taskRepository.findTasksWithFilters(userId, status, term, pageable);
         return taskPage.map(taskMapper::toDtoByType);
     }
 
+    /**
+     * Find tasks with filters, computing the total as requested
+     *
+     * @param userId     optional user ID filter
+     * @param status     optional status filter
+     * @param searchTerm optional search term for task name
+     * @param pageable   pagination information
+     * @param countMode  optional count strategy, defaults to the configured server default
+     * @return page of filtered tasks for EXACT and ESTIMATED, slice without totals for NONE
+     */
+    public Slice<TaskDto> findTasksWithFilters(
+            Optional<UUID> userId,
+            Optional<TaskStatus> status,
+            Optional<String> searchTerm,
+            Pageable pageable,
+            Optional<CountMode> countMode) {
+
+        Optional<String> term = normalizeSearchTerm(searchTerm);
+
+        CountMode mode = resolveCountMode(countMode);
+        TaskListCache.Query query = TaskListCache.Query.of("full", userId, status, term,
+                pageable.getOffset(), pageable.getPageSize(), mode);
+        return cachedList(userId, query, () -> {
+            if (mode == CountMode.EXACT) {
+                return taskRepository.findTasksWithFilters(userId, status, term, pageable).map(taskMapper::toDtoByType);
+            }
+            Slice<Task> taskSlice = taskRepository.findTaskSliceWithFilters(userId, status, term, pageable);
+            return withCount(taskSlice, mode, userId, status, term, pageable).map(taskMapper::toDtoByType);
+        });
+    }
+
+    /**
+     * Find task summaries with filters, computing the total as requested.
+     * Only the list columns are selected, so no entities are loaded.
+     *
+     * @param userId     optional user ID filter
+     * @param status     optional status filter
+     * @param searchTerm optional search term for task name
+     * @param pageable   pagination information
+     * @param countMode  optional count strategy, defaults to the configured server default
+     * @return page of filtered task summaries for EXACT and ESTIMATED, slice without totals for NONE
+     */
+    public Slice<TaskSummaryDto> findTaskSummariesWithFilters(
+            Optional<UUID> userId,
+            Optional<TaskStatus> status,
+            Optional<String> searchTerm,
+            Pageable pageable,
+            Optional<CountMode> countMode) {
+
+        Optional<String> term = normalizeSearchTerm(searchTerm);
+
+        CountMode mode = resolveCountMode(countMode);
+        TaskListCache.Query query = TaskListCache.Query.of("summary", userId, status, term,
+                pageable.getOffset(), pageable.getPageSize(), mode);
+        return cachedList(userId, query, () -> {
+            if (mode == CountMode.EXACT) {
+                return taskRepository.findTaskSummariesWithFilters(userId, status, term, pageable);
+            }
+            Slice<TaskSummaryDto> summarySlice = taskRepository.findTaskSummarySliceWithFilters(userId, status, term, pageable);
+            return withCount(summarySlice, mode, userId, status, term, pageable);
+        });
+    }
+
+    /**
+     * Count the tasks matching the list filters per value of each requested facet, with a
+     * single query whatever the number of facets
+     *
+     * @param userId     optional user ID filter
+     * @param status     optional status filter
+     * @param searchTerm optional search term for task name
+     * @param facets     facets to count
+     * @return the most frequent values with their counts per facet, keyed by facet parameter name
+     */
+    public Map<String, List<FacetCount>> findTaskFacets(
+            Optional<UUID> userId,
+            Optional<TaskStatus> status,
+            Optional<String> searchTerm,
+            Collection<TaskFacet> facets) {
+
+        userId.ifPresent(this::validateUserExists);
+        Optional<String> term = normalizeSearchTerm(searchTerm);
+
+        Set<TaskFacet> requested = new LinkedHashSet<>(facets);
+        Map<TaskFacet, List<FacetCount>> counts =
+                taskFacetRepository.countFacets(userId, status, term, requested, maxFacetValues);
+        Map<String, List<FacetCount>> byName = new LinkedHashMap<>();
+        requested.forEach(facet -> byName.put(facet.getParameterName(), counts.get(facet)));
+        return byName;
+    }
+
+    /**
+     * Validate the user filter and serve a list result from the list cache, reading the primary
+     * on a miss: a lagging replica could return rows older than the write that outdated the
+     * previous entry. The transaction keeps the connection of its first statement, so a user
+     * lookup must not open one on a replica before the list is loaded.
+     */
+    private <T> Slice<T> cachedList(Optional<UUID> userId, TaskListCache.Query query, Supplier<Slice<T>> loader) {
+        return ReplicaRoutingDataSource.onPrimary(() -> {
+            userId.ifPresent(this::validateUserExists);
+            return taskListCache.get(query, loader);
+        });
+    }
+
+    /**
+     * Attach an estimated total to a slice fetched with one row of look-ahead
+     *
+     * @return the slice itself for NONE, a page carrying the estimated total for ESTIMATED
+     */
+    private <T> Slice<T> withCount(
+            Slice<T> slice,
+            CountMode mode,
+            Optional<UUID> userId,
+            Optional<TaskStatus> status,
+            Optional<String> term,
+            Pageable pageable) {
+
+        if (mode == CountMode.NONE) {
+            return slice;
+        }
+
+        long offset = pageable.getOffset();
+        int fetched = slice.getNumberOfElements();
+        long total;
+        if (slice.hasNext()) {
+            // Never report fewer rows than we have just seen
+            long estimate = taskCountCache.get(userId, status, term,
+                    () -> taskRepository.countTasksWithFilters(userId, status, term));
+            total = Math.max(estimate, offset + fetched + 1);
+        } else if (fetched > 0 || offset == 0) {
+            // Last page: the total is known without counting
+            total = offset + fetched;
+        } else {
+            total = taskCountCache.get(userId, status, term,
+                    () -> taskRepository.countTasksWithFilters(userId, status, term));
+        }
+        return new PageImpl<>(slice.getContent(), pageable, total);
+    }
+
+    /**
+     * Resolve the count strategy for a request
+     *
+     * @param countMode optional requested count strategy
+     * @return requested strategy or the server default
+     */
+    public CountMode resolveCountMode(Optional<CountMode> countMode) {
+        return countMode.orElse(defaultCountMode);
+    }
+
+    /**
+     * Find tasks with filters using keyset pagination
+     *
+     * @param userId     optional user ID filter
+     * @param status     optional status filter
+     * @param searchTerm optional search term for task name
+     * @param cursor     optional position of the last task already returned
+     * @param size       page size
+     * @return slice of filtered tasks following the cursor
+     */
+    public Slice<TaskDto> findTasksWithFiltersAfter(
+            Optional<UUID> userId,
+            Optional<TaskStatus> status,
+            Optional<String> searchTerm,
+            Optional<TaskCursor> cursor,
+            int size) {
+
+        Optional<String> term = normalizeSearchTerm(searchTerm);
+
+        TaskListCache.Query query = TaskListCache.Query.of("full", userId, status, term,
+                cursor.orElse(null), size, null);
+        return cachedList(userId, query, () ->
+                taskRepository.findTasksWithFiltersAfter(userId, status, term, cursor, size).map(taskMapper::toDtoByType));
+    }
+
+    /**
+     * Find task summaries with filters using keyset pagination
+     *
+     * @param userId     optional user ID filter
+     * @param status     optional status filter
+     * @param searchTerm optional search term for task name
+     * @param cursor     optional position of the last task already returned
+     * @param size       page size
+     * @return slice of filtered task summaries following the cursor
+     */
+    public Slice<TaskSummaryDto> findTaskSummariesWithFiltersAfter(
+            Optional<UUID> userId,
+            Optional<TaskStatus> status,
+            Optional<String> searchTerm,
+            Optional<TaskCursor> cursor,
+            int size) {
+
+        Optional<String> term = normalizeSearchTerm(searchTerm);
+
+        TaskListCache.Query query = TaskListCache.Query.of("summary", userId, status, term,
+                cursor.orElse(null), size, null);
+        return cachedList(userId, query, () -> taskRepository.findTaskSummariesWithFiltersAfter(userId, status, term, cursor, size));
+    }
+
+    /**
+     * Full-text search across task name, description and bug/feature text fields
+     *
+     * @param query    web-search style query
+     * @param userId   optional user ID filter
+     * @param status   optional status filter
+     * @param pageable pagination information
+     * @return slice of matching tasks ordered by relevance, with highlighted snippets
+     * @throws BadRequestException if the query is blank
+     * @throws ResourceNotFoundException if the user filter does not match a user
+     */
+    public Slice<TaskSearchResultDto> searchTasks(
+            String query,
+            Optional<UUID> userId,
+            Optional<TaskStatus> status,
+            Pageable pageable) {
+
+        if (query == null || query.isBlank()) {
+            throw new BadRequestException("Search query must not be blank");
+        }
+        userId.ifPresent(this::validateUserExists);
+
+        return taskSearchRepository.search(query.trim(), userId, status, pageable);
+    }
+
     /**
      * Update a task
      *
@@ -105,10 +394,31 @@ public class TaskService {
      * @throws ResourceNotFoundException if task not found
      * @throws BadRequestException if task type mismatch
      */
+    @Transactional
     public TaskDto updateTask(UUID id, UpdateTaskRequest updateRequest) {
+        return updateTask(id, updateRequest, Optional.empty());
+    }
+
+    /**
+     * Update a task if it is still at the version the client last saw
+     *
+     * @param id              task ID
+     * @param updateRequest   update data
+     * @param expectedVersion version the client based its changes on; empty to update unconditionally
+     * @return updated task
+     * @throws ResourceNotFoundException if task or assigned user not found
+     * @throws PreconditionFailedException if the task is at a different version
+     * @throws BadRequestException if the task type does not match
+     */
+    @Transactional
+    public TaskDto updateTask(UUID id, UpdateTaskRequest updateRequest, Optional<Long> expectedVersion) {
         Task task = taskRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Task not found with id: " + id));
 
+        if (expectedVersion.isPresent() && !expectedVersion.get().equals(task.getVersion())) {
+            throw new PreconditionFailedException("Task " + id + " has been modified, current version is " + task.getVersion());
+        }
+
         // Verify task type matches
         if (task instanceof Bug && !(updateRequest instanceof UpdateBugRequest) ||
             task instanceof Feature && !(updateRequest instanceof UpdateFeatureRequest)) {
@@ -116,6 +426,10 @@ public class TaskService {
                 task.getClass().getSimpleName() + " with " + updateRequest.getClass().getSimpleName());
         }
 
+        TaskDto before = taskMapper.toDtoByType(task);
+        // Read through the proxy without initializing it
+        UUID previousAssigneeId = task.getAssignedUser() != null ? task.getAssignedUser().getId() : null;
+
         // Update common fields if they are not null
         if (updateRequest.getName() != null) {
             task.setName(updateRequest.getName());
@@ -127,9 +441,8 @@ public class TaskService {
             task.setStatus(updateRequest.getStatus());
         }
         if (updateRequest.getAssignedUserId() != null) {
-            User user = userRepository.findById(updateRequest.getAssignedUserId())
-                    .orElseThrow(() -> new ResourceNotFoundException("User not found with id: " + updateRequest.getAssignedUserId()));
-            task.setAssignedUser(user);
+            validateUserExists(updateRequest.getAssignedUserId());
+            task.setAssignedUser(userRepository.getReferenceById(updateRequest.getAssignedUserId()));
         }
 
         // Update type-specific fields
@@ -139,8 +452,23 @@ public class TaskService {
             updateFeatureFields((Feature) task, (UpdateFeatureRequest) updateRequest);
         }
 
-        Task updatedTask = taskRepository.save(task);
-        return taskMapper.toDtoByType(updatedTask);
+        // Flush so the returned version reflects this update; a concurrent update fails the version check,
+        // and the V8 assignee trigger rejects a user deleted since it was cached
+        Task updatedTask;
+        try {
+            updatedTask = taskRepository.saveAndFlush(task);
+            taskCache.invalidate(List.of(id));
+            taskListCache.invalidate(previousAssigneeId, updateRequest.getAssignedUserId());
+        } catch (DataIntegrityViolationException e) {
+            if (DatabaseErrors.isForeignKeyViolation(e)) {
+                throw new ResourceNotFoundException("User not found with ID: " + updateRequest.getAssignedUserId(), e);
+            }
+            throw e;
+        }
+        TaskDto updated = taskMapper.toDtoByType(updatedTask);
+        taskAuditService.recordUpdated(before, updated);
+        outboxService.taskChanged(OutboxEventType.TASK_UPDATED, updated);
+        return updated;
     }
 
     private void updateBugFields(Bug bug, UpdateBugRequest updateRequest) {
@@ -179,24 +507,45 @@ public class TaskService {
      * @param id task ID
      * @throws ResourceNotFoundException if task not found
      */
+    @Transactional
     public void deleteTask(UUID id) {
         Task task = taskRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Task not found with ID: " + id));
 
         task.setDeleted(true);
         task.setDeletedAt(OffsetDateTime.now());
-        taskRepository.save(task);
+        // Flush so the recorded version is the one the deletion produced
+        taskRepository.saveAndFlush(task);
+        taskAuditService.recordDeleted(id, task.getVersion());
+        outboxService.taskChanged(OutboxEventType.TASK_DELETED, taskMapper.toDtoByType(task));
+        taskCache.invalidate(List.of(id));
+        taskListCache.invalidate(task.getAssignedUser() != null ? task.getAssignedUser().getId() : null);
         log.info("Soft deleted task with ID: {}", id);
     }
 
     /**
-     * Validate that a user exists
+     * Trim the search term and reject terms too short to be served by the trigram index
+     *
+     * @param searchTerm optional search term
+     * @return trimmed search term, empty if blank
+     * @throws BadRequestException if the term is shorter than the configured minimum length
+     */
+    private Optional<String> normalizeSearchTerm(Optional<String> searchTerm) {
+        Optional<String> term = searchTerm.map(String::trim).filter(t -> !t.isEmpty());
+        if (term.isPresent() && term.get().length() < minSearchTermLength) {
+            throw new BadRequestException("Search term must be at least " + minSearchTermLength + " characters long");
+        }
+        return term;
+    }
+
+    /**
+     * Validate that a user exists, answered from the user cache when possible
      *
      * @param userId user ID to validate
      * @throws ResourceNotFoundException if user not found
      */
     private void validateUserExists(UUID userId) {
-        if (userId != null && !userRepository.existsById(userId)) {
+        if (userId != null && !userLookupCache.exists(userId)) {
             throw new ResourceNotFoundException("User not found with ID: " + userId);
         }
     }
@@ -0,0 +1,33 @@
+package com.seneca.taskmanagement.service;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+
+/**
+ * Backfills the throughput rollup at startup when {@code task-management.reports.backfill-before}
+ * is set, normally to the day the rollup triggers were deployed. Only the first node to start
+ * rebuilds the rollup; the others, and every later start, find it done or in progress and skip
+ * it, so the setting may stay in place.
+ */
+@Component
+@RequiredArgsConstructor
+public class TaskThroughputBackfillJob implements ApplicationRunner {
+
+    private final TaskReportService taskReportService;
+
+    // ISO date, empty to skip
+    @Value("${task-management.reports.backfill-before:}")
+    private String backfillBefore = "";
+
+    @Override
+    public void run(ApplicationArguments args) {
+        if (!backfillBefore.isBlank()) {
+            taskReportService.backfillThroughput(LocalDate.parse(backfillBefore.trim()));
+        }
+    }
+}
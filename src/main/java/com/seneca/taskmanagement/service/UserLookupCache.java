@@ -0,0 +1,101 @@
+package com.seneca.taskmanagement.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.seneca.taskmanagement.config.ReplicaRoutingDataSource;
+import com.seneca.taskmanagement.dto.UserDto;
+import com.seneca.taskmanagement.mapper.UserMapper;
+import com.seneca.taskmanagement.repository.UserRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Bounded, expiring cache of active users by ID, serving user existence checks and
+ * {@link UserDto} lookups. Only users that were found are cached, so a miss always goes
+ * to the database. Misses read the primary, like task cache misses: a lagging replica could
+ * return a user as it was before an update or delete whose invalidation already ran, and the
+ * entry would then be served for the whole TTL, read-your-writes requests included. Hit, miss
+ * and eviction counts are published as the {@code cache.*} metrics tagged {@code cache=users}.
+ * <p>
+ * Entries are invalidated by {@link UserService} on update and delete. Task writes do not
+ * rely on this cache to reject deleted assignees: fk_task_user and the V8 assignee trigger
+ * remain the authority, so a stale entry on another instance can at worst delay the 404.
+ */
+@Component
+public class UserLookupCache implements MeterBinder {
+
+    private static final String CACHE_NAME = "users";
+
+    private final UserRepository userRepository;
+    private final UserMapper userMapper;
+    private final Cache<UUID, UserDto> users;
+
+    public UserLookupCache(
+            UserRepository userRepository,
+            UserMapper userMapper,
+            @Value("${task-management.users.cache-ttl:5m}") Duration ttl,
+            @Value("${task-management.users.cache-max-entries:10000}") long maxEntries) {
+        this.userRepository = userRepository;
+        this.userMapper = userMapper;
+        this.users = Caffeine.newBuilder()
+                .expireAfterWrite(ttl)
+                .maximumSize(maxEntries)
+                .recordStats()
+                .build();
+    }
+
+    /**
+     * Find an active user, loading it from the primary on a miss. A read-only transaction keeps
+     * the connection of its first statement, so a miss must come before the caller's own
+     * queries; it then keeps the rest of that transaction on the primary as well.
+     *
+     * @param id user ID
+     * @return the user, empty if it does not exist or is deleted
+     */
+    public Optional<UserDto> find(UUID id) {
+        return Optional.ofNullable(users.get(id, key -> ReplicaRoutingDataSource.onPrimary(
+                () -> userRepository.findById(key).map(userMapper::toDto).orElse(null))));
+    }
+
+    /**
+     * Check whether an active user exists
+     *
+     * @param id user ID
+     * @return true if the user exists and is not deleted
+     */
+    public boolean exists(UUID id) {
+        return find(id).isPresent();
+    }
+
+    /**
+     * Drop a user from the cache now and again once the surrounding transaction completes,
+     * so a concurrent reader cannot re-cache the row as it was before the commit
+     *
+     * @param id user ID
+     */
+    public void invalidate(UUID id) {
+        users.invalidate(id);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    users.invalidate(id);
+                }
+            });
+        }
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        CaffeineCacheMetrics.monitor(registry, users, CACHE_NAME);
+    }
+}
@@ -1,29 +1,42 @@
 package com.seneca.taskmanagement.service;
 
 import com.seneca.taskmanagement.domain.User;
+import com.seneca.taskmanagement.dto.OutboxEventType;
 import com.seneca.taskmanagement.dto.UserDto;
+import com.seneca.taskmanagement.dto.UserTaskStatsDto;
 import com.seneca.taskmanagement.dto.UserUpdateDto;
 import com.seneca.taskmanagement.exception.ResourceAlreadyExistsException;
 import com.seneca.taskmanagement.exception.ResourceNotFoundException;
 import com.seneca.taskmanagement.mapper.UserMapper;
 import com.seneca.taskmanagement.repository.UserRepository;
+import com.seneca.taskmanagement.repository.UserTaskCounterRepository;
+import com.seneca.taskmanagement.util.DatabaseErrors;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
 import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
 import java.util.UUID;
 
 @Service
 @RequiredArgsConstructor
 @Slf4j
+@Transactional(readOnly = true)
 public class UserService {
 
     private final UserRepository userRepository;
     private final UserMapper userMapper;
+    private final UserLookupCache userLookupCache;
+    private final UserTaskCounterRepository userTaskCounterRepository;
+    private final OutboxService outboxService;
 
     /**
      * Create a new user
@@ -32,19 +45,27 @@ public class UserService {
      * @return created user
      * @throws ResourceAlreadyExistsException if username already exists (including soft-deleted users)
      */
+    @Transactional
     public UserDto createUser(UserDto userDto) {
-        // Check if username exists among both active and deleted users
-        if (userRepository.existsByUsernameIncludingDeleted(userDto.getUsername())) {
-            throw new ResourceAlreadyExistsException("User with username " + userDto.getUsername() + " already exists");
-        }
-
         User user = new User();
         user.setUsername(userDto.getUsername());
         user.setFullName(userDto.getFullName());
-        
-        User savedUser = userRepository.save(user);
+
+        // The unique constraint on username covers soft-deleted rows too, so the INSERT
+        // itself is the existence check; flush so a violation surfaces here
+        User savedUser;
+        try {
+            savedUser = userRepository.saveAndFlush(user);
+        } catch (DataIntegrityViolationException e) {
+            if (DatabaseErrors.isUniqueViolation(e)) {
+                throw new ResourceAlreadyExistsException("User with username " + userDto.getUsername() + " already exists", e);
+            }
+            throw e;
+        }
         log.info("Created user with ID: {}", savedUser.getId());
-        return userMapper.toDto(savedUser);
+        UserDto created = userMapper.toDto(savedUser);
+        outboxService.userChanged(OutboxEventType.USER_CREATED, created);
+        return created;
     }
 
     /**
@@ -55,20 +76,59 @@ public class UserService {
      * @throws ResourceNotFoundException if user not found
      */
     public UserDto getUserById(UUID id) {
-        User user = userRepository.findById(id)
+        return userLookupCache.find(id)
                 .orElseThrow(() -> new ResourceNotFoundException("User not found with ID: " + id));
-        return userMapper.toDto(user);
+    }
+
+    /**
+     * Get the active tasks assigned to a user, per status
+     *
+     * @param id user ID
+     * @return the user's task counters
+     * @throws ResourceNotFoundException if user not found
+     */
+    public UserTaskStatsDto getUserStats(UUID id) {
+        getUserById(id);
+        return userTaskCounterRepository.findByUserId(id);
     }
 
     /**
      * Get all users with pagination
      *
-     * @param pageable pagination information
+     * @param pageable  pagination information
+     * @param withStats whether to attach each user's task counters, read in one query for the page
      * @return page of users
      */
-    public Page<UserDto> getAllUsers(Pageable pageable) {
-        Page<User> userPage = userRepository.findAll(pageable);
-        return userPage.map(userMapper::toDto);
+    public Page<UserDto> getAllUsers(Pageable pageable, boolean withStats) {
+        Page<UserDto> userPage = userRepository.findAll(pageable).map(userMapper::toDto);
+        if (withStats && userPage.hasContent()) {
+            List<UUID> userIds = userPage.getContent().stream().map(UserDto::getId).toList();
+            Map<UUID, UserTaskStatsDto> stats = userTaskCounterRepository.findByUserIds(userIds);
+            userPage.forEach(user -> user.setTaskStats(stats.get(user.getId())));
+        }
+        return userPage;
+    }
+
+    /**
+     * Recount every user's active tasks and correct drifted task counters. Task writes that
+     * move counters wait until this commits. Only one node reconciles at a time; the others
+     * skip instead of queueing up on the counter table lock for another full scan.
+     *
+     * @return number of users whose counters were corrected, empty if another node is reconciling
+     */
+    @Transactional
+    public Optional<Integer> reconcileTaskCounters() {
+        if (!userTaskCounterRepository.tryLockReconcile()) {
+            log.info("Task counters are being reconciled on another node, skipping");
+            return Optional.empty();
+        }
+        int corrected = userTaskCounterRepository.reconcile();
+        if (corrected > 0) {
+            log.warn("Corrected drifted task counters of {} users", corrected);
+        } else {
+            log.info("Task counters of all users are consistent");
+        }
+        return Optional.of(corrected);
     }
 
     /**
@@ -79,14 +139,19 @@ public class UserService {
      * @return updated user
      * @throws ResourceNotFoundException if user not found
      */
+    @Transactional
     public UserDto updateUser(UUID id, UserUpdateDto updateDto) {
         User user = userRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("User not found with ID: " + id));
 
         userMapper.updateUserFromDto(updateDto, user);
-        User updatedUser = userRepository.save(user);
+        // Flush before the outbox event: holding the row lock orders the events of one user
+        User updatedUser = userRepository.saveAndFlush(user);
+        userLookupCache.invalidate(id);
         log.info("Updated user with ID: {}", updatedUser.getId());
-        return userMapper.toDto(updatedUser);
+        UserDto updated = userMapper.toDto(updatedUser);
+        outboxService.userChanged(OutboxEventType.USER_UPDATED, updated);
+        return updated;
     }
 
     /**
@@ -95,13 +160,16 @@ public class UserService {
      * @param id user ID
      * @throws ResourceNotFoundException if user not found
      */
+    @Transactional
     public void deleteUser(UUID id) {
         User user = userRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("User not found with ID: " + id));
 
         user.setDeleted(true);
         user.setDeletedAt(OffsetDateTime.now());
-        userRepository.save(user);
+        userRepository.saveAndFlush(user);
+        userLookupCache.invalidate(id);
+        outboxService.userChanged(OutboxEventType.USER_DELETED, userMapper.toDto(user));
         log.info("Soft deleted user with ID: {}", id);
     }
 }
@@ -0,0 +1,23 @@
+package com.seneca.taskmanagement.service;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Periodically recounts the per-user task counters from the tasks table. The triggers keep
+ * the counters exact, so this only repairs drift from writes made with the triggers disabled,
+ * such as manual data fixes or restores. Every node schedules it, but the run holds an
+ * advisory lock and nodes that fire while another one reconciles skip their run.
+ */
+@Component
+@RequiredArgsConstructor
+public class UserTaskCounterReconciler {
+
+    private final UserService userService;
+
+    @Scheduled(cron = "${task-management.user-stats.reconcile-cron:0 30 3 * * *}")
+    public void reconcile() {
+        userService.reconcileTaskCounters();
+    }
+}
@@ -0,0 +1,51 @@
+package com.seneca.taskmanagement.util;
+
+import java.sql.SQLException;
+
+/**
+ * Utility class for classifying database errors by their SQLSTATE.
+ */
+public class DatabaseErrors {
+
+    public static final String FOREIGN_KEY_VIOLATION = "23503";
+    public static final String UNIQUE_VIOLATION = "23505";
+
+    /**
+     * Checks whether the exception was caused by a foreign key violation.
+     *
+     * @param e The exception thrown by a write
+     * @return true if any SQLException in the cause chain reports a foreign key violation
+     */
+    public static boolean isForeignKeyViolation(Throwable e) {
+        return hasSqlState(e, FOREIGN_KEY_VIOLATION);
+    }
+
+    /**
+     * Checks whether the exception was caused by a unique constraint violation.
+     *
+     * @param e The exception thrown by a write
+     * @return true if any SQLException in the cause chain reports a unique violation
+     */
+    public static boolean isUniqueViolation(Throwable e) {
+        return hasSqlState(e, UNIQUE_VIOLATION);
+    }
+
+    /**
+     * Walks the cause chain looking for a SQLException with the given SQLSTATE.
+     *
+     * @param e        The exception to inspect
+     * @param sqlState The SQLSTATE to look for
+     * @return true if found
+     */
+    public static boolean hasSqlState(Throwable e, String sqlState) {
+        for (Throwable cause = e; cause != null; cause = cause.getCause()) {
+            if (cause instanceof SQLException sqlException && sqlState.equals(sqlException.getSQLState())) {
+                return true;
+            }
+            if (cause.getCause() == cause) {
+                break;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,34 @@
+-- Publish the IDs of updated and deleted tasks on the task_changes channel, so every node can
+-- drop them from its task cache. Covers entity writes and set-based bulk statements alike.
+-- NOTIFY is delivered at commit and never for rolled back transactions. One notification is
+-- sent per statement: the comma separated IDs, or '*' when they would not fit the payload
+-- limit and listeners should flush everything.
+CREATE FUNCTION notify_task_changes() RETURNS trigger AS $$
+DECLARE
+    changed_count INTEGER;
+    payload TEXT;
+BEGIN
+    SELECT count(*), string_agg(id::text, ',') INTO changed_count, payload FROM changed_rows;
+    IF changed_count = 0 THEN
+        RETURN NULL;
+    END IF;
+    IF changed_count > 100 THEN
+        payload := '*';
+    END IF;
+    PERFORM pg_notify('task_changes', payload);
+    RETURN NULL;
+END;
+$$ LANGUAGE plpgsql;
+
+-- Transition tables are limited to one event per trigger, hence one trigger per event
+CREATE TRIGGER trg_task_changes_update
+    AFTER UPDATE ON tasks
+    REFERENCING OLD TABLE AS changed_rows
+    FOR EACH STATEMENT EXECUTE FUNCTION notify_task_changes();
+
+CREATE TRIGGER trg_task_changes_delete
+    AFTER DELETE ON tasks
+    REFERENCING OLD TABLE AS changed_rows
+    FOR EACH STATEMENT EXECUTE FUNCTION notify_task_changes();
+
+COMMENT ON FUNCTION notify_task_changes() IS 'Notifies task_changes with the IDs of the tasks changed by a statement, or * for large statements';
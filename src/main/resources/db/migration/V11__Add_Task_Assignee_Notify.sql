@@ -0,0 +1,52 @@
+-- Publish the assignees whose task lists a statement changed on the task_assignees channel, so
+-- every node can outdate its cached list results. Unlike the per-task cache, lists also change
+-- on INSERT. The payload holds the distinct old and new assignees, comma separated; it is empty
+-- when only unassigned tasks changed, and '*' when listeners should outdate everything.
+CREATE FUNCTION notify_task_assignees() RETURNS trigger AS $$
+DECLARE
+    row_count INTEGER;
+    assignee_count INTEGER;
+    payload TEXT;
+BEGIN
+    -- Transition tables only exist for the events that define them, so branch before reading
+    IF TG_OP = 'INSERT' THEN
+        SELECT count(*), count(DISTINCT user_id), string_agg(DISTINCT user_id::text, ',')
+        INTO row_count, assignee_count, payload
+        FROM new_rows;
+    ELSIF TG_OP = 'UPDATE' THEN
+        SELECT count(*), count(DISTINCT user_id), string_agg(DISTINCT user_id::text, ',')
+        INTO row_count, assignee_count, payload
+        FROM (SELECT user_id FROM old_rows UNION ALL SELECT user_id FROM new_rows) changed;
+    ELSE
+        SELECT count(*), count(DISTINCT user_id), string_agg(DISTINCT user_id::text, ',')
+        INTO row_count, assignee_count, payload
+        FROM old_rows;
+    END IF;
+
+    IF row_count = 0 THEN
+        RETURN NULL;
+    END IF;
+    IF assignee_count > 100 THEN
+        payload := '*';
+    END IF;
+    PERFORM pg_notify('task_assignees', coalesce(payload, ''));
+    RETURN NULL;
+END;
+$$ LANGUAGE plpgsql;
+
+CREATE TRIGGER trg_task_assignees_insert
+    AFTER INSERT ON tasks
+    REFERENCING NEW TABLE AS new_rows
+    FOR EACH STATEMENT EXECUTE FUNCTION notify_task_assignees();
+
+CREATE TRIGGER trg_task_assignees_update
+    AFTER UPDATE ON tasks
+    REFERENCING OLD TABLE AS old_rows NEW TABLE AS new_rows
+    FOR EACH STATEMENT EXECUTE FUNCTION notify_task_assignees();
+
+CREATE TRIGGER trg_task_assignees_delete
+    AFTER DELETE ON tasks
+    REFERENCING OLD TABLE AS old_rows
+    FOR EACH STATEMENT EXECUTE FUNCTION notify_task_assignees();
+
+COMMENT ON FUNCTION notify_task_assignees() IS 'Notifies task_assignees with the old and new assignees of the tasks changed by a statement, or * for many';
@@ -0,0 +1,91 @@
+-- Active task counts per assignee and status, so workload views read one row per user instead
+-- of counting tasks. Kept exact by a statement-level trigger in the transaction of every write
+-- to tasks, which covers single, bulk and imported writes alike. Users without a row have no
+-- active tasks.
+CREATE TABLE user_task_counters (
+    user_id UUID PRIMARY KEY,
+    open_count BIGINT NOT NULL DEFAULT 0,
+    in_progress_count BIGINT NOT NULL DEFAULT 0,
+    done_count BIGINT NOT NULL DEFAULT 0,
+    CONSTRAINT fk_user_task_counters_user FOREIGN KEY (user_id) REFERENCES users(id) ON DELETE CASCADE
+);
+
+COMMENT ON TABLE user_task_counters IS 'Active task counts per assignee and status, maintained by trg_user_task_counters_*';
+
+-- One counted row of a statement: an active, assigned task leaving (-1) or entering (+1) a count
+CREATE TYPE task_counter_change AS (user_id UUID, status VARCHAR(20), delta INTEGER);
+
+CREATE FUNCTION maintain_user_task_counters() RETURNS trigger AS $$
+DECLARE
+    changes task_counter_change[];
+BEGIN
+    -- Transition tables only exist for the events that define them, so branch before reading
+    IF TG_OP = 'INSERT' THEN
+        SELECT array_agg(ROW(user_id, status, 1)::task_counter_change) INTO changes
+        FROM new_rows
+        WHERE user_id IS NOT NULL AND NOT deleted;
+    ELSIF TG_OP = 'UPDATE' THEN
+        SELECT array_agg(change) INTO changes
+        FROM (SELECT ROW(user_id, status, -1)::task_counter_change AS change
+              FROM old_rows
+              WHERE user_id IS NOT NULL AND NOT deleted
+              UNION ALL
+              SELECT ROW(user_id, status, 1)::task_counter_change
+              FROM new_rows
+              WHERE user_id IS NOT NULL AND NOT deleted) counted;
+    ELSE
+        SELECT array_agg(ROW(user_id, status, -1)::task_counter_change) INTO changes
+        FROM old_rows
+        WHERE user_id IS NOT NULL AND NOT deleted;
+    END IF;
+
+    IF changes IS NULL THEN
+        RETURN NULL;
+    END IF;
+
+    -- Updates that leave assignee, status and deletion alone cancel out and write nothing, so
+    -- counter rows are only locked by writes that move counts. Rows are upserted in user order
+    -- so concurrent statements touching several users cannot deadlock on them.
+    INSERT INTO user_task_counters AS c (user_id, open_count, in_progress_count, done_count)
+    SELECT user_id, open_delta, in_progress_delta, done_delta
+    FROM (SELECT user_id,
+                 coalesce(sum(delta) FILTER (WHERE status = 'OPEN'), 0) AS open_delta,
+                 coalesce(sum(delta) FILTER (WHERE status = 'IN_PROGRESS'), 0) AS in_progress_delta,
+                 coalesce(sum(delta) FILTER (WHERE status = 'DONE'), 0) AS done_delta
+          FROM unnest(changes)
+          GROUP BY user_id) deltas
+    WHERE (open_delta, in_progress_delta, done_delta) <> (0, 0, 0)
+    ORDER BY user_id
+    ON CONFLICT (user_id) DO UPDATE
+        SET open_count = c.open_count + EXCLUDED.open_count,
+            in_progress_count = c.in_progress_count + EXCLUDED.in_progress_count,
+            done_count = c.done_count + EXCLUDED.done_count;
+    RETURN NULL;
+END;
+$$ LANGUAGE plpgsql;
+
+CREATE TRIGGER trg_user_task_counters_insert
+    AFTER INSERT ON tasks
+    REFERENCING NEW TABLE AS new_rows
+    FOR EACH STATEMENT EXECUTE FUNCTION maintain_user_task_counters();
+
+CREATE TRIGGER trg_user_task_counters_update
+    AFTER UPDATE ON tasks
+    REFERENCING OLD TABLE AS old_rows NEW TABLE AS new_rows
+    FOR EACH STATEMENT EXECUTE FUNCTION maintain_user_task_counters();
+
+CREATE TRIGGER trg_user_task_counters_delete
+    AFTER DELETE ON tasks
+    REFERENCING OLD TABLE AS old_rows
+    FOR EACH STATEMENT EXECUTE FUNCTION maintain_user_task_counters();
+
+COMMENT ON FUNCTION maintain_user_task_counters() IS 'Applies the per-user count changes of the tasks written by a statement to user_task_counters';
+
+INSERT INTO user_task_counters (user_id, open_count, in_progress_count, done_count)
+SELECT user_id,
+       count(*) FILTER (WHERE status = 'OPEN'),
+       count(*) FILTER (WHERE status = 'IN_PROGRESS'),
+       count(*) FILTER (WHERE status = 'DONE')
+FROM tasks
+WHERE user_id IS NOT NULL AND NOT deleted
+GROUP BY user_id;
@@ -0,0 +1,77 @@
+-- Tasks created, completed and deleted per UTC day, task type and assignee, so throughput
+-- reports read a bounded number of rollup rows instead of scanning tasks. Rows are upserted
+-- by a statement-level trigger in the transaction of every write to tasks; unassigned tasks
+-- are rolled up under a NULL user_id, which the key treats as one value.
+CREATE TABLE task_daily_throughput (
+    day DATE NOT NULL,
+    task_type VARCHAR(20) NOT NULL,
+    user_id UUID,
+    created_count BIGINT NOT NULL DEFAULT 0,
+    completed_count BIGINT NOT NULL DEFAULT 0,
+    deleted_count BIGINT NOT NULL DEFAULT 0,
+    CONSTRAINT uk_task_daily_throughput UNIQUE NULLS NOT DISTINCT (day, task_type, user_id)
+);
+
+COMMENT ON TABLE task_daily_throughput IS 'Task creations, completions and deletions per UTC day, type and assignee, maintained by trg_task_throughput_*';
+
+-- One event of a statement on the day it happened: a task created, moved to DONE or soft deleted
+CREATE TYPE task_throughput_event AS (day DATE, task_type VARCHAR(20), user_id UUID, created INTEGER, completed INTEGER, deleted INTEGER);
+
+CREATE FUNCTION record_task_throughput() RETURNS trigger AS $$
+DECLARE
+    events task_throughput_event[];
+BEGIN
+    -- Inserted rows count as created, and also as completed or deleted when they arrive that way
+    -- (imports); updates only count the transitions into DONE and into the deleted state
+    IF TG_OP = 'INSERT' THEN
+        SELECT array_agg(event) INTO events
+        FROM (SELECT ROW((n.created_at AT TIME ZONE 'UTC')::date, n.task_type, n.user_id, 1, 0, 0)::task_throughput_event AS event
+              FROM new_rows n
+              UNION ALL
+              SELECT ROW((n.updated_at AT TIME ZONE 'UTC')::date, n.task_type, n.user_id, 0, 1, 0)::task_throughput_event
+              FROM new_rows n
+              WHERE n.status = 'DONE'
+              UNION ALL
+              SELECT ROW((coalesce(n.deleted_at, n.updated_at) AT TIME ZONE 'UTC')::date, n.task_type, n.user_id, 0, 0, 1)::task_throughput_event
+              FROM new_rows n
+              WHERE n.deleted) inserted;
+    ELSE
+        SELECT array_agg(event) INTO events
+        FROM (SELECT ROW((n.updated_at AT TIME ZONE 'UTC')::date, n.task_type, n.user_id, 0, 1, 0)::task_throughput_event AS event
+              FROM new_rows n JOIN old_rows o ON o.id = n.id
+              WHERE n.status = 'DONE' AND o.status <> 'DONE'
+              UNION ALL
+              SELECT ROW((coalesce(n.deleted_at, n.updated_at) AT TIME ZONE 'UTC')::date, n.task_type, n.user_id, 0, 0, 1)::task_throughput_event
+              FROM new_rows n JOIN old_rows o ON o.id = n.id
+              WHERE n.deleted AND NOT o.deleted) transitioned;
+    END IF;
+
+    IF events IS NULL THEN
+        RETURN NULL;
+    END IF;
+
+    -- Upserted in key order so concurrent statements cannot deadlock on the rollup rows
+    INSERT INTO task_daily_throughput AS t (day, task_type, user_id, created_count, completed_count, deleted_count)
+    SELECT day, task_type, user_id, sum(created), sum(completed), sum(deleted)
+    FROM unnest(events)
+    GROUP BY day, task_type, user_id
+    ORDER BY day, task_type, user_id
+    ON CONFLICT (day, task_type, user_id) DO UPDATE
+        SET created_count = t.created_count + EXCLUDED.created_count,
+            completed_count = t.completed_count + EXCLUDED.completed_count,
+            deleted_count = t.deleted_count + EXCLUDED.deleted_count;
+    RETURN NULL;
+END;
+$$ LANGUAGE plpgsql;
+
+CREATE TRIGGER trg_task_throughput_insert
+    AFTER INSERT ON tasks
+    REFERENCING NEW TABLE AS new_rows
+    FOR EACH STATEMENT EXECUTE FUNCTION record_task_throughput();
+
+CREATE TRIGGER trg_task_throughput_update
+    AFTER UPDATE ON tasks
+    REFERENCING OLD TABLE AS old_rows NEW TABLE AS new_rows
+    FOR EACH STATEMENT EXECUTE FUNCTION record_task_throughput();
+
+COMMENT ON FUNCTION record_task_throughput() IS 'Adds the creations, completions and deletions of the tasks written by a statement to task_daily_throughput';
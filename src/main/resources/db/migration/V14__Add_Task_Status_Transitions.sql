@@ -0,0 +1,88 @@
+-- History of task status changes, recorded by a statement-level trigger for every write path.
+-- Each change out of a status also queues how long the task spent in it, in whole seconds, as
+-- a cycle time sample; samples are folded into the per task type and per assignee quantile
+-- sketches of cycle_time_sketches and deleted. Time in a status is measured from the task's
+-- previous transition, or from its creation for tasks whose history predates this table.
+CREATE TABLE task_status_transitions (
+    id BIGSERIAL PRIMARY KEY,
+    task_id UUID NOT NULL,
+    task_type VARCHAR(20) NOT NULL,
+    user_id UUID,
+    from_status VARCHAR(20),
+    to_status VARCHAR(20) NOT NULL,
+    transitioned_at TIMESTAMP WITH TIME ZONE NOT NULL,
+    seconds_in_from_status BIGINT
+);
+
+CREATE INDEX idx_task_status_transitions_task ON task_status_transitions(task_id, transitioned_at DESC);
+
+COMMENT ON TABLE task_status_transitions IS 'Status changes of tasks; from_status is NULL for the status a task was created with';
+COMMENT ON COLUMN task_status_transitions.user_id IS 'Assignee after the transition';
+COMMENT ON COLUMN task_status_transitions.seconds_in_from_status IS 'Time the task spent in from_status';
+
+CREATE TABLE cycle_time_samples (
+    id BIGSERIAL PRIMARY KEY,
+    task_type VARCHAR(20) NOT NULL,
+    user_id UUID,
+    status VARCHAR(20) NOT NULL,
+    seconds BIGINT NOT NULL
+);
+
+COMMENT ON TABLE cycle_time_samples IS 'Times spent in a status not yet folded into cycle_time_sketches; user_id is the assignee during that time';
+
+CREATE TABLE cycle_time_sketches (
+    dimension VARCHAR(20) NOT NULL,
+    dimension_value VARCHAR(50) NOT NULL,
+    status VARCHAR(20) NOT NULL,
+    sample_count BIGINT NOT NULL DEFAULT 0,
+    sketch BYTEA,
+    updated_at TIMESTAMP WITH TIME ZONE NOT NULL DEFAULT now(),
+    PRIMARY KEY (dimension, dimension_value, status)
+);
+
+COMMENT ON TABLE cycle_time_sketches IS 'Compressed HdrHistogram of the seconds spent in a status, per task type (TASK_TYPE) or assignee (ASSIGNEE)';
+
+CREATE FUNCTION record_task_status_transitions() RETURNS trigger AS $$
+BEGIN
+    IF TG_OP = 'INSERT' THEN
+        INSERT INTO task_status_transitions (task_id, task_type, user_id, from_status, to_status, transitioned_at)
+        SELECT id, task_type, user_id, NULL, status, created_at
+        FROM new_rows;
+        RETURN NULL;
+    END IF;
+
+    -- The lookup of the previous transition is one index probe per changed task, and all parts
+    -- of the statement see the history as it was before it
+    WITH changed AS (
+        SELECT n.id, n.task_type, n.user_id, o.user_id AS previous_user_id,
+               o.status AS from_status, n.status AS to_status, n.updated_at AS transitioned_at,
+               greatest(0, extract(EPOCH FROM n.updated_at - coalesce(
+                   (SELECT max(h.transitioned_at) FROM task_status_transitions h WHERE h.task_id = n.id),
+                   o.created_at)))::BIGINT AS seconds
+        FROM new_rows n
+        JOIN old_rows o ON o.id = n.id
+        WHERE n.status <> o.status
+    ),
+    recorded AS (
+        INSERT INTO task_status_transitions (task_id, task_type, user_id, from_status, to_status, transitioned_at, seconds_in_from_status)
+        SELECT id, task_type, user_id, from_status, to_status, transitioned_at, seconds
+        FROM changed
+    )
+    INSERT INTO cycle_time_samples (task_type, user_id, status, seconds)
+    SELECT task_type, previous_user_id, from_status, seconds
+    FROM changed;
+    RETURN NULL;
+END;
+$$ LANGUAGE plpgsql;
+
+CREATE TRIGGER trg_task_status_transitions_insert
+    AFTER INSERT ON tasks
+    REFERENCING NEW TABLE AS new_rows
+    FOR EACH STATEMENT EXECUTE FUNCTION record_task_status_transitions();
+
+CREATE TRIGGER trg_task_status_transitions_update
+    AFTER UPDATE ON tasks
+    REFERENCING OLD TABLE AS old_rows NEW TABLE AS new_rows
+    FOR EACH STATEMENT EXECUTE FUNCTION record_task_status_transitions();
+
+COMMENT ON FUNCTION record_task_status_transitions() IS 'Records the status changes of the tasks written by a statement and queues their cycle time samples';
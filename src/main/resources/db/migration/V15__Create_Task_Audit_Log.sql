@@ -0,0 +1,19 @@
+-- Field-level change history of tasks, written behind the task writes in batches by the
+-- application. Entries are ordered by id, so rows flushed later only ever appear in front of a
+-- history cursor; task_version orders the changes of one task exactly.
+CREATE TABLE task_audit_log (
+    id BIGSERIAL PRIMARY KEY,
+    task_id UUID NOT NULL,
+    action VARCHAR(10) NOT NULL,
+    changes JSONB NOT NULL,
+    actor VARCHAR(100),
+    request_id VARCHAR(100),
+    changed_at TIMESTAMP WITH TIME ZONE NOT NULL,
+    task_version BIGINT
+);
+
+CREATE INDEX idx_task_audit_log_task ON task_audit_log(task_id, id DESC);
+
+COMMENT ON TABLE task_audit_log IS 'Task changes as {"field": {"from": ..., "to": ...}}, written behind by TaskAuditWriter';
+COMMENT ON COLUMN task_audit_log.action IS 'CREATED, UPDATED or DELETED';
+COMMENT ON COLUMN task_audit_log.actor IS 'Client address the change came from';
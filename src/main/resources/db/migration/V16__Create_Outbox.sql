@@ -0,0 +1,17 @@
+-- Task and user change events, inserted in the transaction of the change they describe and
+-- deleted by the outbox relay once a sink has accepted them. The writer of an event holds the
+-- row lock of the changed row, so the events of one aggregate are numbered in commit order.
+CREATE TABLE outbox (
+    id BIGSERIAL PRIMARY KEY,
+    aggregate_type VARCHAR(20) NOT NULL,
+    aggregate_id UUID NOT NULL,
+    event_type VARCHAR(30) NOT NULL,
+    payload JSONB NOT NULL,
+    created_at TIMESTAMP WITH TIME ZONE NOT NULL DEFAULT now()
+);
+
+-- Lets the relay check for older events of an aggregate claimed by another node
+CREATE INDEX idx_outbox_aggregate ON outbox(aggregate_type, aggregate_id, id);
+
+COMMENT ON TABLE outbox IS 'Change events waiting for delivery by OutboxRelay; id is the event ID consumers deduplicate on';
+COMMENT ON COLUMN outbox.payload IS 'State of the aggregate after the change';
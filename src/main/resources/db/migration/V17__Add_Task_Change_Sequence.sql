@@ -0,0 +1,21 @@
+-- Change sequence of the task change feed: every insert and update stamps the row with the ID
+-- of the writing transaction, on every write path. Transaction IDs are assigned before commit,
+-- so the feed only returns rows written by transactions older than the reading snapshot's
+-- xmin; all of those have finished, and later commits always land at or after that boundary.
+-- Rows written before this migration share the lowest sequence and come with the initial sync.
+-- The constant default adds the column without rewriting the table; the trigger overrides it.
+-- The feed's index is built by V19, outside this migration's transaction.
+ALTER TABLE tasks ADD COLUMN change_xid xid8 NOT NULL DEFAULT '1';
+
+CREATE FUNCTION stamp_task_change_xid() RETURNS trigger AS $$
+BEGIN
+    NEW.change_xid := pg_current_xact_id();
+    RETURN NEW;
+END;
+$$ LANGUAGE plpgsql;
+
+CREATE TRIGGER trg_task_change_xid
+    BEFORE INSERT OR UPDATE ON tasks
+    FOR EACH ROW EXECUTE FUNCTION stamp_task_change_xid();
+
+COMMENT ON COLUMN tasks.change_xid IS 'Transaction that last inserted or updated the task, the change feed sequence';
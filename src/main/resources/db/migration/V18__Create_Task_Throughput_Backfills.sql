@@ -0,0 +1,10 @@
+-- Throughput backfills that have completed, so a backfill configured on every node of a
+-- deployment rebuilds the rollup once instead of once per node start. Written in the
+-- transaction of the rebuild itself.
+CREATE TABLE task_throughput_backfills (
+    backfill_before DATE PRIMARY KEY,
+    row_count INTEGER NOT NULL,
+    completed_at TIMESTAMPTZ NOT NULL DEFAULT now()
+);
+
+COMMENT ON TABLE task_throughput_backfills IS 'Completed rebuilds of task_daily_throughput, by the first day they left untouched';
@@ -0,0 +1,4 @@
+-- Serves the change feed as a range scan from the client's cursor. Built CONCURRENTLY so the
+-- migration does not block writes; Flyway runs this script outside a transaction (see the
+-- accompanying .conf file), so it must only contain statements that are valid there.
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_tasks_change_xid ON tasks(change_xid, id);
@@ -0,0 +1,7 @@
+-- Support keyset pagination over the default list ordering (created_at desc, id desc).
+-- Built CONCURRENTLY so the migration does not block writes; Flyway runs this script
+-- outside a transaction (see the accompanying .conf file).
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_task_created_at_id
+    ON tasks(created_at DESC, id DESC) WHERE deleted = FALSE;
+
+COMMENT ON INDEX idx_task_created_at_id IS 'Serves cursor-based task listing without scanning skipped rows';
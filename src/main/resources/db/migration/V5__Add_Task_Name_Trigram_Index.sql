@@ -0,0 +1,10 @@
+-- Enable trigram matching so substring searches on task names can use an index
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+
+-- Serves lower(name) LIKE '%term%' for non-deleted tasks; the btree idx_task_name cannot.
+-- Built CONCURRENTLY so the migration does not block writes; Flyway runs this script
+-- outside a transaction (see the accompanying .conf file).
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_task_name_trgm
+    ON tasks USING gin (lower(name) gin_trgm_ops) WHERE deleted = FALSE;
+
+COMMENT ON INDEX idx_task_name_trgm IS 'Trigram index backing the searchTerm filter on task names';
@@ -0,0 +1,15 @@
+-- Weighted full-text document over the task's searchable text fields.
+-- Name ranks highest, then description, then bug/feature specific text.
+-- The document is computed in the index expression rather than stored in a generated column,
+-- which would rewrite the whole table under an ACCESS EXCLUSIVE lock. Queries must repeat the
+-- expression verbatim to use the index (see TaskSearchRepository.SEARCH_DOCUMENT).
+-- Built CONCURRENTLY so the migration does not block writes; Flyway runs this script
+-- outside a transaction (see the accompanying .conf file).
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_task_search_vector ON tasks USING gin ((
+    setweight(to_tsvector('english', coalesce(name, '')), 'A') ||
+    setweight(to_tsvector('english', coalesce(description, '')), 'B') ||
+    setweight(to_tsvector('english', coalesce(steps_to_reproduce, '') || ' ' || coalesce(acceptance_criteria, '')), 'C') ||
+    setweight(to_tsvector('english', coalesce(business_value, '')), 'D')
+)) WHERE deleted = FALSE;
+
+COMMENT ON INDEX idx_task_search_vector IS 'Serves ranked full-text search over non-deleted tasks';
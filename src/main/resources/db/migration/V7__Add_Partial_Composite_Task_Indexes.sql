@@ -0,0 +1,17 @@
+-- Composite indexes matching the list queries: soft-delete restriction, equality filters,
+-- then the default ordering (created_at desc, id desc) so pages are read in index order.
+-- Built CONCURRENTLY so the migration does not block writes; Flyway runs this script
+-- outside a transaction (see the accompanying .conf file), so it must only contain
+-- statements that are valid there.
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_task_user_status_created
+    ON tasks(user_id, status, created_at DESC, id DESC) WHERE deleted = FALSE;
+
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_task_status_created
+    ON tasks(status, created_at DESC, id DESC) WHERE deleted = FALSE;
+
+-- Superseded single-column indexes from V2: the composites above serve status filters on
+-- active tasks, and idx_task_name cannot serve the substring search (idx_task_name_trgm does).
+-- idx_task_user stays: the composites are partial, and lookups that include deleted rows
+-- (restore by filter, the fk_task_user checks on user deletes) need a full user_id index.
+DROP INDEX CONCURRENTLY IF EXISTS idx_task_status;
+DROP INDEX CONCURRENTLY IF EXISTS idx_task_name;
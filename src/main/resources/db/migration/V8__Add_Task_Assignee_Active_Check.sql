@@ -0,0 +1,27 @@
+-- Reject soft-deleted assignees inside the INSERT/UPDATE statement itself, so the write path
+-- does not need a separate existence query: fk_task_user covers missing users, this trigger
+-- covers deleted ones and reports them with the same SQLSTATE and constraint name.
+CREATE FUNCTION check_task_assignee_active() RETURNS trigger AS $$
+BEGIN
+    IF NEW.user_id IS NOT NULL AND EXISTS (SELECT 1 FROM users WHERE id = NEW.user_id AND deleted) THEN
+        RAISE EXCEPTION 'insert or update on table "tasks" violates foreign key constraint "fk_task_user"'
+            USING ERRCODE = 'foreign_key_violation',
+                  CONSTRAINT = 'fk_task_user',
+                  DETAIL = format('Key (user_id)=(%s) refers to a deleted user.', NEW.user_id);
+    END IF;
+    RETURN NEW;
+END;
+$$ LANGUAGE plpgsql;
+
+CREATE TRIGGER trg_task_assignee_active_insert
+    BEFORE INSERT ON tasks
+    FOR EACH ROW EXECUTE FUNCTION check_task_assignee_active();
+
+-- Only re-check when the assignee actually changes, so tasks of a since-deleted user stay editable
+CREATE TRIGGER trg_task_assignee_active_update
+    BEFORE UPDATE OF user_id ON tasks
+    FOR EACH ROW
+    WHEN (NEW.user_id IS DISTINCT FROM OLD.user_id)
+    EXECUTE FUNCTION check_task_assignee_active();
+
+COMMENT ON FUNCTION check_task_assignee_active() IS 'Raises a foreign key violation when a task is assigned to a soft-deleted user';
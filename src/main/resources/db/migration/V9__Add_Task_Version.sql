@@ -0,0 +1,5 @@
+-- Optimistic locking: Hibernate checks and increments this on every entity update,
+-- bulk updates increment it themselves; also served as the ETag of task resources
+ALTER TABLE tasks ADD COLUMN version BIGINT NOT NULL DEFAULT 0;
+
+COMMENT ON COLUMN tasks.version IS 'Optimistic locking version, incremented on every update';
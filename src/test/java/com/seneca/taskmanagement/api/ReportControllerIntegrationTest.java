@@ -0,0 +1,157 @@
+package com.seneca.taskmanagement.api;
+
+import com.seneca.taskmanagement.config.TestContainersConfig;
+import com.seneca.taskmanagement.domain.Bug;
+import com.seneca.taskmanagement.domain.TaskStatus;
+import com.seneca.taskmanagement.dto.CreateBugDto;
+import com.seneca.taskmanagement.dto.TaskBulkChanges;
+import com.seneca.taskmanagement.dto.TaskBulkUpdateRequest;
+import com.seneca.taskmanagement.dto.TaskDto;
+import com.seneca.taskmanagement.dto.TaskThroughputDto;
+import com.seneca.taskmanagement.dto.UpdateBugRequest;
+import com.seneca.taskmanagement.dto.UserDto;
+import com.seneca.taskmanagement.service.TaskBulkService;
+import com.seneca.taskmanagement.service.TaskReportService;
+import com.seneca.taskmanagement.service.TaskService;
+import com.seneca.taskmanagement.service.UserService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@Testcontainers
+@ActiveProfiles("test")
+public class ReportControllerIntegrationTest extends TestContainersConfig {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private TaskService taskService;
+
+    @Autowired
+    private TaskBulkService taskBulkService;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private TaskReportService taskReportService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private UserDto user;
+    private LocalDate today;
+
+    @BeforeEach
+    void setUp() {
+        user = userService.createUser(UserDto.builder()
+                .username("report_" + UUID.randomUUID().toString().substring(0, 8))
+                .fullName("Report User")
+                .build());
+        today = LocalDate.now(ZoneOffset.UTC);
+    }
+
+    @Test
+    void throughputFollowsTaskWrites() throws Exception {
+        TaskDto first = createBug(TaskStatus.OPEN);
+        TaskDto second = createBug(TaskStatus.OPEN);
+        createBug(TaskStatus.DONE);
+
+        UpdateBugRequest complete = new UpdateBugRequest();
+        complete.setStatus(TaskStatus.DONE);
+        taskService.updateTask(first.getId(), complete);
+        // Completing an already completed task is not another completion
+        taskService.updateTask(first.getId(), complete);
+        taskBulkService.updateTasks(TaskBulkUpdateRequest.builder()
+                .ids(List.of(second.getId()))
+                .changes(TaskBulkChanges.builder().status(TaskStatus.DONE).build())
+                .build());
+        taskService.deleteTask(second.getId());
+
+        mockMvc.perform(get("/reports/throughput")
+                        .param("userId", user.getId().toString())
+                        .param("taskType", "bug"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(1))
+                .andExpect(jsonPath("$[0].day").value(today.toString()))
+                .andExpect(jsonPath("$[0].taskType").value("BUG"))
+                .andExpect(jsonPath("$[0].created").value(3))
+                .andExpect(jsonPath("$[0].completed").value(3))
+                .andExpect(jsonPath("$[0].deleted").value(1));
+
+        mockMvc.perform(get("/reports/throughput")
+                        .param("userId", user.getId().toString())
+                        .param("taskType", "FEATURE"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(0));
+    }
+
+    @Test
+    void backfillRebuildsEarlierDaysFromTasks() {
+        LocalDate lastWeek = today.minusDays(7);
+        // A task from before the rollup existed: insert it, then drop what the trigger recorded
+        jdbcTemplate.update("""
+                INSERT INTO tasks (id, name, status, task_type, user_id, created_at, updated_at, severity, priority)
+                VALUES (?, 'Old Bug', 'DONE', 'BUG', ?,
+                        (?::date + time '12:00') AT TIME ZONE 'UTC', (?::date + 1 + time '12:00') AT TIME ZONE 'UTC', 'LOW', 'LOW')
+                """, UUID.randomUUID(), user.getId(), lastWeek.toString(), lastWeek.toString());
+        jdbcTemplate.update("DELETE FROM task_daily_throughput WHERE user_id = ?", user.getId());
+        createBug(TaskStatus.OPEN);
+        jdbcTemplate.update("DELETE FROM task_throughput_backfills");
+
+        assertTrue(taskReportService.backfillThroughput(today).isPresent());
+
+        List<TaskThroughputDto> rows = taskReportService.getThroughput(lastWeek, today, Optional.of(user.getId()), Optional.empty());
+        assertEquals(List.of(
+                new TaskThroughputDto(lastWeek, "BUG", user.getId(), 1, 0, 0),
+                new TaskThroughputDto(lastWeek.plusDays(1), "BUG", user.getId(), 0, 1, 0),
+                new TaskThroughputDto(today, "BUG", user.getId(), 1, 0, 0)), rows);
+
+        // Another node starting later finds it done and leaves the rollup alone
+        jdbcTemplate.update("DELETE FROM task_daily_throughput WHERE user_id = ? AND day < ?", user.getId(), today);
+        assertTrue(taskReportService.backfillThroughput(today).isEmpty());
+        assertTrue(taskReportService.getThroughput(lastWeek, today.minusDays(1), Optional.of(user.getId()), Optional.empty()).isEmpty());
+    }
+
+    @Test
+    void rejectsInvalidRanges() throws Exception {
+        mockMvc.perform(get("/reports/throughput")
+                        .param("from", today.toString())
+                        .param("to", today.minusDays(1).toString()))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(get("/reports/throughput")
+                        .param("from", today.minusYears(2).toString())
+                        .param("to", today.toString()))
+                .andExpect(status().isBadRequest());
+    }
+
+    private TaskDto createBug(TaskStatus status) {
+        return taskService.createTask(CreateBugDto.builder()
+                .name("Reported Bug")
+                .severity(Bug.BugSeverity.LOW)
+                .priority(Bug.BugPriority.LOW)
+                .status(status)
+                .assignedUserId(user.getId())
+                .build());
+    }
+}
@@ -1,6 +1,8 @@
 package com.seneca.taskmanagement.api;
 
+import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.seneca.taskmanagement.config.JdbcStatementCounter;
 import com.seneca.taskmanagement.config.TestContainersConfig;
 import com.seneca.taskmanagement.domain.Bug;
 import com.seneca.taskmanagement.domain.Bug.BugPriority;
@@ -11,34 +13,46 @@ import com.seneca.taskmanagement.domain.TaskStatus;
 import com.seneca.taskmanagement.dto.BugDto;
 import com.seneca.taskmanagement.dto.FeatureDto;
 import com.seneca.taskmanagement.dto.TaskDto;
+import com.seneca.taskmanagement.dto.UpdateBugRequest;
 import com.seneca.taskmanagement.dto.UserDto;
 import com.seneca.taskmanagement.repository.TaskRepository;
 import com.seneca.taskmanagement.repository.UserRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
 import org.testcontainers.junit.jupiter.Testcontainers;
 
 import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 @SpringBootTest
 @AutoConfigureMockMvc
 @Testcontainers
 @ActiveProfiles("test")
+@Import(JdbcStatementCounter.class)
 public class TaskControllerIntegrationTest extends TestContainersConfig {
 
     @Autowired
@@ -53,6 +67,12 @@ public class TaskControllerIntegrationTest extends TestContainersConfig {
     @Autowired
     private UserRepository userRepository;
 
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private JdbcStatementCounter jdbcStatementCounter;
+
     private UserDto testUser;
     private BugDto testBugDto;
     private FeatureDto testFeatureDto;
@@ -346,6 +366,7 @@ public class TaskControllerIntegrationTest extends TestContainersConfig {
                 .andExpect(jsonPath("$.page").exists())
                 .andExpect(jsonPath("$.size").exists())
                 .andExpect(jsonPath("$.totalElements").value(2))
+                .andExpect(jsonPath("$.countMode").value("EXACT"))
                 .andExpect(jsonPath("$.totalPages").exists())
                 .andExpect(jsonPath("$.hasNext").exists())
                 .andExpect(jsonPath("$.hasPrevious").exists());
@@ -436,4 +457,751 @@ public class TaskControllerIntegrationTest extends TestContainersConfig {
             .andExpect(jsonPath("$.items[0].name").value("User 2 Bug"))
             .andExpect(jsonPath("$.items[0].assignedUserId").value(user2.getId().toString()));
     }
+
+    @Test
+    void shouldPageThroughTasksWithCursor() throws Exception {
+        // Given
+        TaskDto firstTask = createBugTask(testBugDto);
+        TaskDto secondTask = createFeatureTask(testFeatureDto);
+        TaskDto thirdTask = createBugTask(testBugDto);
+
+        // When - first page through offset mode hands out a cursor
+        MvcResult firstPage = mockMvc.perform(get("/tasks")
+                .param("size", "2"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.items.length()").value(2))
+            .andExpect(jsonPath("$.items[0].id").value(thirdTask.getId().toString()))
+            .andExpect(jsonPath("$.items[1].id").value(secondTask.getId().toString()))
+            .andExpect(jsonPath("$.nextCursor").exists())
+            .andReturn();
+        String cursor = objectMapper.readTree(firstPage.getResponse().getContentAsString()).get("nextCursor").asText();
+
+        // Then - following the cursor returns the remaining task and no further cursor
+        mockMvc.perform(get("/tasks")
+                .param("size", "2")
+                .param("cursor", cursor))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.items.length()").value(1))
+            .andExpect(jsonPath("$.items[0].id").value(firstTask.getId().toString()))
+            .andExpect(jsonPath("$.hasNext").value(false))
+            .andExpect(jsonPath("$.totalElements").doesNotExist())
+            .andExpect(jsonPath("$.nextCursor").doesNotExist());
+    }
+
+    @Test
+    void shouldIgnoreSortAndKeepPagingWithCursor() throws Exception {
+        // Given
+        TaskDto firstTask = createBugTask(testBugDto);
+        TaskDto secondTask = createFeatureTask(testFeatureDto);
+
+        // When - a custom sort still lists newest first and hands out a cursor
+        MvcResult firstPage = mockMvc.perform(get("/tasks")
+                .param("size", "1")
+                .param("sort", "name,asc"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.items[0].id").value(secondTask.getId().toString()))
+            .andExpect(jsonPath("$.nextCursor").exists())
+            .andReturn();
+        String cursor = objectMapper.readTree(firstPage.getResponse().getContentAsString()).get("nextCursor").asText();
+
+        // Then - the cursor continues in the same order, with or without the sort
+        mockMvc.perform(get("/tasks")
+                .param("size", "1")
+                .param("sort", "name,asc")
+                .param("cursor", cursor))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.items[0].id").value(firstTask.getId().toString()))
+            .andExpect(jsonPath("$.hasNext").value(false));
+    }
+
+    @Test
+    void shouldRejectMalformedCursor() throws Exception {
+        mockMvc.perform(get("/tasks")
+                .param("cursor", "not-a-cursor"))
+            .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void shouldListTasksWithoutCount() throws Exception {
+        // Given
+        createBugTask(testBugDto);
+        createFeatureTask(testFeatureDto);
+
+        // When & Then
+        mockMvc.perform(get("/tasks")
+                .param("size", "1")
+                .param("count", "NONE"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.items.length()").value(1))
+            .andExpect(jsonPath("$.hasNext").value(true))
+            .andExpect(jsonPath("$.countMode").value("NONE"))
+            .andExpect(jsonPath("$.totalElements").doesNotExist());
+    }
+
+    @Test
+    void shouldAcceptCountModeInAnyCase() throws Exception {
+        // Given
+        createBugTask(testBugDto);
+
+        // When & Then
+        mockMvc.perform(get("/tasks")
+                .param("count", "none"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.countMode").value("NONE"))
+            .andExpect(jsonPath("$.totalElements").doesNotExist());
+        mockMvc.perform(get("/tasks")
+                .param("count", "estimated"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.countMode").value("ESTIMATED"))
+            .andExpect(jsonPath("$.totalElements").value(1));
+        mockMvc.perform(get("/tasks")
+                .param("count", "exact"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.countMode").value("EXACT"))
+            .andExpect(jsonPath("$.totalElements").value(1));
+    }
+
+    @Test
+    void shouldRejectUnknownCountModeAndMistypedFilters() throws Exception {
+        mockMvc.perform(get("/tasks")
+                .param("count", "approximate"))
+            .andExpect(status().isBadRequest());
+        mockMvc.perform(get("/tasks")
+                .param("status", "NOT_A_STATUS"))
+            .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void shouldSearchTasksBySubstringOfName() throws Exception {
+        // Given
+        createBugTask(testBugDto);
+        createFeatureTask(testFeatureDto);
+
+        // When & Then - substring in the middle of a word, case-insensitive
+        mockMvc.perform(get("/tasks")
+                .param("searchTerm", "LOGI"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.items.length()").value(1))
+            .andExpect(jsonPath("$.items[0].name").value("Critical Login Bug"));
+
+        // When & Then - LIKE wildcards are matched literally
+        mockMvc.perform(get("/tasks")
+                .param("searchTerm", "%%%"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.items.length()").value(0));
+
+        // When & Then - too short to use the trigram index
+        mockMvc.perform(get("/tasks")
+                .param("searchTerm", "a"))
+            .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void shouldSearchTasksByTextFields() throws Exception {
+        // Given
+        testBugDto.setStepsToReproduce("Open the dashboard and press refresh twice");
+        TaskDto bugTask = createBugTask(testBugDto);
+        createFeatureTask(testFeatureDto);
+
+        // When & Then - matches bug-specific text and highlights the term
+        mockMvc.perform(get("/tasks/search")
+                .param("q", "dashboard"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.items.length()").value(1))
+            .andExpect(jsonPath("$.items[0].id").value(bugTask.getId().toString()))
+            .andExpect(jsonPath("$.items[0].taskType").value("BUG"))
+            .andExpect(jsonPath("$.items[0].snippet").value(org.hamcrest.Matchers.containsString("<mark>dashboard</mark>")))
+            .andExpect(jsonPath("$.items[0].description").doesNotExist());
+
+        // When & Then - matches the feature through its name and description
+        mockMvc.perform(get("/tasks/search")
+                .param("q", "oauth"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.items.length()").value(1))
+            .andExpect(jsonPath("$.items[0].name").value("Add OAuth Support"));
+    }
+
+    @Test
+    void shouldListTaskSummariesUnlessFullViewRequested() throws Exception {
+        // Given
+        createBugTask(testBugDto);
+
+        // When & Then - default view leaves out text and type-specific fields
+        mockMvc.perform(get("/tasks"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.items[0].name").value("Critical Login Bug"))
+            .andExpect(jsonPath("$.items[0].taskType").value("BUG"))
+            .andExpect(jsonPath("$.items[0].assignedUserId").value(testUser.getId().toString()))
+            .andExpect(jsonPath("$.items[0].description").doesNotExist())
+            .andExpect(jsonPath("$.items[0].severity").doesNotExist());
+
+        // When & Then - full view returns the complete bug payload
+        mockMvc.perform(get("/tasks")
+                .param("view", "FULL"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.items[0].description").value("Users unable to login"))
+            .andExpect(jsonPath("$.items[0].severity").value("HIGH"));
+
+        // When & Then - the view is matched ignoring case
+        mockMvc.perform(get("/tasks")
+                .param("view", "full"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.items[0].description").value("Users unable to login"));
+    }
+
+    @Test
+    void shouldRejectUnknownView() throws Exception {
+        mockMvc.perform(get("/tasks")
+                .param("view", "compact"))
+            .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void shouldCreateTaskWithTaskAndOutboxInsertsOnly() throws Exception {
+        // Given
+        jdbcStatementCounter.start();
+
+        // When
+        createBugTask(testBugDto);
+
+        // Then - the task INSERT and its outbox event, no assignee existence check or assignee load
+        assertEquals(2, jdbcStatementCounter.getCount());
+    }
+
+    @Test
+    void shouldRejectTaskForMissingOrDeletedAssignee() throws Exception {
+        // When & Then - unknown user is rejected by the foreign key
+        testBugDto.setAssignedUserId(UUID.randomUUID());
+        mockMvc.perform(post("/tasks")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(testBugDto)))
+            .andExpect(status().isNotFound());
+
+        // When & Then - soft-deleted user is rejected by the assignee trigger
+        mockMvc.perform(delete("/users/{id}", testUser.getId()))
+            .andExpect(status().isNoContent());
+        testBugDto.setAssignedUserId(testUser.getId());
+        mockMvc.perform(post("/tasks")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(testBugDto)))
+            .andExpect(status().isNotFound());
+    }
+
+    @Test
+    void shouldCreateTasksInBatchWithPerItemResults() throws Exception {
+        // Given
+        BugDto orphanBug = BugDto.builder()
+                .name("Orphan Bug")
+                .assignedUserId(UUID.randomUUID())
+                .severity(BugSeverity.LOW)
+                .priority(BugPriority.LOW)
+                .build();
+        jdbcStatementCounter.start();
+
+        // When & Then
+        mockMvc.perform(post("/tasks/batch")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(List.of(testBugDto, testFeatureDto, orphanBug))))
+            .andExpect(status().isMultiStatus())
+            .andExpect(jsonPath("$.created").value(2))
+            .andExpect(jsonPath("$.failed").value(1))
+            .andExpect(jsonPath("$.results[0].outcome").value("CREATED"))
+            .andExpect(jsonPath("$.results[0].task.taskType").value("BUG"))
+            .andExpect(jsonPath("$.results[1].task.taskType").value("FEATURE"))
+            .andExpect(jsonPath("$.results[2].outcome").value("FAILED"))
+            .andExpect(jsonPath("$.results[2].status").value(404));
+
+        // One assignee IN query, one batched INSERT per task type and one batch of outbox events
+        assertEquals(4, jdbcStatementCounter.getCount());
+        assertEquals(2, taskRepository.count());
+    }
+
+    @Test
+    void shouldBulkUpdateTasksByFilterAndIds() throws Exception {
+        // Given
+        TaskDto bug = createBugTask(testBugDto);
+        createBugTask(testBugDto);
+        createFeatureTask(testFeatureDto);
+
+        // When & Then - filter selection moves every open task of the user to DONE
+        mockMvc.perform(patch("/tasks/bulk")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("""
+                        {"filter": {"userId": "%s", "status": "OPEN"}, "changes": {"status": "DONE"}}
+                        """.formatted(testUser.getId())))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.affected").value(3));
+
+        mockMvc.perform(get("/tasks/{id}", bug.getId()))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.status").value("DONE"));
+
+        // When & Then - tasks already DONE are not counted again, unknown IDs are reported
+        UUID unknownId = UUID.randomUUID();
+        mockMvc.perform(patch("/tasks/bulk")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("""
+                        {"ids": ["%s", "%s"], "changes": {"status": "DONE"}}
+                        """.formatted(bug.getId(), unknownId)))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.affected").value(0))
+            .andExpect(jsonPath("$.unaffectedIds.length()").value(2));
+
+        // When & Then - a missing assignee rejects the update
+        mockMvc.perform(patch("/tasks/bulk")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("""
+                        {"ids": ["%s"], "changes": {"assignedUserId": "%s"}}
+                        """.formatted(bug.getId(), UUID.randomUUID())))
+            .andExpect(status().isNotFound());
+    }
+
+    @Test
+    void shouldBulkDeleteAndRestoreTasks() throws Exception {
+        // Given
+        TaskDto bug = createBugTask(testBugDto);
+        TaskDto feature = createFeatureTask(testFeatureDto);
+
+        // When & Then - delete by filter
+        mockMvc.perform(post("/tasks/bulk/delete")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("""
+                        {"filter": {"userId": "%s"}}
+                        """.formatted(testUser.getId())))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.affected").value(2));
+
+        mockMvc.perform(get("/tasks/{id}", bug.getId()))
+            .andExpect(status().isNotFound());
+
+        // When & Then - restore one of them by ID
+        mockMvc.perform(post("/tasks/bulk/restore")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("""
+                        {"ids": ["%s"]}
+                        """.formatted(feature.getId())))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.affected").value(1));
+
+        mockMvc.perform(get("/tasks/{id}", feature.getId()))
+            .andExpect(status().isOk());
+        mockMvc.perform(get("/tasks/{id}", bug.getId()))
+            .andExpect(status().isNotFound());
+    }
+
+    @Test
+    void shouldRevalidateTaskWithETagWithoutLoadingIt() throws Exception {
+        // Given
+        TaskDto createdTask = createBugTask(testBugDto);
+        String eTag = mockMvc.perform(get("/tasks/{id}", createdTask.getId()))
+            .andExpect(status().isOk())
+            .andExpect(header().string(HttpHeaders.ETAG, "\"0\""))
+            .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        jdbcStatementCounter.start();
+
+        // When & Then - unchanged task is answered from the version column alone
+        mockMvc.perform(get("/tasks/{id}", createdTask.getId())
+                .header(HttpHeaders.IF_NONE_MATCH, eTag))
+            .andExpect(status().isNotModified())
+            .andExpect(header().string(HttpHeaders.ETAG, eTag));
+        assertEquals(1, jdbcStatementCounter.getCount());
+        assertEquals(0, statistics.getEntityLoadCount());
+
+        // When & Then - stale ETag gets the full task
+        mockMvc.perform(get("/tasks/{id}", createdTask.getId())
+                .header(HttpHeaders.IF_NONE_MATCH, "\"41\""))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.version").value(0));
+    }
+
+    @Test
+    void shouldRejectUpdateWithStaleIfMatch() throws Exception {
+        // Given
+        TaskDto createdTask = createBugTask(testBugDto);
+        testBugDto.setDescription("Users unable to login with SSO");
+
+        // When & Then - matching ETag updates and returns the next one
+        mockMvc.perform(put("/tasks/{id}", createdTask.getId())
+                .header(HttpHeaders.IF_MATCH, "\"0\"")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(testBugDto)))
+            .andExpect(status().isOk())
+            .andExpect(header().string(HttpHeaders.ETAG, "\"1\""))
+            .andExpect(jsonPath("$.version").value(1));
+
+        // When & Then - the ETag the client read before that update no longer matches
+        testBugDto.setDescription("Lost update");
+        mockMvc.perform(put("/tasks/{id}", createdTask.getId())
+                .header(HttpHeaders.IF_MATCH, "\"0\"")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(testBugDto)))
+            .andExpect(status().isPreconditionFailed());
+
+        Bug savedBug = (Bug) taskRepository.findById(createdTask.getId()).orElseThrow();
+        assertEquals("Users unable to login with SSO", savedBug.getDescription());
+        assertEquals(1L, savedBug.getVersion());
+    }
+
+    @Test
+    void shouldBumpVersionOnBulkUpdate() throws Exception {
+        // Given
+        TaskDto createdTask = createBugTask(testBugDto);
+
+        // When
+        mockMvc.perform(patch("/tasks/bulk")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("""
+                        {"ids": ["%s"], "changes": {"status": "DONE"}}
+                        """.formatted(createdTask.getId())))
+            .andExpect(status().isOk());
+
+        // Then - cached copies are invalidated by the bulk change too
+        mockMvc.perform(get("/tasks/{id}", createdTask.getId())
+                .header(HttpHeaders.IF_NONE_MATCH, "\"0\""))
+            .andExpect(status().isOk())
+            .andExpect(header().string(HttpHeaders.ETAG, "\"1\""));
+    }
+
+    @Test
+    void shouldRejectDeletedAssigneeAfterItWasCached() throws Exception {
+        // Given - a second user, looked up once so it sits in the user cache
+        UserDto otherUser = createTestUser("otheruser_" + UUID.randomUUID().toString().substring(0, 8));
+        TaskDto createdTask = createBugTask(testBugDto);
+        mockMvc.perform(get("/tasks").param("userId", otherUser.getId().toString()))
+            .andExpect(status().isOk());
+
+        // When
+        mockMvc.perform(delete("/users/{id}", otherUser.getId()))
+            .andExpect(status().isNoContent());
+
+        // Then
+        testBugDto.setAssignedUserId(otherUser.getId());
+        mockMvc.perform(put("/tasks/{id}", createdTask.getId())
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(testBugDto)))
+            .andExpect(status().isNotFound());
+        mockMvc.perform(get("/tasks").param("userId", otherUser.getId().toString()))
+            .andExpect(status().isNotFound());
+        mockMvc.perform(get("/actuator/metrics/cache.gets").param("tag", "cache:users"))
+            .andExpect(status().isOk());
+    }
+
+    @Test
+    void shouldExportFilteredTasksAsCsv() throws Exception {
+        // Given
+        testBugDto.setDescription("Fails with \"invalid token\", then hangs");
+        TaskDto createdTask = createBugTask(testBugDto);
+
+        // When
+        MvcResult result = mockMvc.perform(get("/tasks/export")
+                .param("userId", testUser.getId().toString())
+                .param("format", "CSV"))
+            .andExpect(status().isOk())
+            .andExpect(header().string(HttpHeaders.CONTENT_TYPE, "text/csv;charset=UTF-8"))
+            .andExpect(header().string(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"tasks.csv\""))
+            .andReturn();
+
+        // Then - one header line and the user's only task, quoted where needed
+        String[] lines = result.getResponse().getContentAsString().split("\r\n");
+        assertEquals(2, lines.length);
+        assertTrue(lines[0].startsWith("id,taskType,name,description,status"));
+        assertTrue(lines[1].startsWith(createdTask.getId() + ",BUG,Critical Login Bug,"
+                + "\"Fails with \"\"invalid token\"\", then hangs\",OPEN,"));
+    }
+
+    @Test
+    void shouldRejectExportForUnknownUser() throws Exception {
+        mockMvc.perform(get("/tasks/export").param("userId", UUID.randomUUID().toString()))
+            .andExpect(status().isNotFound());
+    }
+
+    @Test
+    void shouldReturnFacetCountsForFilteredTasks() throws Exception {
+        // Given - two bugs and a feature for the test user
+        createBugTask(testBugDto);
+        testBugDto.setName("Second Login Bug");
+        createBugTask(testBugDto);
+        createFeatureTask(testFeatureDto);
+
+        // When & Then - counts cover all matching tasks, not just the one on the page
+        mockMvc.perform(get("/tasks")
+                .param("userId", testUser.getId().toString())
+                .param("facets", "status,taskType,assignee")
+                .param("size", "1"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.items.length()").value(1))
+            .andExpect(jsonPath("$.facets.status[0].value").value("OPEN"))
+            .andExpect(jsonPath("$.facets.status[0].count").value(3))
+            .andExpect(jsonPath("$.facets.taskType[0].value").value("BUG"))
+            .andExpect(jsonPath("$.facets.taskType[0].count").value(2))
+            .andExpect(jsonPath("$.facets.taskType[1].value").value("FEATURE"))
+            .andExpect(jsonPath("$.facets.assignee[0].value").value(testUser.getId().toString()))
+            .andExpect(jsonPath("$.facets.assignee[0].count").value(3));
+    }
+
+    @Test
+    void shouldRejectFeatureWithPastDeadline() throws Exception {
+        testFeatureDto.setDeadline(LocalDate.now().minusDays(1));
+
+        mockMvc.perform(post("/tasks")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(testFeatureDto)))
+            .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void shouldReturnSingleFacet() throws Exception {
+        createBugTask(testBugDto);
+        createFeatureTask(testFeatureDto);
+
+        mockMvc.perform(get("/tasks")
+                .param("userId", testUser.getId().toString())
+                .param("facets", "status"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.facets.status.length()").value(1))
+            .andExpect(jsonPath("$.facets.status[0].value").value("OPEN"))
+            .andExpect(jsonPath("$.facets.status[0].count").value(2))
+            .andExpect(jsonPath("$.facets.taskType").doesNotExist())
+            .andExpect(jsonPath("$.facets.assignee").doesNotExist());
+    }
+
+    @Test
+    void shouldReturnTwoFacets() throws Exception {
+        createBugTask(testBugDto);
+        testBugDto.setName("Second Login Bug");
+        createBugTask(testBugDto);
+        createFeatureTask(testFeatureDto);
+
+        mockMvc.perform(get("/tasks")
+                .param("userId", testUser.getId().toString())
+                .param("facets", "taskType,assignee"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.facets.taskType[0].value").value("BUG"))
+            .andExpect(jsonPath("$.facets.taskType[0].count").value(2))
+            .andExpect(jsonPath("$.facets.taskType[1].value").value("FEATURE"))
+            .andExpect(jsonPath("$.facets.taskType[1].count").value(1))
+            .andExpect(jsonPath("$.facets.assignee.length()").value(1))
+            .andExpect(jsonPath("$.facets.assignee[0].value").value(testUser.getId().toString()))
+            .andExpect(jsonPath("$.facets.assignee[0].count").value(3))
+            .andExpect(jsonPath("$.facets.status").doesNotExist());
+    }
+
+    @Test
+    void shouldOmitFacetsUnlessRequestedAndRejectUnknownOnes() throws Exception {
+        mockMvc.perform(get("/tasks"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.facets").doesNotExist());
+        mockMvc.perform(get("/tasks").param("facets", "priority"))
+            .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void shouldRecordTaskHistoryAndPageThroughIt() throws Exception {
+        TaskDto createdTask = createBugTask(testBugDto);
+        UpdateBugRequest update = new UpdateBugRequest();
+        update.setStatus(TaskStatus.IN_PROGRESS);
+        mockMvc.perform(put("/tasks/{id}", createdTask.getId())
+                .header("X-Request-ID", "history-test")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(update)))
+                .andExpect(status().isOk());
+        mockMvc.perform(delete("/tasks/{id}", createdTask.getId()))
+                .andExpect(status().isNoContent());
+
+        // Entries are written behind the requests
+        long start = System.nanoTime();
+        while (historySize(createdTask.getId()) < 3) {
+            assertTrue((System.nanoTime() - start) / 1_000_000 < 5_000, "Audit entries were not written in time");
+            Thread.sleep(20);
+        }
+
+        MvcResult firstPage = mockMvc.perform(get("/tasks/{id}/history", createdTask.getId()).param("size", "2"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content.length()").value(2))
+                .andExpect(jsonPath("$.content[0].action").value("DELETED"))
+                .andExpect(jsonPath("$.content[0].changes.deleted.to").value(true))
+                .andExpect(jsonPath("$.content[1].action").value("UPDATED"))
+                .andExpect(jsonPath("$.content[1].changes.status.from").value("OPEN"))
+                .andExpect(jsonPath("$.content[1].changes.status.to").value("IN_PROGRESS"))
+                .andExpect(jsonPath("$.content[1].changes.name").doesNotExist())
+                .andExpect(jsonPath("$.content[1].requestId").value("history-test"))
+                .andReturn();
+        String nextCursor = objectMapper.readTree(firstPage.getResponse().getContentAsString()).get("nextCursor").asText();
+
+        mockMvc.perform(get("/tasks/{id}/history", createdTask.getId()).param("size", "2").param("cursor", nextCursor))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content.length()").value(1))
+                .andExpect(jsonPath("$.content[0].action").value("CREATED"))
+                .andExpect(jsonPath("$.content[0].changes.name.to").value("Critical Login Bug"))
+                .andExpect(jsonPath("$.nextCursor").doesNotExist());
+    }
+
+    @Test
+    void shouldRecordHistoryOfBatchBulkAndImportWrites() throws Exception {
+        // Given
+        MvcResult batch = mockMvc.perform(post("/tasks/batch")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(List.of(testBugDto))))
+            .andExpect(status().isCreated())
+            .andReturn();
+        String taskId = objectMapper.readTree(batch.getResponse().getContentAsString())
+                .get("results").get(0).get("task").get("id").asText();
+        // The batch create's entry is written behind the request, the bulk writes' in their statements
+        long start = System.nanoTime();
+        while (historySize(UUID.fromString(taskId)) < 1) {
+            assertTrue((System.nanoTime() - start) / 1_000_000 < 5_000, "Audit entry was not written in time");
+            Thread.sleep(20);
+        }
+        String selection = "{\"ids\": [\"" + taskId + "\"]}";
+        mockMvc.perform(patch("/tasks/bulk")
+                .header("X-Request-ID", "bulk-history")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"ids\": [\"" + taskId + "\"], \"changes\": {\"status\": \"DONE\"}}"))
+            .andExpect(status().isOk());
+        mockMvc.perform(post("/tasks/bulk/delete").contentType(MediaType.APPLICATION_JSON).content(selection))
+            .andExpect(status().isOk());
+        mockMvc.perform(post("/tasks/bulk/restore").contentType(MediaType.APPLICATION_JSON).content(selection))
+            .andExpect(status().isOk());
+        UUID importedId = UUID.randomUUID();
+        mockMvc.perform(post("/tasks/import")
+                .header("X-Request-ID", "import-history")
+                .contentType("application/x-ndjson")
+                .content("{\"id\":\"" + importedId + "\",\"taskType\":\"BUG\",\"name\":\"Imported Bug\","
+                        + "\"severity\":\"LOW\",\"priority\":\"LOW\"}\n"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.imported").value(1));
+
+        // Then
+        mockMvc.perform(get("/tasks/{id}/history", taskId))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.content.length()").value(4))
+            .andExpect(jsonPath("$.content[0].action").value("UPDATED"))
+            .andExpect(jsonPath("$.content[0].changes.deleted.from").value(true))
+            .andExpect(jsonPath("$.content[0].changes.deleted.to").value(false))
+            .andExpect(jsonPath("$.content[1].action").value("DELETED"))
+            .andExpect(jsonPath("$.content[2].action").value("UPDATED"))
+            .andExpect(jsonPath("$.content[2].changes.status.from").value("OPEN"))
+            .andExpect(jsonPath("$.content[2].changes.status.to").value("DONE"))
+            .andExpect(jsonPath("$.content[2].changes.description").doesNotExist())
+            .andExpect(jsonPath("$.content[2].requestId").value("bulk-history"))
+            .andExpect(jsonPath("$.content[3].action").value("CREATED"))
+            .andExpect(jsonPath("$.content[3].changes.name.to").value("Critical Login Bug"));
+        mockMvc.perform(get("/tasks/{id}/history", importedId))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.content.length()").value(1))
+            .andExpect(jsonPath("$.content[0].action").value("CREATED"))
+            .andExpect(jsonPath("$.content[0].version").value(0))
+            .andExpect(jsonPath("$.content[0].requestId").value("import-history"))
+            .andExpect(jsonPath("$.content[0].changes.name.to").value("Imported Bug"))
+            .andExpect(jsonPath("$.content[0].changes.status.to").value("OPEN"))
+            .andExpect(jsonPath("$.content[0].changes.id").doesNotExist())
+            .andExpect(jsonPath("$.content[0].changes.createdAt").doesNotExist());
+    }
+
+    @Test
+    void shouldRejectHistoryOfUnknownTask() throws Exception {
+        mockMvc.perform(get("/tasks/{id}/history", UUID.randomUUID()))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    void shouldFeedChangesSinceCursorWithTombstones() throws Exception {
+        String cursor = drainChanges(null);
+        TaskDto updatedTask = createBugTask(testBugDto);
+        TaskDto deletedTask = createBugTask(testBugDto);
+        UpdateBugRequest update = new UpdateBugRequest();
+        update.setStatus(TaskStatus.IN_PROGRESS);
+        mockMvc.perform(put("/tasks/{id}", updatedTask.getId())
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(update)))
+                .andExpect(status().isOk());
+        mockMvc.perform(delete("/tasks/{id}", deletedTask.getId()))
+                .andExpect(status().isNoContent());
+
+        // One change per page; a change shows once the transactions before it have ended
+        List<JsonNode> changes = new ArrayList<>();
+        long start = System.nanoTime();
+        while (changes.size() < 2) {
+            assertTrue((System.nanoTime() - start) / 1_000_000 < 5_000, "Changes did not appear in time");
+            JsonNode feed = changes(cursor, 1, 0);
+            feed.get("changes").forEach(changes::add);
+            assertTrue(feed.get("changes").size() <= 1);
+            cursor = feed.get("nextCursor").asText();
+        }
+
+        // Each task once, in the order of its last change, with its current state
+        assertEquals(updatedTask.getId().toString(), changes.get(0).get("id").asText());
+        assertFalse(changes.get(0).get("deleted").asBoolean());
+        assertEquals("IN_PROGRESS", changes.get(0).get("task").get("status").asText());
+        assertEquals(deletedTask.getId().toString(), changes.get(1).get("id").asText());
+        assertTrue(changes.get(1).get("deleted").asBoolean());
+        assertNull(changes.get(1).get("task"));
+        assertTrue(changes.get(0).get("sequence").asLong() < changes.get(1).get("sequence").asLong());
+        assertTrue(changes(cursor, 10, 0).get("changes").isEmpty());
+    }
+
+    @Test
+    void shouldHoldChangeRequestUntilATaskChanges() throws Exception {
+        String cursor = drainChanges(null);
+        MvcResult waiting = mockMvc.perform(get("/tasks/changes").param("since", cursor).param("wait", "20"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        // Nothing changed yet, so the request is still held
+        assertThrows(IllegalStateException.class, () -> waiting.getAsyncResult(100));
+
+        TaskDto createdTask = createBugTask(testBugDto);
+
+        MvcResult result = mockMvc.perform(asyncDispatch(waiting))
+                .andExpect(status().isOk())
+                .andReturn();
+        JsonNode feed = objectMapper.readTree(result.getResponse().getContentAsString());
+        List<String> ids = new ArrayList<>();
+        feed.get("changes").forEach(change -> ids.add(change.get("id").asText()));
+        assertTrue(ids.contains(createdTask.getId().toString()));
+    }
+
+    @Test
+    void shouldRejectInvalidChangeCursorAndNegativeWait() throws Exception {
+        mockMvc.perform(get("/tasks/changes").param("since", "not-a-cursor"))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(get("/tasks/changes").param("wait", "-1"))
+                .andExpect(status().isBadRequest());
+    }
+
+    /**
+     * @return cursor past every change visible now
+     */
+    private String drainChanges(String since) throws Exception {
+        JsonNode feed = changes(since, 100, 0);
+        while (feed.get("hasMore").asBoolean()) {
+            feed = changes(feed.get("nextCursor").asText(), 100, 0);
+        }
+        return feed.get("nextCursor").asText();
+    }
+
+    private JsonNode changes(String since, int size, long wait) throws Exception {
+        MockHttpServletRequestBuilder builder = get("/tasks/changes")
+                .param("size", String.valueOf(size))
+                .param("wait", String.valueOf(wait));
+        if (since != null) {
+            builder.param("since", since);
+        }
+        MvcResult started = mockMvc.perform(builder)
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        MvcResult result = mockMvc.perform(asyncDispatch(started))
+                .andExpect(status().isOk())
+                .andReturn();
+        return objectMapper.readTree(result.getResponse().getContentAsString());
+    }
+
+    private int historySize(UUID taskId) throws Exception {
+        MvcResult result = mockMvc.perform(get("/tasks/{id}/history", taskId))
+                .andExpect(status().isOk())
+                .andReturn();
+        return objectMapper.readTree(result.getResponse().getContentAsString()).get("content").size();
+    }
 }
@@ -1,6 +1,7 @@
 package com.seneca.taskmanagement.api;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.seneca.taskmanagement.config.JdbcStatementCounter;
 import com.seneca.taskmanagement.config.TestContainersConfig;
 import com.seneca.taskmanagement.dto.UserDto;
 import com.seneca.taskmanagement.repository.UserRepository;
@@ -10,6 +11,7 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
 import org.springframework.http.MediaType;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.web.servlet.MockMvc;
@@ -18,6 +20,7 @@ import org.testcontainers.junit.jupiter.Testcontainers;
 
 import java.util.UUID;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
@@ -27,6 +30,7 @@ import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.
 @AutoConfigureMockMvc
 @Testcontainers
 @ActiveProfiles("test")
+@Import(JdbcStatementCounter.class)
 public class UserControllerIntegrationTest extends TestContainersConfig {
 
     @Autowired
@@ -38,6 +42,9 @@ public class UserControllerIntegrationTest extends TestContainersConfig {
     @Autowired
     private UserRepository userRepository;
 
+    @Autowired
+    private JdbcStatementCounter jdbcStatementCounter;
+
     @AfterEach
     public void cleanUp() {
         userRepository.deleteAll();
@@ -103,4 +110,85 @@ public class UserControllerIntegrationTest extends TestContainersConfig {
         mockMvc.perform(get("/users/{id}", userId))
                 .andExpect(status().isNotFound());
     }
+
+    @Test
+    void shouldCreateUserWithUserAndOutboxInsertsOnly() throws Exception {
+        // Given
+        jdbcStatementCounter.start();
+        UserDto userDto = UserDto.builder()
+                .username("single_" + UUID.randomUUID().toString().substring(0, 8))
+                .fullName("Single Statement")
+                .build();
+
+        // When
+        mockMvc.perform(post("/users")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(userDto)))
+                .andExpect(status().isCreated());
+
+        // Then - the user INSERT and its outbox event, the unique constraint replaces the username pre-check
+        assertEquals(2, jdbcStatementCounter.getCount());
+    }
+
+    @Test
+    void shouldRejectDuplicateUsernameIncludingDeletedUsers() throws Exception {
+        // Given
+        UserDto userDto = UserDto.builder()
+                .username("dup_" + UUID.randomUUID().toString().substring(0, 8))
+                .fullName("Duplicate User")
+                .build();
+        MvcResult createResult = mockMvc.perform(post("/users")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(userDto)))
+                .andExpect(status().isCreated())
+                .andReturn();
+        UUID userId = objectMapper.readValue(createResult.getResponse().getContentAsString(), UserDto.class).getId();
+
+        // When & Then - active duplicate
+        mockMvc.perform(post("/users")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(userDto)))
+                .andExpect(status().isConflict());
+
+        // When & Then - duplicate of a soft-deleted user
+        mockMvc.perform(delete("/users/{id}", userId))
+                .andExpect(status().isNoContent());
+        mockMvc.perform(post("/users")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(userDto)))
+                .andExpect(status().isConflict());
+    }
+
+    @Test
+    void shouldReturnTaskStatsOfUsers() throws Exception {
+        // Given - a user without tasks
+        UserDto userDto = UserDto.builder()
+                .username("stats_" + UUID.randomUUID().toString().substring(0, 8))
+                .fullName("Stats User")
+                .build();
+        MvcResult createResult = mockMvc.perform(post("/users")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(userDto)))
+                .andExpect(status().isCreated())
+                .andReturn();
+        UUID userId = objectMapper.readValue(createResult.getResponse().getContentAsString(), UserDto.class).getId();
+
+        // When & Then - single user
+        mockMvc.perform(get("/users/{id}/stats", userId))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.userId").value(userId.toString()))
+                .andExpect(jsonPath("$.open").value(0))
+                .andExpect(jsonPath("$.total").value(0));
+        mockMvc.perform(get("/users/{id}/stats", UUID.randomUUID()))
+                .andExpect(status().isNotFound());
+
+        // When & Then - stats are only attached to the list on request
+        mockMvc.perform(get("/users").param("withStats", "true"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items[0].taskStats.userId").value(userId.toString()))
+                .andExpect(jsonPath("$.items[0].taskStats.done").value(0));
+        mockMvc.perform(get("/users"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items[0].taskStats").doesNotExist());
+    }
 }
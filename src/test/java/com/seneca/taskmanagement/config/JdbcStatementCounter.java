@@ -0,0 +1,78 @@
+package com.seneca.taskmanagement.config;
+
+import org.springframework.beans.factory.config.BeanPostProcessor;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Counts the statements prepared on the application datasource, whichever API issued them:
+ * Hibernate statistics miss the JdbcTemplate statements. A JDBC batch counts once. Only the
+ * thread that called {@link #start()} is counted, so background writers and relays do not
+ * disturb a budget. Enable with {@code @Import(JdbcStatementCounter.class)}.
+ */
+public class JdbcStatementCounter implements BeanPostProcessor {
+
+    private static final Set<String> STATEMENT_METHODS = Set.of("prepareStatement", "prepareCall", "createStatement");
+
+    private final AtomicLong count = new AtomicLong();
+    private volatile Thread countedThread;
+
+    /**
+     * Reset the count and count the statements of the calling thread from now on
+     */
+    public void start() {
+        count.set(0);
+        countedThread = Thread.currentThread();
+    }
+
+    /**
+     * @return statements prepared by the counted thread since {@link #start()}
+     */
+    public long getCount() {
+        return count.get();
+    }
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) {
+        // The @Primary routing proxy that JPA, JdbcTemplate and Flyway use
+        if ("dataSource".equals(beanName) && bean instanceof DataSource dataSource) {
+            return proxy(DataSource.class, dataSource, (target, method, args) -> {
+                Object result = invoke(target, method, args);
+                return result instanceof Connection connection ? proxy(Connection.class, connection, this::onConnection) : result;
+            });
+        }
+        return bean;
+    }
+
+    private Object onConnection(Object target, Method method, Object[] args) throws Throwable {
+        if (STATEMENT_METHODS.contains(method.getName()) && Thread.currentThread() == countedThread) {
+            count.incrementAndGet();
+        }
+        return invoke(target, method, args);
+    }
+
+    private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+
+    private static <T> T proxy(Class<T> type, T target, TargetHandler handler) {
+        InvocationHandler invocationHandler = (proxy, method, args) -> handler.invoke(target, method, args);
+        return type.cast(Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type}, invocationHandler));
+    }
+
+    @FunctionalInterface
+    private interface TargetHandler {
+        Object invoke(Object target, Method method, Object[] args) throws Throwable;
+    }
+}
@@ -0,0 +1,202 @@
+package com.seneca.taskmanagement.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.seneca.taskmanagement.domain.Bug;
+import com.seneca.taskmanagement.domain.TaskStatus;
+import com.seneca.taskmanagement.dto.BugDto;
+import com.seneca.taskmanagement.dto.UserDto;
+import jakarta.servlet.http.Cookie;
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.hamcrest.Matchers.hasItem;
+import static org.hamcrest.Matchers.not;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.cookie;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Uses two databases of the test container as primary and replica. They are not replicated,
+ * so whether a row is visible tells which one served a request.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@Testcontainers
+@ActiveProfiles("test")
+public class ReplicaRoutingIntegrationTest extends TestContainersConfig {
+
+    private static final String REPLICA_URL = postgres.getJdbcUrl().replace("/testdb", "/replicadb");
+
+    static {
+        try (Connection connection = DriverManager.getConnection(postgres.getJdbcUrl(), postgres.getUsername(), postgres.getPassword());
+             Statement statement = connection.createStatement()) {
+            statement.execute("CREATE DATABASE replicadb");
+        } catch (SQLException e) {
+            throw new IllegalStateException("Could not create the replica database", e);
+        }
+        Flyway.configure()
+                .dataSource(REPLICA_URL, postgres.getUsername(), postgres.getPassword())
+                .locations("classpath:db/migration")
+                .configuration(Map.of("flyway.postgresql.transactional.lock", "false"))
+                .load()
+                .migrate();
+    }
+
+    @DynamicPropertySource
+    static void registerReplicaProperties(DynamicPropertyRegistry registry) {
+        registry.add("task-management.datasource.replicas[0].url", () -> REPLICA_URL);
+        // Never reachable, must stay out of rotation
+        registry.add("task-management.datasource.replicas[1].url",
+                () -> postgres.getJdbcUrl().replace("/testdb", "/missingdb"));
+        registry.add("task-management.datasource.read-your-writes-window", () -> "1m");
+    }
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private ReplicaRoutingDataSource replicaRoutingDataSource;
+
+    private JdbcTemplate replicaJdbcTemplate;
+
+    @BeforeEach
+    void setUp() {
+        replicaJdbcTemplate = new JdbcTemplate(
+                new DriverManagerDataSource(REPLICA_URL, postgres.getUsername(), postgres.getPassword()));
+    }
+
+    @Test
+    void unreachableReplicaIsOutOfRotation() {
+        replicaRoutingDataSource.checkReplicas();
+        assertEquals(1, replicaRoutingDataSource.getHealthyReplicaCount());
+    }
+
+    @Test
+    void readsAreServedByReplica() throws Exception {
+        // Given - a user that exists on the replica only
+        UUID userId = UUID.randomUUID();
+        replicaJdbcTemplate.update("INSERT INTO users (id, username, full_name) VALUES (?, ?, ?)",
+                userId, "replica_" + userId.toString().substring(0, 8), "Replica Only");
+
+        // When & Then - every read lands on the healthy replica, never on the unreachable one
+        for (int i = 0; i < 4; i++) {
+            mockMvc.perform(get("/users").param("size", "1000"))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.items[*].id", hasItem(userId.toString())));
+        }
+    }
+
+    @Test
+    void userLookupsNeverCacheReplicaRows() throws Exception {
+        // Given - a user that exists on the replica only, and one the replica has an outdated copy of
+        UUID replicaOnlyId = UUID.randomUUID();
+        replicaJdbcTemplate.update("INSERT INTO users (id, username, full_name) VALUES (?, ?, ?)",
+                replicaOnlyId, "replica_" + replicaOnlyId.toString().substring(0, 8), "Replica Only");
+        UserDto user = createUser("lagging_" + UUID.randomUUID().toString().substring(0, 8));
+        replicaJdbcTemplate.update("INSERT INTO users (id, username, full_name) VALUES (?, ?, ?)",
+                user.getId(), user.getUsername(), "Outdated Replica Copy");
+
+        // When & Then - lookups miss the cache and read the primary, so the replica rows are never cached
+        for (int i = 0; i < 2; i++) {
+            mockMvc.perform(get("/users/{id}", replicaOnlyId))
+                    .andExpect(status().isNotFound());
+            mockMvc.perform(get("/users/{id}", user.getId()))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.fullName").value("Primary And Replica"));
+        }
+    }
+
+    @Test
+    void clientReadsItsOwnWritesFromPrimary() throws Exception {
+        // Given - a write goes to the primary and starts the read-your-writes window
+        UserDto userDto = UserDto.builder()
+                .username("primary_" + UUID.randomUUID().toString().substring(0, 8))
+                .fullName("Primary Only")
+                .build();
+        MvcResult createResult = mockMvc.perform(post("/users")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(userDto)))
+                .andExpect(status().isCreated())
+                .andExpect(cookie().exists(ReadYourWritesFilter.PRIMARY_UNTIL_COOKIE))
+                .andReturn();
+        UUID userId = objectMapper.readValue(createResult.getResponse().getContentAsString(), UserDto.class).getId();
+        Cookie primaryUntil = createResult.getResponse().getCookie(ReadYourWritesFilter.PRIMARY_UNTIL_COOKIE);
+        assertNotNull(primaryUntil);
+
+        // When & Then - the writer reads from the primary
+        mockMvc.perform(get("/users").param("size", "1000").cookie(primaryUntil))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items[*].id", hasItem(userId.toString())));
+
+        // When & Then - other clients read from the replica, which never received the row
+        mockMvc.perform(get("/users").param("size", "1000"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items[*].id", not(hasItem(userId.toString()))));
+    }
+
+    @Test
+    void taskListOfValidatedUserIsReadFromPrimary() throws Exception {
+        // Given - a user on both databases, whose task exists on the primary only
+        UserDto user = createUser("lister_" + UUID.randomUUID().toString().substring(0, 8));
+        replicaJdbcTemplate.update("INSERT INTO users (id, username, full_name) VALUES (?, ?, ?)",
+                user.getId(), user.getUsername(), user.getFullName());
+        BugDto bugDto = BugDto.builder()
+                .name("Primary Only Bug")
+                .description("Not on the replica")
+                .assignedUserId(user.getId())
+                .severity(Bug.BugSeverity.LOW)
+                .priority(Bug.BugPriority.LOW)
+                .status(TaskStatus.OPEN)
+                .build();
+        mockMvc.perform(post("/tasks")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(bugDto)))
+                .andExpect(status().isCreated());
+
+        // When & Then - the user lookup misses its cache, yet does not pin the list to the replica
+        mockMvc.perform(get("/tasks").param("userId", user.getId().toString()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items.length()").value(1))
+                .andExpect(jsonPath("$.items[0].name").value("Primary Only Bug"));
+    }
+
+    private UserDto createUser(String username) throws Exception {
+        UserDto userDto = UserDto.builder()
+                .username(username)
+                .fullName("Primary And Replica")
+                .build();
+        MvcResult result = mockMvc.perform(post("/users")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(userDto)))
+                .andExpect(status().isCreated())
+                .andReturn();
+        return objectMapper.readValue(result.getResponse().getContentAsString(), UserDto.class);
+    }
+}
@@ -0,0 +1,109 @@
+package com.seneca.taskmanagement.repository;
+
+import com.seneca.taskmanagement.config.TestContainersConfig;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Transactional;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.util.UUID;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Verifies that every userId/status filter combination of the task list query is served
+ * by the partial composite indexes rather than a sequential scan, and in index order
+ * wherever the index covers the ordering. Also checks that full-text search matches the
+ * expression of its index.
+ */
+@SpringBootTest
+@Testcontainers
+@ActiveProfiles("test")
+@Transactional // Rolls back the generated rows and the statistics gathered for them
+public class TaskIndexPlanIntegrationTest extends TestContainersConfig {
+
+    private static final UUID PLAN_USER_ID = UUID.fromString("00000000-0000-0000-0000-000000000042");
+
+    // Mirrors the SQL Hibernate renders for TaskRepositoryCustomImpl list queries
+    private static final String LIST_QUERY =
+            "SELECT t.id FROM tasks t WHERE t.deleted = false %s ORDER BY t.created_at DESC, t.id DESC LIMIT 21";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate.update("""
+                INSERT INTO users (id, username, full_name)
+                SELECT CASE WHEN g = 42 THEN '%s'::uuid ELSE gen_random_uuid() END, 'plan_user_' || g, 'Plan User ' || g
+                FROM generate_series(1, 100) g
+                """.formatted(PLAN_USER_ID));
+        jdbcTemplate.update("""
+                INSERT INTO tasks (id, name, status, created_at, updated_at, user_id, task_type, deleted)
+                SELECT gen_random_uuid(),
+                       'Plan task ' || g,
+                       (ARRAY['OPEN', 'IN_PROGRESS', 'DONE'])[1 + g % 3],
+                       now() - g * interval '1 second',
+                       now(),
+                       u.id,
+                       CASE WHEN g % 2 = 0 THEN 'BUG' ELSE 'FEATURE' END,
+                       g % 10 = 0
+                FROM generate_series(1, 30000) g
+                JOIN (SELECT id, row_number() OVER (ORDER BY username) - 1 AS n FROM users WHERE username LIKE 'plan_user_%') u
+                  ON u.n = g % 100
+                """);
+        jdbcTemplate.execute("ANALYZE users");
+        jdbcTemplate.execute("ANALYZE tasks");
+    }
+
+    static Stream<Arguments> filterCombinations() {
+        return Stream.of(
+                Arguments.of("no filter", "", "idx_task_created_at_id", true),
+                Arguments.of("status", "AND t.status = 'OPEN'", "idx_task_status_created", true),
+                Arguments.of("user", "AND t.user_id = '" + PLAN_USER_ID + "'", "idx_task_user_status_created", false),
+                Arguments.of("user and status",
+                        "AND t.user_id = '" + PLAN_USER_ID + "' AND t.status = 'OPEN'", "idx_task_user_status_created", true));
+    }
+
+    @ParameterizedTest(name = "{0}")
+    @MethodSource("filterCombinations")
+    void listQueryUsesPartialCompositeIndex(String combination, String filter, String expectedIndex, boolean indexOrdered) {
+        String plan = String.join("\n", jdbcTemplate.queryForList("EXPLAIN " + LIST_QUERY.formatted(filter), String.class));
+
+        assertTrue(plan.contains(expectedIndex), combination + " should use " + expectedIndex + ":\n" + plan);
+        assertFalse(plan.contains("Seq Scan"), combination + " should not scan the table:\n" + plan);
+        if (indexOrdered) {
+            assertFalse(plan.contains("Sort"), combination + " should read rows in index order:\n" + plan);
+        }
+    }
+
+    @Test
+    void fullTextSearchUsesSearchIndex() {
+        String query = "SELECT t.id FROM tasks t WHERE t.deleted = false AND " + TaskSearchRepository.SEARCH_DOCUMENT
+                + " @@ websearch_to_tsquery('english', '12345')";
+        String plan = String.join("\n", jdbcTemplate.queryForList("EXPLAIN " + query, String.class));
+
+        assertTrue(plan.contains("idx_task_search_vector"), "Full-text search should use idx_task_search_vector:\n" + plan);
+        assertFalse(plan.contains("Seq Scan"), "Full-text search should not scan the table:\n" + plan);
+    }
+
+    @Test
+    void deletedTasksOfUserUseUserIndex() {
+        // The restore-by-filter selection, which the partial composites cannot serve
+        String query = "SELECT t.id FROM tasks t WHERE t.deleted = true AND t.user_id = '" + PLAN_USER_ID
+                + "' ORDER BY t.id LIMIT 500";
+        String plan = String.join("\n", jdbcTemplate.queryForList("EXPLAIN " + query, String.class));
+
+        assertTrue(plan.matches("(?s).*idx_task_user\\b.*"), "Deleted tasks of a user should use idx_task_user:\n" + plan);
+        assertFalse(plan.contains("Seq Scan"), "Deleted tasks of a user should not scan the table:\n" + plan);
+    }
+}
@@ -0,0 +1,139 @@
+package com.seneca.taskmanagement.service;
+
+import com.seneca.taskmanagement.config.TestContainersConfig;
+import com.seneca.taskmanagement.domain.Bug;
+import com.seneca.taskmanagement.domain.TaskStatus;
+import com.seneca.taskmanagement.dto.CreateBugDto;
+import com.seneca.taskmanagement.dto.CycleTimeDto;
+import com.seneca.taskmanagement.dto.TaskBulkChanges;
+import com.seneca.taskmanagement.dto.TaskBulkUpdateRequest;
+import com.seneca.taskmanagement.dto.TaskDto;
+import com.seneca.taskmanagement.dto.UpdateBugRequest;
+import com.seneca.taskmanagement.dto.UserDto;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Verifies that status changes through the service and bulk paths are recorded with the time
+ * spent in the previous status, and that folded sketches report it
+ */
+@SpringBootTest
+@Testcontainers
+@ActiveProfiles("test")
+public class CycleTimeIntegrationTest extends TestContainersConfig {
+
+    @Autowired
+    private TaskService taskService;
+
+    @Autowired
+    private TaskBulkService taskBulkService;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private CycleTimeService cycleTimeService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private UserDto user;
+
+    @BeforeEach
+    void setUp() {
+        user = userService.createUser(UserDto.builder()
+                .username("cycle_" + UUID.randomUUID().toString().substring(0, 8))
+                .fullName("Cycle User")
+                .build());
+    }
+
+    @Test
+    void statusChangesAreRecordedAndMeasured() {
+        TaskDto task = createBug();
+        moveTo(task, TaskStatus.IN_PROGRESS);
+        // Let the task have entered IN_PROGRESS two hours ago
+        backdateLastTransition(task.getId(), 7200);
+        moveTo(task, TaskStatus.DONE);
+
+        List<Map<String, Object>> history = jdbcTemplate.queryForList("""
+                SELECT from_status, to_status, seconds_in_from_status
+                FROM task_status_transitions WHERE task_id = ? ORDER BY id
+                """, task.getId());
+        assertEquals(3, history.size());
+        assertNull(history.get(0).get("from_status"));
+        assertEquals("OPEN", history.get(0).get("to_status"));
+        assertEquals("IN_PROGRESS", history.get(2).get("from_status"));
+        assertEquals(7200, ((Number) history.get(2).get("seconds_in_from_status")).longValue(), 60);
+
+        foldAll();
+
+        CycleTimeDto inProgress = cycleTimes(TaskStatus.IN_PROGRESS);
+        assertEquals(1, inProgress.getCount());
+        assertEquals(7200, inProgress.getP50Seconds(), 100);
+        assertEquals(1, cycleTimes(TaskStatus.OPEN).getCount());
+    }
+
+    @Test
+    void bulkStatusChangesAreMeasured() {
+        List<UUID> ids = List.of(createBug().getId(), createBug().getId(), createBug().getId());
+        taskBulkService.updateTasks(TaskBulkUpdateRequest.builder()
+                .ids(ids)
+                .changes(TaskBulkChanges.builder().status(TaskStatus.IN_PROGRESS).build())
+                .build());
+        // Setting the same status again is not a transition
+        taskBulkService.updateTasks(TaskBulkUpdateRequest.builder()
+                .ids(ids)
+                .changes(TaskBulkChanges.builder().status(TaskStatus.IN_PROGRESS).build())
+                .build());
+
+        foldAll();
+
+        assertEquals(3, cycleTimes(TaskStatus.OPEN).getCount());
+        assertEquals(0, cycleTimes(TaskStatus.IN_PROGRESS).getCount());
+    }
+
+    private TaskDto createBug() {
+        return taskService.createTask(CreateBugDto.builder()
+                .name("Cycling Bug")
+                .severity(Bug.BugSeverity.LOW)
+                .priority(Bug.BugPriority.LOW)
+                .status(TaskStatus.OPEN)
+                .assignedUserId(user.getId())
+                .build());
+    }
+
+    private void moveTo(TaskDto task, TaskStatus status) {
+        UpdateBugRequest request = new UpdateBugRequest();
+        request.setStatus(status);
+        taskService.updateTask(task.getId(), request);
+    }
+
+    private void backdateLastTransition(UUID taskId, long seconds) {
+        jdbcTemplate.update("""
+                UPDATE task_status_transitions SET transitioned_at = transitioned_at - make_interval(secs => ?)
+                WHERE id = (SELECT max(id) FROM task_status_transitions WHERE task_id = ?)
+                """, seconds, taskId);
+    }
+
+    private void foldAll() {
+        while (cycleTimeService.foldSamples() > 0) {
+            // Drain the queue, including samples of other tests
+        }
+    }
+
+    private CycleTimeDto cycleTimes(TaskStatus status) {
+        return cycleTimeService.getCycleTimes(status, Optional.empty(), Optional.of(user.getId()));
+    }
+}
@@ -0,0 +1,128 @@
+package com.seneca.taskmanagement.service;
+
+import com.seneca.taskmanagement.domain.TaskStatus;
+import com.seneca.taskmanagement.dto.CycleTimeDto;
+import com.seneca.taskmanagement.exception.BadRequestException;
+import com.seneca.taskmanagement.repository.CycleTimeRepository;
+import com.seneca.taskmanagement.repository.CycleTimeRepository.Sample;
+import com.seneca.taskmanagement.repository.CycleTimeRepository.SketchKey;
+import com.seneca.taskmanagement.repository.CycleTimeRepository.StoredSketch;
+import org.HdrHistogram.Histogram;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class CycleTimeServiceTest {
+
+    private static final SketchKey BUG_IN_PROGRESS = new SketchKey(CycleTimeService.TASK_TYPE_DIMENSION, "BUG", "IN_PROGRESS");
+
+    @Mock
+    private CycleTimeRepository cycleTimeRepository;
+
+    private CycleTimeService cycleTimeService;
+
+    @BeforeEach
+    void setUp() {
+        cycleTimeService = new CycleTimeService(cycleTimeRepository);
+    }
+
+    @Test
+    void foldSamples_MergesIntoStoredSketchesPerTypeAndAssignee() {
+        // Arrange - one sample already folded, two new ones of which one is unassigned
+        UUID userId = UUID.randomUUID();
+        SketchKey assigneeKey = new SketchKey(CycleTimeService.ASSIGNEE_DIMENSION, userId.toString(), "IN_PROGRESS");
+        Histogram existing = new Histogram(3600L * 24 * 3650, 2);
+        existing.recordValue(100);
+        when(cycleTimeRepository.claimSamples(anyInt())).thenReturn(List.of(
+                new Sample("BUG", userId, "IN_PROGRESS", 300),
+                new Sample("BUG", null, "IN_PROGRESS", 500)));
+        when(cycleTimeRepository.lockSketches(Set.of(BUG_IN_PROGRESS, assigneeKey)))
+                .thenReturn(Map.of(BUG_IN_PROGRESS, new StoredSketch(1, CycleTimeService.encode(existing))));
+
+        // Act
+        int folded = cycleTimeService.foldSamples();
+
+        // Assert
+        assertEquals(2, folded);
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<Map<SketchKey, StoredSketch>> saved = ArgumentCaptor.forClass(Map.class);
+        verify(cycleTimeRepository).saveSketches(saved.capture());
+        StoredSketch bugSketch = saved.getValue().get(BUG_IN_PROGRESS);
+        assertEquals(3, bugSketch.sampleCount());
+        assertEquals(300, CycleTimeService.decode(bugSketch.sketch()).getValueAtPercentile(50.0), 3);
+        StoredSketch assigneeSketch = saved.getValue().get(assigneeKey);
+        assertEquals(1, assigneeSketch.sampleCount());
+        assertEquals(300, CycleTimeService.decode(assigneeSketch.sketch()).getMaxValue(), 3);
+    }
+
+    @Test
+    void foldSamples_EmptyQueue_WritesNothing() {
+        // Arrange
+        when(cycleTimeRepository.claimSamples(anyInt())).thenReturn(List.of());
+
+        // Act & Assert
+        assertEquals(0, cycleTimeService.foldSamples());
+        verify(cycleTimeRepository, never()).lockSketches(any());
+        verify(cycleTimeRepository, never()).saveSketches(any());
+    }
+
+    @Test
+    void getCycleTimes_ReadsQuantilesFromOneSketch() {
+        // Arrange
+        Histogram histogram = new Histogram(3600L * 24 * 3650, 2);
+        for (long seconds = 1; seconds <= 100; seconds++) {
+            histogram.recordValue(seconds * 60);
+        }
+        when(cycleTimeRepository.findSketch(BUG_IN_PROGRESS))
+                .thenReturn(Optional.of(new StoredSketch(100, CycleTimeService.encode(histogram))));
+
+        // Act
+        CycleTimeDto result = cycleTimeService.getCycleTimes(TaskStatus.IN_PROGRESS, Optional.of("bug"), Optional.empty());
+
+        // Assert
+        assertEquals("BUG", result.getTaskType());
+        assertEquals(100, result.getCount());
+        assertEquals(3000, result.getP50Seconds(), 30);
+        assertEquals(5400, result.getP90Seconds(), 54);
+        assertEquals(5940, result.getP99Seconds(), 60);
+    }
+
+    @Test
+    void getCycleTimes_NoSamples_ReturnsZeroCount() {
+        // Arrange
+        UUID userId = UUID.randomUUID();
+        when(cycleTimeRepository.findSketch(any())).thenReturn(Optional.empty());
+
+        // Act
+        CycleTimeDto result = cycleTimeService.getCycleTimes(TaskStatus.OPEN, Optional.empty(), Optional.of(userId));
+
+        // Assert
+        assertEquals(userId, result.getUserId());
+        assertEquals(0, result.getCount());
+        assertNull(result.getP50Seconds());
+    }
+
+    @Test
+    void getCycleTimes_RequiresExactlyOneDimension() {
+        // Act & Assert
+        assertThrows(BadRequestException.class,
+                () -> cycleTimeService.getCycleTimes(TaskStatus.OPEN, Optional.empty(), Optional.empty()));
+        assertThrows(BadRequestException.class,
+                () -> cycleTimeService.getCycleTimes(TaskStatus.OPEN, Optional.of("BUG"), Optional.of(UUID.randomUUID())));
+        verifyNoInteractions(cycleTimeRepository);
+    }
+}
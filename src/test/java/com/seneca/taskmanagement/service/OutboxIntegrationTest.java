@@ -0,0 +1,223 @@
+package com.seneca.taskmanagement.service;
+
+import com.seneca.taskmanagement.config.TestContainersConfig;
+import com.seneca.taskmanagement.domain.Bug;
+import com.seneca.taskmanagement.domain.TaskStatus;
+import com.seneca.taskmanagement.dto.CreateBugDto;
+import com.seneca.taskmanagement.dto.OutboxEvent;
+import com.seneca.taskmanagement.dto.OutboxEventType;
+import com.seneca.taskmanagement.dto.TaskBatchResponse;
+import com.seneca.taskmanagement.dto.TaskBulkChanges;
+import com.seneca.taskmanagement.dto.TaskBulkUpdateRequest;
+import com.seneca.taskmanagement.dto.TaskDto;
+import com.seneca.taskmanagement.dto.TaskFilter;
+import com.seneca.taskmanagement.dto.TaskSelection;
+import com.seneca.taskmanagement.dto.UpdateBugRequest;
+import com.seneca.taskmanagement.dto.UserDto;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Verifies that task and user writes leave their events in the outbox, and that concurrent
+ * relays never deliver the events of one aggregate out of order
+ */
+@SpringBootTest
+@Testcontainers
+@ActiveProfiles("test")
+public class OutboxIntegrationTest extends TestContainersConfig {
+
+    @Autowired
+    private TaskService taskService;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private TaskBulkService taskBulkService;
+
+    @Autowired
+    private TaskImportService taskImportService;
+
+    @Autowired
+    private OutboxService outboxService;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private UserDto user;
+
+    @BeforeEach
+    void setUp() {
+        // Events of other tests would otherwise be delivered to the sinks below
+        jdbcTemplate.update("DELETE FROM outbox");
+        user = userService.createUser(UserDto.builder()
+                .username("outbox_" + UUID.randomUUID().toString().substring(0, 8))
+                .fullName("Outbox User")
+                .build());
+    }
+
+    @Test
+    void writesAreRelayedInOrder() {
+        TaskDto task = createBug();
+        rename(task, "Renamed Bug");
+        taskService.deleteTask(task.getId());
+
+        List<OutboxEvent> delivered = new ArrayList<>();
+        while (outboxService.relayBatch(delivered::addAll) > 0) {
+            // Drain
+        }
+
+        assertEquals(List.of(OutboxEventType.USER_CREATED, OutboxEventType.TASK_CREATED,
+                        OutboxEventType.TASK_UPDATED, OutboxEventType.TASK_DELETED),
+                delivered.stream().map(OutboxEvent::type).toList());
+        assertTrue(delivered.get(2).payload().contains("Renamed Bug"));
+        assertEquals(0, jdbcTemplate.queryForObject("SELECT count(*) FROM outbox", Long.class));
+    }
+
+    @Test
+    void bulkUpdateWritesAnEventPerChangedTask() {
+        TaskDto first = createBug();
+        TaskDto second = createBug();
+        TaskDto alreadyDone = createBug();
+        taskBulkService.updateTasks(TaskBulkUpdateRequest.builder()
+                .ids(List.of(alreadyDone.getId()))
+                .changes(TaskBulkChanges.builder().status(TaskStatus.DONE).build())
+                .build());
+        jdbcTemplate.update("DELETE FROM outbox");
+
+        taskBulkService.updateTasks(TaskBulkUpdateRequest.builder()
+                .filter(TaskFilter.builder().userId(user.getId()).build())
+                .changes(TaskBulkChanges.builder().status(TaskStatus.DONE).build())
+                .build());
+        taskBulkService.deleteTasks(TaskSelection.builder().ids(List.of(first.getId())).build());
+
+        List<OutboxEvent> delivered = new ArrayList<>();
+        outboxService.relayBatch(delivered::addAll);
+
+        // The task that was already done did not change and gets no event
+        assertEquals(List.of(OutboxEventType.TASK_UPDATED, OutboxEventType.TASK_UPDATED, OutboxEventType.TASK_DELETED),
+                delivered.stream().map(OutboxEvent::type).toList());
+        assertEquals(Set.of(first.getId(), second.getId()),
+                Set.of(delivered.get(0).aggregateId(), delivered.get(1).aggregateId()));
+        assertTrue(delivered.get(0).payload().contains("\"status\":\"DONE\""), delivered.get(0).payload());
+        assertTrue(delivered.get(0).payload().contains("\"taskType\":\"BUG\""), delivered.get(0).payload());
+        assertEquals(first.getId(), delivered.get(2).aggregateId());
+    }
+
+    @Test
+    void batchCreateAndImportWriteCreatedEvents() throws Exception {
+        jdbcTemplate.update("DELETE FROM outbox");
+        TaskBatchResponse batch = taskBulkService.createTasks(List.of(bugRequest(), bugRequest()));
+        UUID importedId = UUID.randomUUID();
+        taskImportService.importTasks(new ByteArrayInputStream("""
+                {"id":"%s","taskType":"BUG","name":"Imported Bug","severity":"LOW","priority":"LOW"}
+                """.formatted(importedId).getBytes(StandardCharsets.UTF_8)));
+
+        List<OutboxEvent> delivered = new ArrayList<>();
+        outboxService.relayBatch(delivered::addAll);
+
+        assertEquals(List.of(batch.getResults().get(0).getTask().getId(), batch.getResults().get(1).getTask().getId(), importedId),
+                delivered.stream().map(OutboxEvent::aggregateId).toList());
+        assertTrue(delivered.stream().allMatch(event -> event.type() == OutboxEventType.TASK_CREATED));
+        assertTrue(delivered.get(2).payload().contains("Imported Bug"), delivered.get(2).payload());
+    }
+
+    @Test
+    void rolledBackWriteLeavesNoEvent() {
+        assertThrows(RuntimeException.class, () -> transactionTemplate.executeWithoutResult(status -> {
+            createBug();
+            throw new IllegalStateException("rollback");
+        }));
+
+        assertEquals(1, jdbcTemplate.queryForObject("SELECT count(*) FROM outbox", Long.class), "Only the user event");
+    }
+
+    @Test
+    void laterEventsWaitForTheirAggregatesLockedEvent() throws Exception {
+        TaskDto task = createBug();
+        rename(task, "Second");
+        rename(task, "Third");
+        TaskDto other = createBug();
+
+        CountDownLatch locked = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            Future<?> holder = executor.submit(() -> transactionTemplate.executeWithoutResult(status -> {
+                // Another relay delivering the task's creation
+                jdbcTemplate.query("""
+                        SELECT id FROM outbox WHERE aggregate_id = ? ORDER BY id LIMIT 1 FOR UPDATE
+                        """, rs -> { }, task.getId());
+                locked.countDown();
+                try {
+                    release.await(10, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }));
+            assertTrue(locked.await(10, TimeUnit.SECONDS));
+
+            List<OutboxEvent> delivered = new ArrayList<>();
+            outboxService.relayBatch(delivered::addAll);
+
+            // The renames must not overtake the creation, other aggregates go ahead
+            List<UUID> aggregates = delivered.stream().map(OutboxEvent::aggregateId).toList();
+            assertFalse(aggregates.contains(task.getId()));
+            assertTrue(aggregates.contains(other.getId()));
+
+            release.countDown();
+            holder.get(10, TimeUnit.SECONDS);
+        } finally {
+            release.countDown();
+            executor.shutdownNow();
+        }
+
+        List<OutboxEvent> delivered = new ArrayList<>();
+        outboxService.relayBatch(delivered::addAll);
+        assertEquals(List.of(OutboxEventType.TASK_CREATED, OutboxEventType.TASK_UPDATED, OutboxEventType.TASK_UPDATED),
+                delivered.stream().filter(event -> event.aggregateId().equals(task.getId())).map(OutboxEvent::type).toList());
+    }
+
+    private TaskDto createBug() {
+        return taskService.createTask(bugRequest());
+    }
+
+    private CreateBugDto bugRequest() {
+        return CreateBugDto.builder()
+                .name("Outbox Bug")
+                .severity(Bug.BugSeverity.LOW)
+                .priority(Bug.BugPriority.LOW)
+                .status(TaskStatus.OPEN)
+                .assignedUserId(user.getId())
+                .build();
+    }
+
+    private void rename(TaskDto task, String name) {
+        UpdateBugRequest request = new UpdateBugRequest();
+        request.setName(name);
+        taskService.updateTask(task.getId(), request);
+    }
+}
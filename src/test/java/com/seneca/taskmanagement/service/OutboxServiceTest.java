@@ -0,0 +1,144 @@
+package com.seneca.taskmanagement.service;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.seneca.taskmanagement.dto.BugDto;
+import com.seneca.taskmanagement.dto.OutboxEvent;
+import com.seneca.taskmanagement.dto.OutboxEventType;
+import com.seneca.taskmanagement.dto.UserDto;
+import com.seneca.taskmanagement.repository.OutboxRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class OutboxServiceTest {
+
+    @Mock
+    private OutboxRepository outboxRepository;
+
+    @Mock
+    private OutboxSink sink;
+
+    private ObjectMapper objectMapper;
+    private OutboxService outboxService;
+
+    @BeforeEach
+    void setUp() {
+        objectMapper = new ObjectMapper().findAndRegisterModules().setSerializationInclusion(JsonInclude.Include.NON_NULL);
+        outboxService = new OutboxService(outboxRepository, objectMapper);
+    }
+
+    @Test
+    void userChanged_AppendsStateAfterTheChange() throws Exception {
+        // Arrange
+        UserDto user = UserDto.builder().id(UUID.randomUUID()).username("jdoe").fullName("Jane Doe").build();
+
+        // Act
+        outboxService.userChanged(OutboxEventType.USER_UPDATED, user);
+
+        // Assert
+        ArgumentCaptor<String> payload = ArgumentCaptor.forClass(String.class);
+        verify(outboxRepository).append(eq(OutboxEventType.USER_UPDATED), eq(user.getId()), payload.capture());
+        assertEquals("Jane Doe", objectMapper.readTree(payload.getValue()).get("fullName").asText());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void tasksChanged_AppendsOneBatchInTaskOrder() throws Exception {
+        // Arrange
+        BugDto first = BugDto.builder().id(UUID.randomUUID()).name("First").build();
+        BugDto second = BugDto.builder().id(UUID.randomUUID()).name("Second").build();
+
+        // Act
+        outboxService.tasksChanged(OutboxEventType.TASK_CREATED, List.of(first, second));
+
+        // Assert
+        ArgumentCaptor<Map<UUID, String>> payloads = ArgumentCaptor.forClass(Map.class);
+        verify(outboxRepository).appendAll(eq(OutboxEventType.TASK_CREATED), payloads.capture());
+        assertEquals(List.of(first.getId(), second.getId()), List.copyOf(payloads.getValue().keySet()));
+        JsonNode payload = objectMapper.readTree(payloads.getValue().get(second.getId()));
+        assertEquals("Second", payload.get("name").asText());
+        assertEquals("BUG", payload.get("taskType").asText());
+        verify(outboxRepository, never()).append(any(), any(), any());
+    }
+
+    @Test
+    void relayBatch_PublishesInClaimOrderThenDeletes() throws Exception {
+        // Arrange
+        List<OutboxEvent> events = List.of(event(7), event(9));
+        when(outboxRepository.claim(anyInt())).thenReturn(events);
+
+        // Act
+        int relayed = outboxService.relayBatch(sink);
+
+        // Assert
+        assertEquals(2, relayed);
+        var order = inOrder(sink, outboxRepository);
+        order.verify(sink).publish(events);
+        order.verify(outboxRepository).delete(List.of(7L, 9L));
+    }
+
+    @Test
+    void relayBatch_SinkFails_KeepsEvents() throws Exception {
+        // Arrange
+        when(outboxRepository.claim(anyInt())).thenReturn(List.of(event(7)));
+        doThrow(new IOException("unreachable")).when(sink).publish(any());
+
+        // Act & Assert - the exception rolls the claim back, leaving the event pending
+        assertThrows(UncheckedIOException.class, () -> outboxService.relayBatch(sink));
+        verify(outboxRepository, never()).delete(any());
+    }
+
+    @Test
+    void relayBatch_NothingPending_SkipsSink() {
+        // Arrange
+        when(outboxRepository.claim(anyInt())).thenReturn(List.of());
+
+        // Act & Assert
+        assertEquals(0, outboxService.relayBatch(sink));
+        verifyNoInteractions(sink);
+    }
+
+    @Test
+    void fileSink_AppendsOneLinePerEventWithEmbeddedPayload(@TempDir Path directory) throws Exception {
+        // Arrange
+        Path file = directory.resolve("events/outbox.ndjson");
+        FileOutboxSink fileSink = new FileOutboxSink(file, objectMapper);
+
+        // Act
+        fileSink.publish(List.of(event(1)));
+        fileSink.publish(List.of(event(2), event(3)));
+
+        // Assert
+        List<String> lines = Files.readAllLines(file);
+        assertEquals(3, lines.size());
+        assertEquals(3, objectMapper.readTree(lines.get(2)).get("id").asLong());
+        assertEquals("OPEN", objectMapper.readTree(lines.get(0)).get("payload").get("status").asText());
+    }
+
+    private static OutboxEvent event(long id) {
+        return new OutboxEvent(id, "TASK", UUID.randomUUID(), OutboxEventType.TASK_UPDATED, OffsetDateTime.now(),
+                "{\"status\": \"OPEN\"}");
+    }
+}
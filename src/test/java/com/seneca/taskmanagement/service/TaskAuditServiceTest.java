@@ -0,0 +1,176 @@
+package com.seneca.taskmanagement.service;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.seneca.taskmanagement.domain.Bug;
+import com.seneca.taskmanagement.domain.TaskStatus;
+import com.seneca.taskmanagement.dto.BugDto;
+import com.seneca.taskmanagement.dto.FieldChangeDto;
+import com.seneca.taskmanagement.dto.TaskAuditAction;
+import com.seneca.taskmanagement.dto.TaskHistoryCursor;
+import com.seneca.taskmanagement.dto.TaskHistoryEntryDto;
+import com.seneca.taskmanagement.exception.BadRequestException;
+import com.seneca.taskmanagement.exception.ResourceNotFoundException;
+import com.seneca.taskmanagement.repository.TaskAuditRepository;
+import com.seneca.taskmanagement.repository.TaskAuditRepository.AuditEntry;
+import com.seneca.taskmanagement.repository.TaskAuditRepository.StoredEntry;
+import com.seneca.taskmanagement.repository.TaskRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.slf4j.MDC;
+import org.springframework.data.domain.Slice;
+
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class TaskAuditServiceTest {
+
+    @Mock
+    private TaskAuditRepository taskAuditRepository;
+
+    @Mock
+    private TaskAuditWriter taskAuditWriter;
+
+    @Mock
+    private TaskRepository taskRepository;
+
+    private ObjectMapper objectMapper;
+    private TaskAuditService taskAuditService;
+    private UUID taskId;
+
+    @BeforeEach
+    void setUp() {
+        // Same null handling as the application mapper
+        objectMapper = new ObjectMapper().findAndRegisterModules().setSerializationInclusion(JsonInclude.Include.NON_NULL);
+        taskAuditService = new TaskAuditService(taskAuditRepository, taskAuditWriter, taskRepository, objectMapper);
+        taskId = UUID.randomUUID();
+    }
+
+    @AfterEach
+    void tearDown() {
+        MDC.clear();
+    }
+
+    @Test
+    void recordUpdated_WritesChangedFieldsOnly() throws Exception {
+        // Arrange
+        MDC.put("clientIp", "10.0.0.12");
+        MDC.put("requestId", "req-1");
+        BugDto before = bug(TaskStatus.OPEN, "Crash on login", 3L);
+        BugDto after = bug(TaskStatus.IN_PROGRESS, "Crash on login", 4L);
+        after.setEnvironment("staging");
+        after.setUpdatedAt(OffsetDateTime.now());
+
+        // Act
+        taskAuditService.recordUpdated(before, after);
+
+        // Assert
+        AuditEntry entry = submittedEntry();
+        assertEquals(taskId, entry.taskId());
+        assertEquals("UPDATED", entry.action());
+        assertEquals(4L, entry.taskVersion());
+        assertEquals("10.0.0.12", entry.actor());
+        assertEquals("req-1", entry.requestId());
+        assertEquals(objectMapper.readTree("""
+                {"environment": {"to": "staging"}, "status": {"from": "OPEN", "to": "IN_PROGRESS"}}
+                """), objectMapper.readTree(entry.changes()));
+    }
+
+    @Test
+    void recordUpdated_NothingChanged_WritesNothing() {
+        // Arrange - only fields maintained by the database differ
+        BugDto before = bug(TaskStatus.OPEN, "Crash on login", 3L);
+        BugDto after = bug(TaskStatus.OPEN, "Crash on login", 4L);
+        after.setUpdatedAt(OffsetDateTime.now());
+
+        // Act
+        taskAuditService.recordUpdated(before, after);
+
+        // Assert
+        verifyNoInteractions(taskAuditWriter);
+    }
+
+    @Test
+    void recordCreated_WritesEveryField() throws Exception {
+        // Act
+        taskAuditService.recordCreated(bug(TaskStatus.OPEN, "Crash on login", 0L));
+
+        // Assert
+        AuditEntry entry = submittedEntry();
+        assertEquals("CREATED", entry.action());
+        assertNull(entry.actor());
+        assertEquals(objectMapper.readTree("""
+                {"name": {"to": "Crash on login"}, "status": {"to": "OPEN"}, "severity": {"to": "HIGH"}}
+                """), objectMapper.readTree(entry.changes()));
+    }
+
+    @Test
+    void getTaskHistory_ReadsOneMoreRowThanThePage() {
+        // Arrange
+        when(taskAuditRepository.findByTaskId(taskId, Optional.of(100L), 3)).thenReturn(List.of(
+                stored(99, "UPDATED", "{\"status\": {\"from\": \"OPEN\", \"to\": \"DONE\"}}"),
+                stored(97, "UPDATED", "{\"name\": {\"from\": \"a\", \"to\": \"b\"}}"),
+                stored(90, "CREATED", "{\"name\": {\"to\": \"a\"}}")));
+
+        // Act
+        Slice<TaskHistoryEntryDto> history = taskAuditService.getTaskHistory(taskId, Optional.of(new TaskHistoryCursor(100)), 2);
+
+        // Assert
+        assertTrue(history.hasNext());
+        assertEquals(List.of(99L, 97L), history.getContent().stream().map(TaskHistoryEntryDto::getId).toList());
+        TaskHistoryEntryDto latest = history.getContent().get(0);
+        assertEquals(TaskAuditAction.UPDATED, latest.getAction());
+        Map<String, FieldChangeDto> changes = latest.getChanges();
+        assertEquals("OPEN", changes.get("status").getFrom().asText());
+        assertEquals("DONE", changes.get("status").getTo().asText());
+        verifyNoInteractions(taskRepository);
+    }
+
+    @Test
+    void getTaskHistory_UnknownTask_ThrowsException() {
+        // Arrange
+        when(taskAuditRepository.findByTaskId(taskId, Optional.empty(), 21)).thenReturn(List.of());
+        when(taskRepository.findVersionById(taskId)).thenReturn(Optional.empty());
+
+        // Act & Assert
+        assertThrows(ResourceNotFoundException.class, () -> taskAuditService.getTaskHistory(taskId, Optional.empty(), 20));
+    }
+
+    @Test
+    void historyCursor_RoundTripsAndRejectsGarbage() {
+        assertEquals(new TaskHistoryCursor(1042), TaskHistoryCursor.decode(new TaskHistoryCursor(1042).encode()));
+        assertThrows(BadRequestException.class, () -> TaskHistoryCursor.decode("not a cursor"));
+    }
+
+    private BugDto bug(TaskStatus status, String name, Long version) {
+        return BugDto.builder()
+                .id(taskId)
+                .name(name)
+                .status(status)
+                .severity(Bug.BugSeverity.HIGH)
+                .version(version)
+                .build();
+    }
+
+    private AuditEntry submittedEntry() {
+        ArgumentCaptor<AuditEntry> entry = ArgumentCaptor.forClass(AuditEntry.class);
+        verify(taskAuditWriter).submit(entry.capture());
+        return entry.getValue();
+    }
+
+    private StoredEntry stored(long id, String action, String changes) {
+        return new StoredEntry(id, new AuditEntry(taskId, action, changes, null, null, OffsetDateTime.now(), null));
+    }
+}
@@ -0,0 +1,91 @@
+package com.seneca.taskmanagement.service;
+
+import com.seneca.taskmanagement.repository.TaskAuditRepository;
+import com.seneca.taskmanagement.repository.TaskAuditRepository.AuditEntry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class TaskAuditWriterTest {
+
+    @Mock
+    private TaskAuditRepository taskAuditRepository;
+
+    @Test
+    void stop_FlushesQueuedEntriesInBatches() {
+        // Arrange - entries queued before the writer runs are drained on the way out
+        TaskAuditWriter writer = writer(100, 4);
+        IntStream.range(0, 10).forEach(i -> assertTrue(writer.submit(entry())));
+
+        // Act
+        writer.start();
+        writer.stop();
+
+        // Assert
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<AuditEntry>> batches = ArgumentCaptor.forClass(List.class);
+        verify(taskAuditRepository, times(3)).insertBatch(batches.capture());
+        assertEquals(List.of(4, 4, 2), batches.getAllValues().stream().map(List::size).toList());
+    }
+
+    @Test
+    void submit_FullQueue_DropsAndCounts() {
+        // Arrange - the writer is not running, so nothing makes room
+        TaskAuditWriter writer = writer(2, 10);
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        writer.bindTo(registry);
+
+        // Act
+        boolean first = writer.submit(entry());
+        boolean second = writer.submit(entry());
+        boolean third = writer.submit(entry());
+
+        // Assert
+        assertTrue(first && second);
+        assertFalse(third);
+        assertEquals(1, registry.get("task.audit.entries").tag("outcome", "dropped").functionCounter().count());
+        assertEquals(2, registry.get("task.audit.queue.size").gauge().value());
+        assertTrue(writer.lagSeconds() >= 0);
+    }
+
+    @Test
+    void failingBatch_IsRetriedThenCountedAsFailed() {
+        // Arrange
+        TaskAuditWriter writer = writer(10, 10);
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        writer.bindTo(registry);
+        doThrow(new IllegalStateException("down")).when(taskAuditRepository).insertBatch(anyList());
+        writer.submit(entry());
+
+        // Act
+        writer.start();
+        writer.stop();
+
+        // Assert
+        verify(taskAuditRepository, times(3)).insertBatch(anyList());
+        assertEquals(1, registry.get("task.audit.entries").tag("outcome", "failed").functionCounter().count());
+        assertEquals(0, registry.get("task.audit.entries").tag("outcome", "written").functionCounter().count());
+    }
+
+    private TaskAuditWriter writer(int capacity, int batchSize) {
+        return new TaskAuditWriter(taskAuditRepository, capacity, batchSize,
+                Duration.ofMillis(10), Duration.ofMillis(1), Duration.ofSeconds(5));
+    }
+
+    private static AuditEntry entry() {
+        return new AuditEntry(UUID.randomUUID(), "UPDATED", "{}", null, null, OffsetDateTime.now(), 1L);
+    }
+}
@@ -0,0 +1,393 @@
+package com.seneca.taskmanagement.service;
+
+import com.seneca.taskmanagement.domain.*;
+import com.seneca.taskmanagement.dto.*;
+import com.seneca.taskmanagement.exception.BadRequestException;
+import com.seneca.taskmanagement.exception.ResourceNotFoundException;
+import com.seneca.taskmanagement.mapper.TaskMapperImpl;
+import com.seneca.taskmanagement.repository.TaskAuditRepository.Origin;
+import com.seneca.taskmanagement.repository.TaskBulkRepository;
+import com.seneca.taskmanagement.repository.TaskBulkRepository.FilterChunk;
+import com.seneca.taskmanagement.repository.TaskRepository;
+import com.seneca.taskmanagement.repository.UserRepository;
+import com.seneca.taskmanagement.util.DatabaseErrors;
+import jakarta.validation.Validation;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.unit.DataSize;
+
+import java.sql.SQLException;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class TaskBulkServiceTest {
+
+    @Mock
+    private TaskRepository taskRepository;
+
+    @Mock
+    private TaskBulkRepository taskBulkRepository;
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private TaskAuditService taskAuditService;
+
+    @Mock
+    private OutboxService outboxService;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private TaskBulkService taskBulkService;
+
+    private UUID userId;
+    private Origin origin;
+    private CreateBugDto createBugDto;
+    private CreateFeatureDto createFeatureDto;
+
+    @BeforeEach
+    void setUp() {
+        TaskMapperImpl taskMapper = new TaskMapperImpl();
+        taskMapper.setUserRepository(userRepository);
+        taskBulkService = new TaskBulkService(taskRepository, taskBulkRepository, userRepository, taskMapper,
+                Validation.buildDefaultValidatorFactory().getValidator(), new TaskCache(Duration.ofMinutes(10), 100),
+                new TaskListCache(Duration.ofMinutes(5), DataSize.ofMegabytes(1)), taskAuditService, outboxService,
+                new TransactionTemplate(transactionManager));
+        ReflectionTestUtils.setField(taskBulkService, "chunkSize", 2);
+
+        userId = UUID.randomUUID();
+        origin = new Origin("10.0.0.1", "request-1");
+
+        createBugDto = CreateBugDto.builder()
+                .name("Test Bug")
+                .severity(Bug.BugSeverity.HIGH)
+                .priority(Bug.BugPriority.HIGH)
+                .assignedUserId(userId)
+                .build();
+
+        createFeatureDto = CreateFeatureDto.builder()
+                .name("Test Feature")
+                .businessValue("High business impact")
+                .deadline(LocalDate.now().plusDays(30))
+                .estimatedEffort(5)
+                .assignedUserId(userId)
+                .build();
+    }
+
+    @Test
+    void createTasks_MixedTypes_ValidatesAssigneesOnceAndSavesTogether() {
+        // Arrange
+        when(userRepository.findActiveIds(Set.of(userId))).thenReturn(Set.of(userId));
+        when(userRepository.getReferenceById(userId)).thenReturn(User.builder().id(userId).build());
+        when(taskRepository.saveAll(anyList())).thenAnswer(i -> i.getArguments()[0]);
+
+        // Act
+        TaskBatchResponse response = taskBulkService.createTasks(List.of(createBugDto, createFeatureDto, createBugDto));
+
+        // Assert
+        assertEquals(3, response.getCreated());
+        assertEquals(0, response.getFailed());
+        assertInstanceOf(BugDto.class, response.getResults().get(0).getTask());
+        assertInstanceOf(FeatureDto.class, response.getResults().get(1).getTask());
+        assertEquals(userId, response.getResults().get(2).getTask().getAssignedUserId());
+        verify(userRepository, times(1)).findActiveIds(any());
+        verify(taskRepository, times(1)).saveAll(argThat(tasks -> ((List<?>) tasks).size() == 3));
+        verify(outboxService).tasksChanged(eq(OutboxEventType.TASK_CREATED), argThat(tasks -> tasks.size() == 3));
+        verify(taskAuditService, times(3)).recordCreated(any());
+    }
+
+    @Test
+    void createTasks_InvalidItemsAndMissingAssignee_ReportedPerItem() {
+        // Arrange
+        UUID missingUserId = UUID.randomUUID();
+        CreateBugDto missingSeverity = CreateBugDto.builder()
+                .name("No severity")
+                .priority(Bug.BugPriority.LOW)
+                .build();
+        CreateFeatureDto missingAssignee = CreateFeatureDto.builder()
+                .name("Orphan")
+                .businessValue("Some value")
+                .deadline(LocalDate.now().plusDays(7))
+                .estimatedEffort(1)
+                .assignedUserId(missingUserId)
+                .build();
+        when(userRepository.findActiveIds(Set.of(userId, missingUserId))).thenReturn(Set.of(userId));
+        when(userRepository.getReferenceById(userId)).thenReturn(User.builder().id(userId).build());
+        when(taskRepository.saveAll(anyList())).thenAnswer(i -> i.getArguments()[0]);
+
+        // Act
+        List<CreateTaskDto> batch = new ArrayList<>(List.of(createBugDto, missingSeverity, missingAssignee));
+        batch.add(null);
+        TaskBatchResponse response = taskBulkService.createTasks(batch);
+
+        // Assert
+        assertEquals(1, response.getCreated());
+        assertEquals(3, response.getFailed());
+        List<TaskBatchItemResult> results = response.getResults();
+        assertEquals(TaskBatchItemResult.Outcome.CREATED, results.get(0).getOutcome());
+        assertEquals(400, results.get(1).getStatus());
+        assertTrue(results.get(1).getError().contains("severity"));
+        assertEquals(404, results.get(2).getStatus());
+        assertEquals(400, results.get(3).getStatus());
+        verify(taskRepository).saveAll(argThat(tasks -> ((List<?>) tasks).size() == 1));
+    }
+
+    @Test
+    void createTasks_AssigneeDeletedDuringInsert_RechecksAndRetries() {
+        // Arrange
+        UUID deletedUserId = UUID.randomUUID();
+        CreateBugDto deletedAssignee = CreateBugDto.builder()
+                .name("Late delete")
+                .severity(Bug.BugSeverity.LOW)
+                .priority(Bug.BugPriority.LOW)
+                .assignedUserId(deletedUserId)
+                .build();
+        when(userRepository.findActiveIds(Set.of(userId, deletedUserId)))
+                .thenReturn(Set.of(userId, deletedUserId))
+                .thenReturn(Set.of(userId));
+        when(userRepository.getReferenceById(any(UUID.class))).thenAnswer(i -> User.builder().id(i.getArgument(0)).build());
+        when(taskRepository.saveAll(anyList()))
+                .thenThrow(new DataIntegrityViolationException("fk_task_user",
+                        new SQLException("violates foreign key constraint", DatabaseErrors.FOREIGN_KEY_VIOLATION)))
+                .thenAnswer(i -> i.getArguments()[0]);
+
+        // Act
+        TaskBatchResponse response = taskBulkService.createTasks(List.of(createBugDto, deletedAssignee));
+
+        // Assert
+        assertEquals(1, response.getCreated());
+        assertEquals(404, response.getResults().get(1).getStatus());
+        verify(taskRepository, times(2)).saveAll(anyList());
+    }
+
+    @Test
+    void createTasks_EmptyOrOversizedBatch_ThrowsException() {
+        assertThrows(BadRequestException.class, () -> taskBulkService.createTasks(List.of()));
+        assertThrows(BadRequestException.class,
+                () -> taskBulkService.createTasks(Collections.nCopies(501, createBugDto)));
+        verifyNoInteractions(taskRepository, userRepository);
+    }
+
+    @Test
+    void updateTasks_ByIds_ChunksAndReportsUnaffected() {
+        // Arrange
+        UUID first = UUID.randomUUID();
+        UUID second = UUID.randomUUID();
+        UUID third = UUID.randomUUID();
+        TaskBulkChanges changes = TaskBulkChanges.builder().status(TaskStatus.DONE).build();
+        when(taskAuditService.currentOrigin()).thenReturn(origin);
+        when(taskBulkRepository.updateByIds(List.of(first, second), changes, origin)).thenReturn(List.of(first, second));
+        when(taskBulkRepository.updateByIds(List.of(third), changes, origin)).thenReturn(List.of());
+
+        // Act
+        TaskBulkResult result = taskBulkService.updateTasks(TaskBulkUpdateRequest.builder()
+                .ids(List.of(first, second, third, first))
+                .changes(changes)
+                .build());
+
+        // Assert
+        assertEquals(2, result.getAffected());
+        assertEquals(2, result.getChunks());
+        assertEquals(List.of(third), result.getUnaffectedIds());
+        verifyNoInteractions(taskRepository);
+    }
+
+    @Test
+    void updateTasks_ByFilter_WalksChunksWithKeyset() {
+        // Arrange
+        UUID low = UUID.fromString("10000000-0000-0000-0000-000000000000");
+        UUID high = UUID.fromString("f0000000-0000-0000-0000-000000000000");
+        TaskBulkChanges changes = TaskBulkChanges.builder().assignedUserId(userId).build();
+        when(taskAuditService.currentOrigin()).thenReturn(origin);
+        when(taskBulkRepository.updateByFilter(Optional.empty(), Optional.of(TaskStatus.OPEN), Optional.of("login"),
+                changes, Optional.empty(), 2, origin)).thenReturn(new FilterChunk(List.of(low, high), 2, high));
+        UUID last = UUID.randomUUID();
+        when(taskBulkRepository.updateByFilter(Optional.empty(), Optional.of(TaskStatus.OPEN), Optional.of("login"),
+                changes, Optional.of(high), 2, origin)).thenReturn(new FilterChunk(List.of(last), 1, last));
+
+        // Act
+        TaskBulkResult result = taskBulkService.updateTasks(TaskBulkUpdateRequest.builder()
+                .filter(TaskFilter.builder().status(TaskStatus.OPEN).searchTerm(" login ").build())
+                .changes(changes)
+                .build());
+
+        // Assert
+        assertEquals(3, result.getAffected());
+        assertEquals(2, result.getChunks());
+        assertNull(result.getUnaffectedIds());
+    }
+
+    @Test
+    void updateTasks_ByFilter_ShortChunkWithFullScan_KeepsWalking() {
+        // Arrange: a concurrent write made one task of the first chunk stop matching before it was locked
+        UUID first = UUID.fromString("10000000-0000-0000-0000-000000000000");
+        UUID second = UUID.fromString("20000000-0000-0000-0000-000000000000");
+        UUID third = UUID.fromString("30000000-0000-0000-0000-000000000000");
+        UUID fourth = UUID.fromString("40000000-0000-0000-0000-000000000000");
+        TaskBulkChanges changes = TaskBulkChanges.builder().status(TaskStatus.DONE).build();
+        when(taskAuditService.currentOrigin()).thenReturn(origin);
+        when(taskBulkRepository.updateByFilter(Optional.of(userId), Optional.empty(), Optional.empty(),
+                changes, Optional.empty(), 2, origin)).thenReturn(new FilterChunk(List.of(first), 2, second));
+        when(taskBulkRepository.updateByFilter(Optional.of(userId), Optional.empty(), Optional.empty(),
+                changes, Optional.of(second), 2, origin)).thenReturn(new FilterChunk(List.of(third, fourth), 2, fourth));
+        when(taskBulkRepository.updateByFilter(Optional.of(userId), Optional.empty(), Optional.empty(),
+                changes, Optional.of(fourth), 2, origin)).thenReturn(new FilterChunk(List.of(), 0, null));
+
+        // Act
+        TaskBulkResult result = taskBulkService.updateTasks(TaskBulkUpdateRequest.builder()
+                .filter(TaskFilter.builder().userId(userId).build())
+                .changes(changes)
+                .build());
+
+        // Assert
+        assertEquals(3, result.getAffected());
+        assertEquals(3, result.getChunks());
+    }
+
+    @Test
+    void updateTasks_MissingAssignee_ThrowsNotFound() {
+        // Arrange
+        UUID taskId = UUID.randomUUID();
+        TaskBulkChanges changes = TaskBulkChanges.builder().assignedUserId(userId).build();
+        when(taskAuditService.currentOrigin()).thenReturn(origin);
+        when(taskBulkRepository.updateByIds(List.of(taskId), changes, origin)).thenThrow(new DataIntegrityViolationException(
+                "fk_task_user", new SQLException("violates foreign key constraint", DatabaseErrors.FOREIGN_KEY_VIOLATION)));
+
+        // Act & Assert
+        assertThrows(ResourceNotFoundException.class, () -> taskBulkService.updateTasks(TaskBulkUpdateRequest.builder()
+                .ids(List.of(taskId))
+                .changes(changes)
+                .build()));
+    }
+
+    @Test
+    void updateTasks_InvalidSelectionOrChanges_ThrowsException() {
+        TaskBulkChanges changes = TaskBulkChanges.builder().status(TaskStatus.DONE).build();
+
+        // No changes
+        assertThrows(BadRequestException.class, () -> taskBulkService.updateTasks(TaskBulkUpdateRequest.builder()
+                .ids(List.of(UUID.randomUUID()))
+                .changes(new TaskBulkChanges())
+                .build()));
+        // Neither ids nor filter, or an empty filter
+        assertThrows(BadRequestException.class, () -> taskBulkService.updateTasks(TaskBulkUpdateRequest.builder()
+                .changes(changes)
+                .build()));
+        assertThrows(BadRequestException.class, () -> taskBulkService.updateTasks(TaskBulkUpdateRequest.builder()
+                .filter(new TaskFilter())
+                .changes(changes)
+                .build()));
+        // Both ids and filter
+        assertThrows(BadRequestException.class, () -> taskBulkService.updateTasks(TaskBulkUpdateRequest.builder()
+                .ids(List.of(UUID.randomUUID()))
+                .filter(TaskFilter.builder().status(TaskStatus.OPEN).build())
+                .changes(changes)
+                .build()));
+        verifyNoInteractions(taskBulkRepository);
+    }
+
+    @Test
+    void deleteTasks_ByIds_SoftDeletesWithoutLoading() {
+        // Arrange
+        UUID taskId = UUID.randomUUID();
+        UUID deletedId = UUID.randomUUID();
+        when(taskAuditService.currentOrigin()).thenReturn(origin);
+        when(taskBulkRepository.setDeletedByIds(List.of(taskId, deletedId), true, origin)).thenReturn(List.of(taskId));
+
+        // Act
+        TaskBulkResult result = taskBulkService.deleteTasks(TaskSelection.builder()
+                .ids(List.of(taskId, deletedId))
+                .build());
+
+        // Assert
+        assertEquals(1, result.getAffected());
+        assertEquals(List.of(deletedId), result.getUnaffectedIds());
+        verifyNoInteractions(taskRepository);
+    }
+
+    @Test
+    void deleteTasks_ByFilter_ShortChunkWithFullScan_KeepsWalking() {
+        // Arrange: two tasks of the first chunk were deleted concurrently before it locked them
+        UUID second = UUID.fromString("20000000-0000-0000-0000-000000000000");
+        UUID third = UUID.fromString("30000000-0000-0000-0000-000000000000");
+        when(taskAuditService.currentOrigin()).thenReturn(origin);
+        when(taskBulkRepository.setDeletedByFilter(Optional.empty(), Optional.of(TaskStatus.DONE), Optional.empty(),
+                true, Optional.empty(), 2, origin)).thenReturn(new FilterChunk(List.of(), 2, second));
+        when(taskBulkRepository.setDeletedByFilter(Optional.empty(), Optional.of(TaskStatus.DONE), Optional.empty(),
+                true, Optional.of(second), 2, origin)).thenReturn(new FilterChunk(List.of(third), 1, third));
+
+        // Act
+        TaskBulkResult result = taskBulkService.deleteTasks(TaskSelection.builder()
+                .filter(TaskFilter.builder().status(TaskStatus.DONE).build())
+                .build());
+
+        // Assert
+        assertEquals(1, result.getAffected());
+        assertEquals(2, result.getChunks());
+    }
+
+    @Test
+    void restoreTasks_ByFilter_ShortChunkWithFullScan_KeepsWalking() {
+        // Arrange: a task of the first chunk was restored concurrently before it was locked
+        UUID second = UUID.fromString("20000000-0000-0000-0000-000000000000");
+        UUID third = UUID.fromString("30000000-0000-0000-0000-000000000000");
+        when(taskAuditService.currentOrigin()).thenReturn(origin);
+        when(taskBulkRepository.setDeletedByFilter(Optional.of(userId), Optional.empty(), Optional.empty(),
+                false, Optional.empty(), 2, origin)).thenReturn(new FilterChunk(List.of(second), 2, second));
+        when(taskBulkRepository.setDeletedByFilter(Optional.of(userId), Optional.empty(), Optional.empty(),
+                false, Optional.of(second), 2, origin)).thenReturn(new FilterChunk(List.of(third), 1, third));
+
+        // Act
+        TaskBulkResult result = taskBulkService.restoreTasks(TaskSelection.builder()
+                .filter(TaskFilter.builder().userId(userId).build())
+                .build());
+
+        // Assert
+        assertEquals(2, result.getAffected());
+        assertEquals(2, result.getChunks());
+    }
+
+    @Test
+    void restoreTasks_ByFilter_RestoresInChunks() {
+        // Arrange
+        UUID first = UUID.randomUUID();
+        UUID second = UUID.randomUUID();
+        when(taskAuditService.currentOrigin()).thenReturn(origin);
+        when(taskBulkRepository.setDeletedByFilter(Optional.of(userId), Optional.empty(), Optional.empty(),
+                false, Optional.empty(), 2, origin)).thenReturn(new FilterChunk(List.of(first, second), 2, second));
+        when(taskBulkRepository.setDeletedByFilter(Optional.of(userId), Optional.empty(), Optional.empty(),
+                false, Optional.of(second), 2, origin)).thenReturn(new FilterChunk(List.of(), 0, null));
+
+        // Act
+        TaskBulkResult result = taskBulkService.restoreTasks(TaskSelection.builder()
+                .filter(TaskFilter.builder().userId(userId).build())
+                .build());
+
+        // Assert
+        assertEquals(2, result.getAffected());
+        assertEquals(2, result.getChunks());
+        verifyNoInteractions(taskRepository);
+    }
+}
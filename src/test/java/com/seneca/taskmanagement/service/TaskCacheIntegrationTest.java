@@ -0,0 +1,188 @@
+package com.seneca.taskmanagement.service;
+
+import com.seneca.taskmanagement.TaskManagementServiceApplication;
+import com.seneca.taskmanagement.config.TestContainersConfig;
+import com.seneca.taskmanagement.domain.Bug;
+import com.seneca.taskmanagement.domain.TaskStatus;
+import com.seneca.taskmanagement.dto.CountMode;
+import com.seneca.taskmanagement.dto.CreateBugDto;
+import com.seneca.taskmanagement.dto.TaskBulkChanges;
+import com.seneca.taskmanagement.dto.TaskBulkUpdateRequest;
+import com.seneca.taskmanagement.dto.TaskDto;
+import com.seneca.taskmanagement.dto.TaskSummaryDto;
+import com.seneca.taskmanagement.dto.UpdateBugRequest;
+import com.seneca.taskmanagement.dto.UserDto;
+import com.seneca.taskmanagement.exception.ResourceNotFoundException;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.test.context.ActiveProfiles;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.function.Predicate;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Starts a second application context on the same database to play another node, and
+ * verifies that changes made through one node evict the task from the other node's caches
+ * within milliseconds.
+ */
+@SpringBootTest
+@Testcontainers
+@ActiveProfiles("test")
+public class TaskCacheIntegrationTest extends TestContainersConfig {
+
+    private static final long MAX_STALE_MILLIS = 500;
+
+    private static ConfigurableApplicationContext otherNode;
+
+    @Autowired
+    private TaskService taskService;
+
+    @Autowired
+    private TaskBulkService taskBulkService;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private TaskCache taskCache;
+
+    private TaskService otherTaskService;
+    private UserDto user;
+    private TaskDto task;
+
+    @BeforeAll
+    static void startOtherNode() {
+        otherNode = new SpringApplicationBuilder(TaskManagementServiceApplication.class)
+                .web(WebApplicationType.NONE)
+                .profiles("test")
+                .properties(
+                        "spring.datasource.url=" + postgres.getJdbcUrl(),
+                        "spring.datasource.username=" + postgres.getUsername(),
+                        "spring.datasource.password=" + postgres.getPassword())
+                .run();
+    }
+
+    @AfterAll
+    static void stopOtherNode() {
+        if (otherNode != null) {
+            otherNode.close();
+        }
+    }
+
+    @BeforeEach
+    void setUp() throws InterruptedException {
+        otherTaskService = otherNode.getBean(TaskService.class);
+        awaitListening(taskCache);
+        awaitListening(otherNode.getBean(TaskCache.class));
+
+        user = userService.createUser(UserDto.builder()
+                .username("cache_" + UUID.randomUUID().toString().substring(0, 8))
+                .fullName("Cache User")
+                .build());
+        task = taskService.createTask(CreateBugDto.builder()
+                .name("Cached Bug")
+                .severity(Bug.BugSeverity.LOW)
+                .priority(Bug.BugPriority.LOW)
+                .status(TaskStatus.OPEN)
+                .assignedUserId(user.getId())
+                .build());
+
+        // Both nodes now hold the task in their cache
+        assertEquals("Cached Bug", taskService.getTaskById(task.getId()).getName());
+        assertEquals("Cached Bug", otherTaskService.getTaskById(task.getId()).getName());
+    }
+
+    @Test
+    void updateOnOneNodeEvictsOtherNode() throws InterruptedException {
+        UpdateBugRequest updateRequest = new UpdateBugRequest();
+        updateRequest.setName("Renamed Bug");
+        taskService.updateTask(task.getId(), updateRequest);
+
+        // The writing node reads its own write at once
+        assertEquals("Renamed Bug", taskService.getTaskById(task.getId()).getName());
+        assertStaleFor(other -> "Renamed Bug".equals(other.getName()));
+    }
+
+    @Test
+    void bulkUpdateOnOneNodeEvictsOtherNode() throws InterruptedException {
+        taskBulkService.updateTasks(TaskBulkUpdateRequest.builder()
+                .ids(List.of(task.getId()))
+                .changes(TaskBulkChanges.builder().status(TaskStatus.DONE).build())
+                .build());
+
+        assertStaleFor(other -> other.getStatus() == TaskStatus.DONE);
+    }
+
+    @Test
+    void deleteOnOneNodeEvictsOtherNode() throws InterruptedException {
+        taskService.deleteTask(task.getId());
+
+        long start = System.nanoTime();
+        while (true) {
+            try {
+                otherTaskService.getTaskById(task.getId());
+            } catch (ResourceNotFoundException e) {
+                break;
+            }
+            assertTrue(elapsedMillis(start) < MAX_STALE_MILLIS, "Other node served a deleted task for too long");
+            Thread.sleep(5);
+        }
+    }
+
+    @Test
+    void updateOnOneNodeOutdatesOtherNodeLists() throws InterruptedException {
+        Predicate<TaskSummaryDto> renamed = summary -> "Renamed Bug".equals(summary.getName());
+        assertFalse(otherAssigneeSummaries().stream().anyMatch(renamed));
+
+        UpdateBugRequest updateRequest = new UpdateBugRequest();
+        updateRequest.setName("Renamed Bug");
+        taskService.updateTask(task.getId(), updateRequest);
+
+        long start = System.nanoTime();
+        while (otherAssigneeSummaries().stream().noneMatch(renamed)) {
+            assertTrue(elapsedMillis(start) < MAX_STALE_MILLIS, "Other node served a stale task list for too long");
+            Thread.sleep(5);
+        }
+    }
+
+    private List<TaskSummaryDto> otherAssigneeSummaries() {
+        return otherTaskService.findTaskSummariesWithFilters(Optional.of(user.getId()), Optional.empty(), Optional.empty(),
+                PageRequest.of(0, 10), Optional.of(CountMode.EXACT)).getContent();
+    }
+
+    /**
+     * Poll the other node until it reflects a change, failing if it serves the old task for too long
+     */
+    private void assertStaleFor(Predicate<TaskDto> changed) throws InterruptedException {
+        long start = System.nanoTime();
+        while (!changed.test(otherTaskService.getTaskById(task.getId()))) {
+            assertTrue(elapsedMillis(start) < MAX_STALE_MILLIS, "Other node served a stale task for too long");
+            Thread.sleep(5);
+        }
+    }
+
+    private static long elapsedMillis(long startNanos) {
+        return (System.nanoTime() - startNanos) / 1_000_000;
+    }
+
+    private static void awaitListening(TaskCache cache) throws InterruptedException {
+        long start = System.nanoTime();
+        while (!cache.isListening()) {
+            assertTrue(elapsedMillis(start) < 10_000, "Task change listener did not connect");
+            Thread.sleep(10);
+        }
+    }
+}
@@ -0,0 +1,207 @@
+package com.seneca.taskmanagement.service;
+
+import com.seneca.taskmanagement.domain.Bug;
+import com.seneca.taskmanagement.domain.TaskStatus;
+import com.seneca.taskmanagement.dto.TaskChangeCursor;
+import com.seneca.taskmanagement.dto.TaskChangeDto;
+import com.seneca.taskmanagement.dto.TaskChangeFeedDto;
+import com.seneca.taskmanagement.exception.BadRequestException;
+import com.seneca.taskmanagement.mapper.TaskMapperImpl;
+import com.seneca.taskmanagement.repository.TaskChangeFeedRepository;
+import com.seneca.taskmanagement.repository.TaskChangeFeedRepository.Change;
+import com.seneca.taskmanagement.repository.TaskChangeFeedRepository.ChangeWindow;
+import com.seneca.taskmanagement.repository.TaskRepository;
+import com.seneca.taskmanagement.repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.web.context.request.async.DeferredResult;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class TaskChangeFeedServiceTest {
+
+    @Mock
+    private TaskChangeFeedRepository taskChangeFeedRepository;
+
+    @Mock
+    private TaskRepository taskRepository;
+
+    @Mock
+    private UserRepository userRepository;
+
+    private TaskChangeFeedService taskChangeFeedService;
+
+    @BeforeEach
+    void setUp() {
+        TaskMapperImpl taskMapper = new TaskMapperImpl();
+        taskMapper.setUserRepository(userRepository);
+        taskChangeFeedService = new TaskChangeFeedService(taskChangeFeedRepository, taskRepository, taskMapper);
+    }
+
+    @Test
+    void getChanges_ReturnsCurrentStateAndTombstones() {
+        // Arrange
+        Bug live = bug();
+        UUID softDeleted = UUID.randomUUID();
+        UUID purgedSinceRead = UUID.randomUUID();
+        when(taskChangeFeedRepository.findChanges(TaskChangeCursor.initial(), 11)).thenReturn(new ChangeWindow(List.of(
+                new Change(100, live.getId(), false),
+                new Change(101, softDeleted, true),
+                new Change(102, purgedSinceRead, false)), 105));
+        when(taskRepository.findAllById(List.of(live.getId(), purgedSinceRead))).thenReturn(List.of(live));
+
+        // Act
+        TaskChangeFeedDto feed = taskChangeFeedService.getChanges(TaskChangeCursor.initial(), 10);
+
+        // Assert
+        List<TaskChangeDto> changes = feed.getChanges();
+        assertEquals(3, changes.size());
+        assertFalse(changes.get(0).isDeleted());
+        assertEquals("Login fails", changes.get(0).getTask().getName());
+        assertTrue(changes.get(1).isDeleted());
+        assertNull(changes.get(1).getTask());
+        assertTrue(changes.get(2).isDeleted());
+        assertFalse(feed.isHasMore());
+        // Resumes at the boundary, past anything below it that is not visible to this read
+        assertEquals(TaskChangeCursor.before(105), TaskChangeCursor.decode(feed.getNextCursor()));
+    }
+
+    @Test
+    void getChanges_MoreThanSize_ContinuesAfterLastChange() {
+        // Arrange
+        UUID first = UUID.randomUUID();
+        UUID second = UUID.randomUUID();
+        when(taskChangeFeedRepository.findChanges(any(), eq(2))).thenReturn(new ChangeWindow(List.of(
+                new Change(100, first, true),
+                new Change(100, second, true)), 105));
+
+        // Act
+        TaskChangeFeedDto feed = taskChangeFeedService.getChanges(TaskChangeCursor.initial(), 1);
+
+        // Assert
+        assertEquals(1, feed.getChanges().size());
+        assertTrue(feed.isHasMore());
+        assertEquals(new TaskChangeCursor(100, first), TaskChangeCursor.decode(feed.getNextCursor()));
+    }
+
+    @Test
+    void getChanges_BoundaryBehindCursor_KeepsCursor() {
+        // Arrange - a read on a node whose oldest running transaction predates the cursor
+        TaskChangeCursor since = new TaskChangeCursor(200, UUID.randomUUID());
+        when(taskChangeFeedRepository.findChanges(since, 11)).thenReturn(new ChangeWindow(List.of(), 150));
+
+        // Act
+        TaskChangeFeedDto feed = taskChangeFeedService.getChanges(since, 10);
+
+        // Assert
+        assertTrue(feed.getChanges().isEmpty());
+        assertEquals(since, TaskChangeCursor.decode(feed.getNextCursor()));
+    }
+
+    @Test
+    void cursor_RejectsMalformedToken() {
+        assertThrows(BadRequestException.class, () -> TaskChangeCursor.decode("not-a-cursor"));
+    }
+
+    @Test
+    void awaitChanges_ChangesArrive_AnswersParkedRequest() {
+        // Arrange
+        TaskChangeFeedService feedService = mock(TaskChangeFeedService.class);
+        TaskChangeFeedNotifier notifier = new TaskChangeFeedNotifier(feedService, Duration.ofSeconds(30), Duration.ofMinutes(1));
+        TaskChangeFeedDto empty = TaskChangeFeedDto.builder()
+                .changes(List.of()).nextCursor(TaskChangeCursor.before(100).encode()).build();
+        TaskChangeFeedDto changed = TaskChangeFeedDto.builder()
+                .changes(List.of(TaskChangeDto.builder().sequence(100).id(UUID.randomUUID()).deleted(true).build()))
+                .nextCursor(TaskChangeCursor.before(101).encode()).build();
+        when(feedService.getChanges(TaskChangeCursor.initial(), 10)).thenReturn(empty);
+        when(feedService.getChanges(TaskChangeCursor.before(100), 10)).thenReturn(changed);
+        when(feedService.getLatestSequence()).thenReturn(100L);
+        notifier.start();
+        try {
+            // Act
+            DeferredResult<TaskChangeFeedDto> result = notifier.awaitChanges(TaskChangeCursor.initial(), 10, Duration.ofSeconds(20));
+            assertFalse(result.hasResult());
+            notifier.tasksChanged();
+
+            // Assert - rechecked from the cursor of the empty read
+            verify(feedService, timeout(5_000)).getChanges(TaskChangeCursor.before(100), 10);
+            awaitResult(result);
+            assertSame(changed, result.getResult());
+        } finally {
+            notifier.stop();
+        }
+    }
+
+    @Test
+    void awaitChanges_ChangesArrive_ReadsOncePerPositionBehindLatestChange() {
+        // Arrange
+        TaskChangeFeedService feedService = mock(TaskChangeFeedService.class);
+        TaskChangeFeedNotifier notifier = new TaskChangeFeedNotifier(feedService, Duration.ofSeconds(30), Duration.ofMinutes(1));
+        TaskChangeFeedDto emptyBefore100 = TaskChangeFeedDto.builder()
+                .changes(List.of()).nextCursor(TaskChangeCursor.before(100).encode()).build();
+        TaskChangeFeedDto emptyBefore200 = TaskChangeFeedDto.builder()
+                .changes(List.of()).nextCursor(TaskChangeCursor.before(200).encode()).build();
+        TaskChangeFeedDto changed = TaskChangeFeedDto.builder()
+                .changes(List.of(TaskChangeDto.builder().sequence(150).id(UUID.randomUUID()).deleted(true).build()))
+                .nextCursor(TaskChangeCursor.before(151).encode()).build();
+        when(feedService.getChanges(TaskChangeCursor.initial(), 10)).thenReturn(emptyBefore100);
+        when(feedService.getChanges(TaskChangeCursor.before(200), 10)).thenReturn(emptyBefore200);
+        when(feedService.getChanges(TaskChangeCursor.before(100), 10)).thenReturn(changed);
+        when(feedService.getLatestSequence()).thenReturn(150L);
+        notifier.start();
+        try {
+            // Act - two requests wait at the same position, one is already past the latest change
+            DeferredResult<TaskChangeFeedDto> first = notifier.awaitChanges(TaskChangeCursor.initial(), 10, Duration.ofSeconds(20));
+            DeferredResult<TaskChangeFeedDto> second = notifier.awaitChanges(TaskChangeCursor.initial(), 10, Duration.ofSeconds(20));
+            DeferredResult<TaskChangeFeedDto> ahead = notifier.awaitChanges(TaskChangeCursor.before(200), 10, Duration.ofSeconds(20));
+            notifier.tasksChanged();
+
+            // Assert
+            awaitResult(first);
+            awaitResult(second);
+            assertSame(changed, first.getResult());
+            assertSame(changed, second.getResult());
+            assertFalse(ahead.hasResult());
+            verify(feedService, times(1)).getChanges(TaskChangeCursor.before(100), 10);
+            verify(feedService, times(1)).getChanges(TaskChangeCursor.before(200), 10);
+        } finally {
+            notifier.stop();
+        }
+    }
+
+    @Test
+    void awaitChanges_NegativeWait_IsRejected() {
+        TaskChangeFeedNotifier notifier = new TaskChangeFeedNotifier(
+                mock(TaskChangeFeedService.class), Duration.ofSeconds(30), Duration.ofSeconds(5));
+
+        assertThrows(BadRequestException.class,
+                () -> notifier.awaitChanges(TaskChangeCursor.initial(), 10, Duration.ofSeconds(-1)));
+    }
+
+    private static void awaitResult(DeferredResult<?> result) {
+        long start = System.nanoTime();
+        while (!result.hasResult() && System.nanoTime() - start < 5_000_000_000L) {
+            Thread.onSpinWait();
+        }
+    }
+
+    private static Bug bug() {
+        return Bug.builder()
+                .id(UUID.randomUUID())
+                .name("Login fails")
+                .severity(Bug.BugSeverity.HIGH)
+                .status(TaskStatus.OPEN)
+                .build();
+    }
+}
@@ -0,0 +1,122 @@
+package com.seneca.taskmanagement.service;
+
+import com.seneca.taskmanagement.config.TestContainersConfig;
+import com.seneca.taskmanagement.dto.ExportFormat;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.io.OutputStream;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Exports more than a million tasks into a sink that keeps nothing, sampling the live heap
+ * while rows are streaming. Buffering the result set or the body anywhere would grow the
+ * heap by hundreds of megabytes; streaming keeps it flat.
+ */
+@SpringBootTest
+@Testcontainers
+@ActiveProfiles("test")
+public class TaskExportIntegrationTest extends TestContainersConfig {
+
+    private static final int TASK_COUNT = 1_100_000;
+    private static final int SAMPLE_EVERY_LINES = 100_000;
+    private static final long MAX_HEAP_GROWTH_BYTES = 48L * 1024 * 1024;
+
+    @Autowired
+    private TaskExportService taskExportService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void setUp() {
+        // About 300 bytes of text per row, several hundred megabytes if held in memory
+        jdbcTemplate.update("""
+                INSERT INTO tasks (id, name, description, status, created_at, updated_at, task_type, deleted)
+                SELECT gen_random_uuid(),
+                       'Export task ' || g,
+                       repeat('Streams without buffering. ', 11),
+                       (ARRAY['OPEN', 'IN_PROGRESS', 'DONE'])[1 + g % 3],
+                       now(),
+                       now(),
+                       CASE WHEN g % 2 = 0 THEN 'BUG' ELSE 'FEATURE' END,
+                       FALSE
+                FROM generate_series(1, ?) g
+                """, TASK_COUNT);
+    }
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.update("DELETE FROM tasks WHERE name LIKE 'Export task %'");
+    }
+
+    @Test
+    void exportKeepsHeapFlat() throws Exception {
+        MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+        long baseline = liveHeap(memory);
+        HeapSamplingSink sink = new HeapSamplingSink(memory);
+
+        long exported = taskExportService.exportTasks(
+                Optional.empty(), Optional.empty(), Optional.empty(), ExportFormat.NDJSON, sink);
+
+        assertEquals(TASK_COUNT, exported);
+        assertEquals(TASK_COUNT, sink.lines);
+        assertTrue(sink.samples >= TASK_COUNT / SAMPLE_EVERY_LINES, "Heap was not sampled while streaming");
+        long growth = sink.maxHeap - baseline;
+        assertTrue(growth < MAX_HEAP_GROWTH_BYTES,
+                "Live heap grew by " + growth / (1024 * 1024) + " MB while exporting " + TASK_COUNT + " tasks");
+    }
+
+    private static long liveHeap(MemoryMXBean memory) {
+        System.gc();
+        return memory.getHeapMemoryUsage().getUsed();
+    }
+
+    /**
+     * Discards the export, counting lines and measuring the live heap every so many lines
+     */
+    private static final class HeapSamplingSink extends OutputStream {
+
+        private final MemoryMXBean memory;
+        private long lines;
+        private long samples;
+        private long maxHeap;
+
+        HeapSamplingSink(MemoryMXBean memory) {
+            this.memory = memory;
+        }
+
+        @Override
+        public void write(int b) {
+            if (b == '\n') {
+                countLine();
+            }
+        }
+
+        @Override
+        public void write(byte[] bytes, int offset, int length) {
+            for (int i = offset; i < offset + length; i++) {
+                if (bytes[i] == '\n') {
+                    countLine();
+                }
+            }
+        }
+
+        private void countLine() {
+            if (++lines % SAMPLE_EVERY_LINES == 0) {
+                samples++;
+                maxHeap = Math.max(maxHeap, liveHeap(memory));
+            }
+        }
+    }
+}
@@ -0,0 +1,148 @@
+package com.seneca.taskmanagement.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.seneca.taskmanagement.domain.TaskStatus;
+import com.seneca.taskmanagement.dto.ExportFormat;
+import com.seneca.taskmanagement.dto.TaskExportRow;
+import com.seneca.taskmanagement.exception.BadRequestException;
+import com.seneca.taskmanagement.exception.ResourceNotFoundException;
+import com.seneca.taskmanagement.mapper.UserMapperImpl;
+import com.seneca.taskmanagement.repository.TaskExportRepository;
+import com.seneca.taskmanagement.repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class TaskExportServiceTest {
+
+    private static final OffsetDateTime CREATED_AT = OffsetDateTime.of(2024, 3, 1, 9, 30, 0, 0, ZoneOffset.UTC);
+
+    @Mock
+    private TaskExportRepository taskExportRepository;
+
+    @Mock
+    private UserRepository userRepository;
+
+    private TaskExportService taskExportService;
+
+    private TaskExportRow bugRow;
+    private TaskExportRow featureRow;
+
+    @BeforeEach
+    void setUp() {
+        ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules()
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+        taskExportService = new TaskExportService(taskExportRepository,
+                new UserLookupCache(userRepository, new UserMapperImpl(), Duration.ofMinutes(5), 100),
+                objectMapper);
+
+        bugRow = new TaskExportRow(UUID.randomUUID(), "BUG", "Login fails", "Shows \"invalid token\", then hangs",
+                TaskStatus.OPEN, null, CREATED_AT, CREATED_AT, 2, "HIGH", "LOW", "1. Log in\n2. Wait", "Production",
+                null, null, null, null);
+        featureRow = new TaskExportRow(UUID.randomUUID(), "FEATURE", "OAuth", null, TaskStatus.DONE, UUID.randomUUID(),
+                CREATED_AT, CREATED_AT, 0, null, null, null, null, "High", LocalDate.of(2024, 6, 30), "Works", 5);
+    }
+
+    @Test
+    void exportTasks_Ndjson_WritesOneObjectPerLine() throws IOException {
+        // Arrange
+        streamRows(bugRow, featureRow);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        // Act
+        long count = taskExportService.exportTasks(
+                Optional.empty(), Optional.empty(), Optional.empty(), ExportFormat.NDJSON, out);
+
+        // Assert
+        String body = out.toString(StandardCharsets.UTF_8);
+        assertEquals(2, count);
+        assertTrue(body.endsWith("\n"));
+        String[] lines = body.split("\n");
+        assertEquals(2, lines.length);
+        JsonNode bug = new ObjectMapper().readTree(lines[0]);
+        assertEquals(bugRow.id().toString(), bug.get("id").asText());
+        assertEquals("2024-03-01T09:30:00Z", bug.get("createdAt").asText());
+        assertEquals("1. Log in\n2. Wait", bug.get("stepsToReproduce").asText());
+        assertFalse(bug.has("businessValue"));
+        assertEquals("2024-06-30", new ObjectMapper().readTree(lines[1]).get("deadline").asText());
+    }
+
+    @Test
+    void exportTasks_Csv_QuotesFieldsWithSeparatorsQuotesAndLineBreaks() throws IOException {
+        // Arrange
+        streamRows(bugRow);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        // Act
+        taskExportService.exportTasks(Optional.empty(), Optional.empty(), Optional.empty(), ExportFormat.CSV, out);
+
+        // Assert
+        String expectedRow = bugRow.id() + ",BUG,Login fails,\"Shows \"\"invalid token\"\", then hangs\",OPEN,,"
+                + "2024-03-01T09:30:00Z,2024-03-01T09:30:00Z,2,HIGH,LOW,\"1. Log in\n2. Wait\",Production,,,,\r\n";
+        assertEquals(String.join(",", TaskExportRow.COLUMNS) + "\r\n" + expectedRow, out.toString(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void exportTasks_FlushesEveryFlushRows() throws IOException {
+        // Arrange
+        ReflectionTestUtils.setField(taskExportService, "flushRows", 2);
+        streamRows(bugRow, bugRow, bugRow, bugRow, bugRow);
+        OutputStream out = spy(new ByteArrayOutputStream());
+
+        // Act
+        taskExportService.exportTasks(Optional.empty(), Optional.empty(), Optional.empty(), ExportFormat.NDJSON, out);
+
+        // Assert - after rows 2 and 4, and once at the end
+        verify(out, times(3)).flush();
+    }
+
+    @Test
+    void validateFilters_UnknownUser_ThrowsResourceNotFoundException() {
+        // Arrange
+        UUID userId = UUID.randomUUID();
+        when(userRepository.findById(userId)).thenReturn(Optional.empty());
+
+        // Act & Assert
+        assertThrows(ResourceNotFoundException.class,
+                () -> taskExportService.validateFilters(Optional.of(userId), Optional.empty()));
+    }
+
+    @Test
+    void validateFilters_SearchTermTooShort_ThrowsBadRequestException() {
+        assertThrows(BadRequestException.class,
+                () -> taskExportService.validateFilters(Optional.empty(), Optional.of(" ab ")));
+        assertEquals(Optional.empty(), taskExportService.validateFilters(Optional.empty(), Optional.of("  ")));
+    }
+
+    @SuppressWarnings("unchecked")
+    private void streamRows(TaskExportRow... rows) {
+        when(taskExportRepository.streamWithFilters(any(), any(), any(), any())).thenAnswer(invocation -> {
+            Consumer<TaskExportRow> consumer = invocation.getArgument(3);
+            List.of(rows).forEach(consumer);
+            return (long) rows.length;
+        });
+    }
+}
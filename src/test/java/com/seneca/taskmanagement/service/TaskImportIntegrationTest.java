@@ -0,0 +1,127 @@
+package com.seneca.taskmanagement.service;
+
+import com.seneca.taskmanagement.config.TestContainersConfig;
+import com.seneca.taskmanagement.dto.TaskImportResult;
+import com.seneca.taskmanagement.dto.UserDto;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.io.SequenceInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Enumeration;
+import java.util.UUID;
+import java.util.function.IntFunction;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Loads generated NDJSON through COPY and the staging merge, checking that referential
+ * rejections are reported per line and that re-running an import skips what was loaded.
+ */
+@SpringBootTest
+@Testcontainers
+@ActiveProfiles("test")
+@Slf4j
+public class TaskImportIntegrationTest extends TestContainersConfig {
+
+    private static final int TASK_COUNT = 300;
+
+    @Autowired
+    private TaskImportService taskImportService;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private UserDto user;
+    private UserDto deletedUser;
+
+    @BeforeEach
+    void setUp() {
+        user = createUser();
+        deletedUser = createUser();
+        userService.deleteUser(deletedUser.getId());
+    }
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.update("DELETE FROM tasks WHERE name LIKE 'Imported %'");
+    }
+
+    @Test
+    void importLoadsTasksAndRejectsUnknownAssignees() throws Exception {
+        UUID unknownUserId = UUID.randomUUID();
+
+        TaskImportResult result = taskImportService.importTasks(generatedNdjson(i -> switch (i) {
+            case 10 -> unknownUserId;
+            case 20 -> deletedUser.getId();
+            default -> user.getId();
+        }));
+
+        long rowsPerSecond = result.getImported() * 1000 / Math.max(1, result.getElapsedMillis());
+        log.info("Imported {} tasks at {} rows/s", result.getImported(), rowsPerSecond);
+        assertEquals(TASK_COUNT, result.getLines());
+        assertEquals(TASK_COUNT - 2, result.getImported());
+        assertEquals(2, result.getRejected());
+        assertEquals(10, result.getRejections().get(0).getLine());
+        assertEquals("User not found with ID: " + unknownUserId, result.getRejections().get(0).getReason());
+        assertEquals(20, result.getRejections().get(1).getLine());
+        assertEquals((long) TASK_COUNT - 2, jdbcTemplate.queryForObject(
+                "SELECT count(*) FROM tasks WHERE name LIKE 'Imported %' AND user_id = ?", Long.class, user.getId()));
+    }
+
+    @Test
+    void reimportSkipsExistingIds() throws Exception {
+        String line = "{\"id\":\"%s\",\"taskType\":\"BUG\",\"name\":\"Imported again\",\"severity\":\"LOW\",\"priority\":\"LOW\"}\n"
+                .formatted(UUID.randomUUID());
+        taskImportService.importTasks(new ByteArrayInputStream(line.getBytes(StandardCharsets.UTF_8)));
+
+        TaskImportResult result = taskImportService.importTasks(new ByteArrayInputStream(line.getBytes(StandardCharsets.UTF_8)));
+
+        assertEquals(0, result.getImported());
+        assertTrue(result.getRejections().get(0).getReason().startsWith("Task already exists with ID: "));
+    }
+
+    private UserDto createUser() {
+        return userService.createUser(UserDto.builder()
+                .username("import_" + UUID.randomUUID().toString().substring(0, 8))
+                .fullName("Import User")
+                .build());
+    }
+
+    /**
+     * Generate NDJSON lines lazily, so the upload itself is never held in memory
+     */
+    private static InputStream generatedNdjson(IntFunction<UUID> assignee) {
+        Enumeration<InputStream> lines = new Enumeration<>() {
+            private int next = 1;
+
+            @Override
+            public boolean hasMoreElements() {
+                return next <= TASK_COUNT;
+            }
+
+            @Override
+            public InputStream nextElement() {
+                int i = next++;
+                String line = """
+                        {"taskType":"BUG","name":"Imported %d","description":"Loaded by \\"COPY\\", line %d","status":"OPEN",\
+                        "assignedUserId":"%s","severity":"MEDIUM","priority":"HIGH","createdAt":"2020-05-01T12:00:00Z"}
+                        """.formatted(i, i, assignee.apply(i));
+                return new ByteArrayInputStream(line.getBytes(StandardCharsets.UTF_8));
+            }
+        };
+        return new SequenceInputStream(lines);
+    }
+}
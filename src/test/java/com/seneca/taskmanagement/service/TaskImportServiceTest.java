@@ -0,0 +1,201 @@
+package com.seneca.taskmanagement.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.seneca.taskmanagement.dto.TaskImportRejection;
+import com.seneca.taskmanagement.dto.TaskImportResult;
+import com.seneca.taskmanagement.repository.TaskImportRepository;
+import com.seneca.taskmanagement.repository.TaskImportRepository.StagedTask;
+import jakarta.validation.Validation;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.postgresql.util.PSQLException;
+import org.postgresql.util.PSQLState;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.unit.DataSize;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class TaskImportServiceTest {
+
+    @Mock
+    private TaskImportRepository taskImportRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @Mock
+    private TaskAuditService taskAuditService;
+
+    private TaskImportService taskImportService;
+
+    private final List<List<StagedTask>> loadedChunks = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        taskImportService = new TaskImportService(taskImportRepository, new TransactionTemplate(transactionManager), taskAuditService,
+                new TaskListCache(Duration.ofMinutes(5), DataSize.ofMegabytes(1)),
+                Validation.buildDefaultValidatorFactory().getValidator(), new ObjectMapper().findAndRegisterModules());
+        ReflectionTestUtils.setField(taskImportService, "chunkSize", 2);
+    }
+
+    @Test
+    void importTasks_LoadsValidLinesInChunks() throws IOException {
+        // Arrange
+        acceptAll();
+
+        // Act
+        TaskImportResult result = taskImportService.importTasks(ndjson(bug("One"), "", feature("Two"), bug("Three")));
+
+        // Assert - the blank line is skipped but still counts for line numbers
+        assertEquals(3, result.getLines());
+        assertEquals(3, result.getImported());
+        assertEquals(0, result.getRejected());
+        assertEquals(2, result.getChunks());
+        assertEquals(List.of(1L, 3L), loadedChunks.get(0).stream().map(StagedTask::line).toList());
+        assertEquals(List.of(4L), loadedChunks.get(1).stream().map(StagedTask::line).toList());
+    }
+
+    @Test
+    void importTasks_AppliesDefaults() throws IOException {
+        // Arrange
+        acceptAll();
+
+        // Act
+        taskImportService.importTasks(ndjson(bug("No id")));
+
+        // Assert
+        StagedTask staged = loadedChunks.get(0).get(0);
+        assertNotNull(staged.task().id());
+        assertEquals("OPEN", staged.task().status().name());
+        assertNotNull(staged.task().createdAt());
+        assertEquals(staged.task().createdAt(), staged.task().updatedAt());
+    }
+
+    @Test
+    void importTasks_RejectsInvalidLinesWithoutLoadingThem() throws IOException {
+        // Arrange
+        acceptAll();
+        String noSeverity = "{\"taskType\":\"BUG\",\"name\":\"No severity\",\"priority\":\"URGENT\"}";
+        String pastDeadline = "{\"taskType\":\"FEATURE\",\"name\":\"Old\",\"businessValue\":\"x\",\"deadline\":\"2001-01-01\",\"estimatedEffort\":3}";
+
+        // Act
+        TaskImportResult result = taskImportService.importTasks(
+                ndjson("{not json", noSeverity, "{\"taskType\":\"EPIC\",\"name\":\"Epic\"}", pastDeadline));
+
+        // Assert - historical deadlines are kept, unlike in create requests
+        assertEquals(1, result.getImported());
+        assertEquals(3, result.getRejected());
+        List<TaskImportRejection> rejections = result.getRejections();
+        assertEquals(List.of(1L, 2L, 3L), rejections.stream().map(TaskImportRejection::getLine).toList());
+        assertTrue(rejections.get(0).getReason().startsWith("Malformed JSON"));
+        // The create request constraints and their messages, next to the unknown enum value
+        assertEquals("priority: must be one of [LOW, MEDIUM, HIGH]; severity: Bug severity is required",
+                rejections.get(1).getReason());
+        assertTrue(rejections.get(2).getReason().startsWith("taskType"));
+    }
+
+    @Test
+    void importTasks_RejectsDuplicateIdWithinChunk() throws IOException {
+        // Arrange
+        acceptAll();
+        UUID id = UUID.randomUUID();
+
+        // Act
+        TaskImportResult result = taskImportService.importTasks(ndjson(bug("First", id), bug("Second", id)));
+
+        // Assert
+        assertEquals(1, result.getImported());
+        assertEquals(2, result.getRejections().get(0).getLine());
+    }
+
+    @Test
+    void importTasks_ReportsMergeRejectionsInLineOrder() throws IOException {
+        // Arrange - the database rejects line 2 of the first chunk
+        when(taskImportRepository.copyAndMerge(anyList(), any())).thenReturn(
+                List.of(new TaskImportRejection(2, "User not found with ID: x")), List.of());
+        ReflectionTestUtils.setField(taskImportService, "maxReportedRejections", 5);
+
+        // Act
+        TaskImportResult result = taskImportService.importTasks(ndjson(bug("One"), bug("Two"), "{oops"));
+
+        // Assert
+        assertEquals(1, result.getImported());
+        assertEquals(2, result.getRejected());
+        assertEquals(List.of(2L, 3L), result.getRejections().stream().map(TaskImportRejection::getLine).toList());
+        assertFalse(result.isRejectionsTruncated());
+    }
+
+    @Test
+    void importTasks_CapsReportedRejections() throws IOException {
+        // Arrange
+        ReflectionTestUtils.setField(taskImportService, "maxReportedRejections", 1);
+
+        // Act
+        TaskImportResult result = taskImportService.importTasks(ndjson("{oops", "{oops"));
+
+        // Assert
+        assertEquals(2, result.getRejected());
+        assertEquals(1, result.getRejections().size());
+        assertTrue(result.isRejectionsTruncated());
+        verify(taskImportRepository, never()).copyAndMerge(anyList(), any());
+    }
+
+    @Test
+    void importTasks_AssigneeDeletedDuringMerge_RetriesChunk() throws IOException {
+        // Arrange
+        DataIntegrityViolationException fkViolation = new DataIntegrityViolationException("fk_task_user",
+                new PSQLException("violates foreign key constraint", PSQLState.FOREIGN_KEY_VIOLATION));
+        when(taskImportRepository.copyAndMerge(anyList(), any()))
+                .thenThrow(fkViolation)
+                .thenReturn(List.of(new TaskImportRejection(1, "User not found with ID: x")));
+
+        // Act
+        TaskImportResult result = taskImportService.importTasks(ndjson(bug("One")));
+
+        // Assert
+        verify(taskImportRepository, times(2)).copyAndMerge(anyList(), any());
+        assertEquals(0, result.getImported());
+        assertEquals(1, result.getRejected());
+    }
+
+    private void acceptAll() {
+        when(taskImportRepository.copyAndMerge(anyList(), any())).thenAnswer(invocation -> {
+            loadedChunks.add(List.copyOf(invocation.<List<StagedTask>>getArgument(0)));
+            return List.of();
+        });
+    }
+
+    private static String bug(String name) {
+        return "{\"taskType\":\"BUG\",\"name\":\"" + name + "\",\"severity\":\"HIGH\",\"priority\":\"LOW\"}";
+    }
+
+    private static String bug(String name, UUID id) {
+        return "{\"id\":\"" + id + "\",\"taskType\":\"BUG\",\"name\":\"" + name + "\",\"severity\":\"HIGH\",\"priority\":\"LOW\"}";
+    }
+
+    private static String feature(String name) {
+        return "{\"taskType\":\"FEATURE\",\"name\":\"" + name + "\",\"businessValue\":\"High\",\"deadline\":\"2030-01-01\","
+                + "\"estimatedEffort\":3,\"status\":\"IN_PROGRESS\"}";
+    }
+
+    private static ByteArrayInputStream ndjson(String... lines) {
+        return new ByteArrayInputStream((String.join("\n", lines) + "\n").getBytes(StandardCharsets.UTF_8));
+    }
+}
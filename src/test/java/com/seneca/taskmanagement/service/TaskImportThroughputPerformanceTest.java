@@ -0,0 +1,103 @@
+package com.seneca.taskmanagement.service;
+
+import com.seneca.taskmanagement.config.TestContainersConfig;
+import com.seneca.taskmanagement.dto.TaskImportResult;
+import com.seneca.taskmanagement.dto.UserDto;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.io.SequenceInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Enumeration;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Checks the import throughput target: 200k generated NDJSON lines, all with an existing
+ * assignee, loaded through COPY and the staging merge at 50k rows/s or more, triggers, outbox
+ * events and audit entries included. Depends on the machine, so it only runs with
+ * {@code mvn test -Pperformance}.
+ */
+@SpringBootTest
+@Testcontainers
+@ActiveProfiles("test")
+@Tag("performance")
+@Slf4j
+public class TaskImportThroughputPerformanceTest extends TestContainersConfig {
+
+    private static final int TASK_COUNT = 200_000;
+
+    // Import throughput target of the NDJSON endpoint
+    private static final long MIN_ROWS_PER_SECOND = 50_000;
+
+    @Autowired
+    private TaskImportService taskImportService;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private UserDto user;
+
+    @BeforeEach
+    void setUp() {
+        user = userService.createUser(UserDto.builder()
+                .username("throughput_" + UUID.randomUUID().toString().substring(0, 8))
+                .fullName("Throughput User")
+                .build());
+    }
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.update("DELETE FROM tasks WHERE name LIKE 'Throughput %'");
+    }
+
+    @Test
+    void importsAtTargetRate() throws Exception {
+        TaskImportResult result = taskImportService.importTasks(generatedNdjson(user.getId()));
+
+        long rowsPerSecond = result.getImported() * 1000 / Math.max(1, result.getElapsedMillis());
+        log.info("Imported {} tasks in {} ms, {} rows/s", result.getImported(), result.getElapsedMillis(), rowsPerSecond);
+        assertEquals(TASK_COUNT, result.getImported());
+        assertTrue(rowsPerSecond >= MIN_ROWS_PER_SECOND, "Imported at " + rowsPerSecond + " rows/s");
+    }
+
+    /**
+     * Generate NDJSON lines lazily, so the upload itself is never held in memory
+     */
+    private static InputStream generatedNdjson(UUID assignee) {
+        Enumeration<InputStream> lines = new Enumeration<>() {
+            private int next = 1;
+
+            @Override
+            public boolean hasMoreElements() {
+                return next <= TASK_COUNT;
+            }
+
+            @Override
+            public InputStream nextElement() {
+                int i = next++;
+                String line = """
+                        {"taskType":"BUG","name":"Throughput %d","description":"Loaded by COPY, line %d","status":"OPEN",\
+                        "assignedUserId":"%s","severity":"MEDIUM","priority":"HIGH","createdAt":"2020-05-01T12:00:00Z"}
+                        """.formatted(i, i, assignee);
+                return new ByteArrayInputStream(line.getBytes(StandardCharsets.UTF_8));
+            }
+        };
+        return new SequenceInputStream(lines);
+    }
+}
@@ -0,0 +1,135 @@
+package com.seneca.taskmanagement.service;
+
+import com.seneca.taskmanagement.config.TestContainersConfig;
+import com.seneca.taskmanagement.dto.CountMode;
+import com.seneca.taskmanagement.dto.TaskDto;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.lang.management.ManagementFactory;
+import java.util.Arrays;
+import java.util.Optional;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Measures what the read-only transactions of TaskService save on the full-view task list:
+ * bytes allocated and time per call of a 100-task page, in its own read-only transaction
+ * versus joined to a read-write one, which disables the read-only session settings.
+ * Only reports the numbers; run with {@code mvn test -Pperformance}.
+ */
+@SpringBootTest(properties = "task-management.task-cache.enabled=false") // Every call must reach the database
+@Testcontainers
+@ActiveProfiles("test")
+@Tag("performance")
+@Slf4j
+public class TaskListReadOnlyPerformanceTest extends TestContainersConfig {
+
+    private static final int TASK_COUNT = 2_000;
+    private static final int PAGE_SIZE = 100;
+    private static final int WARM_UP_CALLS = 2_000;
+    private static final int ROUNDS = 9;
+    private static final int CALLS_PER_ROUND = 1_000;
+
+    @Autowired
+    private TaskService taskService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate.update("""
+                INSERT INTO tasks (id, name, description, status, created_at, updated_at, task_type,
+                                   severity, steps_to_reproduce, priority, environment)
+                SELECT gen_random_uuid(),
+                       'Read-only bug ' || g,
+                       repeat('Description of the bug. ', 10),
+                       'OPEN',
+                       now() - g * interval '1 second',
+                       now(),
+                       'BUG',
+                       'HIGH',
+                       repeat('Step to reproduce. ', 10),
+                       'HIGH',
+                       'prod'
+                FROM generate_series(1, ?) g
+                """, TASK_COUNT);
+        jdbcTemplate.execute("ANALYZE tasks");
+    }
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.update("DELETE FROM tasks WHERE name LIKE 'Read-only bug %'");
+    }
+
+    @Test
+    void measureReadOnlyListAgainstReadWrite() {
+        TransactionTemplate readWrite = new TransactionTemplate(transactionManager);
+        Supplier<Slice<TaskDto>> readOnlyCall = this::listFullPage;
+        Supplier<Slice<TaskDto>> readWriteCall = () -> readWrite.execute(status -> listFullPage());
+
+        assertEquals(PAGE_SIZE, readOnlyCall.get().getNumberOfElements());
+        assertEquals(PAGE_SIZE, readWriteCall.get().getNumberOfElements());
+        for (int i = 0; i < WARM_UP_CALLS; i++) {
+            readOnlyCall.get();
+            readWriteCall.get();
+        }
+
+        // Alternate the rounds so drift in the JIT or the database affects both alike
+        double[][] readOnlyRounds = new double[2][ROUNDS];
+        double[][] readWriteRounds = new double[2][ROUNDS];
+        for (int round = 0; round < ROUNDS; round++) {
+            measureRound(readOnlyCall, readOnlyRounds, round);
+            measureRound(readWriteCall, readWriteRounds, round);
+        }
+        log.info("Full list page of {} tasks, median of {} rounds of {} calls: read-only {} B and {} ms per call, "
+                        + "read-write {} B and {} ms per call",
+                PAGE_SIZE, ROUNDS, CALLS_PER_ROUND,
+                Math.round(median(readOnlyRounds[0])), String.format("%.3f", median(readOnlyRounds[1])),
+                Math.round(median(readWriteRounds[0])), String.format("%.3f", median(readWriteRounds[1])));
+    }
+
+    private Slice<TaskDto> listFullPage() {
+        return taskService.findTasksWithFilters(Optional.empty(), Optional.empty(), Optional.empty(),
+                PageRequest.of(0, PAGE_SIZE), Optional.of(CountMode.NONE));
+    }
+
+    /**
+     * Record the bytes allocated by this thread and the milliseconds spent per call
+     */
+    private static void measureRound(Supplier<?> call, double[][] results, int round) {
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long threadId = Thread.currentThread().getId();
+        long allocatedBefore = threads.getThreadAllocatedBytes(threadId);
+        long startedAt = System.nanoTime();
+        for (int i = 0; i < CALLS_PER_ROUND; i++) {
+            call.get();
+        }
+        long elapsed = System.nanoTime() - startedAt;
+        results[0][round] = (threads.getThreadAllocatedBytes(threadId) - allocatedBefore) / (double) CALLS_PER_ROUND;
+        results[1][round] = elapsed / 1e6 / CALLS_PER_ROUND;
+    }
+
+    private static double median(double[] values) {
+        double[] sorted = values.clone();
+        Arrays.sort(sorted);
+        return sorted[sorted.length / 2];
+    }
+}
@@ -0,0 +1,109 @@
+package com.seneca.taskmanagement.service;
+
+import com.seneca.taskmanagement.dto.TaskThroughputDto;
+import com.seneca.taskmanagement.exception.BadRequestException;
+import com.seneca.taskmanagement.repository.TaskThroughputRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class TaskReportServiceTest {
+
+    private static final LocalDate FROM = LocalDate.of(2025, 5, 1);
+
+    @Mock
+    private TaskThroughputRepository taskThroughputRepository;
+
+    private TaskReportService taskReportService;
+
+    @BeforeEach
+    void setUp() {
+        taskReportService = new TaskReportService(taskThroughputRepository);
+    }
+
+    @Test
+    void getThroughput_ReadsRollupWithNormalizedTaskType() {
+        // Arrange
+        UUID userId = UUID.randomUUID();
+        List<TaskThroughputDto> rows = List.of(new TaskThroughputDto(FROM, "BUG", userId, 2, 1, 0));
+        when(taskThroughputRepository.findDaily(FROM, FROM.plusDays(6), Optional.of(userId), Optional.of("BUG")))
+                .thenReturn(rows);
+
+        // Act
+        List<TaskThroughputDto> result = taskReportService.getThroughput(FROM, FROM.plusDays(6), Optional.of(userId), Optional.of("bug"));
+
+        // Assert
+        assertEquals(rows, result);
+    }
+
+    @Test
+    void getThroughput_AcceptsSingleDayAndLongestRange() {
+        // Act
+        taskReportService.getThroughput(FROM, FROM, Optional.empty(), Optional.empty());
+        taskReportService.getThroughput(FROM, FROM.plusDays(365), Optional.empty(), Optional.empty());
+
+        // Assert
+        verify(taskThroughputRepository, times(2)).findDaily(any(), any(), any(), any());
+    }
+
+    @Test
+    void getThroughput_ReversedRange_ThrowsException() {
+        // Act & Assert
+        assertThrows(BadRequestException.class,
+                () -> taskReportService.getThroughput(FROM, FROM.minusDays(1), Optional.empty(), Optional.empty()));
+        verifyNoInteractions(taskThroughputRepository);
+    }
+
+    @Test
+    void getThroughput_RangeTooLong_ThrowsException() {
+        // Act & Assert
+        assertThrows(BadRequestException.class,
+                () -> taskReportService.getThroughput(FROM, FROM.plusDays(366), Optional.empty(), Optional.empty()));
+        verifyNoInteractions(taskThroughputRepository);
+    }
+
+    @Test
+    void backfillThroughput_RebuildsAndMarksDone() {
+        // Arrange
+        when(taskThroughputRepository.tryLockBackfill()).thenReturn(true);
+        when(taskThroughputRepository.backfill(FROM)).thenReturn(12);
+
+        // Act & Assert
+        assertEquals(Optional.of(12), taskReportService.backfillThroughput(FROM));
+        verify(taskThroughputRepository).markBackfilled(FROM, 12);
+    }
+
+    @Test
+    void backfillThroughput_AlreadyDone_Skips() {
+        // Arrange
+        when(taskThroughputRepository.tryLockBackfill()).thenReturn(true);
+        when(taskThroughputRepository.isBackfilled(FROM)).thenReturn(true);
+
+        // Act & Assert
+        assertEquals(Optional.empty(), taskReportService.backfillThroughput(FROM));
+        verify(taskThroughputRepository, never()).backfill(any());
+    }
+
+    @Test
+    void backfillThroughput_RunningElsewhere_Skips() {
+        // Arrange
+        when(taskThroughputRepository.tryLockBackfill()).thenReturn(false);
+
+        // Act & Assert
+        assertEquals(Optional.empty(), taskReportService.backfillThroughput(FROM));
+        verify(taskThroughputRepository, never()).isBackfilled(any());
+        verify(taskThroughputRepository, never()).backfill(any());
+    }
+}
@@ -0,0 +1,112 @@
+package com.seneca.taskmanagement.service;
+
+import com.seneca.taskmanagement.config.TestContainersConfig;
+import com.seneca.taskmanagement.domain.Bug;
+import com.seneca.taskmanagement.domain.Task;
+import com.seneca.taskmanagement.domain.TaskStatus;
+import com.seneca.taskmanagement.dto.CreateBugDto;
+import com.seneca.taskmanagement.dto.OutboxEventType;
+import com.seneca.taskmanagement.dto.TaskDto;
+import com.seneca.taskmanagement.dto.UpdateBugRequest;
+import com.seneca.taskmanagement.dto.UserDto;
+import com.seneca.taskmanagement.repository.TaskRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.hibernate.FlushMode;
+import org.hibernate.Session;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.SpyBean;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doThrow;
+
+/**
+ * Verifies the transaction boundaries of the service layer against a real database
+ */
+@SpringBootTest
+@Testcontainers
+@ActiveProfiles("test")
+public class TaskServiceTransactionIntegrationTest extends TestContainersConfig {
+
+    @Autowired
+    private TaskService taskService;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @SpyBean
+    private OutboxService outboxService;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    private TaskDto task;
+
+    @BeforeEach
+    void setUp() {
+        UserDto user = userService.createUser(UserDto.builder()
+                .username("tx_" + UUID.randomUUID().toString().substring(0, 8))
+                .fullName("Transaction User")
+                .build());
+        task = taskService.createTask(CreateBugDto.builder()
+                .name("Transactional Bug")
+                .severity(Bug.BugSeverity.LOW)
+                .priority(Bug.BugPriority.LOW)
+                .assignedUserId(user.getId())
+                .build());
+    }
+
+    @Test
+    void readOnlyTransactionKeepsNoSnapshotsAndNeverFlushes() {
+        TransactionTemplate readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+
+        readOnly.executeWithoutResult(status -> {
+            Session session = entityManager.unwrap(Session.class);
+            assertTrue(session.isDefaultReadOnly());
+            assertEquals(FlushMode.MANUAL, session.getHibernateFlushMode());
+
+            Task loaded = taskRepository.findById(task.getId()).orElseThrow();
+            assertTrue(session.isReadOnly(loaded));
+
+            // Not dirty-checked, so this change must never reach the database
+            loaded.setName("Changed inside a read-only transaction");
+        });
+
+        assertEquals("Transactional Bug", taskService.getTaskById(task.getId()).getName());
+    }
+
+    @Test
+    void updateTaskIsAtomic() {
+        // Fails after the update has been flushed to the database
+        doThrow(new IllegalStateException("outbox unavailable"))
+                .when(outboxService).taskChanged(eq(OutboxEventType.TASK_UPDATED), any());
+        UpdateBugRequest updateRequest = new UpdateBugRequest();
+        updateRequest.setName("Renamed");
+        updateRequest.setStatus(TaskStatus.IN_PROGRESS);
+
+        assertThrows(IllegalStateException.class, () -> taskService.updateTask(task.getId(), updateRequest));
+
+        TaskDto current = taskService.getTaskById(task.getId());
+        assertEquals("Transactional Bug", current.getName());
+        assertEquals(TaskStatus.OPEN, current.getStatus());
+        assertEquals(task.getVersion(), current.getVersion());
+    }
+}
@@ -1,26 +1,34 @@
 package com.seneca.taskmanagement.service;
 
 import com.seneca.taskmanagement.domain.User;
+import com.seneca.taskmanagement.dto.OutboxEventType;
 import com.seneca.taskmanagement.dto.UserDto;
+import com.seneca.taskmanagement.dto.UserTaskStatsDto;
 import com.seneca.taskmanagement.dto.UserUpdateDto;
 import com.seneca.taskmanagement.exception.ResourceAlreadyExistsException;
 import com.seneca.taskmanagement.exception.ResourceNotFoundException;
 import com.seneca.taskmanagement.mapper.UserMapper;
 import com.seneca.taskmanagement.mapper.UserMapperImpl;
 import com.seneca.taskmanagement.repository.UserRepository;
+import com.seneca.taskmanagement.repository.UserTaskCounterRepository;
+import com.seneca.taskmanagement.util.DatabaseErrors;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
 import org.mockito.Mockito;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 
+import java.sql.SQLException;
+import java.time.Duration;
 import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
 
@@ -34,6 +42,12 @@ class UserServiceTest {
     @Mock
     private UserRepository userRepository;
 
+    @Mock
+    private UserTaskCounterRepository userTaskCounterRepository;
+
+    @Mock
+    private OutboxService outboxService;
+
     private UserMapper userMapper;
     private UserService userService;
 
@@ -43,7 +57,8 @@ class UserServiceTest {
     @BeforeEach
     void setUp() {
         userMapper = new UserMapperImpl();
-        userService = new UserService(userRepository, userMapper);
+        userService = new UserService(userRepository, userMapper,
+                new UserLookupCache(userRepository, userMapper, Duration.ofMinutes(5), 100), userTaskCounterRepository, outboxService);
 
         UUID userId = UUID.randomUUID();
         userDto = UserDto.builder()
@@ -62,7 +77,7 @@ class UserServiceTest {
     @Test
     void createUser_Success() {
         // Arrange
-        when(userRepository.save(any(User.class))).thenReturn(user);
+        when(userRepository.saveAndFlush(any(User.class))).thenReturn(user);
 
         // Act
         UserDto result = userService.createUser(userDto);
@@ -72,18 +87,19 @@ class UserServiceTest {
         assertEquals(userDto.getUsername(), result.getUsername());
         assertEquals(userDto.getFullName(), result.getFullName());
 
-        verify(userRepository).existsByUsernameIncludingDeleted(userDto.getUsername());
-        verify(userRepository).save(Mockito.any());
+        verify(userRepository).saveAndFlush(Mockito.any());
+        verifyNoMoreInteractions(userRepository);
     }
 
     @Test
     void createUser_UsernameExists_ThrowsException() {
         // Arrange
-        when(userRepository.existsByUsernameIncludingDeleted(anyString())).thenReturn(true);
+        when(userRepository.saveAndFlush(any(User.class))).thenThrow(new DataIntegrityViolationException(
+                "users_username_key", new SQLException("duplicate key value", DatabaseErrors.UNIQUE_VIOLATION)));
 
         // Act & Assert
         assertThrows(ResourceAlreadyExistsException.class, () -> userService.createUser(userDto));
-        verify(userRepository).existsByUsernameIncludingDeleted(userDto.getUsername());
+        verify(userRepository).saveAndFlush(Mockito.any());
         verifyNoMoreInteractions(userRepository);
     }
 
@@ -122,7 +138,7 @@ class UserServiceTest {
         when(userRepository.findAll(any(Pageable.class))).thenReturn(userPage);
 
         // Act
-        Page<UserDto> result = userService.getAllUsers(pageable);
+        Page<UserDto> result = userService.getAllUsers(pageable, false);
 
         // Assert
         assertNotNull(result);
@@ -134,6 +150,85 @@ class UserServiceTest {
         verify(userRepository).findAll(pageable);
     }
 
+    @Test
+    void getAllUsers_WithStats_ReadsCountersOfPageInOneQuery() {
+        // Arrange
+        UserTaskStatsDto stats = new UserTaskStatsDto(user.getId(), 3, 1, 2, 6);
+        when(userRepository.findAll(any(Pageable.class))).thenReturn(new PageImpl<>(List.of(user)));
+        when(userTaskCounterRepository.findByUserIds(List.of(user.getId()))).thenReturn(Map.of(user.getId(), stats));
+
+        // Act
+        Page<UserDto> result = userService.getAllUsers(PageRequest.of(0, 10), true);
+
+        // Assert
+        assertEquals(stats, result.getContent().get(0).getTaskStats());
+        verify(userTaskCounterRepository).findByUserIds(List.of(user.getId()));
+    }
+
+    @Test
+    void getAllUsers_WithoutStats_DoesNotReadCounters() {
+        // Arrange
+        when(userRepository.findAll(any(Pageable.class))).thenReturn(new PageImpl<>(List.of(user)));
+
+        // Act
+        Page<UserDto> result = userService.getAllUsers(PageRequest.of(0, 10), false);
+
+        // Assert
+        assertNull(result.getContent().get(0).getTaskStats());
+        verifyNoInteractions(userTaskCounterRepository);
+    }
+
+    @Test
+    void reconcileTaskCounters_LockAcquired_ReconcilesCounters() {
+        // Arrange
+        when(userTaskCounterRepository.tryLockReconcile()).thenReturn(true);
+        when(userTaskCounterRepository.reconcile()).thenReturn(3);
+
+        // Act
+        Optional<Integer> result = userService.reconcileTaskCounters();
+
+        // Assert
+        assertEquals(Optional.of(3), result);
+    }
+
+    @Test
+    void reconcileTaskCounters_ReconcilingElsewhere_Skips() {
+        // Arrange
+        when(userTaskCounterRepository.tryLockReconcile()).thenReturn(false);
+
+        // Act
+        Optional<Integer> result = userService.reconcileTaskCounters();
+
+        // Assert
+        assertTrue(result.isEmpty());
+        verify(userTaskCounterRepository, never()).reconcile();
+    }
+
+    @Test
+    void getUserStats_Success() {
+        // Arrange
+        UserTaskStatsDto stats = new UserTaskStatsDto(user.getId(), 0, 2, 5, 7);
+        when(userRepository.findById(user.getId())).thenReturn(Optional.of(user));
+        when(userTaskCounterRepository.findByUserId(user.getId())).thenReturn(stats);
+
+        // Act
+        UserTaskStatsDto result = userService.getUserStats(user.getId());
+
+        // Assert
+        assertEquals(stats, result);
+    }
+
+    @Test
+    void getUserStats_NotFound_ThrowsException() {
+        // Arrange
+        UUID unknownId = UUID.randomUUID();
+        when(userRepository.findById(unknownId)).thenReturn(Optional.empty());
+
+        // Act & Assert
+        assertThrows(ResourceNotFoundException.class, () -> userService.getUserStats(unknownId));
+        verifyNoInteractions(userTaskCounterRepository);
+    }
+
     @Test
     void updateUser_Success() {
         // Arrange
@@ -141,7 +236,7 @@ class UserServiceTest {
         updateDto.setFullName("Updated Name");
         
         when(userRepository.findById(any(UUID.class))).thenReturn(Optional.of(user));
-        when(userRepository.save(any(User.class))).thenReturn(user);
+        when(userRepository.saveAndFlush(any(User.class))).thenReturn(user);
 
         // Act
         UserDto result = userService.updateUser(user.getId(), updateDto);
@@ -153,7 +248,8 @@ class UserServiceTest {
         assertEquals("Updated Name", result.getFullName());
 
         verify(userRepository).findById(user.getId());
-        verify(userRepository).save(any());
+        verify(userRepository).saveAndFlush(any());
+        verify(outboxService).userChanged(OutboxEventType.USER_UPDATED, result);
     }
 
     @Test
@@ -180,7 +276,7 @@ class UserServiceTest {
 
         // Assert
         verify(userRepository).findById(testId);
-        verify(userRepository).save(Mockito.any());
+        verify(userRepository).saveAndFlush(Mockito.any());
     }
 
     @Test
@@ -193,4 +289,49 @@ class UserServiceTest {
         verify(userRepository).findById(any(UUID.class));
         verifyNoMoreInteractions(userRepository);
     }
+
+    @Test
+    void getUserById_IsCached() {
+        // Arrange
+        when(userRepository.findById(user.getId())).thenReturn(Optional.of(user));
+
+        // Act
+        userService.getUserById(user.getId());
+        UserDto result = userService.getUserById(user.getId());
+
+        // Assert
+        assertEquals(user.getUsername(), result.getUsername());
+        verify(userRepository, times(1)).findById(user.getId());
+    }
+
+    @Test
+    void updateUser_InvalidatesCachedUser() {
+        // Arrange
+        UserUpdateDto updateDto = new UserUpdateDto();
+        updateDto.setFullName("Updated Name");
+        when(userRepository.findById(user.getId())).thenReturn(Optional.of(user));
+        when(userRepository.saveAndFlush(any(User.class))).thenReturn(user);
+        userService.getUserById(user.getId());
+
+        // Act
+        userService.updateUser(user.getId(), updateDto);
+        UserDto result = userService.getUserById(user.getId());
+
+        // Assert
+        assertEquals("Updated Name", result.getFullName());
+        verify(userRepository, times(3)).findById(user.getId());
+    }
+
+    @Test
+    void deleteUser_InvalidatesCachedUser() {
+        // Arrange
+        when(userRepository.findById(user.getId())).thenReturn(Optional.of(user), Optional.of(user), Optional.empty());
+        userService.getUserById(user.getId());
+
+        // Act
+        userService.deleteUser(user.getId());
+
+        // Assert - the deleted user is reloaded rather than served from the cache
+        assertThrows(ResourceNotFoundException.class, () -> userService.getUserById(user.getId()));
+    }
 }
@@ -0,0 +1,150 @@
+package com.seneca.taskmanagement.service;
+
+import com.seneca.taskmanagement.config.TestContainersConfig;
+import com.seneca.taskmanagement.domain.Bug;
+import com.seneca.taskmanagement.domain.TaskStatus;
+import com.seneca.taskmanagement.dto.CreateBugDto;
+import com.seneca.taskmanagement.dto.TaskBulkChanges;
+import com.seneca.taskmanagement.dto.TaskBulkUpdateRequest;
+import com.seneca.taskmanagement.dto.TaskDto;
+import com.seneca.taskmanagement.dto.TaskSelection;
+import com.seneca.taskmanagement.dto.UpdateBugRequest;
+import com.seneca.taskmanagement.dto.UserDto;
+import com.seneca.taskmanagement.dto.UserTaskStatsDto;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Verifies that the counter triggers keep user_task_counters equal to a recount of the tasks
+ * through single, bulk and soft-deleting writes, and that reconciliation repairs drift.
+ */
+@SpringBootTest
+@Testcontainers
+@ActiveProfiles("test")
+public class UserTaskCounterIntegrationTest extends TestContainersConfig {
+
+    @Autowired
+    private TaskService taskService;
+
+    @Autowired
+    private TaskBulkService taskBulkService;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private UserDto alice;
+    private UserDto bob;
+
+    @BeforeEach
+    void setUp() {
+        alice = createUser("alice");
+        bob = createUser("bob");
+    }
+
+    @Test
+    void taskWritesMoveCountersInTheirTransaction() {
+        TaskDto first = createTask(alice, TaskStatus.OPEN);
+        TaskDto second = createTask(alice, TaskStatus.OPEN);
+        createTask(alice, TaskStatus.IN_PROGRESS);
+        assertStats(alice, 2, 1, 0);
+
+        // Status transition
+        UpdateBugRequest done = new UpdateBugRequest();
+        done.setStatus(TaskStatus.DONE);
+        taskService.updateTask(first.getId(), done);
+        assertStats(alice, 1, 1, 1);
+
+        // Reassignment moves the task between users
+        UpdateBugRequest reassign = new UpdateBugRequest();
+        reassign.setAssignedUserId(bob.getId());
+        taskService.updateTask(second.getId(), reassign);
+        assertStats(alice, 0, 1, 1);
+        assertStats(bob, 1, 0, 0);
+
+        // Edits that move no counts leave them alone
+        UpdateBugRequest rename = new UpdateBugRequest();
+        rename.setName("Renamed");
+        taskService.updateTask(second.getId(), rename);
+        assertStats(bob, 1, 0, 0);
+
+        // Soft delete
+        taskService.deleteTask(first.getId());
+        assertStats(alice, 0, 1, 0);
+    }
+
+    @Test
+    void bulkWritesMoveCounters() {
+        List<UUID> ids = List.of(
+                createTask(alice, TaskStatus.OPEN).getId(),
+                createTask(alice, TaskStatus.OPEN).getId(),
+                createTask(bob, TaskStatus.IN_PROGRESS).getId());
+
+        taskBulkService.updateTasks(TaskBulkUpdateRequest.builder()
+                .ids(ids)
+                .changes(TaskBulkChanges.builder().status(TaskStatus.DONE).assignedUserId(bob.getId()).build())
+                .build());
+        assertStats(alice, 0, 0, 0);
+        assertStats(bob, 0, 0, 3);
+
+        taskBulkService.deleteTasks(TaskSelection.builder().ids(ids.subList(0, 2)).build());
+        assertStats(bob, 0, 0, 1);
+
+        taskBulkService.restoreTasks(TaskSelection.builder().ids(ids).build());
+        assertStats(bob, 0, 0, 3);
+    }
+
+    @Test
+    void reconcileRepairsDriftedCounters() {
+        createTask(alice, TaskStatus.OPEN);
+        createTask(alice, TaskStatus.DONE);
+        // Drift the way a manual fix with triggers disabled would
+        jdbcTemplate.update("UPDATE user_task_counters SET open_count = 40 WHERE user_id = ?", alice.getId());
+        jdbcTemplate.update("INSERT INTO user_task_counters (user_id, done_count) VALUES (?, 7)", bob.getId());
+
+        int corrected = userService.reconcileTaskCounters().orElseThrow();
+
+        assertTrue(corrected >= 2, "Expected both drifted users to be corrected, got " + corrected);
+        assertStats(alice, 1, 0, 1);
+        assertStats(bob, 0, 0, 0);
+        assertEquals(Optional.of(0), userService.reconcileTaskCounters());
+    }
+
+    private UserDto createUser(String prefix) {
+        return userService.createUser(UserDto.builder()
+                .username(prefix + "_" + UUID.randomUUID().toString().substring(0, 8))
+                .fullName("Counter User")
+                .build());
+    }
+
+    private TaskDto createTask(UserDto assignee, TaskStatus status) {
+        return taskService.createTask(CreateBugDto.builder()
+                .name("Counted Bug")
+                .severity(Bug.BugSeverity.LOW)
+                .priority(Bug.BugPriority.LOW)
+                .status(status)
+                .assignedUserId(assignee.getId())
+                .build());
+    }
+
+    private void assertStats(UserDto user, long open, long inProgress, long done) {
+        UserTaskStatsDto stats = userService.getUserStats(user.getId());
+        assertEquals(open, stats.getOpen(), "open");
+        assertEquals(inProgress, stats.getInProgress(), "in progress");
+        assertEquals(done, stats.getDone(), "done");
+        assertEquals(open + inProgress + done, stats.getTotal(), "total");
+    }
+}